@@ -16,6 +16,9 @@ package org.eclipse.debug.jdi.tests;
 
 import java.util.List;
 
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+
+import com.sun.jdi.ReferenceType;
 import com.sun.jdi.Type;
 
 /**
@@ -112,4 +115,27 @@ public class ClassesByNameTest extends AbstractJDITest {
 				&& ((Type) classes.get(0)).signature().equals(
 					"Ljava/lang/String;"));
 	}
+
+	/**
+	 * Test that the loaded class registry answers as the VM does
+	 */
+	public void testJDILoadedClassRegistry() {
+		VirtualMachineImpl vm = (VirtualMachineImpl) fVM;
+		vm.enableLoadedClassRegistry();
+		assertTrue("Registry should be enabled", vm.isLoadedClassRegistryEnabled());
+
+		ReferenceType mainClass = getMainClass();
+		List<ReferenceType> classes = fVM.classesByName(mainClass.name());
+		assertEquals("Should be one class for " + mainClass.name(), 1, classes.size());
+		assertEquals("Should be the main class", mainClass, classes.get(0));
+
+		classes = fVM.classesByName("java.lang.String");
+		assertEquals("Should be one class for java.lang.String", 1, classes.size());
+		assertEquals("Should be java.lang.String", "Ljava/lang/String;", classes.get(0).signature());
+
+		classes = fVM.classesByName("java.lang.String[]");
+		assertEquals("Should be one class for java.lang.String[]", 1, classes.size());
+
+		assertTrue("Should be no class for an unknown name", fVM.classesByName("org.eclipse.debug.jdi.tests.program.NoSuchClass").isEmpty());
+	}
 }
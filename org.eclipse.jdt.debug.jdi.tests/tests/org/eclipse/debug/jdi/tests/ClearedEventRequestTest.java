@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.jdi.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.eclipse.jdi.internal.LocationImpl;
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.event.BreakpointEventImpl;
+import org.eclipse.jdi.internal.event.EventSetImpl;
+import org.eclipse.jdi.internal.request.EventRequestImpl;
+import org.eclipse.jdi.internal.request.RequestID;
+
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.event.BreakpointEvent;
+import com.sun.jdi.request.BreakpointRequest;
+
+/**
+ * Tests that events of requests that were disabled, and therefore cleared in
+ * the VM without waiting for the reply, are not given to the application.
+ * The events are read from event sets composed by the test, as if the VM had
+ * sent them before it processed the clear.
+ */
+@SuppressWarnings("restriction")
+public class ClearedEventRequestTest extends AbstractJDITest {
+
+	private BreakpointRequest fCleared;
+	private BreakpointRequest fEnabled;
+
+	/**
+	 * Creates a new test.
+	 */
+	public ClearedEventRequestTest() {
+		super();
+	}
+
+	@Override
+	public void localSetUp() {
+		fCleared = getBreakpointRequest();
+		fEnabled = getBreakpointRequest();
+	}
+
+	@Override
+	public void localTearDown() {
+		fVM.eventRequestManager().deleteEventRequest(fCleared);
+		fVM.eventRequestManager().deleteEventRequest(fEnabled);
+	}
+
+	/**
+	 * Run all tests and output to standard output.
+	 */
+	public static void main(java.lang.String[] args) {
+		new ClearedEventRequestTest().runSuite(args);
+	}
+
+	/**
+	 * Test that an event of a cleared request is dropped from an event set
+	 * that also has events of enabled requests, and that the set does not
+	 * resume the thread.
+	 */
+	public void testStaleEventDropped() throws IOException {
+		fCleared.enable();
+		RequestID cleared = requestID(fCleared);
+		fCleared.disable();
+		fEnabled.enable();
+		RequestID enabled = requestID(fEnabled);
+
+		ThreadReference thread = getThread();
+		thread.suspend();
+		try {
+			int suspendCount = thread.suspendCount();
+			EventSetImpl set = readEventSet(thread, cleared, enabled);
+			assertEquals("1", 1, set.size());
+			BreakpointEvent event = (BreakpointEvent) set.eventIterator().nextEvent();
+			assertEquals("2", fEnabled, event.request());
+			assertEquals("3", suspendCount, thread.suspendCount());
+		} finally {
+			thread.resume();
+		}
+	}
+
+	/**
+	 * Test that an event set that has only events of cleared requests is
+	 * empty and resumes the thread the events suspended, since the
+	 * application never sees the set to resume it.
+	 */
+	public void testStaleEventSetResumed() throws IOException {
+		fCleared.enable();
+		RequestID cleared = requestID(fCleared);
+		fCleared.disable();
+
+		ThreadReference thread = getThread();
+		thread.suspend();
+		thread.suspend();
+		try {
+			int suspendCount = thread.suspendCount();
+			EventSetImpl set = readEventSet(thread, cleared);
+			assertTrue("1", set.isEmpty());
+			assertEquals("2", suspendCount - 1, thread.suspendCount());
+		} finally {
+			thread.resume();
+		}
+	}
+
+	private static RequestID requestID(BreakpointRequest request) {
+		RequestID id = ((EventRequestImpl) request).requestID();
+		assertNotNull("request ID", id);
+		return id;
+	}
+
+	/**
+	 * Reads an event set suspending the event thread, with a breakpoint event
+	 * in the given thread for each of the given request IDs.
+	 */
+	private EventSetImpl readEventSet(ThreadReference thread, RequestID... ids) throws IOException {
+		VirtualMachineImpl vm = (VirtualMachineImpl) fVM;
+		ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(outBytes);
+		vm.writeByte(EventRequestImpl.SUSPENDPOL_EVENT_THREAD_JDWP, "suspendPolicy", out);
+		vm.writeInt(ids.length, "size", out);
+		for (RequestID id : ids) {
+			vm.writeByte(BreakpointEventImpl.EVENT_KIND, "event kind", out);
+			id.write(vm, out);
+			((ThreadReferenceImpl) thread).write(vm, out);
+			((LocationImpl) getLocation()).write(vm, out);
+		}
+		return EventSetImpl.read(vm, new DataInputStream(new ByteArrayInputStream(outBytes.toByteArray())));
+	}
+}
@@ -176,6 +176,55 @@ public class MethodTest extends AbstractJDITest {
 		assertEquals("2", 1, locations.size());
 		assertEquals("3", expected, ((Location) locations.get(0)).lineNumber());
 	}
+	/**
+	 * Test that every line location of a method maps back to its line, both
+	 * through its code index and through its line.
+	 */
+	public void testJDILineTableRoundTrip() {
+		List<Location> locations = null;
+		try {
+			locations = fMethod1.allLineLocations();
+		} catch (AbsentInformationException e) {
+			fail("1");
+		}
+		assertFalse("2", locations.isEmpty());
+		long previous = -1;
+		for (Location location : locations) {
+			assertTrue("3", location.codeIndex() > previous);
+			previous = location.codeIndex();
+			assertEquals("4", location.lineNumber(), fMethod1.locationOfCodeIndex(location.codeIndex()).lineNumber());
+			try {
+				assertTrue("5", fMethod1.locationsOfLine(location.lineNumber()).contains(location));
+			} catch (AbsentInformationException e) {
+				fail("6");
+			}
+		}
+	}
+	/**
+	 * Test that a code index between two line table entries maps to the line
+	 * of the preceding entry.
+	 */
+	public void testJDILineOfCodeIndexBetweenEntries() throws AbsentInformationException {
+		List<Location> locations = fMethod1.allLineLocations();
+		for (int i = 0; i < locations.size() - 1; i++) {
+			Location location = locations.get(i);
+			long next = locations.get(i + 1).codeIndex();
+			if (next - location.codeIndex() > 1) {
+				Location between = fMethod1.locationOfCodeIndex(location.codeIndex() + 1);
+				assertEquals("1", location.lineNumber(), between.lineNumber());
+			}
+		}
+	}
+	/**
+	 * Test that locationsOfLine(int) of a type returns the locations of the
+	 * line in each of its methods.
+	 */
+	public void testJDITypeLocationsOfLine() throws AbsentInformationException {
+		int line = fMethod1.location().lineNumber();
+		List<Location> locations = fMethod1.declaringType().locationsOfLine(line);
+		assertEquals("1", fMethod1.locationsOfLine(line), locations);
+		assertTrue("2", fMethod1.declaringType().locationsOfLine(Integer.MAX_VALUE).isEmpty());
+	}
 	/**
 	 * Test JDI returnType().
 	 */
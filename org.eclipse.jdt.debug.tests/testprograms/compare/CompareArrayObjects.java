@@ -21,5 +21,13 @@ public class CompareArrayObjects {
 		Integer[] args11 = {1,2};
 		Integer[] args12 = {2,3};
 		int p = 100;
+		int[] ints1 = new int[3000];
+		int[] ints2 = new int[3000];
+		for (int i = 0; i < ints1.length; i++) {
+			ints1[i] = i;
+			ints2[i] = i;
+		}
+		ints2[2500] = -1;
+		p++;
 	}
 }
\ No newline at end of file
@@ -28,14 +28,17 @@ import org.eclipse.jdt.debug.tests.breakpoints.ConditionalBreakpointsInJava8Test
 import org.eclipse.jdt.debug.tests.breakpoints.ConditionalBreakpointsTests;
 import org.eclipse.jdt.debug.tests.breakpoints.ConditionalBreakpointsWithFileClass;
 import org.eclipse.jdt.debug.tests.breakpoints.ConditionalBreakpointsWithGenerics;
+import org.eclipse.jdt.debug.tests.breakpoints.CountOnlyBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.DeferredBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.DisableOnHitTest;
 import org.eclipse.jdt.debug.tests.breakpoints.ExceptionBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.HitCountBreakpointsTests;
 import org.eclipse.jdt.debug.tests.breakpoints.ImportBreakpointsTest;
+import org.eclipse.jdt.debug.tests.breakpoints.InitialBreakpointInstallTests;
 import org.eclipse.jdt.debug.tests.breakpoints.JavaBreakpointListenerTests;
 import org.eclipse.jdt.debug.tests.breakpoints.JavaThreadEventHandlerTests;
 import org.eclipse.jdt.debug.tests.breakpoints.LambdaBreakpointsInJava8Tests;
+import org.eclipse.jdt.debug.tests.breakpoints.LogpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.MethodBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.MethodBreakpointTests15;
 import org.eclipse.jdt.debug.tests.breakpoints.MiscBreakpointsTests;
@@ -43,6 +46,7 @@ import org.eclipse.jdt.debug.tests.breakpoints.PatternBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.PreLaunchBreakpointTest;
 import org.eclipse.jdt.debug.tests.breakpoints.RecordBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.RunToLineTests;
+import org.eclipse.jdt.debug.tests.breakpoints.SnapshotBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.SpecialExceptionBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.SuspendVMBreakpointsTests;
 import org.eclipse.jdt.debug.tests.breakpoints.SuspendVMConditionalBreakpointsTests;
@@ -138,9 +142,11 @@ import org.eclipse.jdt.debug.tests.sourcelookup.DefaultSourceContainerTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.DirectorySourceContainerTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.DirectorySourceLookupTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.ExternalArchiveSourceContainerTests;
+import org.eclipse.jdt.debug.tests.sourcelookup.FileHashingTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.FolderSourceContainerTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.JarSourceLookupTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.JavaProjectSourceContainerTests;
+import org.eclipse.jdt.debug.tests.sourcelookup.JavaSourceLookupParticipantTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.ProjectSourceContainerTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.SourceLocationTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.SourceLookupTests;
@@ -224,6 +230,8 @@ public class AutomatedSuite extends DebugSuite {
 		addTest(new TestSuite(ExternalArchiveSourceContainerTests.class));
 		addTest(new TestSuite(ArchiveSourceLookupTests.class));
 		addTest(new TestSuite(JavaProjectSourceContainerTests.class));
+		addTest(new TestSuite(JavaSourceLookupParticipantTests.class));
+		addTest(new TestSuite(FileHashingTests.class));
 		addTest(new TestSuite(SourceLocationTests.class));
 		addTest(new TestSuite(TypeResolutionTests.class));
 		addTest(new TestSuite(JarSourceLookupTests.class));
@@ -391,6 +399,7 @@ public class AutomatedSuite extends DebugSuite {
 		addTest(new TestSuite(SuspendVMBreakpointsTests.class));
 		addTest(new TestSuite(SuspendVMConditionalBreakpointsTests.class));
 		addTest(new TestSuite(PreLaunchBreakpointTest.class));
+		addTest(new TestSuite(InitialBreakpointInstallTests.class));
 		addTest(new TestSuite(ImportBreakpointsTest.class));
 		addTest(new TestSuite(BreakpointWorkingSetTests.class));
 		addTest(new TestSuite(MethodBreakpointTests.class));
@@ -411,6 +420,9 @@ public class AutomatedSuite extends DebugSuite {
 		addTest(new TestSuite(ConditionalBreakpointsWithFileClass.class));
 		addTest(new TestSuite(CompareObjectsTest.class));
 		addTest(new TestSuite(DisableOnHitTest.class));
+		addTest(new TestSuite(LogpointTests.class));
+		addTest(new TestSuite(SnapshotBreakpointTests.class));
+		addTest(new TestSuite(CountOnlyBreakpointTests.class));
 
 		if (JavaProjectHelper.isJava8Compatible()) {
 			addTest(new TestSuite(TestToggleBreakpointsTarget8.class));
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ *  Copyright (c) 2025 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.breakpoints;
+
+import java.util.Map;
+
+import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointHitStatistics;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaBreakpoint;
+
+/**
+ * Tests for breakpoints that only count their hits.
+ */
+public class CountOnlyBreakpointTests extends AbstractDebugTest {
+
+	private static final String TYPE_NAME = "BreakpointListenerTest";
+
+	/**
+	 * Constructor
+	 *
+	 * @param name
+	 *            the name of the test
+	 */
+	public CountOnlyBreakpointTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests that a count only breakpoint counts its hit without suspending
+	 */
+	public void testCountWithoutSuspend() throws Exception {
+		IJavaLineBreakpoint countOnly = createLineBreakpoint(23, TYPE_NAME);
+		countOnly.setSuspendPolicy(IJavaBreakpoint.COUNT_ONLY);
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(TYPE_NAME, bp);
+			assertEquals("Should not have suspended at the count only breakpoint", bp, thread.getBreakpoints()[0]);
+			BreakpointHitStatistics statistics = ((JavaBreakpoint) countOnly).getHitStatistics();
+			assertNotNull("Hits should be recorded", statistics);
+			assertEquals("Wrong number of hits", 1, statistics.getTotal());
+			Map<IJavaThread, Long> threads = statistics.getThreadCounts();
+			assertEquals("Wrong number of threads", 1, threads.size());
+			assertEquals("Wrong number of hits in the thread", Long.valueOf(1), threads.get(thread));
+			long[] histogram = statistics.getHistogram(System.currentTimeMillis());
+			long sum = 0;
+			for (long hits : histogram) {
+				sum += hits;
+			}
+			assertEquals("Wrong number of hits in the histogram", 1, sum);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that the hit count of a count only breakpoint does not expire it
+	 */
+	public void testHitCountIgnored() throws Exception {
+		IJavaLineBreakpoint countOnly = createLineBreakpoint(23, TYPE_NAME);
+		countOnly.setHitCount(1);
+		countOnly.setSuspendPolicy(IJavaBreakpoint.COUNT_ONLY);
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(TYPE_NAME, bp);
+			assertEquals("Should not have suspended at the count only breakpoint", bp, thread.getBreakpoints()[0]);
+			assertFalse("Count only breakpoint should not expire", countOnly.isExpired());
+			assertEquals("Wrong number of hits", 1, ((JavaBreakpoint) countOnly).getHitStatistics().getTotal());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+}
@@ -215,6 +215,44 @@ public class ExceptionBreakpointTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * tests that the breakpoint suspends with multiple wildcard exclusion filters, which are all sent to the VM, that do not match
+	 */
+	public void testMultiWildcardExclusiveScopedExceptionHit() throws Exception {
+		String typeName = "ThrowsNPE";
+		IJavaExceptionBreakpoint ex = createExceptionBreakpoint("java.lang.NullPointerException", true, false);
+		ex.setExclusionFilters(new String[] {"java.*", "*IO"});
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName);
+			assertNotNull("Did not suspend", thread);
+			assertEquals("Should have suspended at NPE", ex, thread.getBreakpoints()[0]);
+			ex.delete();
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * tests that the breakpoint does not suspend when one of multiple wildcard exclusion filters matches
+	 */
+	public void testMultiWildcardExclusiveScopedExceptionMissed() throws Exception {
+		String typeName = "ThrowsNPE";
+		IJavaExceptionBreakpoint ex = createExceptionBreakpoint("java.lang.NullPointerException", true, false);
+		ex.setExclusionFilters(new String[] {"java.*", "*NPE"});
+
+		IJavaDebugTarget target= null;
+		try {
+			target = launchAndTerminate(typeName);
+			ex.delete();
+		} finally {
+			terminateAndRemove(target);
+			removeAllBreakpoints();
+		}
+	}
+
 	/**
 	 * tests that a breakpoint is hit with multiple inclusion filters set
 	 */
@@ -18,6 +18,7 @@ import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
@@ -27,8 +28,12 @@ import org.eclipse.debug.internal.ui.views.breakpoints.BreakpointOrganizerManage
 import org.eclipse.debug.internal.ui.views.breakpoints.WorkingSetCategory;
 import org.eclipse.debug.ui.actions.ExportBreakpointsOperation;
 import org.eclipse.debug.ui.actions.ImportBreakpointsOperation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.debug.core.IJavaBreakpoint;
 import org.eclipse.jdt.debug.testplugin.JavaTestPlugin;
+import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointASTCache;
 import org.eclipse.ui.IWorkingSet;
 import org.eclipse.ui.IWorkingSetManager;
 
@@ -296,4 +301,92 @@ public class ImportBreakpointsTest extends AbstractBreakpointWorkingSetTest {
 			removeAllBreakpoints();
 		}
 	}
+
+	/**
+	 * Tests that breakpoints of the same compilation unit are verified against
+	 * a shared AST, which is discarded once the unit changes.
+	 *
+	 * @throws Exception catch all to pass back to framework
+	 */
+	public void testImportSharesCompilationUnitAST() throws Exception {
+		IFile file = (IFile) getBreakpointResource("DropTests");
+		ICompilationUnit cunit = JavaCore.createCompilationUnitFrom(file);
+		BreakpointASTCache cache = BreakpointASTCache.getDefault();
+		CompilationUnit first = cache.acquire(cunit);
+		assertNotNull("Missing AST", first);
+		try {
+			CompilationUnit second = cache.acquire(cunit);
+			try {
+				assertSame("Breakpoints of the same unit should share the AST", first, second);
+			}
+			finally {
+				cache.release(second);
+			}
+			file.touch(null);
+			CompilationUnit third = cache.acquire(cunit);
+			try {
+				assertNotSame("AST should be discarded when the unit changes", first, third);
+			}
+			finally {
+				cache.release(third);
+			}
+		}
+		finally {
+			cache.release(first);
+		}
+	}
+
+	/**
+	 * Tests that the shared AST of a working copy is discarded once its buffer
+	 * is edited, before the working copy is reconciled or saved.
+	 *
+	 * @throws Exception catch all to pass back to framework
+	 */
+	public void testWorkingCopyBufferChangeDiscardsAST() throws Exception {
+		IFile file = (IFile) getBreakpointResource("DropTests");
+		ICompilationUnit cunit = JavaCore.createCompilationUnitFrom(file);
+		BreakpointASTCache cache = BreakpointASTCache.getDefault();
+		cunit.becomeWorkingCopy(null);
+		try {
+			CompilationUnit first = cache.acquire(cunit);
+			assertNotNull("Missing AST", first);
+			cache.release(first);
+			cunit.getBuffer().append("\n");
+			CompilationUnit second = cache.acquire(cunit);
+			try {
+				assertNotSame("AST should be discarded when the buffer changes", first, second);
+			}
+			finally {
+				cache.release(second);
+			}
+		}
+		finally {
+			cunit.discardWorkingCopy();
+		}
+	}
+
+	/**
+	 * Tests that the released ASTs of several compilation units stay cached, so
+	 * that breakpoints of alternating units do not parse them again.
+	 *
+	 * @throws Exception catch all to pass back to framework
+	 */
+	public void testReleasedASTsOfSeveralUnitsKept() throws Exception {
+		ICompilationUnit drop = JavaCore.createCompilationUnitFrom((IFile) getBreakpointResource("DropTests"));
+		ICompilationUnit breakpoints = JavaCore.createCompilationUnitFrom((IFile) getBreakpointResource("Breakpoints"));
+		BreakpointASTCache cache = BreakpointASTCache.getDefault();
+		CompilationUnit first = cache.acquire(drop);
+		assertNotNull("Missing AST", first);
+		cache.release(first);
+		CompilationUnit other = cache.acquire(breakpoints);
+		assertNotNull("Missing AST", other);
+		cache.release(other);
+		CompilationUnit second = cache.acquire(drop);
+		try {
+			assertSame("Released AST should still be cached", first, second);
+		}
+		finally {
+			cache.release(second);
+		}
+	}
 }
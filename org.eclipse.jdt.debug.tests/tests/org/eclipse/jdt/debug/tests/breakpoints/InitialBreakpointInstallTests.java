@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.breakpoints;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugModelMessages;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+
+/**
+ * Tests the installation of the breakpoints that exist when a debug target is
+ * created, which is done in the background in stages
+ */
+public class InitialBreakpointInstallTests extends AbstractDebugTest {
+
+	public InitialBreakpointInstallTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests that a launched VM does not run past a breakpoint on the first line
+	 * of its main method, and that the breakpoints of types that are not loaded
+	 * yet are installed as well
+	 */
+	public void testInstalledBeforeStart() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint first = createLineBreakpoint(17, typeName);
+		IJavaLineBreakpoint notLoaded = createLineBreakpoint(20, "Breakpoints");
+		IJavaLineBreakpoint otherPackage = createLineBreakpoint(19, "org.eclipse.debug.tests.targets", "CallLoop.java", "CallLoop");
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, first);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			waitForInstall(target);
+			assertTrue("First breakpoint should be installed", target.getBreakpoints().contains(first));
+			assertTrue("Breakpoint of a type that is not loaded should be installed", target.getBreakpoints().contains(notLoaded));
+			assertTrue("Breakpoint of a type in another package should be installed", target.getBreakpoints().contains(otherPackage));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a breakpoint deleted before the initial breakpoints are
+	 * installed is not installed
+	 */
+	public void testDeletedBeforeInstall() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint deleted = createLineBreakpoint(19, typeName);
+		IJavaLineBreakpoint kept = createLineBreakpoint(20, typeName);
+
+		IJobChangeListener listener = new JobChangeAdapter() {
+			@Override
+			public void aboutToRun(IJobChangeEvent event) {
+				if (JDIDebugModelMessages.JDIDebugTarget_BreakpointInstaller.equals(event.getJob().getName())) {
+					try {
+						deleted.delete();
+					} catch (Exception e) {
+						fail("Could not delete breakpoint: " + e);
+					}
+				}
+			}
+		};
+		Job.getJobManager().addJobChangeListener(listener);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, kept);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			waitForInstall(target);
+			assertFalse("Deleted breakpoint should not be installed", target.getBreakpoints().contains(deleted));
+			assertTrue("Remaining breakpoint should be installed", target.getBreakpoints().contains(kept));
+		} finally {
+			Job.getJobManager().removeJobChangeListener(listener);
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a breakpoint deleted after the initial breakpoints are
+	 * installed is removed from the target
+	 */
+	public void testDeletedAfterInstall() throws Exception {
+		String typeName = "HitCountLooper";
+		IJavaLineBreakpoint first = createLineBreakpoint(17, typeName);
+		IJavaLineBreakpoint loop = createLineBreakpoint(19, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, first);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			waitForInstall(target);
+			assertTrue("Breakpoint should be installed", target.getBreakpoints().contains(loop));
+			loop.delete();
+			assertFalse("Deleted breakpoint should be removed", target.getBreakpoints().contains(loop));
+			resumeAndExit(thread);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	private void waitForInstall(JDIDebugTarget target) throws InterruptedException {
+		Job.getJobManager().join(target, null);
+	}
+}
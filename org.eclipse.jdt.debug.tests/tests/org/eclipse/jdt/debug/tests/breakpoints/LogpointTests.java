@@ -0,0 +1,159 @@
+/*******************************************************************************
+ *  Copyright (c) 2025 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.breakpoints;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaLogpoint;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+
+/**
+ * Tests for logpoints.
+ */
+public class LogpointTests extends AbstractDebugTest {
+
+	private static final String TYPE_NAME = "BreakpointListenerTest";
+
+	private final List<String> messages = new ArrayList<>();
+
+	private BiConsumer<IJavaDebugTarget, List<String>> originalWriter;
+
+	/**
+	 * Constructor
+	 *
+	 * @param name
+	 *            the name of the test
+	 */
+	public LogpointTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		originalWriter = JDIDebugPlugin.getDefault().getLogpointWriter();
+		JDIDebugPlugin.getDefault().setLogpointWriter((target, batch) -> {
+			synchronized (messages) {
+				messages.addAll(batch);
+				messages.notifyAll();
+			}
+		});
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		JDIDebugPlugin.getDefault().setLogpointWriter(originalWriter);
+		super.tearDown();
+	}
+
+	private IJavaLogpoint createLogpoint(int lineNumber, String message) throws Exception {
+		return createLogpoint(TYPE_NAME, lineNumber, message);
+	}
+
+	private IJavaLogpoint createLogpoint(String typeName, int lineNumber, String message) throws Exception {
+		IType type = getType(typeName);
+		assertNotNull("Could not find the requested IType: " + typeName, type);
+		return JDIDebugModel.createLogpoint(getBreakpointResource(type), type.getFullyQualifiedName(), lineNumber, -1, -1, message, true, new HashMap<>());
+	}
+
+	private List<String> waitForMessages(int count) throws InterruptedException {
+		long end = System.currentTimeMillis() + DEFAULT_TIMEOUT;
+		synchronized (messages) {
+			while (messages.size() < count && System.currentTimeMillis() < end) {
+				messages.wait(100);
+			}
+			return new ArrayList<>(messages);
+		}
+	}
+
+	/**
+	 * Tests that a logpoint logs its evaluated message without suspending
+	 */
+	public void testLogExpression() throws Exception {
+		createLogpoint(18, "args={args.length}, {{literal}}");
+		IJavaLineBreakpoint bp = createLineBreakpoint(23, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(TYPE_NAME, bp);
+			assertEquals("Should not have suspended at the logpoint", bp, thread.getBreakpoints()[0]);
+			assertEquals("Wrong log messages", List.of("args=0, {literal}"), waitForMessages(1));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a logpoint naming local variables logs their values on each
+	 * hit
+	 */
+	public void testLogLocalVariable() throws Exception {
+		String typeName = "HitCountLooper";
+		createLogpoint(typeName, 20, "i={i}");
+		try {
+			launchAndTerminate(typeName);
+			List<String> expected = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				expected.add("i=" + i);
+			}
+			assertEquals("Wrong log messages", expected, waitForMessages(expected.size()));
+		} finally {
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a logpoint without expressions logs its text as is
+	 */
+	public void testLogText() throws Exception {
+		createLogpoint(18, "reached \"foo\"");
+		IJavaLineBreakpoint bp = createLineBreakpoint(23, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(TYPE_NAME, bp);
+			assertEquals("Wrong log messages", List.of("reached \"foo\""), waitForMessages(1));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a logpoint with an expression that does not compile logs the
+	 * problem and does not suspend
+	 */
+	public void testLogCompilationError() throws Exception {
+		IJavaLogpoint logpoint = createLogpoint(18, "value={undefinedVariable}");
+		IJavaLineBreakpoint bp = createLineBreakpoint(23, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(TYPE_NAME, bp);
+			List<String> logged = waitForMessages(1);
+			assertEquals("Wrong number of log messages", 1, logged.size());
+			assertTrue("Message should name the logpoint: " + logged.get(0), logged.get(0).contains(logpoint.getLogMessage()));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+}
@@ -18,6 +18,8 @@ import java.util.List;
 
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.debug.core.model.IBreakpoint;
@@ -32,7 +34,9 @@ import org.eclipse.jdt.debug.core.IJavaMethodBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
 
 /**
@@ -78,6 +82,34 @@ public class MethodBreakpointTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests an exit breakpoint installed at the return instructions of the
+	 * method, used when method results are not shown
+	 */
+	public void testExitBreakpointAtReturnInstructions() throws Exception {
+		String typeName = "DropTests";
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(JDIDebugPlugin.getUniqueIdentifier());
+		boolean showStepResult = prefs.getBoolean(JDIDebugModel.PREF_SHOW_STEP_RESULT, true);
+		prefs.putBoolean(JDIDebugModel.PREF_SHOW_STEP_RESULT, false);
+		IJavaMethodBreakpoint bp = createMethodBreakpoint(typeName, "method1", "()V", false, true);
+		IJavaThread thread= null;
+		try {
+			thread= launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+
+			IBreakpoint hit = getBreakpoint(thread);
+			assertEquals("should hit exit breakpoint", bp, hit);
+			assertFalse("should be an exit suspend", bp.isEntrySuspend(thread.getDebugTarget()));
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			assertEquals("should be in method1", "method1", frame.getMethodName());
+			assertEquals("should be at the end of method1", 24, frame.getLineNumber());
+		} finally {
+			prefs.putBoolean(JDIDebugModel.PREF_SHOW_STEP_RESULT, showStepResult);
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	/**
 	 * Tests the 'stop in main' launching preference
 	 * {@link IJavaLaunchConfigurationConstants#ATTR_STOP_IN_MAIN}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ *  Copyright (c) 2025 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.breakpoints;
+
+import java.util.HashMap;
+
+import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.debug.core.model.IValue;
+import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaSnapshotBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDISnapshot;
+
+/**
+ * Tests for snapshot breakpoints.
+ */
+public class SnapshotBreakpointTests extends AbstractDebugTest {
+
+	private static final String TYPE_NAME = "BreakpointListenerTest";
+
+	/**
+	 * Constructor
+	 *
+	 * @param name
+	 *            the name of the test
+	 */
+	public SnapshotBreakpointTests(String name) {
+		super(name);
+	}
+
+	private IJavaSnapshotBreakpoint createSnapshotBreakpoint(int lineNumber, int frameCount) throws Exception {
+		return createSnapshotBreakpoint(TYPE_NAME, lineNumber, frameCount, 1);
+	}
+
+	private IJavaSnapshotBreakpoint createSnapshotBreakpoint(String typeName, int lineNumber, int frameCount, int fieldDepth) throws Exception {
+		IType type = getType(typeName);
+		assertNotNull("Could not find the requested IType: " + typeName, type);
+		return JDIDebugModel.createSnapshotBreakpoint(getBreakpointResource(type), type.getFullyQualifiedName(), lineNumber, -1, -1, frameCount, fieldDepth, true, new HashMap<>());
+	}
+
+	/**
+	 * Tests that a snapshot breakpoint captures the thread without suspending
+	 */
+	public void testSnapshotWithoutSuspend() throws Exception {
+		IJavaSnapshotBreakpoint snapshotBreakpoint = createSnapshotBreakpoint(23, 5);
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(TYPE_NAME, bp);
+			assertEquals("Should not have suspended at the snapshot breakpoint", bp, thread.getBreakpoints()[0]);
+			JDISnapshot[] snapshots = ((JDIDebugTarget) thread.getDebugTarget()).getSnapshots();
+			assertEquals("Wrong number of snapshots", 1, snapshots.length);
+			JDISnapshot snapshot = snapshots[0];
+			assertEquals("Wrong breakpoint", snapshotBreakpoint, snapshot.getBreakpoints()[0]);
+			assertEquals("Wrong thread name", thread.getName(), snapshot.getName());
+			IStackFrame[] frames = snapshot.getStackFrames();
+			assertEquals("Should capture foo() and main()", 2, frames.length);
+			assertEquals("Wrong top line", 23, frames[0].getLineNumber());
+			IVariable[] variables = frames[1].getVariables();
+			assertEquals("Wrong number of variables in main()", 1, variables.length);
+			assertEquals("Wrong variable in main()", "args", variables[0].getName());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a snapshot breakpoint captures no more than its frame count
+	 */
+	public void testSnapshotFrameCount() throws Exception {
+		createSnapshotBreakpoint(23, 1);
+		IJavaLineBreakpoint bp = createLineBreakpoint(19, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(TYPE_NAME, bp);
+			JDISnapshot[] snapshots = ((JDIDebugTarget) thread.getDebugTarget()).getSnapshots();
+			assertEquals("Wrong number of snapshots", 1, snapshots.length);
+			assertEquals("Should capture foo() only", 1, snapshots[0].getStackFrames().length);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a snapshot breakpoint captures the fields of <code>this</code>
+	 * and describes the objects they refer to without capturing their fields
+	 * at depth 1
+	 */
+	public void testSnapshotFieldDepth() throws Exception {
+		String typeName = "InstanceVariablesTests";
+		createSnapshotBreakpoint(typeName, 33, 1, 1);
+		try {
+			IJavaDebugTarget target = launchAndTerminate(typeName);
+			JDISnapshot[] snapshots = ((JDIDebugTarget) target).getSnapshots();
+			assertEquals("Wrong number of snapshots", 1, snapshots.length);
+			IVariable[] variables = snapshots[0].getTopStackFrame().getVariables();
+			assertEquals("Wrong number of variables", 2, variables.length);
+			assertEquals("Wrong first variable", "this", variables[0].getName());
+			assertEquals("Wrong second variable", "ivt", variables[1].getName());
+			assertEquals("Wrong type of 'ivt'", "IVTSubclass", variables[1].getValue().getReferenceTypeName());
+
+			IVariable[] fields = variables[0].getValue().getVariables();
+			assertEquals("Wrong number of fields of 'this'", 7, fields.length);
+			IValue pubStr = findField(fields, "pubStr");
+			assertEquals("Wrong value of 'pubStr'", "public", pubStr.getValueString());
+			IValue nullStr = findField(fields, "nullStr");
+			assertEquals("Wrong value of 'nullStr'", "null", nullStr.getValueString());
+			IValue date = findField(fields, "date");
+			assertEquals("Wrong type of 'date'", "java.util.Date", date.getReferenceTypeName());
+			assertEquals("Fields of 'date' are below the field depth", 0, date.getVariables().length);
+		} finally {
+			removeAllBreakpoints();
+		}
+	}
+
+	private IValue findField(IVariable[] fields, String name) throws Exception {
+		for (IVariable field : fields) {
+			if (field.getName().equals(name)) {
+				return field.getValue();
+			}
+		}
+		fail("Missing field " + name);
+		return null;
+	}
+}
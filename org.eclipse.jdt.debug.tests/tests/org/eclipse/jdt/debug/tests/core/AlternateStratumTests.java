@@ -102,6 +102,48 @@ public class AlternateStratumTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests the line of a frame in the Java stratum and in the SMAP stratum, where the SMAP line maps to one Java line.
+	 */
+	public void testGetLineInStratum() throws Exception {
+		String typeName = "HelloWorld";
+		prepareXtendBreakpoint(typeName, 3);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			IJavaStackFrame stackFrame = (IJavaStackFrame) thread.getTopStackFrame();
+			assertEquals("Wrong Java line", 4, stackFrame.getLineNumber("Java"));
+			assertEquals("Wrong Xtend line", 3, stackFrame.getLineNumber("Xtend"));
+		}
+		finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests a breakpoint on a SMAP line that maps to several Java lines, of which only the last has code.
+	 */
+	public void testGetLineInStratumMultipleJavaLines() throws Exception {
+		String typeName = "HelloWorld";
+		prepareXtendBreakpoint(typeName, 2);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			IJavaStackFrame stackFrame = (IJavaStackFrame) thread.getTopStackFrame();
+			assertEquals("Wrong Java line", 5, stackFrame.getLineNumber("Java"));
+			assertEquals("Wrong Xtend line", 2, stackFrame.getLineNumber("Xtend"));
+		}
+		finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	public void testResolveJavaElement() throws Exception {
 		String typeName = "HelloWorld";
 		prepareXtendBreakpoint(typeName, 3);
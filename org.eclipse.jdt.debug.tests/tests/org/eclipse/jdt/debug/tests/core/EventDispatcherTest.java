@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2017 salesforce.com.
+ *  Copyright (c) 2017, 2025 salesforce.com and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,29 +13,37 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests.core;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.IdentityHashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.internal.debug.core.EventDispatcher.AbstractDispatchJob;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 
 public class EventDispatcherTest extends AbstractDebugTest {
 
 	private JobChangeAdapter jobListener;
-	private Map<AbstractDispatchJob, Object> jobs;
+	/**
+	 * Runs of event dispatching jobs, workers are reused and may run several
+	 * times
+	 */
+	private List<AbstractDispatchJob> jobs;
 
 	public EventDispatcherTest(String name) {
 		super(name);
@@ -44,13 +52,13 @@ public class EventDispatcherTest extends AbstractDebugTest {
 	@Override
 	protected void setUp() throws Exception {
 		super.setUp();
-		jobs = Collections.synchronizedMap(new IdentityHashMap<>());
+		jobs = Collections.synchronizedList(new ArrayList<>());
 		jobListener = new JobChangeAdapter() {
 			@Override
 			public void aboutToRun(IJobChangeEvent event) {
 				Job job = event.getJob();
 				if (job instanceof AbstractDispatchJob) {
-					jobs.put((AbstractDispatchJob) job, Boolean.TRUE);
+					jobs.add((AbstractDispatchJob) job);
 				}
 			}
 		};
@@ -69,17 +77,18 @@ public class EventDispatcherTest extends AbstractDebugTest {
 		// the real goal of this test is to validate that rapidly delivered JDI events do not start large number of threads
 		// unfortunately there is no direct way to observe startup of the JDI event processing threads
 		// as approximation, assert single JDI processing Job was ever run during the test
-		// as sanity check, assert expected number of DebugEvent was delivered during the test
+		// as sanity check, assert that each thread was either reported as created and terminated, or coalesced away
 
-		// sanity check: count number of JDIThread thread-create events
+		// sanity check: count number of JDIThread thread-create and thread-terminate events
 		AtomicInteger threadCount = new AtomicInteger();
+		AtomicInteger terminateCount = new AtomicInteger();
 		IDebugEventSetListener debugListener = events -> {
 			for (DebugEvent event : events) {
-				if (event.getKind() == DebugEvent.CREATE && event.getSource() instanceof JDIThread) {
+				if ((event.getKind() == DebugEvent.CREATE || event.getKind() == DebugEvent.TERMINATE) && event.getSource() instanceof JDIThread) {
 					JDIThread thread = (JDIThread) event.getSource();
 					try {
 						if (thread.getName().startsWith("bulk-")) {
-							threadCount.incrementAndGet();
+							(event.getKind() == DebugEvent.CREATE ? threadCount : terminateCount).incrementAndGet();
 						}
 					}
 					catch (DebugException e) {
@@ -88,19 +97,82 @@ public class EventDispatcherTest extends AbstractDebugTest {
 			}
 		};
 		IJavaThread suspendedThread = null;
+		long coalesced;
 		try {
 			DebugPlugin.getDefault().addDebugEventListener(debugListener);
 			createLineBreakpoint(27, "BulkThreadCreationTest");
 			suspendedThread = launchToBreakpoint("BulkThreadCreationTest");
+			coalesced = getCoalescedThreadCount(suspendedThread);
+		}
+		finally {
+			terminateAndRemove(suspendedThread);
+			removeAllBreakpoints();
+			DebugPlugin.getDefault().removeDebugEventListener(debugListener);
+		}
+
+		assertTrue("Thread start and death events were not coalesced", coalesced > 0);
+		assertEquals("Unexpected number of JDIThread thread-create events", 1000 - coalesced, threadCount.get());
+		assertEquals("Unexpected number of JDIThread thread-terminate events", threadCount.get(), terminateCount.get());
+		assertEquals("Unexpected number of event dispatching jobs: " + jobs.size() + " | " + jobs, 0, jobs.size());
+	}
+
+	/**
+	 * Tests that with event dispatch lanes the thread start events of all threads are dispatched, by lanes, and that the breakpoint installed when
+	 * the main class is prepared is hit.
+	 */
+	public void testLaneDispatching() throws Exception {
+		AtomicInteger threadCount = new AtomicInteger();
+		IDebugEventSetListener debugListener = events -> {
+			for (DebugEvent event : events) {
+				if (event.getKind() == DebugEvent.CREATE && event.getSource() instanceof JDIThread) {
+					try {
+						if (((JDIThread) event.getSource()).getName().startsWith("bulk-")) {
+							threadCount.incrementAndGet();
+						}
+					}
+					catch (DebugException e) {
+					}
+				}
+			}
+		};
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(JDIDebugPlugin.getUniqueIdentifier());
+		prefs.putBoolean(JDIDebugPlugin.PREF_EVENT_DISPATCH_LANES, true);
+		IJavaThread suspendedThread = null;
+		long coalesced;
+		try {
+			DebugPlugin.getDefault().addDebugEventListener(debugListener);
+			IJavaLineBreakpoint breakpoint = createLineBreakpoint(27, "BulkThreadCreationTest");
+			suspendedThread = launchToLineBreakpoint("BulkThreadCreationTest", breakpoint);
+			assertTrue("Thread should be suspended", suspendedThread.isSuspended());
+			coalesced = getCoalescedThreadCount(suspendedThread);
 		}
 		finally {
 			terminateAndRemove(suspendedThread);
 			removeAllBreakpoints();
 			DebugPlugin.getDefault().removeDebugEventListener(debugListener);
+			prefs.remove(JDIDebugPlugin.PREF_EVENT_DISPATCH_LANES);
 		}
 
-		assertEquals("Unexpected number of JDIThread thread-create events", 1000, threadCount.get());
-		assertEquals("Unexpected number of event dispatching jobs: " + jobs.size() + " | " + jobs.keySet(), 0, jobs.size());
+		assertEquals("Unexpected number of JDIThread thread-create events", 1000 - coalesced, threadCount.get());
+		int lanes = 0;
+		synchronized (jobs) {
+			for (AbstractDispatchJob job : jobs) {
+				if (job.getName().equals("JDI Event Dispatch Lane")) {
+					lanes++;
+				}
+			}
+		}
+		assertTrue("No event set was dispatched by a lane: " + jobs, lanes > 0);
+	}
+
+	/**
+	 * Returns the number of threads of the given thread's target whose start and death were coalesced, once all thread starts and deaths
+	 * received so far have been applied. The bulk threads have all died when the breakpoint is hit.
+	 */
+	private long getCoalescedThreadCount(IJavaThread thread) throws Exception {
+		IJavaDebugTarget target = (IJavaDebugTarget) thread.getDebugTarget();
+		Job.getJobManager().join(target, null);
+		return target.getStatistics().getCoalescedThreadCount();
 	}
 
 	/**
@@ -123,8 +195,8 @@ public class EventDispatcherTest extends AbstractDebugTest {
 			terminateAndRemove(thread);
 			removeAllBreakpoints();
 		}
-		// Expect to see two jobs for conditional breakpoint with 1) class prepare and 2) breakpoint hit events
-		assertEquals("Unexpected number of event dispatching jobs: " + jobs.size() + " | " + jobs.keySet(), 2, jobs.size());
+		// Expect to see two job runs for conditional breakpoint with 1) class prepare and 2) breakpoint hit events
+		assertEquals("Unexpected number of event dispatching jobs: " + jobs.size() + " | " + jobs, 2, jobs.size());
 	}
 
 }
\ No newline at end of file
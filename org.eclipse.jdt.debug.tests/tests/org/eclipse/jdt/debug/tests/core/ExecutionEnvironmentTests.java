@@ -13,6 +13,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests.core;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.variables.IStringVariableManager;
 import org.eclipse.core.variables.VariablesPlugin;
@@ -24,11 +29,13 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.debug.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.internal.launching.EECompilationParticipant;
+import org.eclipse.jdt.internal.launching.LaunchingPlugin;
 import org.eclipse.jdt.launching.AbstractVMInstall;
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.IVMInstall2;
 import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.jdt.launching.LibraryLocation;
+import org.eclipse.jdt.launching.environments.CompatibleEnvironment;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironment;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironmentsManager;
 
@@ -284,4 +291,19 @@ public class ExecutionEnvironmentTests extends AbstractDebugTest {
 		String compliance = EECompilationParticipant.getCompilerCompliance(install);
 		assertEquals(JavaCore.latestSupportedJavaVersion(), compliance);
 	}
+
+	/**
+	 * Tests that analysis results of the installed VMs are saved in the launching state location, so that later sessions can reuse them
+	 */
+	public void testCompatibleEnvironmentsSaved() throws Exception {
+		IVMInstall vm = JavaRuntime.getDefaultVMInstall();
+		IExecutionEnvironment environment = JavaRuntime.getExecutionEnvironmentsManager().getEnvironment(JavaProjectHelper.JAVA_SE_1_7_EE_NAME);
+		assertNotNull("Missing environment", environment);
+		// initializes the compatible environments of all installed VMs
+		assertTrue("Default VM should be compatible", Arrays.asList(environment.getCompatibleVMs()).contains(vm));
+		File file = LaunchingPlugin.getDefault().getStateLocation().append("compatibleEnvironments.xml").toFile();
+		assertTrue("Analysis results should be saved", file.isFile());
+		String xml = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		assertTrue("Missing results of the default VM", xml.contains("\"" + JavaRuntime.getCompositeIdFromVM(vm) + "\""));
+	}
 }
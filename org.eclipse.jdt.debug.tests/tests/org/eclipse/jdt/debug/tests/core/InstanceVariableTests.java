@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2025 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.jdt.debug.tests.core;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.debug.core.model.ILineBreakpoint;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
@@ -25,10 +26,18 @@ import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.debug.core.IJdwpCommandStatistics;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
 
 public class InstanceVariableTests extends AbstractDebugTest {
 
+	// JDWP command sets and commands
+	private static final int CLASS_TYPE = 3;
+	private static final int INVOKE_METHOD = 3;
+	private static final int OBJECT_REFERENCE = 9;
+	private static final int GET_VALUES = 2;
+
 	public InstanceVariableTests(String name) {
 		super(name);
 	}
@@ -68,6 +77,67 @@ public class InstanceVariableTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that fields are retrieved with object graph snapshots enabled, both
+	 * of the object expanded first and of an object captured below it, and that
+	 * they are taken from the snapshot rather than requested one object at a
+	 * time, with the default policy of suspending the breakpoint's thread.
+	 */
+	public void testGetFieldsWithObjectGraphSnapshots() throws Exception {
+		String typeName = "InstanceVariablesTests";
+
+		ILineBreakpoint bp = createLineBreakpoint(33, typeName);
+
+		IJavaThread thread= null;
+		try {
+			ILaunchConfigurationWorkingCopy config = getLaunchConfiguration(typeName).getWorkingCopy();
+			config.setAttribute(IJavaLaunchConfigurationConstants.ATTR_OBJECT_GRAPH_SNAPSHOTS, true);
+			thread= launchToLineBreakpoint(config, bp, true);
+
+			IJavaStackFrame frame = (IJavaStackFrame)thread.getTopStackFrame();
+			IVariable ivt = findVariable(frame, "ivt");
+			assertNotNull("Could not find variable 'ivt'", ivt);
+			IJavaObject value = (IJavaObject)ivt.getValue();
+			IJavaDebugTarget target = (IJavaDebugTarget) thread.getDebugTarget();
+			long invocations = getCommandCount(target, CLASS_TYPE, INVOKE_METHOD);
+			assertEquals("Wrong number of children", 10, value.getVariables().length);
+			assertTrue("Object graph helper was not invoked", getCommandCount(target, CLASS_TYPE, INVOKE_METHOD) > invocations);
+			long getValues = getCommandCount(target, OBJECT_REFERENCE, GET_VALUES);
+
+			IJavaVariable pubStr = value.getField("pubStr", false);
+			assertEquals("value should be 'redefined public'", "redefined public", pubStr.getValue().getValueString());
+			IJavaVariable privStr = value.getField("privStr", false);
+			assertEquals("value should be 'private'", "private", privStr.getValue().getValueString());
+			IJavaVariable nullDate = value.getField("nullDate", false);
+			assertTrue("'nullDate' should be null", ((IJavaValue) nullDate.getValue()).isNull());
+
+			// fields of an object captured below the expanded one
+			IJavaObject date = (IJavaObject) value.getField("date", false).getValue();
+			IJavaVariable fastTime = date.getField("fastTime", false);
+			assertNotNull("Missing 'fastTime'", fastTime);
+			String captured = fastTime.getValue().getValueString();
+			assertEquals("Fields should be read from the snapshot", getValues, getCommandCount(target, OBJECT_REFERENCE, GET_VALUES));
+			IJavaValue expected = date.sendMessage("getTime", "()J", null, thread, false);
+			assertEquals("Wrong 'fastTime'", expected.getValueString(), captured);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Returns the number of requests of the given JDWP command sent to the VM
+	 * of the given target.
+	 */
+	private static long getCommandCount(IJavaDebugTarget target, int commandSet, int command) {
+		for (IJdwpCommandStatistics statistics : target.getStatistics().getCommandStatistics()) {
+			if (statistics.getCommandSet() == commandSet && statistics.getCommand() == command) {
+				return statistics.getCount();
+			}
+		}
+		return 0;
+	}
+
 	public void testGetDeclaredFieldNames() throws Exception {
 		String typeName = "InstanceVariablesTests";
 
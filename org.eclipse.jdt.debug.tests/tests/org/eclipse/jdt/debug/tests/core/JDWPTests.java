@@ -16,10 +16,17 @@ package org.eclipse.jdt.debug.tests.core;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
 
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.debug.core.model.ILineBreakpoint;
+import org.eclipse.jdi.internal.ReferenceTypeImpl;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpRecordFormat;
+import org.eclipse.jdi.internal.jdwp.JdwpRecords;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpString;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
@@ -27,6 +34,8 @@ import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 
+import com.sun.jdi.ReferenceType;
+
 /**
  * Tests raw JDWP commands sent to a target.
  *
@@ -102,4 +111,96 @@ public class JDWPTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Decodes ASCII and multibyte strings from within a larger buffer.
+	 */
+	public void testDecodeString() throws Exception {
+		String[] strings = new String[] { "Ljava/lang/String;", "caf\u00e9", "\u20ac 5", "" };
+		for (String string : strings) {
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			outData.writeByte(0x7F);
+			JdwpString.write(string, outData);
+			outData.writeByte(0xE2);
+			byte[] bytes = outBytes.toByteArray();
+			assertEquals("Wrong decoded string", string, JdwpString.decode(bytes, 5, bytes.length - 6));
+		}
+	}
+
+	/**
+	 * Decoding a multibyte sequence that is cut by the end of the string must fail rather than read the bytes that follow the string.
+	 */
+	public void testDecodeTruncatedString() throws Exception {
+		// "\u00e9" is 0xC3 0xA9 and "\u20ac" is 0xE2 0x82 0xAC
+		byte[][] truncated = new byte[][] { { 'a', (byte) 0xC3, (byte) 0xA9 }, { 'a', (byte) 0xE2, (byte) 0x82, (byte) 0xAC } };
+		for (byte[] bytes : truncated) {
+			try {
+				JdwpString.decode(bytes, 0, bytes.length - 1);
+				fail("Truncated sequence should not be decoded");
+			} catch (UTFDataFormatException e) {
+				// expected
+			}
+		}
+	}
+
+	/**
+	 * Decodes the reply to ClassesBySignature (byte 2) of the VirtualMachine Command Set (byte 1) with its record format.
+	 */
+	public void testClassesBySignatureRecords() throws Exception {
+		String typeName = "Breakpoints";
+		ILineBreakpoint bp = createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			JdwpString.write("LBreakpoints;", outData);
+			byte[] reply = target.sendCommand((byte)1, (byte)2, outBytes.toByteArray());
+			JdwpReplyPacket packet = (JdwpReplyPacket) JdwpPacket.build(reply);
+			assertEquals("Unexpected error code in reply packet", 0, packet.errorCode());
+			VirtualMachineImpl vm = (VirtualMachineImpl) target.getVM();
+			JdwpRecords records = JdwpRecordFormat.CLASSES_BY_SIGNATURE.decode(vm, packet);
+			assertEquals("Wrong number of types", 1, records.size());
+			assertEquals("Wrong type tag", 1, records.getByte(0, 0));
+			ReferenceType type = vm.classesByName(typeName).get(0);
+			assertEquals("Wrong type id", ((ReferenceTypeImpl) type).getRefTypeID().value(), records.getLong(1, 0));
+			assertTrue("Type should be prepared", (records.getInt(2, 0) & 2) != 0);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * A record format must fail on a reply that is shorter than its record count implies.
+	 */
+	public void testDecodeTruncatedRecords() throws Exception {
+		String typeName = "Breakpoints";
+		ILineBreakpoint bp = createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			JdwpString.write("LBreakpoints;", outData);
+			byte[] reply = target.sendCommand((byte)1, (byte)2, outBytes.toByteArray());
+			JdwpReplyPacket packet = (JdwpReplyPacket) JdwpPacket.build(reply);
+			byte[] data = packet.data();
+			packet.setData(Arrays.copyOf(data, data.length - 1));
+			try {
+				JdwpRecordFormat.CLASSES_BY_SIGNATURE.decode((VirtualMachineImpl) target.getVM(), packet);
+				fail("Truncated reply should not be decoded");
+			} catch (EOFException e) {
+				// expected
+			}
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 }
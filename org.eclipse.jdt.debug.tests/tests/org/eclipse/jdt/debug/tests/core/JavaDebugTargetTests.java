@@ -15,17 +15,26 @@ package org.eclipse.jdt.debug.tests.core;
 
 import static org.junit.Assert.assertNotEquals;
 
+import java.io.File;
+import java.io.StringWriter;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaDebugTargetStatistics;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.IJdwpCommandStatistics;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.StackSampleProfile;
+import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
 
 /**
  * Tests IJavaDebugTarget API
@@ -74,6 +83,38 @@ public class JavaDebugTargetTests extends AbstractDebugTest {
 		}
 	}
 
+	public void testGetStatistics() throws Exception {
+		String typeName = "Breakpoints";
+		createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		try {
+			// do not register launch - see bug 130911
+			thread = launchToBreakpoint(typeName, false);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			IJavaDebugTarget target = (IJavaDebugTarget) thread.getDebugTarget();
+			target.getVersion();
+			IJavaDebugTargetStatistics statistics = target.getStatistics();
+			assertNotNull("Missing statistics", statistics);
+			assertTrue("Events should have been dispatched", statistics.getEventCount() > 0);
+			assertTrue("Breakpoint hit should have been counted", statistics.getBreakpointHitCount() > 0);
+			IJdwpCommandStatistics[] commands = statistics.getCommandStatistics();
+			assertTrue("JDWP requests should have been recorded", commands.length > 0);
+			for (IJdwpCommandStatistics command : commands) {
+				assertTrue("Count should be positive: " + command.getName(), command.getCount() > 0);
+				assertTrue("Bytes sent should be positive: " + command.getName(), command.getBytesSent() > 0);
+				assertTrue("p50 should not exceed p99: " + command.getName(), command.getLatency(50) <= command.getLatency(99));
+				assertTrue("p99 should not exceed max: " + command.getName(), command.getLatency(99) <= command.getMaxLatency());
+			}
+			String json = statistics.toJSON();
+			assertTrue("Unexpected JSON: " + json, json.startsWith("{\"events\":"));
+			assertTrue("Missing JDWP commands in JSON: " + json, json.contains("\"p99Nanos\":"));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	public void testIsAvailable() throws Exception {
 		String typeName = "Breakpoints";
 		createLineBreakpoint(55, typeName);
@@ -178,6 +219,75 @@ public class JavaDebugTargetTests extends AbstractDebugTest {
 		}
 	}
 
+	public void testStackSampling() throws Exception {
+		String typeName = "MultiThreadedLoop";
+		createLineBreakpoint(20, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			target.startSampling(100);
+			assertTrue("Should be sampling", target.isSampling());
+			thread.resume();
+			Thread.sleep(1000);
+			StackSampleProfile profile = target.stopSampling();
+			assertFalse("Should have stopped sampling", target.isSampling());
+			assertNotNull("Missing profile", profile);
+			assertTrue("Stacks should have been sampled", profile.getSampleCount() > 0);
+			StringWriter collapsed = new StringWriter();
+			profile.writeCollapsed(collapsed);
+			String output = collapsed.toString();
+			assertTrue("Missing loop in profile: " + output, output.contains("MultiThreadedLoop.loop"));
+			for (String line : output.split("\n")) {
+				assertTrue("Unexpected line: " + line, line.matches("\\S+ \\d+"));
+			}
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that the stacks sampled while the launch configuration specifies a file are written to it when the target terminates
+	 */
+	public void testStackSamplesFile() throws Exception {
+		String typeName = "MultiThreadedLoop";
+		IJavaLineBreakpoint bp = createLineBreakpoint(20, typeName);
+		File file = File.createTempFile("stacks", ".collapsed");
+		file.delete();
+
+		IJavaThread thread = null;
+		try {
+			ILaunchConfigurationWorkingCopy config = getLaunchConfiguration(typeName).getWorkingCopy();
+			config.setAttribute(IJavaLaunchConfigurationConstants.ATTR_STACK_SAMPLES_FILE, file.getAbsolutePath());
+			thread = launchToLineBreakpoint(config, bp, true);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			assertTrue("Should be sampling", target.isSampling());
+			thread.resume();
+			Thread.sleep(1000);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+		try {
+			long timeout = System.currentTimeMillis() + 5000;
+			while (!file.isFile() && System.currentTimeMillis() < timeout) {
+				Thread.sleep(100);
+			}
+			assertTrue("Stacks should have been written", file.isFile());
+			String output = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+			assertTrue("Missing loop in stacks: " + output, output.contains("MultiThreadedLoop.loop"));
+			for (String line : output.split("\n")) {
+				assertTrue("Unexpected line: " + line, line.matches("\\S+ \\d+"));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
 	private List<IBreakpoint> getUserBreakpoints(JDIDebugTarget target) {
 		List<IBreakpoint> breakpoints = target.getBreakpoints();
 		return breakpoints;
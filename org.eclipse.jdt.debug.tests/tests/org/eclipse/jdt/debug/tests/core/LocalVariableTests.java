@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2018 IBM Corporation and others.
+ *  Copyright (c) 2000, 2025 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests.core;
 
+import java.io.File;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.debug.core.model.ILineBreakpoint;
 import org.eclipse.debug.core.model.IValue;
 import org.eclipse.debug.core.model.IVariable;
@@ -23,7 +27,9 @@ import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.debug.core.IJdwpCommandStatistics;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIArrayValue;
 import org.eclipse.jdt.internal.debug.core.model.JDILocalVariable;
 import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
@@ -121,6 +127,61 @@ public class LocalVariableTests extends AbstractDebugTest implements IValueDetai
 		}
 	}
 
+	/**
+	 * Tests that line numbers and local variables are the same in a session
+	 * reading them from the type metadata cache kept by an earlier session, and
+	 * that the later session does not request the variable tables from the VM.
+	 */
+	public void testVariablesWithTypeMetadataCache() throws Exception {
+		String typeName = "LocalVariablesTests";
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(JDIDebugPlugin.getUniqueIdentifier());
+		prefs.putBoolean(JDIDebugPlugin.PREF_TYPE_METADATA_CACHE, true);
+		try {
+			for (int session = 0; session < 2; session++) {
+				ILineBreakpoint bp = createLineBreakpoint(25, typeName);
+				IJavaThread thread= null;
+				try {
+					thread= launchToLineBreakpoint(typeName, bp);
+					IJavaStackFrame frame = (IJavaStackFrame)thread.getTopStackFrame();
+					assertEquals("Wrong line number in session " + session, 25, frame.getLineNumber());
+					IJavaVariable[] vars = frame.getLocalVariables();
+					assertEquals("Should be two visible locals in session " + session, 2, vars.length);
+					assertEquals("Visible var 1 should be 'i1'", "i1", vars[0].getName());
+					assertEquals("Visible var 2 should be 'i2'", "i2", vars[1].getName());
+					if (session > 0) {
+						IJavaDebugTarget target = (IJavaDebugTarget) thread.getDebugTarget();
+						assertEquals("Variable table should be read from the cache", 0, getVariableTableRequestCount(target));
+					}
+				} finally {
+					terminateAndRemove(thread);
+					removeAllBreakpoints();
+				}
+				JDIDebugPlugin.getDefault().saveTypeMetadataCache();
+				File directory = JDIDebugPlugin.getDefault().getStateLocation().append("typeMetadata").toFile();
+				String[] files = directory.list();
+				assertTrue("No type metadata was saved", files != null && files.length > 0);
+			}
+		} finally {
+			prefs.remove(JDIDebugPlugin.PREF_TYPE_METADATA_CACHE);
+		}
+	}
+
+	/**
+	 * Returns the number of Method.VariableTable and
+	 * Method.VariableTableWithGeneric requests sent to the VM of the given
+	 * target.
+	 */
+	private static long getVariableTableRequestCount(IJavaDebugTarget target) {
+		long count = 0;
+		for (IJdwpCommandStatistics command : target.getStatistics().getCommandStatistics()) {
+			// Method command set, VariableTable and VariableTableWithGeneric commands
+			if (command.getCommandSet() == 6 && (command.getCommand() == 2 || command.getCommand() == 5)) {
+				count += command.getCount();
+			}
+		}
+		return count;
+	}
+
 	public void testEvaluationAssignments() throws Exception {
 		String typeName = "LocalVariablesTests";
 
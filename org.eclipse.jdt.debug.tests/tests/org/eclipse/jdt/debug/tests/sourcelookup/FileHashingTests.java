@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.sourcelookup;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.launching.sourcelookup.advanced.FileHashIndex;
+import org.eclipse.jdt.internal.launching.sourcelookup.advanced.FileHashing;
+import org.eclipse.jdt.internal.launching.sourcelookup.advanced.FileHashing.Hasher;
+import org.eclipse.jdt.internal.launching.sourcelookup.advanced.FileHashing.Statistics;
+
+/**
+ * Tests the file digests used by advanced source lookup
+ */
+public class FileHashingTests extends AbstractDebugTest {
+
+	private Path fDirectory;
+
+	public FileHashingTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fDirectory = Files.createTempDirectory("fileHashing");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		File[] files = fDirectory.toFile().listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		Files.deleteIfExists(fDirectory);
+		super.tearDown();
+	}
+
+	private File createFile(String name, String content) throws Exception {
+		Path path = fDirectory.resolve(name);
+		Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+		return path.toFile();
+	}
+
+	/**
+	 * Tests that files with the same content have the same digest, and files
+	 * with different content do not
+	 */
+	public void testDigestsOfContent() throws Exception {
+		Hasher hasher = FileHashing.newHasher();
+		Object one = hasher.hash(createFile("one.txt", "same content"));
+		Object two = hasher.hash(createFile("two.txt", "same content"));
+		Object three = hasher.hash(createFile("three.txt", "other content"));
+		assertNotNull("Missing digest", one);
+		assertEquals("Same content should have the same digest", one, two);
+		assertFalse("Different content should have different digests", one.equals(three));
+		assertNull("A missing file has no digest", hasher.hash(fDirectory.resolve("missing.txt").toFile()));
+		assertNull("A directory has no digest", hasher.hash(fDirectory.toFile()));
+	}
+
+	/**
+	 * Tests that the default hasher answers repeated requests for an unchanged
+	 * file from its cache, and hashes a changed file again
+	 */
+	public void testCachedDigest() throws Exception {
+		File file = createFile("cached.txt", "cached content");
+		Hasher hasher = FileHashing.hasher();
+		Statistics before = FileHashing.statistics();
+		Object first = hasher.hash(file);
+		Object second = hasher.hash(file);
+		Statistics after = FileHashing.statistics();
+		assertEquals("Digests should be equal", first, second);
+		assertEquals("File should be hashed once", 1, after.getMissCount() - before.getMissCount());
+		assertEquals("Second request should be a cache hit", 1, after.getHitCount() - before.getHitCount());
+
+		Files.write(file.toPath(), "changed content".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(file.lastModified() + 10000));
+		Object changed = hasher.hash(file);
+		assertFalse("Changed file should be hashed again", first.equals(changed));
+	}
+
+	/**
+	 * Tests that concurrent requests for the same file agree on its digest
+	 */
+	public void testConcurrentDigests() throws Exception {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 100000; i++) {
+			content.append(i);
+		}
+		File file = createFile("concurrent.txt", content.toString());
+		Object expected = FileHashing.newHasher().hash(createFile("expected.txt", content.toString()));
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Object>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				Callable<Object> task = () -> {
+					start.await();
+					return FileHashing.newHasher().hash(file);
+				};
+				futures.add(executor.submit(task));
+			}
+			start.countDown();
+			for (Future<Object> future : futures) {
+				assertEquals("Concurrent digest differs", expected, future.get(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Tests that the persistent index restores digests of unchanged files only
+	 */
+	public void testIndexRestore() throws Exception {
+		File file = createFile("indexed.txt", "indexed content");
+		Path path = file.toPath();
+		byte[] digest = { 1, 2, 3, (byte) 0xff };
+		File indexFile = fDirectory.resolve("hashes.index").toFile();
+		FileHashIndex index = new FileHashIndex(indexFile);
+		index.put(path, Files.readAttributes(path, BasicFileAttributes.class), digest);
+		index.save();
+		assertTrue("Index should be written", indexFile.isFile());
+
+		FileHashIndex restored = new FileHashIndex(indexFile);
+		byte[] digest2 = restored.get(path, Files.readAttributes(path, BasicFileAttributes.class));
+		assertNotNull("Digest should be restored", digest2);
+		assertEquals("Wrong digest length", digest.length, digest2.length);
+		for (int i = 0; i < digest.length; i++) {
+			assertEquals("Wrong digest", digest[i], digest2[i]);
+		}
+
+		Files.write(path, "changed indexed content".getBytes(StandardCharsets.UTF_8));
+		assertNull("Digest of a changed file should not be used", restored.get(path, Files.readAttributes(path, BasicFileAttributes.class)));
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.sourcelookup;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.DirectorySourceContainer;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.launching.JavaSourceLookupDirector;
+import org.eclipse.jdt.launching.sourcelookup.containers.JavaProjectSourceContainer;
+
+/**
+ * Tests the source elements remembered by the Java source lookup participant
+ */
+public class JavaSourceLookupParticipantTests extends AbstractDebugTest {
+
+	public JavaSourceLookupParticipantTests(String name) {
+		super(name);
+	}
+
+	private JavaSourceLookupDirector createDirector() throws Exception {
+		JavaSourceLookupDirector director = new JavaSourceLookupDirector();
+		director.initializeParticipants();
+		director.setSourceContainers(new ISourceContainer[] { new JavaProjectSourceContainer(get14Project()) });
+		return director;
+	}
+
+	/**
+	 * Tests that repeated lookups return the same source element, and that
+	 * remembered elements are forgotten when the source containers change
+	 */
+	public void testRepeatedLookup() throws Exception {
+		JavaSourceLookupDirector director = createDirector();
+		try {
+			Object[] first = director.findSourceElements("Breakpoints.java");
+			assertEquals("Expected 1 result", 1, first.length);
+			Object[] second = director.findSourceElements("Breakpoints.java");
+			assertEquals("Expected 1 result", 1, second.length);
+			assertEquals("Wrong file", first[0], second[0]);
+
+			director.setSourceContainers(new ISourceContainer[0]);
+			assertEquals("No source should be found without source containers", 0, director.findSourceElements("Breakpoints.java").length);
+		} finally {
+			director.dispose();
+		}
+	}
+
+	/**
+	 * Tests that a source name with no source element is looked up again once
+	 * a matching resource is added
+	 */
+	public void testLookupAfterResourceAdded() throws Exception {
+		JavaSourceLookupDirector director = createDirector();
+		IFile file = get14Project().getProject().getFolder("src/org/eclipse/debug").getFile("source-lookup-cache.txt");
+		try {
+			assertEquals("Source should not exist yet", 0, director.findSourceElements("debug/source-lookup-cache.txt").length);
+			file.create(new ByteArrayInputStream(new byte[0]), true, null);
+			Object[] objects = director.findSourceElements("debug/source-lookup-cache.txt");
+			assertEquals("Added source should be found", 1, objects.length);
+			assertEquals("Wrong file", file, objects[0]);
+		} finally {
+			director.dispose();
+			if (file.exists()) {
+				file.delete(true, null);
+			}
+		}
+	}
+
+	/**
+	 * Tests that a source name with no source element in a folder outside the
+	 * workspace is looked up again, as changes of the folder are not notified
+	 */
+	public void testLookupInExternalFolder() throws Exception {
+		File directory = Files.createTempDirectory("source-lookup").toFile();
+		File file = new File(directory, "External.java");
+		JavaSourceLookupDirector director = new JavaSourceLookupDirector();
+		director.initializeParticipants();
+		director.setSourceContainers(new ISourceContainer[] { new DirectorySourceContainer(directory, false) });
+		try {
+			assertEquals("Source should not exist yet", 0, director.findSourceElements("External.java").length);
+			Files.write(file.toPath(), new byte[0]);
+			assertEquals("Added source should be found", 1, director.findSourceElements("External.java").length);
+		} finally {
+			director.dispose();
+			file.delete();
+			directory.delete();
+		}
+	}
+}
@@ -16,17 +16,23 @@ package org.eclipse.jdt.debug.tests.variables;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.debug.core.IJdwpCommandStatistics;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.internal.debug.ui.ObjectComparison;
+import org.eclipse.jdt.internal.debug.ui.StreamingCollectionComparison;
 
 public class CompareObjectsTest extends AbstractDebugTest {
 
@@ -194,6 +200,123 @@ public class CompareObjectsTest extends AbstractDebugTest {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	public void testForListsStreaming() throws Exception { // Test for Lists compared without extracting their elements first
+
+		String typeName = "compare.CompareListObjects";
+		IJavaLineBreakpoint bp = createLineBreakpoint(48, typeName);
+		IJavaThread mainThread = null;
+		try {
+			mainThread = launchToBreakpoint(typeName);
+			assertTrue("Thread should be suspended", mainThread.isSuspended());
+			IJavaVariable s1 = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[2];
+			IJavaVariable s2 = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[3];
+			IJavaVariable s3 = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[4];
+			IJavaVariable s4 = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[5];
+			IJavaVariable stack = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[8];
+			IJavaVariable arrayList = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[9];
+			IJavaVariable vector = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[10];
+			IJavaVariable linkedList = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[11];
+
+			List<String> missing = new ArrayList<>();
+			StreamingCollectionComparison comparison = new StreamingCollectionComparison(objectComparision, (collection, other, element) -> missing.add(element));
+			Map<IJavaVariable, Object> result = comparison.compareCollections(List.of(s1, s2), "Lists", null);
+			Map<String, Object> compareResult = (Map<String, Object>) result.get(s1);
+			assertEquals("Lists contain same elements as in s2, but in different order", compareResult.get("ImmediateResult"));
+
+			result = comparison.compareCollections(List.of(s3, s4), "Lists", null);
+			compareResult = (Map<String, Object>) result.get(s3);
+			assertEquals("Element is actually missing - [apple1]", "[apple1]", compareResult.get("Values").toString());
+			assertTrue("Missing element should be reported as found", missing.contains("apple1"));
+
+			result = comparison.compareCollections(List.of(stack, arrayList, vector, linkedList), "Lists", null);
+			assertThat(((Map<String, Object>) result.get(stack)).get("ImmediateResult").toString(), containsString("same"));
+			assertThat(((Map<String, Object>) result.get(vector)).get("ImmediateResult").toString(), containsString("different"));
+			assertThat(((Map<String, Object>) result.get(linkedList)).get("MultiValues").toString(), containsString("ArrayList=[Banana]"));
+
+			bp.delete();
+		} finally {
+			terminateAndRemove(mainThread);
+			removeAllBreakpoints();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public void testForListsStreamingWithNulls() throws Exception { // Test for Lists containing null elements
+
+		String typeName = "compare.CompareListObjects";
+		IJavaLineBreakpoint bp = createLineBreakpoint(48, typeName);
+		IJavaThread mainThread = null;
+		try {
+			mainThread = launchToBreakpoint(typeName);
+			assertTrue("Thread should be suspended", mainThread.isSuspended());
+			IJavaVariable s1 = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[2];
+			IJavaVariable s3 = (IJavaVariable) mainThread.getTopStackFrame().getVariables()[4];
+			IJavaValue[] args = new IJavaValue[] { ((IJavaDebugTarget) mainThread.getDebugTarget()).nullValue() };
+			((IJavaObject) s3.getValue()).sendMessage("add", "(Ljava/lang/Object;)Z", args, mainThread, false);
+
+			StreamingCollectionComparison comparison = new StreamingCollectionComparison(objectComparision, null);
+			Map<IJavaVariable, Object> result = comparison.compareCollections(List.of(s1, s3), "Lists", null);
+			Map<String, Object> compareResult = (Map<String, Object>) result.get(s1);
+			assertEquals("The null element is missing", "[null]", compareResult.get("Values").toString());
+
+			((IJavaObject) s1.getValue()).sendMessage("add", "(Ljava/lang/Object;)Z", args, mainThread, false);
+			result = comparison.compareCollections(List.of(s1, s3), "Lists", null);
+			compareResult = (Map<String, Object>) result.get(s1);
+			assertThat(compareResult.get("ImmediateResult").toString(), containsString("same"));
+
+			bp.delete();
+		} finally {
+			terminateAndRemove(mainThread);
+			removeAllBreakpoints();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public void testForPrimitiveArraysStreaming() throws Exception { // Test for primitive arrays read in chunks and formatted locally
+
+		String typeName = "compare.CompareArrayObjects";
+		IJavaLineBreakpoint bp = createLineBreakpoint(31, typeName);
+		IJavaThread mainThread = null;
+		try {
+			mainThread = launchToBreakpoint(typeName);
+			assertTrue("Thread should be suspended", mainThread.isSuspended());
+			IJavaStackFrame frame = (IJavaStackFrame) mainThread.getTopStackFrame();
+			IJavaVariable ints1 = frame.findVariable("ints1");
+			IJavaVariable ints2 = frame.findVariable("ints2");
+			IJavaDebugTarget target = (IJavaDebugTarget) mainThread.getDebugTarget();
+			long invocations = getCommandCount(target, 3, 3) + getCommandCount(target, 9, 6);
+			long reads = getCommandCount(target, 13, 2);
+
+			StreamingCollectionComparison comparison = new StreamingCollectionComparison(objectComparision, null);
+			Map<IJavaVariable, Object> result = comparison.compareCollections(List.of(ints1, ints2), "Arrays", null);
+			assertEquals("Element is actually missing - [-1]", "[-1]", ((Map<String, Object>) result.get(ints1)).get("Values").toString());
+			assertEquals("Element is actually missing - [2500]", "[2500]", ((Map<String, Object>) result.get(ints2)).get("Values").toString());
+
+			assertEquals("Primitives should not be evaluated", invocations, getCommandCount(target, 3, 3) + getCommandCount(target, 9, 6));
+			// three chunks per array, and one chunk per missing element
+			int chunks = (3000 + StreamingCollectionComparison.CHUNK_SIZE - 1) / StreamingCollectionComparison.CHUNK_SIZE;
+			assertEquals("Unexpected number of array reads", reads + 2 * chunks + 2, getCommandCount(target, 13, 2));
+
+			bp.delete();
+		} finally {
+			terminateAndRemove(mainThread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Returns the number of times the given JDWP command was sent to the given target
+	 */
+	private static long getCommandCount(IJavaDebugTarget target, int commandSet, int command) {
+		for (IJdwpCommandStatistics statistics : target.getStatistics().getCommandStatistics()) {
+			if (statistics.getCommandSet() == commandSet && statistics.getCommand() == command) {
+				return statistics.getCount();
+			}
+		}
+		return 0;
+	}
+
 	@SuppressWarnings("unchecked")
 	public void testForMaps() throws Exception { // Test for Maps
 
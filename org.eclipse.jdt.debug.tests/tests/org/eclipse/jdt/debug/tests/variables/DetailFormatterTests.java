@@ -14,15 +14,21 @@
 package org.eclipse.jdt.debug.tests.variables;
 
 import org.eclipse.debug.core.model.IValue;
+import org.eclipse.debug.ui.DebugUITools;
+import org.eclipse.debug.ui.IDebugUIConstants;
 import org.eclipse.debug.ui.IValueDetailListener;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaFieldVariable;
+import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.internal.debug.ui.DetailFormatter;
 import org.eclipse.jdt.internal.debug.ui.JavaDetailFormattersManager;
+import org.eclipse.jface.preference.IPreferenceStore;
 
 /**
  * Tests detail formatters
@@ -467,6 +473,37 @@ public class DetailFormatterTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that a string longer than the maximum detail length is truncated in the target
+	 */
+	public void testFormatterResultTruncated() throws Exception {
+		IJavaThread thread = null;
+		DetailFormatter formatter = null;
+		JavaDetailFormattersManager jdfm = JavaDetailFormattersManager.getDefault();
+		IPreferenceStore store = DebugUITools.getPreferenceStore();
+		int maxLength = store.getInt(IDebugUIConstants.PREF_MAX_DETAIL_LENGTH);
+		try {
+			store.setValue(IDebugUIConstants.PREF_MAX_DETAIL_LENGTH, 1);
+			String typename = "a.b.c.PrimitivesTest";
+			createLineBreakpoint(26, typename);
+			thread = launchToBreakpoint(typename);
+			assertNotNull("The program did not suspend", thread);
+			formatter = new DetailFormatter("char[]", "new String(this)", true);
+			jdfm.setAssociatedDetailFormatter(formatter);
+			IJavaVariable var = thread.findVariable("aCh");
+			assertNotNull("the variable 'aCh' must exist in the frame", var);
+			jdfm.computeValueDetail((IJavaValue) var.getValue(), thread, fListener);
+			waitForListenerValue();
+			assertNotNull("The IValue of the detailComputed callback cannot be null", fListener.value);
+			assertEquals("a", fListener.result.toString());
+		} finally {
+			store.setValue(IDebugUIConstants.PREF_MAX_DETAIL_LENGTH, maxLength);
+			jdfm.removeAssociatedDetailFormatter(formatter);
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	public void testFormatterForExceptionObjectsWithoutFormatter() throws Exception {
 		IJavaThread thread = null;
 		JavaDetailFormattersManager jdfm = JavaDetailFormattersManager.getDefault();
@@ -514,4 +551,82 @@ public class DetailFormatterTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that concurrent requests for the same object from different listeners are all answered, and that a
+	 * repeated request is answered with the same detail.
+	 */
+	public void testCoalescedDetailRequests() throws Exception {
+		IJavaThread thread = null;
+		JavaDetailFormattersManager jdfm = JavaDetailFormattersManager.getDefault();
+		TestListener second = new TestListener();
+		try {
+			String typename = "a.b.c.ExceptionDefaultTest";
+			createLineBreakpoint(19, typename);
+			thread = launchToBreakpoint(typename);
+			assertNotNull("The program did not suspend", thread);
+			IJavaVariable var = thread.findVariable("e");
+			assertNotNull("the variable 'e' must exist in the frame", var);
+			IJavaValue value = (IJavaValue) var.getValue();
+			jdfm.computeValueDetail(value, thread, fListener);
+			jdfm.computeValueDetail(value, thread, second);
+			waitForListenerValue();
+			long timeout = System.currentTimeMillis() + 5000;
+			while (second.value == null && System.currentTimeMillis() < timeout) {
+				Thread.sleep(100);
+			}
+			assertNotNull("The first listener was not notified", fListener.result);
+			assertEquals("Both listeners should receive the same detail", fListener.result, second.result);
+			String detail = fListener.result;
+			fListener.reset();
+			jdfm.computeValueDetail(value, thread, fListener);
+			waitForListenerValue();
+			assertEquals("A repeated request should compute the same detail", detail, fListener.result);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that a cached detail is recomputed after a field of the object is modified, since the object keeps its id.
+	 */
+	public void testDetailRecomputedAfterChange() throws Exception {
+		IJavaThread thread = null;
+		DetailFormatter formatter = null;
+		JavaDetailFormattersManager jdfm = JavaDetailFormattersManager.getDefault();
+		try {
+			String typename = "a.b.c.ExceptionDefaultTest";
+			createLineBreakpoint(19, typename);
+			thread = launchToBreakpoint(typename);
+			assertNotNull("The program did not suspend", thread);
+			formatter = new DetailFormatter("java.lang.Exception", "this.toString()", true);
+			jdfm.setAssociatedDetailFormatter(formatter);
+			IJavaVariable var = thread.findVariable("e");
+			assertNotNull("the variable 'e' must exist in the frame", var);
+			IJavaObject value = (IJavaObject) var.getValue();
+			jdfm.computeValueDetail(value, thread, fListener);
+			waitForListenerValue();
+			assertEquals("java.lang.Exception", fListener.result);
+			IJavaFieldVariable message = value.getField("detailMessage", false);
+			assertNotNull("the field 'detailMessage' must exist", message);
+			message.setValue(((IJavaDebugTarget) thread.getDebugTarget()).newValue("changed"));
+			// the change event is delivered asynchronously
+			long timeout = System.currentTimeMillis() + 5000;
+			do {
+				fListener.reset();
+				jdfm.computeValueDetail(value, thread, fListener);
+				waitForListenerValue();
+				if ("java.lang.Exception: changed".equals(fListener.result)) {
+					break;
+				}
+				Thread.sleep(100);
+			} while (System.currentTimeMillis() < timeout);
+			assertEquals("The detail should be recomputed after the change", "java.lang.Exception: changed", fListener.result);
+		} finally {
+			jdfm.removeAssociatedDetailFormatter(formatter);
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 }
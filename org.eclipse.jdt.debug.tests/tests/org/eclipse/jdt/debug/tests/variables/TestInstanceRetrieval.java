@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests.variables;
 
+import java.util.List;
+
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
@@ -22,6 +24,11 @@ import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIHeapWalker;
+import org.eclipse.jdt.internal.debug.core.model.JDIObjectValue;
+
+import com.sun.jdi.ObjectReference;
 
 /**
  * Tests for instance retrieval
@@ -95,4 +102,52 @@ public class TestInstanceRetrieval extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests retrieving the referrers of many objects at once and searching a path to a GC root.
+	 */
+	public void testReferrersAndPathToRoot() throws Exception {
+		String typeName = "java6.AllInstancesTests";
+		createLineBreakpoint(64, typeName);
+		IJavaThread thread= null;
+		try {
+			thread= launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			if (target.supportsInstanceRetrieval()) {
+				IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+				assertNotNull("missing top frame", frame);
+				IJavaVariable variable = frame.findVariable("ro");
+				assertNotNull("Missing variable 'ro'", variable);
+				IJavaObject ro = (IJavaObject) variable.getValue();
+
+				IJavaObject[] instances = ((IJavaReferenceType) ro.getJavaType()).getInstances(100);
+				assertEquals("Wrong number of instances", 13, instances.length);
+				JDIHeapWalker.loadReferringObjects(target, instances, 0);
+				for (IJavaObject instance : instances) {
+					List<ObjectReference> expected = ((JDIObjectValue) instance).getUnderlyingObject().referringObjects(0);
+					assertEquals("Wrong number of referrers", expected.size(), instance.getReferringObjects(0).length);
+				}
+
+				IJavaObject[] path = JDIHeapWalker.findPathToRoot(ro, 32, 0, null);
+				assertNotNull("No path found for local variable", path);
+				assertEquals("Object held by a local variable should be a root", 1, path.length);
+				assertEquals("Path should start with the object", ro, path[0]);
+
+				for (IJavaObject instance : instances) {
+					if (!instance.equals(ro)) {
+						path = JDIHeapWalker.findPathToRoot(instance, 32, 0, null);
+						assertNotNull("No path found for list element", path);
+						assertEquals("Wrong path length", 3, path.length);
+						assertEquals("Path should start with the object", instance, path[0]);
+						assertEquals("Path should end with the list", "java.util.ArrayList", path[2].getJavaType().getName());
+						break;
+					}
+				}
+			}
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 }
@@ -31,6 +31,7 @@ import org.eclipse.jdt.debug.core.IJavaStratumLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaWatchpoint;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
+import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointASTCache;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLineBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.ValidBreakpointLocationLocator;
 import org.eclipse.jface.text.BadLocationException;
@@ -106,7 +107,13 @@ public class BreakpointMarkerUpdater implements IMarkerUpdater {
 		if(cunit == null) {
 			return false;
 		}
-		CompilationUnit unit = SharedASTProviderCore.getAST(cunit, SharedASTProviderCore.WAIT_YES, null);
+		// the AST of the active editor is kept up to date by reconciling, other
+		// units share a cached AST across the breakpoints being updated
+		CompilationUnit unit = SharedASTProviderCore.getAST(cunit, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+		CompilationUnit cached = null;
+		if (unit == null) {
+			unit = cached = BreakpointASTCache.getDefault().acquire(cunit);
+		}
 		if(unit == null) {
 			//remove it - in case it would be left in a bad location
 			return false;
@@ -159,6 +166,9 @@ public class BreakpointMarkerUpdater implements IMarkerUpdater {
 		}
 		catch (BadLocationException e) {JDIDebugUIPlugin.log(e);}
 		catch (CoreException e) {JDIDebugUIPlugin.log(e);}
+		finally {
+			BreakpointASTCache.getDefault().release(cached);
+		}
 		return false;
 	}
 
@@ -156,6 +156,7 @@ public class DebugUIMessages extends NLS {
 	public static String JDIModelPresentation__obsolete_method_in__1;
 	public static String JDIModelPresentation__terminated__2;
 	public static String JDIModelPresentation_collapsed_frames;
+	public static String JDIModelPresentation_snapshot;
 
 	public static String JDIModelPresentation_117;
 
@@ -180,6 +181,8 @@ public class DebugUIMessages extends NLS {
 	public static String JDIModelPresentation_thread_filtered;
 	public static String JDIModelPresentation_uncaught_62;
 	public static String JDIModelPresentation_resume_on_hit;
+	public static String JDIModelPresentation_count_only;
+	public static String JDIModelPresentation_count_only_hits;
 
 	// thread label keys are built programmatically
 
@@ -471,6 +474,8 @@ public class DebugUIMessages extends NLS {
 	public static String ObjectsReferenceSameAndDifferent;
 	public static String ObjectsExtractedSame;
 	public static String CompareObjectsFailedException;
+	public static String StreamingCollectionComparison_comparing;
+	public static String StreamingCollectionComparison_reading;
 
 	public static String ListSameElementsFor2;
 	public static String fExceptionBreakpointMsg;
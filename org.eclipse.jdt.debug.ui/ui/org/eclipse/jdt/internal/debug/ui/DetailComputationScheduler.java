@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.ui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.debug.core.model.IValue;
+import org.eclipse.debug.ui.IValueDetailListener;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.IJavaValue;
+import org.eclipse.jdt.internal.debug.core.logicalstructures.JDIAllInstancesValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue;
+
+/**
+ * Schedules detail computations on the threads they are evaluated in.
+ * <p>
+ * Requests for a thread are collected and drained by a single runnable on the thread's evaluation queue, rather than each request queuing its own
+ * runnable. When drained:
+ * <ul>
+ * <li>requests for the same object are coalesced into one computation whose result is reported to every listener,</li>
+ * <li>a request superseded by a newer request from the same listener is dropped without being computed,</li>
+ * <li>a request made before the thread last resumed is stale and is answered with the plain value string, without an evaluation.</li>
+ * </ul>
+ * Computed details of objects are cached by object id until a thread of the target resumes or an element of the target changes, since a
+ * modified object keeps its id. The cache is not keyed by formatter since it is cleared whenever the formatter preferences change.
+ * </p>
+ */
+final class DetailComputationScheduler {
+
+	/**
+	 * Computes the detail of a value, reporting it to the given listener.
+	 */
+	interface Resolver {
+		void resolve(IJavaValue value, IJavaThread thread, IValueDetailListener listener);
+	}
+
+	/**
+	 * A detail request waiting to be drained.
+	 */
+	private static final class Request {
+		final IJavaValue fValue;
+		final IValueDetailListener fListener;
+		final int fGeneration;
+
+		Request(IJavaValue value, IValueDetailListener listener, int generation) {
+			fValue = value;
+			fListener = listener;
+			fGeneration = generation;
+		}
+	}
+
+	/**
+	 * Pending requests of one thread.
+	 */
+	private static final class ThreadQueue {
+		/**
+		 * Latest request of each listener, in request order
+		 */
+		final Map<IValueDetailListener, Request> fPending = new LinkedHashMap<>();
+
+		/**
+		 * Whether a drain runnable is queued on the thread
+		 */
+		boolean fScheduled;
+
+		/**
+		 * Incremented each time the thread resumes
+		 */
+		int fGeneration;
+	}
+
+	private final Resolver fResolver;
+
+	/**
+	 * Pending requests by thread. Guarded by <code>this</code>.
+	 */
+	private final Map<IJavaThread, ThreadQueue> fQueues = new HashMap<>();
+
+	/**
+	 * Computed details by target and object id. Guarded by <code>this</code>.
+	 */
+	private final Map<IDebugTarget, Map<Long, String>> fCache = new HashMap<>();
+
+	/**
+	 * Incremented each time cached details are discarded, so that details computed before are not cached. Guarded by <code>this</code>.
+	 */
+	private int fCacheGeneration;
+
+	DetailComputationScheduler(Resolver resolver) {
+		fResolver = resolver;
+	}
+
+	/**
+	 * Schedules computing the detail of the given value in the given thread. The result is reported to the listener, unless the listener makes
+	 * another request before this one is started.
+	 *
+	 * @param value
+	 *            the value to compute the detail for
+	 * @param thread
+	 *            the thread to compute the detail in
+	 * @param listener
+	 *            the listener to report the detail to
+	 */
+	void schedule(IJavaValue value, final IJavaThread thread, IValueDetailListener listener) {
+		final ThreadQueue queue;
+		synchronized (this) {
+			queue = fQueues.computeIfAbsent(thread, t -> new ThreadQueue());
+			// a newer request from the same listener replaces the older one
+			queue.fPending.remove(listener);
+			queue.fPending.put(listener, new Request(value, listener, queue.fGeneration));
+			if (queue.fScheduled) {
+				return;
+			}
+			queue.fScheduled = true;
+		}
+		thread.queueRunnable(() -> drain(thread, queue));
+	}
+
+	/**
+	 * Computes all pending requests of the given thread.
+	 */
+	private void drain(IJavaThread thread, ThreadQueue queue) {
+		List<Request> requests;
+		int generation;
+		int cacheGeneration;
+		synchronized (this) {
+			requests = new ArrayList<>(queue.fPending.values());
+			queue.fPending.clear();
+			queue.fScheduled = false;
+			generation = queue.fGeneration;
+			cacheGeneration = fCacheGeneration;
+		}
+		Map<IJavaValue, List<IValueDetailListener>> coalesced = new LinkedHashMap<>();
+		for (Request request : requests) {
+			if (request.fGeneration != generation) {
+				reportStale(request);
+				continue;
+			}
+			String cached = getCachedDetail(thread, request.fValue);
+			if (cached != null) {
+				request.fListener.detailComputed(request.fValue, cached);
+				continue;
+			}
+			coalesced.computeIfAbsent(request.fValue, v -> new ArrayList<>(1)).add(request.fListener);
+		}
+		for (Map.Entry<IJavaValue, List<IValueDetailListener>> entry : coalesced.entrySet()) {
+			fResolver.resolve(entry.getKey(), thread, new CachingListener(thread, queue, generation, cacheGeneration, entry.getValue()));
+		}
+	}
+
+	/**
+	 * Answers a request made before its thread last resumed without evaluating anything in the target.
+	 */
+	private void reportStale(Request request) {
+		String detail;
+		try {
+			detail = request.fValue.getValueString();
+		} catch (DebugException e) {
+			detail = e.getStatus().getMessage();
+		}
+		request.fListener.detailComputed(request.fValue, detail);
+	}
+
+	/**
+	 * Returns the cache key of the given value, or <code>null</code> if its detail is not cached.
+	 */
+	private static Long cacheKey(IJavaValue value) {
+		if (!(value instanceof IJavaObject) || value instanceof JDIAllInstancesValue || value instanceof JDIReferenceListValue) {
+			return null;
+		}
+		try {
+			long id = ((IJavaObject) value).getUniqueId();
+			return id == -1 ? null : Long.valueOf(id);
+		} catch (DebugException e) {
+			return null;
+		}
+	}
+
+	private synchronized String getCachedDetail(IJavaThread thread, IJavaValue value) {
+		Long key = cacheKey(value);
+		if (key == null) {
+			return null;
+		}
+		Map<Long, String> details = fCache.get(thread.getDebugTarget());
+		return details == null ? null : details.get(key);
+	}
+
+	private synchronized void cacheDetail(IJavaThread thread, ThreadQueue queue, int generation, int cacheGeneration, IValue value, String detail) {
+		if (queue.fGeneration != generation || fCacheGeneration != cacheGeneration || !(value instanceof IJavaValue)) {
+			// the thread resumed or the cache was discarded while the detail was computed
+			return;
+		}
+		Long key = cacheKey((IJavaValue) value);
+		if (key != null) {
+			fCache.computeIfAbsent(thread.getDebugTarget(), t -> new HashMap<>()).put(key, detail);
+		}
+	}
+
+	/**
+	 * Notes that the given thread resumed. Pending requests of the thread become stale and cached details of its target are discarded.
+	 *
+	 * @param thread
+	 *            the thread that resumed
+	 */
+	synchronized void threadResumed(IJavaThread thread) {
+		ThreadQueue queue = fQueues.get(thread);
+		if (queue != null) {
+			queue.fGeneration++;
+		}
+		discardCache(thread.getDebugTarget());
+	}
+
+	/**
+	 * Notes that all threads of the given target resumed.
+	 *
+	 * @param target
+	 *            the target that resumed
+	 */
+	synchronized void targetResumed(IDebugTarget target) {
+		for (Map.Entry<IJavaThread, ThreadQueue> entry : fQueues.entrySet()) {
+			if (entry.getKey().getDebugTarget() == target) {
+				entry.getValue().fGeneration++;
+			}
+		}
+		discardCache(target);
+	}
+
+	/**
+	 * Notes that an element of the given target changed, for example a variable was assigned. Cached details of the target are discarded.
+	 *
+	 * @param target
+	 *            the target that changed
+	 */
+	synchronized void targetChanged(IDebugTarget target) {
+		discardCache(target);
+	}
+
+	/**
+	 * Discards the state kept for the given thread.
+	 *
+	 * @param thread
+	 *            the thread that terminated
+	 */
+	synchronized void threadTerminated(IJavaThread thread) {
+		fQueues.remove(thread);
+	}
+
+	/**
+	 * Discards all state kept for the given target.
+	 *
+	 * @param target
+	 *            the target that terminated
+	 */
+	synchronized void targetTerminated(IDebugTarget target) {
+		for (Iterator<IJavaThread> iter = fQueues.keySet().iterator(); iter.hasNext();) {
+			if (iter.next().getDebugTarget() == target) {
+				iter.remove();
+			}
+		}
+		fCache.remove(target);
+	}
+
+	/**
+	 * Discards all cached details, for example after the detail formatters changed.
+	 */
+	synchronized void clearCache() {
+		fCache.clear();
+		fCacheGeneration++;
+	}
+
+	private void discardCache(IDebugTarget target) {
+		fCache.remove(target);
+		fCacheGeneration++;
+	}
+
+	/**
+	 * Caches a computed detail and reports it to all listeners of the coalesced requests.
+	 */
+	private final class CachingListener implements IValueDetailListener {
+		private final IJavaThread fThread;
+		private final ThreadQueue fQueue;
+		private final int fGeneration;
+		private final int fCacheGeneration;
+		private final List<IValueDetailListener> fListeners;
+
+		CachingListener(IJavaThread thread, ThreadQueue queue, int generation, int cacheGeneration, List<IValueDetailListener> listeners) {
+			fThread = thread;
+			fQueue = queue;
+			fGeneration = generation;
+			fCacheGeneration = cacheGeneration;
+			fListeners = listeners;
+		}
+
+		@Override
+		public void detailComputed(IValue value, String result) {
+			if (result != null && fThread.isSuspended()) {
+				cacheDetail(fThread, fQueue, fGeneration, fCacheGeneration, value, result);
+			}
+			for (IValueDetailListener listener : fListeners) {
+				listener.detailComputed(value, result);
+			}
+		}
+	}
+}
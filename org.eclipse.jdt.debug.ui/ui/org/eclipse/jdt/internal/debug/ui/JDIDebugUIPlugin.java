@@ -62,6 +62,7 @@ import org.eclipse.jdt.internal.debug.core.model.GroupedStackFrame;
 import org.eclipse.jdt.internal.debug.ui.breakpoints.ExceptionInspector;
 import org.eclipse.jdt.internal.debug.ui.breakpoints.JavaBreakpointTypeAdapterFactory;
 import org.eclipse.jdt.internal.debug.ui.classpath.ClasspathEntryAdapterFactory;
+import org.eclipse.jdt.internal.debug.ui.console.LogpointConsoleWriter;
 import org.eclipse.jdt.internal.debug.ui.display.JavaInspectExpression;
 import org.eclipse.jdt.internal.debug.ui.monitors.JavaContendedMonitor;
 import org.eclipse.jdt.internal.debug.ui.monitors.JavaOwnedMonitor;
@@ -442,6 +443,7 @@ public class JDIDebugUIPlugin extends AbstractUIPlugin {
 		stackFrameCategorizer = new StackFrameCategorizer(Platform.getPreferencesService(), instancePreferences);
 		instancePreferences.addPreferenceChangeListener(stackFrameCategorizer);
 		JDIDebugPlugin.getDefault().setStackFrameCategorizer(stackFrameCategorizer::categorize);
+		JDIDebugPlugin.getDefault().setLogpointWriter(new LogpointConsoleWriter());
 	}
 
 	/* (non-Javadoc)
@@ -454,6 +456,7 @@ public class JDIDebugUIPlugin extends AbstractUIPlugin {
 
 			getInstancePreferences().removePreferenceChangeListener(stackFrameCategorizer);
 			JDIDebugPlugin.getDefault().setStackFrameCategorizer(null);
+			JDIDebugPlugin.getDefault().setLogpointWriter(null);
 
 			JDIDebugModel.removeHotCodeReplaceListener(fHCRListener);
 			JavaDebugOptionsManager.getDefault().shutdown();
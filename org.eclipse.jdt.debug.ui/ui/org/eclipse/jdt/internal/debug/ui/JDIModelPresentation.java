@@ -13,7 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.ui;
 
+import java.text.DateFormat;
+import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -76,6 +79,8 @@ import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.core.IJavaWatchpoint;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointHitStatistics;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaExceptionBreakpoint;
 import org.eclipse.jdt.internal.debug.core.logicalstructures.JDIAllInstancesValue;
 import org.eclipse.jdt.internal.debug.core.logicalstructures.JDIReturnValueVariable;
@@ -84,6 +89,8 @@ import org.eclipse.jdt.internal.debug.core.model.JDIDebugModelMessages;
 import org.eclipse.jdt.internal.debug.core.model.JDIReferenceListEntryVariable;
 import org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIReferenceListVariable;
+import org.eclipse.jdt.internal.debug.core.model.JDISnapshot;
+import org.eclipse.jdt.internal.debug.core.model.JDISnapshotFrame;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 import org.eclipse.jdt.internal.debug.ui.breakpoints.SuspendOnUncaughtExceptionListener;
 import org.eclipse.jdt.internal.debug.ui.display.JavaInspectExpression;
@@ -157,6 +164,23 @@ public class JDIModelPresentation extends LabelProvider implements IDebugModelPr
 	 * */
 	private static final String BREAKPOINT_LABEL_SUFFIX = "JDT_BREAKPOINT_LABEL_SUFFIX"; //$NON-NLS-1$
 
+	/**
+	 * Number of seconds shown in the histogram of a count only breakpoint
+	 */
+	private static final int HISTOGRAM_SECONDS = 20;
+
+	/**
+	 * Number of complete seconds the hit rate of a count only breakpoint is
+	 * averaged over
+	 */
+	private static final int RATE_SECONDS = 5;
+
+	/**
+	 * Bars of the histogram of a count only breakpoint, from no hits to the
+	 * most hits in a second
+	 */
+	private static final char[] HISTOGRAM_BARS = { '\u2581', '\u2582', '\u2583', '\u2584', '\u2585', '\u2586', '\u2587', '\u2588' };
+
 	private JavaElementLabelProvider fJavaLabelProvider;
 
 	private StackFramePresentationProvider fStackFrameProvider;
@@ -259,6 +283,9 @@ public class JDIModelPresentation extends LabelProvider implements IDebugModelPr
 				return getJavaWaitingTreadText((JavaWaitingThread)item);
 			} else if (item instanceof GroupedStackFrame groupping) {
 				return getFormattedString(DebugUIMessages.JDIModelPresentation_collapsed_frames, String.valueOf(groupping.getFrameCount()));
+			} else if (item instanceof JDISnapshot snapshot) {
+				return getFormattedString(DebugUIMessages.JDIModelPresentation_snapshot, new String[] { snapshot.getName(),
+						DateFormat.getTimeInstance(DateFormat.MEDIUM).format(new Date(snapshot.getTime())) });
 			} else if (item instanceof NoMonitorInformationElement) {
                 return DebugUIMessages.JDIModelPresentation_5;
             } else {
@@ -765,6 +792,12 @@ public class JDIModelPresentation extends LabelProvider implements IDebugModelPr
 			if (item instanceof GroupedStackFrame) {
 				return getJavaDebugImage(JavaDebugImages.IMG_OBJS_GROUPED_STACK_FRAME, 0);
 			}
+			if (item instanceof JDISnapshot) {
+				return DebugUITools.getImage(IDebugUIConstants.IMG_OBJS_THREAD_SUSPENDED);
+			}
+			if (item instanceof JDISnapshotFrame) {
+				return DebugUITools.getImage(IDebugUIConstants.IMG_OBJS_STACKFRAME);
+			}
 			if (item instanceof IJavaThread || item instanceof IJavaDebugTarget) {
 				return getDebugElementImage(item);
 			}
@@ -1964,6 +1997,9 @@ public class JDIModelPresentation extends LabelProvider implements IDebugModelPr
 			return label.toString();
 
 		}
+		if (stackFrame instanceof JDISnapshotFrame) {
+			return stackFrame.getName();
+		}
 		return null;
 	}
 
@@ -2084,6 +2120,42 @@ public class JDIModelPresentation extends LabelProvider implements IDebugModelPr
 			buffer.append(' ');
 			buffer.append(DebugUIMessages.JDIModelPresentation_resume_on_hit);
 		}
+		if (breakpoint.getSuspendPolicy() == IJavaBreakpoint.COUNT_ONLY) {
+			buffer.append(' ');
+			appendHitStatistics(breakpoint, buffer);
+		}
+	}
+
+	/**
+	 * Appends the number of hits of a count only breakpoint, its rate over the
+	 * last seconds and a histogram of the last {@link #HISTOGRAM_SECONDS}
+	 * seconds.
+	 */
+	private void appendHitStatistics(IJavaBreakpoint breakpoint, StringBuilder buffer) {
+		BreakpointHitStatistics statistics = null;
+		if (breakpoint instanceof JavaBreakpoint) {
+			statistics = ((JavaBreakpoint) breakpoint).getHitStatistics();
+		}
+		if (statistics == null) {
+			buffer.append(DebugUIMessages.JDIModelPresentation_count_only);
+			return;
+		}
+		long time = System.currentTimeMillis();
+		long[] histogram = statistics.getHistogram(time);
+		long max = 0;
+		for (int i = histogram.length - HISTOGRAM_SECONDS; i < histogram.length; i++) {
+			max = Math.max(max, histogram[i]);
+		}
+		StringBuilder bars = new StringBuilder(HISTOGRAM_SECONDS);
+		for (int i = histogram.length - HISTOGRAM_SECONDS; i < histogram.length; i++) {
+			int level = max == 0 ? 0 : (int) ((histogram[i] * (HISTOGRAM_BARS.length - 1) + max - 1) / max);
+			bars.append(HISTOGRAM_BARS[level]);
+		}
+		NumberFormat rate = NumberFormat.getNumberInstance();
+		rate.setMaximumFractionDigits(1);
+		buffer.append(NLS.bind(DebugUIMessages.JDIModelPresentation_count_only_hits, new Object[] {
+				NumberFormat.getIntegerInstance().format(statistics.getTotal()),
+				rate.format(statistics.getRate(time, RATE_SECONDS)), bars }));
 	}
 
 	protected void appendThreadFilter(IJavaBreakpoint breakpoint, StringBuilder buffer) throws CoreException {
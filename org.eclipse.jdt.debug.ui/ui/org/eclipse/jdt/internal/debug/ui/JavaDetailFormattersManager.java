@@ -16,6 +16,8 @@ package org.eclipse.jdt.internal.debug.ui;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
@@ -26,6 +28,7 @@ import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchesListener;
+import org.eclipse.debug.core.model.IDebugElement;
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.debug.ui.DebugUITools;
@@ -54,6 +57,7 @@ import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
 import org.eclipse.jdt.internal.debug.core.logicalstructures.JDIAllInstancesValue;
 import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIObjectValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIType;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -61,7 +65,13 @@ import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.jface.util.Util;
 import org.eclipse.osgi.util.NLS;
 
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.ByteValue;
+import com.sun.jdi.Field;
 import com.sun.jdi.InvocationException;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Value;
 
 /**
  * Generates strings for the detail pane of views displaying java elements.
@@ -96,6 +106,11 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 	 */
 	private final HashMap<Key, Expression> fCacheMap;
 
+	/**
+	 * Coalesces, caches and evaluates detail requests per thread.
+	 */
+	private final DetailComputationScheduler fScheduler;
+
 	/**
 	 * JavaDetailFormattersManager constructor.
 	 */
@@ -106,6 +121,7 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 		DebugPlugin.getDefault().addDebugEventListener(this);
 		DebugUITools.getPreferenceStore().addPropertyChangeListener(this);
 		fCacheMap= new HashMap<>();
+		fScheduler= new DetailComputationScheduler(this::resolveFormatter);
 	}
 
 	/**
@@ -127,18 +143,17 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 	 * the type of the given value, this formatter is used instead of the <code>toString()</code>
 	 * method.
 	 * The result is return through the listener.
+	 * <p>
+	 * Requests are coalesced per thread and details of objects are cached until the
+	 * thread resumes, see {@link DetailComputationScheduler}.
+	 * </p>
 	 *
 	 * @param objectValue the value to 'format'
 	 * @param thread the thread to use to performed the evaluation
 	 * @param listener the listener
 	 */
 	public void computeValueDetail(final IJavaValue objectValue, final IJavaThread thread, final IValueDetailListener listener) {
-		thread.queueRunnable(new Runnable() {
-			@Override
-			public void run() {
-				resolveFormatter(objectValue, thread, listener);
-			}
-		});
+		fScheduler.schedule(objectValue, thread, listener);
 	}
 
 	private void resolveFormatter(final IJavaValue value, final IJavaThread thread, final IValueDetailListener listener) {
@@ -590,6 +605,7 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 				property.equals(IDebugUIConstants.PREF_MAX_DETAIL_LENGTH)) {
 			populateDetailFormattersMap();
 			fCacheMap.clear();
+			fScheduler.clearCache();
 			// If a Java stack frame is selected in the Debug view, fire a change event on
 			// it so the variables view will update for any formatter changes.
             IAdaptable selected = DebugUITools.getDebugContext();
@@ -610,8 +626,25 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 	public void handleDebugEvents(DebugEvent[] events) {
 		for (int i = 0; i < events.length; i++) {
 			DebugEvent event = events[i];
-			if (event.getSource() instanceof IJavaDebugTarget && event.getKind() == DebugEvent.TERMINATE) {
-				deleteCacheForTarget((IJavaDebugTarget) event.getSource());
+			Object source = event.getSource();
+			if (event.getKind() == DebugEvent.CHANGE && source instanceof IDebugElement element) {
+				// a modified value keeps its object id, but its detail may change
+				fScheduler.targetChanged(element.getDebugTarget());
+			}
+			if (source instanceof IJavaDebugTarget target) {
+				if (event.getKind() == DebugEvent.TERMINATE) {
+					deleteCacheForTarget(target);
+					fScheduler.targetTerminated(target);
+				} else if (event.getKind() == DebugEvent.RESUME) {
+					fScheduler.targetResumed(target);
+				}
+			} else if (source instanceof IJavaThread thread) {
+				if (event.getKind() == DebugEvent.TERMINATE) {
+					fScheduler.threadTerminated(thread);
+				} else if (event.getKind() == DebugEvent.RESUME && event.getDetail() != DebugEvent.EVALUATION_IMPLICIT) {
+					// implicit evaluations, such as computing details, do not invalidate computed details
+					fScheduler.threadResumed(thread);
+				}
 			}
 		}
 	}
@@ -641,6 +674,7 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 			for (int j = 0; j < debugTargets.length; j++) {
 				if (debugTargets[j] instanceof IJavaDebugTarget) {
 					deleteCacheForTarget((IJavaDebugTarget)debugTargets[j]);
+					fScheduler.targetTerminated(debugTargets[j]);
 				}
 			}
 		}
@@ -732,6 +766,13 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 		 */
 		private static final String STRING_SIGNATURE = "Ljava/lang/String;"; //$NON-NLS-1$
 
+		/**
+		 * The selector and signature of <code>java.lang.String#substring(int, int)</code>,
+		 * used to truncate long strings in the target.
+		 */
+		private static final String fgSubstring= "substring"; //$NON-NLS-1$
+		private static final String fgSubstringSignature= "(II)Ljava/lang/String;"; //$NON-NLS-1$
+
 		private final IJavaValue fValue;
 
 		private final IValueDetailListener fListener;
@@ -791,7 +832,8 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 				result = new StringBuilder();
 				result.append(DebugUIMessages.JavaDetailFormattersManager_no_suspended_threads);
 				appendJDIValueString(result, objectValue);
-			} else if (objectValue instanceof IJavaObject && STRING_SIGNATURE.equals(objectValue.getSignature())) {
+			} else if (objectValue instanceof IJavaObject && STRING_SIGNATURE.equals(objectValue.getSignature())
+					&& !needsTruncation((IJavaObject) objectValue)) {
 				// no need to spawn evaluate for a java.lang.String
 				result = new StringBuilder();
 				appendJDIValueString(result, objectValue);
@@ -891,18 +933,75 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 			}
 			// optimize if the result is a string - no need to send toString to a string
 			if (STRING_SIGNATURE.equals(objectValue.getSignature())) {
-				appendJDIValueString(result, objectValue);
+				appendStringValue(result, objectValue);
 			} else {
 
 				IJavaValue toStringValue= objectValue.sendMessage(EvaluationListener.fgToString, EvaluationListener.fgToStringSignature, null, fThread, false);
 				if (toStringValue == null) {
 					result.append(DebugUIMessages.JavaDetailFormattersManager__unknown_);
+				} else if (toStringValue instanceof IJavaObject && STRING_SIGNATURE.equals(toStringValue.getSignature())) {
+					appendStringValue(result, (IJavaObject) toStringValue);
 				} else {
 					appendJDIValueString(result, toStringValue);
 				}
 			}
 		}
 
+		/*
+		 * Appends the given string, truncated to the maximum detail length. Strings longer
+		 * than the maximum are cut with substring() in the target, so that only the displayed
+		 * prefix is transferred. Must be called from within an evaluation.
+		 */
+		protected void appendStringValue(StringBuilder result, IJavaObject stringValue) throws DebugException {
+			IJavaValue value = stringValue;
+			if (needsTruncation(stringValue)) {
+				IJavaDebugTarget target = (IJavaDebugTarget) stringValue.getDebugTarget();
+				IJavaValue[] args = new IJavaValue[] { target.newValue(0), target.newValue(getMaxDetailLength()) };
+				IJavaValue prefix = stringValue.sendMessage(fgSubstring, fgSubstringSignature, args, fThread, false);
+				if (prefix != null) {
+					value = prefix;
+				}
+			}
+			appendJDIValueString(result, value);
+		}
+
+		/*
+		 * Returns whether the given string is longer than the maximum detail length. The
+		 * backing array and coder of the string are read with a single request, and the
+		 * length of the array with another, which does not require an evaluation.
+		 */
+		private static boolean needsTruncation(IJavaObject stringValue) {
+			int maxLength = getMaxDetailLength();
+			if (maxLength <= 0 || !(stringValue instanceof JDIObjectValue object)) {
+				return false;
+			}
+			ObjectReference reference = object.getUnderlyingObject();
+			if (reference == null) {
+				return false;
+			}
+			try {
+				ReferenceType type = reference.referenceType();
+				Field valueField = type.fieldByName("value"); //$NON-NLS-1$
+				if (valueField == null) {
+					return false;
+				}
+				Field coderField = type.fieldByName("coder"); //$NON-NLS-1$
+				Map<Field, Value> values = reference.getValues(coderField == null ? List.of(valueField) : List.of(valueField, coderField));
+				if (!(values.get(valueField) instanceof ArrayReference array)) {
+					return false;
+				}
+				int length = array.length();
+				// compact strings store UTF16 characters as two bytes
+				if (coderField != null && values.get(coderField) instanceof ByteValue coder && coder.value() == 1) {
+					length /= 2;
+				}
+				return length > maxLength;
+			} catch (RuntimeException e) {
+				// the string is shown in full
+				return false;
+			}
+		}
+
 
 
 	}
@@ -863,7 +863,7 @@ public class ObjectComparison {
 	 *            IJavaValue object
 	 * @return returns a suspended IJavaThread object
 	 */
-	private IJavaThread getSuspendedThread(IJavaValue value) throws DebugException {
+	IJavaThread getSuspendedThread(IJavaValue value) throws DebugException {
 		IJavaThread thread = (IJavaThread) value.getDebugTarget().getThreads()[0];
 		if (!thread.isSuspended()) {
 			JDIStackFrame frame = (JDIStackFrame) DebugUITools.getDebugContext();
@@ -0,0 +1,396 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.ui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.debug.core.IJavaArray;
+import org.eclipse.jdt.debug.core.IJavaFieldVariable;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.IJavaValue;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Compares collections and arrays without materializing their elements as strings.
+ * <p>
+ * Elements are read from the backing array of the collection in chunks, each chunk with a single request to the target. Each element is reduced
+ * to two independent 64 bit hashes of its comparison string, so the memory used per element does not depend on the element and equal hashes
+ * need not be confirmed by reading the elements again. Primitives are formatted locally, strings and boxed primitives are read directly from
+ * the target; other elements fall back to {@link ObjectComparison#objectValueExtraction(IJavaValue)}. Only the elements that differ are read a
+ * second time to report them, in chunks. The number of reported elements is bounded.
+ * </p>
+ * <p>
+ * The result has the same shape as {@link ObjectComparison#compareSelectedLists(Map, String)}.
+ * </p>
+ */
+public class StreamingCollectionComparison {
+
+	/**
+	 * Notified of differences as soon as they are found.
+	 */
+	public interface DifferenceListener {
+		/**
+		 * Notifies that an element of one collection is missing from another.
+		 *
+		 * @param collection
+		 *            the collection missing the element
+		 * @param other
+		 *            the collection containing the element
+		 * @param element
+		 *            comparison string of the element
+		 */
+		void differenceFound(IJavaVariable collection, IJavaVariable other, String element);
+	}
+
+	/**
+	 * Number of elements read from the target with one request
+	 */
+	public static final int CHUNK_SIZE = 1024;
+
+	/**
+	 * Maximum number of missing elements reported per pair of collections
+	 */
+	public static final int MAX_REPORTED_DIFFERENCES = 1000;
+
+	private static final String STRING_SIGNATURE = "Ljava/lang/String;"; //$NON-NLS-1$
+
+	private static final Set<String> BOXED_SIGNATURES = Set.of("Ljava/lang/Boolean;", "Ljava/lang/Byte;", "Ljava/lang/Character;", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"Ljava/lang/Short;", "Ljava/lang/Integer;", "Ljava/lang/Long;", "Ljava/lang/Float;", "Ljava/lang/Double;"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+	/**
+	 * Collections whose elements are read from their backing array, mapped to the names of the array and size fields
+	 */
+	private static final Map<String, String[]> BACKING_ARRAYS = Map.of("java.util.ArrayList", new String[] { "elementData", "size" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"java.util.Vector", new String[] { "elementData", "elementCount" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"java.util.Stack", new String[] { "elementData", "elementCount" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private final ObjectComparison fExtractor;
+
+	private final DifferenceListener fListener;
+
+	/**
+	 * Elements of one collection, reduced to hashes.
+	 */
+	private static final class Digest {
+		final IJavaVariable fVariable;
+
+		/**
+		 * The array elements are read from, and the number of elements used
+		 */
+		final IJavaArray fArray;
+		final int fSize;
+
+		/**
+		 * Whether the array was created for the comparison and is kept from being garbage collected
+		 */
+		final boolean fPinned;
+
+		/**
+		 * Element hashes in iteration order
+		 */
+		long[] fOrdered;
+
+		/**
+		 * Second hashes of the elements in iteration order, see {@link StreamingCollectionComparison#check(String)}
+		 */
+		long[] fChecks;
+
+		/**
+		 * Distinct element hashes, sorted
+		 */
+		long[] fDistinct;
+
+		/**
+		 * Index of the first element with each distinct hash
+		 */
+		int[] fFirst;
+
+		Digest(IJavaVariable variable, IJavaArray array, int size, boolean pinned) {
+			fVariable = variable;
+			fArray = array;
+			fSize = size;
+			fPinned = pinned;
+		}
+	}
+
+	/**
+	 * @param extractor
+	 *            extracts comparison strings of elements that cannot be read directly
+	 * @param listener
+	 *            listener notified of differences as they are found, or <code>null</code>
+	 */
+	public StreamingCollectionComparison(ObjectComparison extractor, DifferenceListener listener) {
+		fExtractor = extractor;
+		fListener = listener;
+	}
+
+	/**
+	 * Compares the selected collections or arrays with each other.
+	 *
+	 * @param selections
+	 *            List of selected objects
+	 * @param interfaceType
+	 *            Type of the interface used for comparison
+	 * @param monitor
+	 *            progress monitor, or <code>null</code>
+	 * @return Returns a Map of comparison result for given IJavaVariable, as returned by
+	 *         {@link ObjectComparison#compareSelectedLists(Map, String)}
+	 * @throws DebugException
+	 *             if reading from the target fails
+	 * @throws OperationCanceledException
+	 *             if the monitor is canceled
+	 */
+	@SuppressWarnings("nls")
+	public Map<IJavaVariable, Object> compareCollections(List<?> selections, String interfaceType, IProgressMonitor monitor) throws DebugException {
+		List<Digest> digests = new ArrayList<>();
+		try {
+			for (Object selection : selections) {
+				if (selection instanceof IJavaVariable variable) {
+					digests.add(open(variable));
+				}
+			}
+			SubMonitor progress = SubMonitor.convert(monitor, DebugUIMessages.StreamingCollectionComparison_comparing, digests.size() * 2);
+			for (Digest digest : digests) {
+				digest(digest, progress.split(1));
+			}
+			Map<IJavaVariable, Object> result = new HashMap<>();
+			for (Digest digest1 : digests) {
+				SubMonitor pairs = progress.split(1);
+				IJavaVariable key1 = digest1.fVariable;
+				Map<String, String> missingData = new LinkedHashMap<>();
+				Map<String, Object> properties = new HashMap<>();
+				List<String> differencesMain = new ArrayList<>();
+				for (Digest digest2 : digests) {
+					if (digest1 == digest2) {
+						continue;
+					}
+					IJavaVariable key2 = digest2.fVariable;
+					String message;
+					if (Arrays.equals(digest1.fOrdered, digest2.fOrdered) && Arrays.equals(digest1.fChecks, digest2.fChecks)) {
+						message = NLS.bind(DebugUIMessages.ListSameElements, new Object[] { interfaceType, key2.getName() });
+						properties.put(ObjectComparison.IMMEDIATE_RESULT_KEY, message);
+					} else if (Arrays.equals(digest1.fDistinct, digest2.fDistinct) && sameDistinctElements(digest1, digest2)) {
+						if (key1.getSignature().contains("Set") || key2.getSignature().contains("Set")) {
+							message = NLS.bind(DebugUIMessages.ListSameElements, new Object[] { interfaceType, key2.getName() });
+						} else {
+							message = NLS.bind(DebugUIMessages.ListSameELementsInDiffOrder, new Object[] { interfaceType, key2.getName() });
+						}
+						properties.put(ObjectComparison.IMMEDIATE_RESULT_KEY, message);
+					} else {
+						pairs.checkCanceled();
+						List<String> differencesCurrent = missingElements(digest1, digest2, pairs);
+						if (!differencesCurrent.isEmpty()) {
+							missingData.put(key2.getName(), differencesCurrent.toString());
+							differencesMain = differencesCurrent;
+						}
+					}
+				}
+				if (!differencesMain.isEmpty()) {
+					properties.put("MultiValues", missingData.toString());
+					properties.put(ObjectComparison.OBJECT_VALUES, differencesMain);
+				}
+				properties.put(ObjectComparison.ELEMENT_SIZE, digest1.fSize);
+				properties.put(ObjectComparison.OBJECT_TYPE, key1.getValue().getReferenceTypeName());
+				result.put(key1, properties);
+			}
+			return result;
+		} finally {
+			for (Digest digest : digests) {
+				if (digest.fPinned) {
+					try {
+						digest.fArray.enableCollection();
+					} catch (DebugException e) {
+						// the target may have terminated
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the digest of the given variable, locating the array its elements are read from. Lists backed by an array are read directly,
+	 * other collections are copied to an array in the target once.
+	 */
+	@SuppressWarnings("nls")
+	private Digest open(IJavaVariable variable) throws DebugException {
+		IJavaValue value = (IJavaValue) variable.getValue();
+		if (value instanceof IJavaArray array) {
+			return new Digest(variable, array, array.getLength(), false);
+		}
+		if (!(value instanceof IJavaObject object) || value.isNull()) {
+			return new Digest(variable, null, 0, false);
+		}
+		String[] fields = BACKING_ARRAYS.get(object.getJavaType().getName());
+		if (fields != null) {
+			IJavaFieldVariable data = object.getField(fields[0], false);
+			IJavaFieldVariable size = object.getField(fields[1], false);
+			if (data != null && size != null && data.getValue() instanceof IJavaArray array && size.getValue() instanceof IJavaPrimitiveValue count) {
+				return new Digest(variable, array, Math.min(count.getIntValue(), array.getLength()), false);
+			}
+		}
+		IJavaThread thread = fExtractor.getSuspendedThread(object);
+		IJavaValue toArray = object.sendMessage("toArray", "()[Ljava/lang/Object;", null, thread, false);
+		if (toArray instanceof IJavaArray array) {
+			// keep the copy alive until its elements have been read
+			array.disableCollection();
+			return new Digest(variable, array, array.getLength(), true);
+		}
+		return new Digest(variable, null, 0, false);
+	}
+
+	/**
+	 * Reads all elements of the given digest in chunks and reduces them to hashes.
+	 */
+	private void digest(Digest digest, SubMonitor monitor) throws DebugException {
+		int size = digest.fSize;
+		long[] ordered = new long[size];
+		long[] checks = new long[size];
+		SubMonitor progress = SubMonitor.convert(monitor, (size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+		progress.subTask(NLS.bind(DebugUIMessages.StreamingCollectionComparison_reading, digest.fVariable.getName()));
+		for (int offset = 0; offset < size; offset += CHUNK_SIZE) {
+			int length = Math.min(CHUNK_SIZE, size - offset);
+			IJavaValue[] values = digest.fArray.getValues(offset, length);
+			for (int i = 0; i < length; i++) {
+				String element = elementString(values[i]);
+				ordered[offset + i] = hash(element);
+				checks[offset + i] = check(element);
+			}
+			progress.split(1);
+		}
+		digest.fOrdered = ordered;
+		digest.fChecks = checks;
+		long[] sorted = ordered.clone();
+		Arrays.sort(sorted);
+		int distinct = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (i == 0 || sorted[i] != sorted[i - 1]) {
+				sorted[distinct++] = sorted[i];
+			}
+		}
+		digest.fDistinct = Arrays.copyOf(sorted, distinct);
+		int[] first = new int[distinct];
+		Arrays.fill(first, -1);
+		for (int i = 0; i < size; i++) {
+			int index = Arrays.binarySearch(digest.fDistinct, ordered[i]);
+			if (first[index] == -1) {
+				first[index] = i;
+			}
+		}
+		digest.fFirst = first;
+	}
+
+	/**
+	 * Returns whether the first elements with each hash of the given digests, whose distinct hashes are equal, have equal second hashes.
+	 */
+	private static boolean sameDistinctElements(Digest digest1, Digest digest2) {
+		for (int i = 0; i < digest1.fDistinct.length; i++) {
+			if (digest1.fChecks[digest1.fFirst[i]] != digest2.fChecks[digest2.fFirst[i]]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the distinct elements of <code>digest2</code> that are missing from <code>digest1</code>, in iteration order. Only the missing
+	 * elements are read from the target again, in chunks.
+	 */
+	private List<String> missingElements(Digest digest1, Digest digest2, SubMonitor monitor) throws DebugException {
+		int[] first = digest2.fFirst.clone();
+		Arrays.sort(first);
+		int[] indices = new int[Math.min(first.length, MAX_REPORTED_DIFFERENCES)];
+		int count = 0;
+		for (int i = 0; i < first.length && count < indices.length; i++) {
+			int element = first[i];
+			int index = Arrays.binarySearch(digest1.fDistinct, digest2.fOrdered[element]);
+			// an equal hash is only a match if the second hashes are equal too
+			if (index < 0 || digest1.fChecks[digest1.fFirst[index]] != digest2.fChecks[element]) {
+				indices[count++] = element;
+			}
+		}
+		List<String> missing = new ArrayList<>(count);
+		int i = 0;
+		while (i < count) {
+			monitor.checkCanceled();
+			int offset = indices[i];
+			IJavaValue[] values = digest2.fArray.getValues(offset, Math.min(CHUNK_SIZE, digest2.fSize - offset));
+			for (; i < count && indices[i] < offset + values.length; i++) {
+				String element = elementString(values[indices[i] - offset]);
+				missing.add(element);
+				if (fListener != null) {
+					fListener.differenceFound(digest1.fVariable, digest2.fVariable, element);
+				}
+			}
+		}
+		return missing;
+	}
+
+	/**
+	 * Returns the string elements are compared by, reading strings and boxed primitives directly from the target.
+	 */
+	private String elementString(IJavaValue value) throws DebugException {
+		if (value.isNull() || value instanceof IJavaPrimitiveValue) {
+			return value.getValueString();
+		}
+		String signature = value.getSignature();
+		if (STRING_SIGNATURE.equals(signature)) {
+			return value.getValueString();
+		}
+		if (BOXED_SIGNATURES.contains(signature)) {
+			IJavaFieldVariable field = ((IJavaObject) value).getField("value", false); //$NON-NLS-1$
+			if (field != null) {
+				return field.getValue().getValueString();
+			}
+		}
+		return fExtractor.objectValueExtraction(value);
+	}
+
+	/**
+	 * Returns the 64 bit FNV-1a hash of the given string.
+	 */
+	static long hash(String string) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < string.length(); i++) {
+			hash ^= string.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns a second 64 bit hash of the given string, computed independently of {@link #hash(String)}, to tell apart strings with equal
+	 * hashes.
+	 */
+	static long check(String string) {
+		long check = string.length();
+		for (int i = 0; i < string.length(); i++) {
+			check = (check + string.charAt(i)) * 0x9e3779b97f4a7c15L;
+			check ^= check >>> 29;
+		}
+		return check;
+	}
+}
@@ -12,14 +12,17 @@
  *     IBM Corporation - initial API and implementation
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.ui.actions;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.debug.internal.ui.DebugUIPlugin;
@@ -27,6 +30,7 @@ import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.internal.debug.ui.CompareElementsEditor;
 import org.eclipse.jdt.internal.debug.ui.DebugUIMessages;
 import org.eclipse.jdt.internal.debug.ui.ObjectComparison;
+import org.eclipse.jdt.internal.debug.ui.StreamingCollectionComparison;
 import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.ISelection;
@@ -92,24 +96,30 @@ public class CompareObjectsAction extends ObjectActionDelegate implements IWorkb
 			}
 			String temp = (String) valueSet.toArray()[0];
 			if (temp.equals("Lists")) {
-				result = obcp.listExtraction(selections);
-				result = obcp.compareSelectedLists(result, temp);
+				result = compareCollections(obcp, selections, temp);
+				if (result == null) {
+					return;
+				}
 				if (selections.size() == 2) {
 					displayListResultsInDialogBox(result);
 					return;
 				}
 				displayInDiffView(result, temp);
 			} else if (temp.equals("Sets")) {
-				result = obcp.setExtraction(selections);
-				result = obcp.compareSelectedLists(result, temp);
+				result = compareCollections(obcp, selections, temp);
+				if (result == null) {
+					return;
+				}
 				if (selections.size() == 2) {
 					displayListResultsInDialogBox(result);
 					return;
 				}
 				displayInDiffView(result, temp);
 			} else if (temp.equals("Queues") || temp.equals("Deques")) {
-				result = obcp.listExtraction(selections);
-				result = obcp.compareSelectedLists(result, temp);
+				result = compareCollections(obcp, selections, temp);
+				if (result == null) {
+					return;
+				}
 				if (selections.size() == 2) {
 					displayListResultsInDialogBox(result);
 					return;
@@ -132,8 +142,10 @@ public class CompareObjectsAction extends ObjectActionDelegate implements IWorkb
 				}
 				displayInDiffView(result, temp);
 			} else if (temp.equals("Arrays")) {
-				result = obcp.arrayExtraction(selections);
-				result = obcp.compareSelectedLists(result, temp);
+				result = compareCollections(obcp, selections, temp);
+				if (result == null) {
+					return;
+				}
 				if (selections.size() == 2) {
 					displayListResultsInDialogBox(result);
 					return;
@@ -175,6 +187,45 @@ public class CompareObjectsAction extends ObjectActionDelegate implements IWorkb
 		}
 	}
 
+	/**
+	 * Compares the selected collections or arrays with a busy cursor, reading their elements in chunks. Progress and missing elements are
+	 * reported while the comparison runs.
+	 *
+	 * @param obcp
+	 *            object comparison used to extract elements
+	 * @param selections
+	 *            Selected objects from variable view
+	 * @param type
+	 *            Type of the interface used for comparison
+	 * @return returns a Map of comparison result details, or <code>null</code> if the comparison was canceled
+	 * @throws Exception
+	 *             if the comparison failed
+	 */
+	private Map<IJavaVariable, Object> compareCollections(ObjectComparison obcp, List<IStructuredSelection> selections, String type) throws Exception {
+		AtomicReference<Map<IJavaVariable, Object>> result = new AtomicReference<>();
+		try {
+			PlatformUI.getWorkbench().getProgressService().busyCursorWhile(monitor -> {
+				StreamingCollectionComparison comparison = new StreamingCollectionComparison(obcp, (collection, other, element) -> monitor.subTask(NLS.bind(DebugUIMessages.DialogBoxListMissing, collection.getName(), element)));
+				try {
+					result.set(comparison.compareCollections(selections, type, monitor));
+				} catch (DebugException e) {
+					throw new InvocationTargetException(e);
+				} catch (OperationCanceledException e) {
+					throw new InterruptedException();
+				}
+			});
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof Exception cause) {
+				throw cause;
+			}
+			throw e;
+		} catch (InterruptedException e) {
+			// canceled by the user
+			return null;
+		}
+		return result.get();
+	}
+
 	/**
 	 * Returns the interface or java type of selected objects
 	 *
@@ -48,6 +48,7 @@ public class StandardJavaBreakpointEditor extends AbstractJavaBreakpointEditor {
 	private Button fSuspendThread;
 	private Button fResumeOnHit;
 	private Button fSuspendVM;
+	private Button fCountOnly;
 	protected Button fTriggerPointButton;
 	protected Button fDisableOnHit;
 
@@ -135,7 +136,7 @@ public class StandardJavaBreakpointEditor extends AbstractJavaBreakpointEditor {
 			}
 
 			private boolean suspendVmAndTreadNotSelected() {
-				return !fSuspendThread.getSelection() && !fSuspendVM.getSelection();
+				return !fSuspendThread.getSelection() && !fSuspendVM.getSelection() && !fCountOnly.getSelection();
 			}
 		});
 		fResumeOnHit = SWTFactory.createRadioButton(composite, PropertyPageMessages.BreakpointResumeOnHit, 1);
@@ -154,6 +155,7 @@ public class StandardJavaBreakpointEditor extends AbstractJavaBreakpointEditor {
 				setDirty(PROP_SUSPEND_POLICY);
 				fSuspendThread.setSelection(false);
 				fSuspendVM.setSelection(false);
+				fCountOnly.setSelection(false);
 				fResumeOnHit.setEnabled(true);
 			}
 		});
@@ -192,6 +194,8 @@ public class StandardJavaBreakpointEditor extends AbstractJavaBreakpointEditor {
 		fSuspendThread.setLayoutData(new GridData());
 		fSuspendVM = SWTFactory.createRadioButton(radios, processMnemonics(PropertyPageMessages.JavaBreakpointPage_8), 1);
 		fSuspendVM.setLayoutData(new GridData());
+		fCountOnly = SWTFactory.createRadioButton(radios, processMnemonics(PropertyPageMessages.JavaBreakpointPage_countOnly), 1);
+		fCountOnly.setLayoutData(new GridData());
 		fSuspendThread.addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(SelectionEvent e) {
@@ -206,6 +210,13 @@ public class StandardJavaBreakpointEditor extends AbstractJavaBreakpointEditor {
 				setDirty(PROP_SUSPEND_POLICY);
 			}
 		});
+		fCountOnly.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				setConditionTextToSuspend();
+				setDirty(PROP_SUSPEND_POLICY);
+			}
+		});
 		fDisableOnHit.addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(SelectionEvent event) {
@@ -262,6 +273,7 @@ public class StandardJavaBreakpointEditor extends AbstractJavaBreakpointEditor {
 		String text = Util.ZERO_LENGTH_STRING;
 		boolean suspendThread = true;
 		boolean resumeOnHit = false;
+		boolean countOnly = false;
 		boolean isDisableOnHit = false;
 		if (breakpoint != null) {
 			enabled = true;
@@ -272,6 +284,7 @@ public class StandardJavaBreakpointEditor extends AbstractJavaBreakpointEditor {
 			}
 			suspendThread= breakpoint.getSuspendPolicy() == IJavaBreakpoint.SUSPEND_THREAD;
 			resumeOnHit = breakpoint.getSuspendPolicy() == IJavaBreakpoint.RESUME_ON_HIT && isTriggerPoint();
+			countOnly = breakpoint.getSuspendPolicy() == IJavaBreakpoint.COUNT_ONLY;
 			isDisableOnHit = breakpoint.isDisableOnHit();
 		}
 		fHitCountButton.setEnabled(enabled);
@@ -280,10 +293,12 @@ public class StandardJavaBreakpointEditor extends AbstractJavaBreakpointEditor {
 		fHitCountText.setText(text);
 		fSuspendThread.setEnabled(enabled);
 		fSuspendVM.setEnabled(enabled);
+		fCountOnly.setEnabled(enabled);
 		fResumeOnHit.setEnabled(isTriggerPoint());
 		fResumeOnHit.setSelection(resumeOnHit);
 		fSuspendThread.setSelection(suspendThread && !resumeOnHit);
-		fSuspendVM.setSelection(!suspendThread && !resumeOnHit);
+		fSuspendVM.setSelection(!suspendThread && !resumeOnHit && !countOnly);
+		fCountOnly.setSelection(countOnly);
 		fTriggerPointButton.setEnabled(enabled);
 		fTriggerPointButton.setSelection(isTriggerPoint());
 		fDisableOnHit.setEnabled(!isTriggerPoint() && enabled);
@@ -318,6 +333,9 @@ public class StandardJavaBreakpointEditor extends AbstractJavaBreakpointEditor {
 			if(fSuspendVM.getSelection()) {
 				suspendPolicy = IJavaBreakpoint.SUSPEND_VM;
 			}
+			if (fCountOnly.getSelection()) {
+				suspendPolicy = IJavaBreakpoint.COUNT_ONLY;
+			}
 			if (fResumeOnHit.getSelection() && fTriggerPointButton.getSelection()) {
 				suspendPolicy = IJavaBreakpoint.RESUME_ON_HIT;
 			}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.ui.console;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.debug.ui.DebugUITools;
+import org.eclipse.debug.ui.IDebugUIConstants;
+import org.eclipse.debug.ui.console.IConsole;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.internal.debug.ui.JDIDebugUIPlugin;
+import org.eclipse.ui.console.IOConsoleOutputStream;
+
+/**
+ * Writes the messages of logpoints to the standard output of the console of
+ * the process they were logged in.
+ */
+public class LogpointConsoleWriter implements BiConsumer<IJavaDebugTarget, List<String>> {
+
+	@Override
+	public void accept(IJavaDebugTarget target, List<String> messages) {
+		IProcess process = target.getProcess();
+		if (process == null) {
+			return;
+		}
+		IConsole console = DebugUITools.getConsole(process);
+		if (console == null) {
+			return;
+		}
+		IOConsoleOutputStream stream = console.getStream(IDebugUIConstants.ID_STANDARD_OUTPUT_STREAM);
+		if (stream == null || stream.isClosed()) {
+			return;
+		}
+		StringBuilder text = new StringBuilder();
+		for (String message : messages) {
+			text.append(message).append(System.lineSeparator());
+		}
+		try {
+			stream.write(text.toString());
+		} catch (IOException e) {
+			JDIDebugUIPlugin.log(e);
+		}
+	}
+}
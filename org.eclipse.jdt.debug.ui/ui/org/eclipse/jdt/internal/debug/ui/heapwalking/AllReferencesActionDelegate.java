@@ -86,7 +86,7 @@ public class AllReferencesActionDelegate extends BaseInstanceActionDelegate {
 	/**
 	 * @return the shell to use for new popups or <code>null</code>
 	 */
-	private Shell getShell(){
+	protected Shell getShell(){
 		if (fWindow != null){
 			return fWindow.getShell();
 		}
@@ -39,6 +39,10 @@ public class Messages extends NLS {
 
 	public static String InstanceCountActionDelegate_3;
 
+	public static String PathToRootActionDelegate_0;
+	public static String PathToRootActionDelegate_1;
+	public static String PathToRootActionDelegate_2;
+
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.ui.heapwalking;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.ui.IDebugView;
+import org.eclipse.debug.ui.InspectPopupDialog;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.internal.debug.core.HeapWalkingManager;
+import org.eclipse.jdt.internal.debug.core.model.JDIHeapWalker;
+import org.eclipse.jdt.internal.debug.core.model.JDIReferencePathValue;
+import org.eclipse.jdt.internal.debug.ui.JDIDebugUIPlugin;
+import org.eclipse.jdt.internal.debug.ui.actions.PopupInspectAction;
+import org.eclipse.jdt.internal.debug.ui.display.JavaInspectExpression;
+import org.eclipse.jface.action.IAction;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Action to browse a path of references from a GC root to the selected object.
+ * The path is searched in a job, as it may take many queries to the VM.
+ */
+public class PathToRootActionDelegate extends AllReferencesActionDelegate {
+
+	/**
+	 * Maximum length of a path searched
+	 */
+	private static final int MAX_DEPTH = 32;
+
+	@Override
+	public void run(IAction action) {
+		IStructuredSelection currentSelection = getCurrentSelection();
+		if (currentSelection != null && (currentSelection.getFirstElement() instanceof IJavaVariable)) {
+			IJavaVariable var = (IJavaVariable) currentSelection.getFirstElement();
+			try {
+				IJavaObject object = (IJavaObject) var.getValue();
+				String name = var.getName();
+				Job job = new Job(NLS.bind(Messages.PathToRootActionDelegate_1, name)) {
+					@Override
+					protected IStatus run(IProgressMonitor monitor) {
+						try {
+							IJavaObject[] path = JDIHeapWalker.findPathToRoot(object, MAX_DEPTH, HeapWalkingManager.getDefault().getAllReferencesMaxCount(), monitor);
+							if (monitor.isCanceled()) {
+								return Status.CANCEL_STATUS;
+							}
+							JDIDebugUIPlugin.getStandardDisplay().asyncExec(() -> open(action, name, new JDIReferencePathValue(object, path)));
+						} catch (DebugException e) {
+							return e.getStatus();
+						}
+						return Status.OK_STATUS;
+					}
+				};
+				job.setUser(true);
+				job.schedule();
+			} catch (DebugException e) {
+				JDIDebugUIPlugin.statusDialog(e.getStatus());
+			}
+		} else {
+			JDIDebugUIPlugin.statusDialog(new Status(IStatus.WARNING, JDIDebugUIPlugin.getUniqueIdentifier(), Messages.PathToRootActionDelegate_0));
+		}
+	}
+
+	/**
+	 * Opens a popup presenting the path found.
+	 */
+	private void open(IAction action, String name, JDIReferencePathValue path) {
+		IDebugView view = getPart() == null ? null : getPart().getAdapter(IDebugView.class);
+		if (view == null || view.getViewer() == null) {
+			return;
+		}
+		InspectPopupDialog ipd = new InspectPopupDialog(getShell(), getAnchor(view), PopupInspectAction.ACTION_DEFININITION_ID, new JavaInspectExpression(NLS.bind(Messages.PathToRootActionDelegate_2, name), path));
+		ipd.open();
+		ipd.getTreeViewer().addDoubleClickListener(doubleClick -> handleDoubleClick(action, doubleClick));
+	}
+}
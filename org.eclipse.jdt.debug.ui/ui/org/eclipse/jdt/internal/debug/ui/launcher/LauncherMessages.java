@@ -33,6 +33,7 @@ public class LauncherMessages extends NLS {
 	public static String JavaArgumentsTab_AttributeTooltip_ActivateHelpfulNullPointerExceptions;
 	public static String JavaArgumentsTab_AttributeLabel_UseArgfile;
 	public static String JavaArgumentsTab_AttributeTooltip_UseArgfile;
+	public static String JavaArgumentsTab_AttributeTooltip_ObjectGraphSnapshots;
 
 	public static String JavaArgumentsTab_AttributeLabel_WorkingDirectory;
 
@@ -58,6 +59,7 @@ public class LauncherMessages extends NLS {
 	public static String VMArgumentsBlock_1;
 	public static String VMArgumentsBlock_2;
 	public static String VMArgumentsBlock_3;
+	public static String VMArgumentsBlock_5;
 
 	public static String VMArgumentsBlock_VM_Arguments;
 	public static String VMArgumentsBlock_4;
@@ -47,6 +47,7 @@ public class VMArgumentsBlock extends JavaLaunchTab {
 	private Button fUseStartOnFirstThread = null;
 	private Button fHelpfulExceptions = null;
 	private Button fUseArgfile = null;
+	private Button fObjectGraphSnapshots = null;
 	private Button fPgrmArgVariableButton;
 
 	/**
@@ -132,6 +133,14 @@ public class VMArgumentsBlock extends JavaLaunchTab {
 				scheduleUpdateJob();
 			}
 		});
+		fObjectGraphSnapshots = SWTFactory.createCheckButton(group, LauncherMessages.VMArgumentsBlock_5, null, false, 1);
+		fObjectGraphSnapshots.setToolTipText(LauncherMessages.JavaArgumentsTab_AttributeTooltip_ObjectGraphSnapshots);
+		fObjectGraphSnapshots.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				scheduleUpdateJob();
+			}
+		});
 	}
 
 	/**
@@ -143,6 +152,7 @@ public class VMArgumentsBlock extends JavaLaunchTab {
 		configuration.setAttribute(IJavaLaunchConfigurationConstants.ATTR_USE_START_ON_FIRST_THREAD, true);
 		configuration.setAttribute(IJavaLaunchConfigurationConstants.ATTR_SHOW_CODEDETAILS_IN_EXCEPTION_MESSAGES, true);
 		configuration.setAttribute(IJavaLaunchConfigurationConstants.ATTR_USE_ARGFILE, false);
+		configuration.setAttribute(IJavaLaunchConfigurationConstants.ATTR_OBJECT_GRAPH_SNAPSHOTS, false);
 	}
 
 	/**
@@ -161,6 +171,9 @@ public class VMArgumentsBlock extends JavaLaunchTab {
 			if (fUseArgfile != null) {
 				fUseArgfile.setSelection(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_USE_ARGFILE, false));
 			}
+			if (fObjectGraphSnapshots != null) {
+				fObjectGraphSnapshots.setSelection(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_OBJECT_GRAPH_SNAPSHOTS, false));
+			}
 		} catch (CoreException e) {
 			setErrorMessage(LauncherMessages.JavaArgumentsTab_Exception_occurred_reading_configuration___15 + e.getStatus().getMessage());
 			JDIDebugUIPlugin.log(e);
@@ -188,6 +201,7 @@ public class VMArgumentsBlock extends JavaLaunchTab {
 		} else {
 			fUseArgfile.setEnabled(false);
 		}
+		configuration.setAttribute(IJavaLaunchConfigurationConstants.ATTR_OBJECT_GRAPH_SNAPSHOTS, fObjectGraphSnapshots.getSelection());
 	}
 
 	/**
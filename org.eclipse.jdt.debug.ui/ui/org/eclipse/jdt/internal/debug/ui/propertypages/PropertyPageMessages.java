@@ -62,6 +62,7 @@ public class PropertyPageMessages extends NLS {
 	public static String JavaBreakpointPage_5;
 	public static String JavaBreakpointPage_7;
 	public static String JavaBreakpointPage_8;
+	public static String JavaBreakpointPage_countOnly;
 	public static String JavaBreakpointPage_9;
 	public static String JavaExceptionBreakpointPage_5;
 
@@ -13,15 +13,22 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.ui.threadgroups;
 
+import java.util.Arrays;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.debug.internal.ui.model.elements.DebugTargetContentProvider;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationContext;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerUpdate;
 import org.eclipse.debug.ui.IDebugUIConstants;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDISnapshot;
 import org.eclipse.jdt.internal.debug.ui.monitors.JavaElementContentProvider;
 
 /**
+ * Shows the threads or thread groups of a Java debug target followed by the
+ * snapshots taken in it, see {@link JDISnapshot}.
+ *
  * @since 3.3
  */
 public class JavaDebugTargetContentProvider extends DebugTargetContentProvider {
@@ -32,13 +39,7 @@ public class JavaDebugTargetContentProvider extends DebugTargetContentProvider {
 	@Override
 	protected int getChildCount(Object element, IPresentationContext context, IViewerUpdate monitor) throws CoreException {
 		if (IDebugUIConstants.ID_DEBUG_VIEW.equals(context.getId())) {
-			if (JavaElementContentProvider.isDisplayThreadGroups()) {
-				IJavaDebugTarget debugTarget = (IJavaDebugTarget)element;
-				if (debugTarget.isDisconnected() || debugTarget.isTerminated()) {
-					return 0;
-				}
-				return debugTarget.getRootThreadGroups().length;
-			}
+			return getDebugViewChildren(element).length;
 		}
 		return super.getChildCount(element, context, monitor);
 	}
@@ -49,11 +50,36 @@ public class JavaDebugTargetContentProvider extends DebugTargetContentProvider {
 	@Override
 	protected Object[] getChildren(Object parent, int index, int length, IPresentationContext context, IViewerUpdate monitor) throws CoreException {
 		if (IDebugUIConstants.ID_DEBUG_VIEW.equals(context.getId())) {
-			if (JavaElementContentProvider.isDisplayThreadGroups()) {
-				return getElements(((IJavaDebugTarget)parent).getRootThreadGroups(), index, length);
-			}
+			return getElements(getDebugViewChildren(parent), index, length);
 		}
 		return super.getChildren(parent, index, length, context, monitor);
 	}
 
+	/**
+	 * Returns the children of the given target in the debug view: its threads
+	 * or thread groups, followed by its snapshots.
+	 */
+	private Object[] getDebugViewChildren(Object element) throws CoreException {
+		IJavaDebugTarget debugTarget = (IJavaDebugTarget) element;
+		Object[] children;
+		if (JavaElementContentProvider.isDisplayThreadGroups()) {
+			if (debugTarget.isDisconnected() || debugTarget.isTerminated()) {
+				children = new Object[0];
+			} else {
+				children = debugTarget.getRootThreadGroups();
+			}
+		} else {
+			children = debugTarget.getThreads();
+		}
+		if (debugTarget instanceof JDIDebugTarget) {
+			JDISnapshot[] snapshots = ((JDIDebugTarget) debugTarget).getSnapshots();
+			if (snapshots.length > 0) {
+				Object[] all = Arrays.copyOf(children, children.length + snapshots.length);
+				System.arraycopy(snapshots, 0, all, children.length, snapshots.length);
+				return all;
+			}
+		}
+		return children;
+	}
+
 }
@@ -124,6 +124,7 @@ public class JDIMessages extends NLS {
 	public static String VirtualMachineManagerImpl_____2;
 
 	public static String vm_dead;
+	public static String EventRequestImpl_clear_failed;
 	public static String VoidTypeImpl_A_VoidType_does_not_have_modifiers_1;
 	public static String VirtualMachineImpl_Add_method_not_implemented_1;
 	public static String VirtualMachineImpl_Scheme_change_not_implemented_2;
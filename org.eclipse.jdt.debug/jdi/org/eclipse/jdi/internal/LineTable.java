@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.util.Arrays;
+
+/**
+ * A table mapping line numbers to pairs of integers, used to store the line
+ * mappings of a SMAP.
+ * <p>
+ * Entries are added while the SMAP is parsed. The table is then compacted
+ * into parallel arrays sorted by line, and the entries of a line are found
+ * with a binary search. Entries of the same line keep the order they were
+ * added in. A table must not be modified once compacted.
+ * </p>
+ */
+final class LineTable {
+
+	private int[] fLines = new int[16];
+	private int[] fFirst = new int[16];
+	private int[] fSecond = new int[16];
+	private int fSize;
+	private boolean fSorted = true;
+
+	/**
+	 * Adds an entry to the table.
+	 *
+	 * @param line
+	 *            the line the entry is associated to
+	 * @param first
+	 *            the first value of the entry
+	 * @param second
+	 *            the second value of the entry
+	 */
+	void add(int line, int first, int second) {
+		if (fSize == fLines.length) {
+			int length = fSize * 2;
+			fLines = Arrays.copyOf(fLines, length);
+			fFirst = Arrays.copyOf(fFirst, length);
+			fSecond = Arrays.copyOf(fSecond, length);
+		}
+		if (fSize > 0 && line < fLines[fSize - 1]) {
+			fSorted = false;
+		}
+		fLines[fSize] = line;
+		fFirst[fSize] = first;
+		fSecond[fSize] = second;
+		fSize++;
+	}
+
+	/**
+	 * Sorts the entries by line and trims the arrays to the number of entries.
+	 */
+	void compact() {
+		if (!fSorted) {
+			// sort (line, insertion position) pairs, which keeps the entries of a
+			// line in insertion order
+			long[] keys = new long[fSize];
+			for (int i = 0; i < fSize; i++) {
+				keys[i] = ((long) fLines[i] << 32) | i;
+			}
+			Arrays.sort(keys);
+			int[] lines = new int[fSize];
+			int[] first = new int[fSize];
+			int[] second = new int[fSize];
+			for (int i = 0; i < fSize; i++) {
+				int position = (int) keys[i];
+				lines[i] = fLines[position];
+				first[i] = fFirst[position];
+				second[i] = fSecond[position];
+			}
+			fLines = lines;
+			fFirst = first;
+			fSecond = second;
+			fSorted = true;
+		} else if (fLines.length != fSize) {
+			fLines = Arrays.copyOf(fLines, fSize);
+			fFirst = Arrays.copyOf(fFirst, fSize);
+			fSecond = Arrays.copyOf(fSecond, fSize);
+		}
+	}
+
+	/**
+	 * Returns the position of the first entry of the given line, or
+	 * <code>-1</code> if the table contains no entry for this line. The
+	 * following entries of the line are at the next positions.
+	 */
+	int indexOf(int line) {
+		int low = 0;
+		int high = fSize;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (fLines[mid] < line) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low < fSize && fLines[low] == line ? low : -1;
+	}
+
+	/**
+	 * Returns the number of entries of the table.
+	 */
+	int size() {
+		return fSize;
+	}
+
+	/**
+	 * Returns the line of the entry at the given position.
+	 */
+	int lineAt(int position) {
+		return fLines[position];
+	}
+
+	/**
+	 * Returns the first value of the entry at the given position.
+	 */
+	int firstAt(int position) {
+		return fFirst[position];
+	}
+
+	/**
+	 * Returns the second value of the entry at the given position.
+	 */
+	int secondAt(int position) {
+		return fSecond[position];
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.sun.jdi.ReferenceType;
+
+/**
+ * Loaded classes and interfaces of a VM by signature.
+ * <p>
+ * The registry is seeded from the classes loaded when it is enabled and then
+ * kept current by class prepare and class unload events. Array types are not
+ * registered, as the VM does not report their creation.
+ * </p>
+ */
+final class LoadedClassRegistry {
+
+	/**
+	 * Loaded types by signature. Guarded by <code>this</code>.
+	 */
+	private final Map<String, List<ReferenceType>> fBySignature = new HashMap<>();
+
+	/**
+	 * Signatures of the classes unloaded while the registry is seeded, or
+	 * <code>null</code> once seeded. Guarded by <code>this</code>.
+	 */
+	private Set<String> fUnloadedWhileSeeding = new HashSet<>();
+
+	private volatile boolean fSeeded = false;
+
+	/**
+	 * Registers a loaded type, ignored for array types and types already
+	 * registered.
+	 */
+	synchronized void add(ReferenceType type) {
+		String signature = type.signature();
+		if (signature.charAt(0) == '[') {
+			return;
+		}
+		List<ReferenceType> types = fBySignature.computeIfAbsent(signature, s -> new ArrayList<>(1));
+		if (!types.contains(type)) {
+			types.add(type);
+		}
+	}
+
+	/**
+	 * Replaces the types registered for a signature after a class with this
+	 * signature was unloaded.
+	 *
+	 * @param signature
+	 *            signature of the unloaded class
+	 * @param loaded
+	 *            the types with this signature that are still loaded
+	 */
+	synchronized void update(String signature, List<ReferenceType> loaded) {
+		if (loaded.isEmpty()) {
+			fBySignature.remove(signature);
+		} else {
+			fBySignature.put(signature, new ArrayList<>(loaded));
+		}
+		if (fUnloadedWhileSeeding != null) {
+			fUnloadedWhileSeeding.add(signature);
+		}
+	}
+
+	/**
+	 * Registers the classes loaded when the registry is enabled.
+	 *
+	 * @param types
+	 *            all loaded types
+	 * @return the signatures of the classes unloaded since the given types
+	 *         were retrieved, which may have been registered again by this
+	 *         call
+	 */
+	synchronized Set<String> seed(List<ReferenceType> types) {
+		Set<String> unloaded = fUnloadedWhileSeeding;
+		fUnloadedWhileSeeding = null;
+		for (ReferenceType type : types) {
+			if (!unloaded.contains(type.signature())) {
+				add(type);
+			}
+		}
+		return unloaded;
+	}
+
+	/**
+	 * Marks the registry as complete, it is used to answer queries from then
+	 * on.
+	 */
+	void setSeeded() {
+		fSeeded = true;
+	}
+
+	boolean isSeeded() {
+		return fSeeded;
+	}
+
+	/**
+	 * Returns the loaded types with the given signature.
+	 */
+	synchronized List<ReferenceType> classesBySignature(String signature) {
+		List<ReferenceType> types = fBySignature.get(signature);
+		return types == null ? new ArrayList<>(0) : new ArrayList<>(types);
+	}
+
+	/**
+	 * Returns the loaded types nested in the type with the given signature,
+	 * i.e. whose name starts with the name of the type followed by
+	 * <code>'$'</code>.
+	 */
+	synchronized List<ReferenceType> nestedTypes(String signature) {
+		String prefix = signature.substring(0, signature.length() - 1) + '$';
+		List<ReferenceType> nested = null;
+		for (Map.Entry<String, List<ReferenceType>> entry : fBySignature.entrySet()) {
+			if (entry.getKey().startsWith(prefix)) {
+				if (nested == null) {
+					nested = new ArrayList<>();
+				}
+				nested.addAll(entry.getValue());
+			}
+		}
+		return nested == null ? new ArrayList<>(0) : nested;
+	}
+}
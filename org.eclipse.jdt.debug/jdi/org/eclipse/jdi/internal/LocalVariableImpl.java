@@ -75,6 +75,21 @@ public class LocalVariableImpl extends MirrorImpl implements LocalVariable, Comp
 		return fSlot;
 	}
 
+	/**
+	 * @return Returns the code index from which the variable is visible.
+	 */
+	long codeIndex() {
+		return fCodeIndex;
+	}
+
+	/**
+	 * @return Returns the length of the code range the variable is visible
+	 *         in.
+	 */
+	int length() {
+		return fLength;
+	}
+
 	/**
 	 * @return Returns the hash code value.
 	 */
@@ -28,8 +28,6 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
 
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpMethodID;
@@ -62,8 +60,6 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 	private List<LocalVariable> fVariables = null;
 	private long fLowestValidCodeIndex = -1;
 	private long fHighestValidCodeIndex = -1;
-	private Map<Long, Integer> fCodeIndexToLine = null;
-	private Map<Integer, List<Long>> fLineToCodeIndexes = null;
 	private Map<String, Map<String, List<Location>>> fStratumAllLineLocations = null;
 	private int fArgumentSlotsCount = -1;
 	private List<LocalVariable> fArguments = null;
@@ -71,8 +67,18 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 	private List<String> fArgumentTypeNames = null;
 	private List<String> fArgumentTypeSignatures = null;
 	private byte[] fByteCodes = null;
+	/**
+	 * The line table, sorted by code index: code index -> line number in the
+	 * Java stratum.
+	 */
 	private long[] fCodeIndexTable;
 	private int[] fJavaStratumLineNumberTable;
+	/**
+	 * The line table, sorted by line number then code index: line number in
+	 * the Java stratum -> code index.
+	 */
+	private int[] fLinesByLine;
+	private long[] fCodeIndexesByLine;
 
 	private String fReturnTypeName = null;
 
@@ -95,11 +101,11 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 		fVariables = null;
 		fLowestValidCodeIndex = -1;
 		fHighestValidCodeIndex = -1;
-		fCodeIndexToLine = null;
-		fLineToCodeIndexes = null;
 		fStratumAllLineLocations = null;
 		fCodeIndexTable = null;
 		fJavaStratumLineNumberTable = null;
+		fLinesByLine = null;
+		fCodeIndexesByLine = null;
 		fArgumentSlotsCount = -1;
 		fArguments = null;
 		fArgumentTypes = null;
@@ -116,27 +122,20 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 	}
 
 	/**
-	 * @return Returns map of location to line number.
+	 * @return Returns whether the line table contains an entry for the given
+	 *         code index.
 	 */
-	protected Map<Long, Integer> javaStratumCodeIndexToLine()
+	protected boolean javaStratumHasCodeIndex(long codeIndex)
 			throws AbsentInformationException {
 		if (isAbstract()) {
-			return Collections.EMPTY_MAP;
+			return false;
 		}
 		getLineTable();
-		return fCodeIndexToLine;
-	}
-
-	/**
-	 * @return Returns map of line number to locations.
-	 */
-	protected List<Long> javaStratumLineToCodeIndexes(int line) throws AbsentInformationException {
-		if (isAbstract() || isNative()) {
-			return null;
+		if (fCodeIndexTable == null) {
+			return false;
 		}
-		getLineTable();
-
-		return fLineToCodeIndexes.get(Integer.valueOf(line));
+		int position = lowerBound(fCodeIndexTable, codeIndex);
+		return position < fCodeIndexTable.length && fCodeIndexTable[position] == codeIndex;
 	}
 
 	/**
@@ -146,14 +145,31 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 		if (isObsolete()) {
 			return;
 		}
-		if (fCodeIndexToLine != null) {
-			if (fCodeIndexToLine.isEmpty()) {
+		if (fCodeIndexTable != null) {
+			if (fCodeIndexTable.length == 0) {
 				throw new AbsentInformationException(
 						JDIMessages.MethodImpl_Got_empty_line_number_table_for_this_method_1);
 			}
 			return;
 		}
 
+		TypeMetadata metadata = referenceTypeImpl().typeMetadata();
+		if (metadata != null) {
+			TypeMetadata.Lines lines = metadata.lines(TypeMetadata.methodKey(this));
+			if (lines != null) {
+				fLowestValidCodeIndex = lines.fLowestCodeIndex;
+				fHighestValidCodeIndex = lines.fHighestCodeIndex;
+				if (lines.fCodeIndexes.length == 0) {
+					fCodeIndexTable = new long[0];
+					fJavaStratumLineNumberTable = new int[0];
+					throw new AbsentInformationException(
+							JDIMessages.MethodImpl_Got_empty_line_number_table_for_this_method_3);
+				}
+				setLineTable(lines.fCodeIndexes, lines.fLines);
+				return;
+			}
+		}
+
 		initJdwpRequest();
 		try {
 			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
@@ -176,42 +192,139 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 			fLowestValidCodeIndex = readLong("lowest index", replyData); //$NON-NLS-1$
 			fHighestValidCodeIndex = readLong("highest index", replyData); //$NON-NLS-1$
 			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			fCodeIndexToLine = new HashMap<>();
-			fLineToCodeIndexes = new HashMap<>();
 			if (nrOfElements == 0) {
+				fCodeIndexTable = new long[0];
+				fJavaStratumLineNumberTable = new int[0];
+				if (metadata != null) {
+					metadata.putLines(TypeMetadata.methodKey(this), new TypeMetadata.Lines(fLowestValidCodeIndex, fHighestValidCodeIndex, fCodeIndexTable, fJavaStratumLineNumberTable));
+				}
 				throw new AbsentInformationException(
 						JDIMessages.MethodImpl_Got_empty_line_number_table_for_this_method_3);
 			}
-			fCodeIndexTable = new long[nrOfElements];
-			fJavaStratumLineNumberTable = new int[nrOfElements];
+			long[] codeIndexTable = new long[nrOfElements];
+			int[] lineNumberTable = new int[nrOfElements];
 			for (int i = 0; i < nrOfElements; i++) {
-				long lineCodeIndex = readLong("code index", replyData); //$NON-NLS-1$
-				Long lineCodeIndexLong = Long.valueOf(lineCodeIndex);
-				int lineNr = readInt("line nr", replyData); //$NON-NLS-1$
-				Integer lineNrInt = Integer.valueOf(lineNr);
-
-				// Add entry to code-index to line mapping.
-				fCodeIndexToLine.put(lineCodeIndexLong, lineNrInt);
-
-				fCodeIndexTable[i] = lineCodeIndex;
-				fJavaStratumLineNumberTable[i] = lineNr;
-
-				List<Long> lineNrEntry = fLineToCodeIndexes.get(lineNrInt);
-				if (lineNrEntry == null) {
-					lineNrEntry = new ArrayList<>();
-					fLineToCodeIndexes.put(lineNrInt, lineNrEntry);
-				}
-				lineNrEntry.add(lineCodeIndexLong);
+				codeIndexTable[i] = readLong("code index", replyData); //$NON-NLS-1$
+				lineNumberTable[i] = readInt("line nr", replyData); //$NON-NLS-1$
+			}
+			setLineTable(codeIndexTable, lineNumberTable);
+			if (metadata != null) {
+				metadata.putLines(TypeMetadata.methodKey(this), new TypeMetadata.Lines(fLowestValidCodeIndex, fHighestValidCodeIndex, fCodeIndexTable, fJavaStratumLineNumberTable));
 			}
 		} catch (IOException e) {
-			fCodeIndexToLine = null;
-			fLineToCodeIndexes = null;
+			fCodeIndexTable = null;
+			fJavaStratumLineNumberTable = null;
 			defaultIOExceptionHandler(e);
 		} finally {
 			handledJdwpRequest();
 		}
 	}
 
+	/**
+	 * Stores the line table read from the VM, sorted by code index, and its
+	 * permutation sorted by line number.
+	 */
+	private void setLineTable(long[] codeIndexTable, int[] lineNumberTable) {
+		int length = codeIndexTable.length;
+		boolean sorted = true;
+		for (int i = 1; i < length && sorted; i++) {
+			sorted = codeIndexTable[i - 1] <= codeIndexTable[i];
+		}
+		if (!sorted) {
+			// the table is expected in code index order, but do not rely on it.
+			// The sort is stable, so the last entry of a code index remains the
+			// one in effect.
+			Integer[] order = new Integer[length];
+			for (int i = 0; i < length; i++) {
+				order[i] = Integer.valueOf(i);
+			}
+			long[] unsortedCodeIndexes = codeIndexTable;
+			Arrays.sort(order, (i1, i2) -> Long.compare(unsortedCodeIndexes[i1.intValue()], unsortedCodeIndexes[i2.intValue()]));
+			long[] sortedCodeIndexes = new long[length];
+			int[] sortedLines = new int[length];
+			for (int i = 0; i < length; i++) {
+				sortedCodeIndexes[i] = unsortedCodeIndexes[order[i].intValue()];
+				sortedLines[i] = lineNumberTable[order[i].intValue()];
+			}
+			codeIndexTable = sortedCodeIndexes;
+			lineNumberTable = sortedLines;
+		}
+		// sort (line, position) pairs, which orders the code indexes of a line
+		long[] keys = new long[length];
+		for (int i = 0; i < length; i++) {
+			keys[i] = ((long) lineNumberTable[i] << 32) | i;
+		}
+		Arrays.sort(keys);
+		int[] linesByLine = new int[length];
+		long[] codeIndexesByLine = new long[length];
+		for (int i = 0; i < length; i++) {
+			int position = (int) keys[i];
+			linesByLine[i] = lineNumberTable[position];
+			codeIndexesByLine[i] = codeIndexTable[position];
+		}
+		fLinesByLine = linesByLine;
+		fCodeIndexesByLine = codeIndexesByLine;
+		fJavaStratumLineNumberTable = lineNumberTable;
+		fCodeIndexTable = codeIndexTable;
+	}
+
+	/**
+	 * Returns the position of the first element of the given sorted array which
+	 * is greater than or equal to the given key, or the length of the array if
+	 * there is none.
+	 */
+	private static int lowerBound(long[] array, long key) {
+		int low = 0;
+		int high = array.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (array[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the position of the first element of the given sorted array which
+	 * is greater than the given key, or the length of the array if there is
+	 * none.
+	 */
+	private static int upperBound(long[] array, long key) {
+		int low = 0;
+		int high = array.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (array[mid] <= key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the position of the first element of the given sorted array which
+	 * is greater than or equal to the given key, or the length of the array if
+	 * there is none.
+	 */
+	private static int lowerBound(int[] array, int key) {
+		int low = 0;
+		int high = array.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (array[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 	/**
 	 * @return Returns the line number that corresponds to the given
 	 *         lineCodeIndex.
@@ -226,28 +339,21 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 			throw new AbsentInformationException(JDIMessages.MethodImpl_Invalid_code_index_of_a_location_given_4);
 		}
 
-		Long lineCodeIndexObj;
-		Integer lineNrObj;
-		long index = lineCodeIndex;
-		// Search for the line where this code index is located.
-		do {
-			lineCodeIndexObj = Long.valueOf(index);
-			lineNrObj = javaStratumCodeIndexToLine().get(lineCodeIndexObj);
-		} while (lineNrObj == null && --index >= fLowestValidCodeIndex);
-		if (lineNrObj == null) {
-			if (lineCodeIndex >= fLowestValidCodeIndex) {
-				index = lineCodeIndex;
-				do {
-					lineCodeIndexObj = Long.valueOf(index);
-					lineNrObj = javaStratumCodeIndexToLine().get(lineCodeIndexObj);
-				} while (lineNrObj == null && ++index <= fHighestValidCodeIndex);
-				if (lineNrObj != null) {
-					return lineNrObj.intValue();
-				}
+		// Search for the line where this code index is located: the last entry
+		// at or before the code index.
+		int position = upperBound(fCodeIndexTable, lineCodeIndex) - 1;
+		if (position >= 0 && fCodeIndexTable[position] >= fLowestValidCodeIndex) {
+			return fJavaStratumLineNumberTable[position];
+		}
+		if (lineCodeIndex >= fLowestValidCodeIndex) {
+			// before the first entry, use the line of the next entry
+			position = upperBound(fCodeIndexTable, lineCodeIndex);
+			if (position < fCodeIndexTable.length && fCodeIndexTable[position] <= fHighestValidCodeIndex) {
+				position = upperBound(fCodeIndexTable, fCodeIndexTable[position]) - 1;
+				return fJavaStratumLineNumberTable[position];
 			}
-			throw new AbsentInformationException(JDIMessages.MethodImpl_Invalid_code_index_of_a_location_given_4);
 		}
-		return lineNrObj.intValue();
+		throw new AbsentInformationException(JDIMessages.MethodImpl_Invalid_code_index_of_a_location_given_4);
 	}
 
 	/* (non-Javadoc)
@@ -467,8 +573,7 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 			return null;
 		}
 		try {
-			Integer lineNrInt = javaStratumCodeIndexToLine().get(Long.valueOf(index));
-			if (lineNrInt == null) {
+			if (!javaStratumHasCodeIndex(index)) {
 				throw new AbsentInformationException(MessageFormat.format(JDIMessages.MethodImpl_No_valid_location_at_the_specified_code_index__0__2, new Object[] { Long.toString(index) }));
 			}
 		} catch (AbsentInformationException e) {
@@ -524,6 +629,21 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 		if (fVariables != null) {
 			return fVariables;
 		}
+		TypeMetadata metadata = referenceTypeImpl().typeMetadata();
+		if (metadata != null) {
+			TypeMetadata.Variables cached = metadata.variables(TypeMetadata.methodKey(this));
+			if (cached != null) {
+				fArgumentSlotsCount = cached.fArgumentSlots;
+				List<LocalVariable> variables = new ArrayList<>(cached.size());
+				for (int i = 0; i < cached.size(); i++) {
+					variables.add(new LocalVariableImpl(virtualMachineImpl(), this, cached.fCodeIndexes[i], cached.fNames[i],
+							cached.fSignatures[i], cached.fGenericSignatures[i], cached.fLengths[i], cached.fSlots[i],
+							cached.fSlots[i] < fArgumentSlotsCount));
+				}
+				fVariables = variables;
+				return fVariables;
+			}
+		}
 		initJdwpRequest();
 		try {
 			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
@@ -569,6 +689,9 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 					variables.add(localVar);
 				}
 			}
+			if (metadata != null) {
+				metadata.putVariables(TypeMetadata.methodKey(this), toMetadata(fArgumentSlotsCount, variables));
+			}
 			fVariables = variables;
 			return fVariables;
 		} catch (IOException e) {
@@ -581,6 +704,30 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 		}
 	}
 
+	/**
+	 * Returns the variable table read from the VM in the form kept by the type
+	 * metadata cache.
+	 */
+	private static TypeMetadata.Variables toMetadata(int argumentSlots, List<LocalVariable> variables) {
+		int size = variables.size();
+		long[] codeIndexes = new long[size];
+		String[] names = new String[size];
+		String[] signatures = new String[size];
+		String[] genericSignatures = new String[size];
+		int[] lengths = new int[size];
+		int[] slots = new int[size];
+		for (int i = 0; i < size; i++) {
+			LocalVariableImpl variable = (LocalVariableImpl) variables.get(i);
+			codeIndexes[i] = variable.codeIndex();
+			names[i] = variable.name();
+			signatures[i] = variable.signature();
+			genericSignatures[i] = variable.genericSignature();
+			lengths[i] = variable.length();
+			slots[i] = variable.slot();
+		}
+		return new TypeMetadata.Variables(argumentSlots, codeIndexes, names, signatures, genericSignatures, lengths, slots);
+	}
+
 	private List<LocalVariable> inferArguments() throws AbsentInformationException {
 		// infer arguments, if possible
 
@@ -873,26 +1020,39 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 	 * or/and the VM). Return an empty list if there is not executable code at
 	 * the specified lines.
 	 */
-	protected List<Location> javaStratumLocationsOfLines(List<Integer> javaLines)	throws AbsentInformationException {
-		Set<Long> tmpLocations = new TreeSet<>();
-		for (Integer key : javaLines) {
-			List<Long> indexes = javaStratumLineToCodeIndexes(key.intValue());
-			if (indexes != null) {
-				tmpLocations.addAll(indexes);
+	protected List<Location> javaStratumLocationsOfLines(int[] javaLines)	throws AbsentInformationException {
+		if (isAbstract() || isNative()) {
+			return Collections.EMPTY_LIST;
+		}
+		getLineTable();
+		if (fLinesByLine == null) {
+			return Collections.EMPTY_LIST;
+		}
+		// collect the code indexes of the lines
+		long[] indexes = new long[fLinesByLine.length];
+		int count = 0;
+		for (int line : javaLines) {
+			for (int i = lowerBound(fLinesByLine, line); i < fLinesByLine.length && fLinesByLine[i] == line; i++) {
+				indexes[count++] = fCodeIndexesByLine[i];
 			}
 		}
+		if (count == 0) {
+			return Collections.EMPTY_LIST;
+		}
+		indexes = Arrays.copyOf(indexes, count);
+		Arrays.sort(indexes);
 		List<Location> locations = new ArrayList<>();
-		for (Long location : tmpLocations) {
-			long index = location.longValue();
-			int position = Arrays.binarySearch(fCodeIndexTable, index);
-			if(position < 0) {
-				//https://bugs.eclipse.org/bugs/show_bug.cgi?id=388172
-				//the key is not in the code index, we should not insert it as the line table is supposed to be
-				//constant unless the parent class is redefined.
-				//See http://docs.oracle.com/javase/6/docs/platform/jpda/jdwp/jdwp-protocol.html#JDWP_Method_LineTable for more information
+		long previous = -1;
+		for (int i = 0; i < count; i++) {
+			long index = indexes[i];
+			if (i > 0 && index == previous) {
 				continue;
 			}
-			if (position == 0 || !tmpLocations.contains(Long.valueOf(fCodeIndexTable[position - 1]))) {
+			previous = index;
+			int position = lowerBound(fCodeIndexTable, index);
+			// a location starts a range of code indexes if the preceding entry
+			// of the line table is not assigned to one of the lines
+			if (position == 0 || Arrays.binarySearch(indexes, fCodeIndexTable[position - 1]) < 0) {
 				locations.add(new LocationImpl(virtualMachineImpl(), this, index));
 			}
 		}
@@ -19,12 +19,18 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.jdi.Bootstrap;
 import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdi.internal.connect.PacketReceiveManager;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpRecordDecoder;
+import org.eclipse.jdi.internal.jdwp.JdwpRecordFormat;
+import org.eclipse.jdi.internal.jdwp.JdwpRecords;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpString;
 import org.eclipse.jdt.internal.debug.core.JDIDebugOptions;
@@ -199,12 +205,14 @@ public class MirrorImpl implements Mirror {
 		JdwpCommandPacket commandPacket = new JdwpCommandPacket(command);
 		commandPacket.setData(outData);
 		long sent = System.currentTimeMillis();
+		long start = System.nanoTime();
 		fVirtualMachineImpl.packetSendManager().sendPacket(commandPacket);
 		fPendingJdwpRequest = true;
 		writeVerboseCommandPacketHeader(commandPacket);
 
 		JdwpReplyPacket reply = fVirtualMachineImpl.packetReceiveManager()
 				.getReply(commandPacket);
+		fVirtualMachineImpl.statistics().record(commandPacket, reply, System.nanoTime() - start);
 		long recieved = System.currentTimeMillis();
 		if (JDIDebugOptions.DEBUG_JDI_REQUEST_TIMES) {
 			StringBuilder buf = new StringBuilder();
@@ -233,6 +241,95 @@ public class MirrorImpl implements Mirror {
 		return reply;
 	}
 
+	/**
+	 * Performs a VM request without waiting for its reply. The reply is
+	 * passed to the given handler by the thread reading packets from the VM,
+	 * so the handler must not block. If the reply does not arrive within the
+	 * request timeout, the handler is not called, see
+	 * {@link PacketReceiveManager#handleReply(int, Consumer)}. The request is
+	 * written to the verbose output, its reply is not.
+	 *
+	 * @param command
+	 *            the command
+	 * @param outData
+	 *            the data of the request
+	 * @param replyHandler
+	 *            the handler of the reply
+	 */
+	public void requestVMNoWait(int command, byte[] outData, Consumer<JdwpReplyPacket> replyHandler) {
+		JdwpCommandPacket commandPacket = new JdwpCommandPacket(command);
+		commandPacket.setData(outData);
+		long sent = System.currentTimeMillis();
+		long start = System.nanoTime();
+		fVirtualMachineImpl.packetReceiveManager().handleReply(commandPacket.getId(), reply -> {
+			fVirtualMachineImpl.statistics().record(commandPacket, reply, System.nanoTime() - start);
+			if (JDIDebugOptions.DEBUG_JDI_REQUEST_TIMES) {
+				StringBuilder buf = new StringBuilder();
+				buf.append(JDIDebugOptions.FORMAT.format(Instant.ofEpochMilli(sent)));
+				buf.append(" JDI Request (no wait): "); //$NON-NLS-1$
+				buf.append(commandPacket.toString());
+				buf.append("\n\tResponse Time: "); //$NON-NLS-1$
+				buf.append(System.currentTimeMillis() - sent);
+				buf.append("ms"); //$NON-NLS-1$
+				buf.append(" error code: "); //$NON-NLS-1$
+				buf.append(reply.errorCode());
+				JDIDebugOptions.trace(buf.toString());
+			}
+			replyHandler.accept(reply);
+		});
+		fVirtualMachineImpl.packetSendManager().sendPacket(commandPacket);
+		fPendingJdwpRequest = true;
+		writeVerboseCommandPacketHeader(commandPacket);
+	}
+
+	/**
+	 * Performs VM requests of the same command without waiting for a reply
+	 * before sending the next request. The VM processes the requests while the
+	 * replies of the previous ones are transferred. The requests are not
+	 * written to the verbose output.
+	 * <p>
+	 * If waiting for a reply fails, the replies that already arrived are
+	 * discarded and the replies still to come are dropped when they arrive,
+	 * before the failure is thrown.
+	 * </p>
+	 *
+	 * @return Returns the replies, in the order of the given request data.
+	 */
+	public JdwpReplyPacket[] requestVM(int command, List<byte[]> outData) {
+		int size = outData.size();
+		JdwpCommandPacket[] commandPackets = new JdwpCommandPacket[size];
+		long[] sent = new long[size];
+		for (int i = 0; i < size; i++) {
+			commandPackets[i] = new JdwpCommandPacket(command);
+			commandPackets[i].setData(outData.get(i));
+			sent[i] = System.nanoTime();
+			fVirtualMachineImpl.packetSendManager().sendPacket(commandPackets[i]);
+		}
+		PacketReceiveManager receiveManager = fVirtualMachineImpl.packetReceiveManager();
+		JdwpReplyPacket[] replies = new JdwpReplyPacket[size];
+		RuntimeException failure = null;
+		for (int i = 0; i < size; i++) {
+			try {
+				if (failure == null) {
+					replies[i] = receiveManager.getReply(commandPackets[i]);
+					fVirtualMachineImpl.statistics().record(commandPackets[i], replies[i], System.nanoTime() - sent[i]);
+				} else {
+					// drain without waiting, a missing reply is marked as timed
+					// out so that it is dropped when it arrives
+					receiveManager.getReply(commandPackets[i].getId(), PacketReceiveManager.TIMEOUT_NOT_BLOCKING);
+				}
+			} catch (TimeoutException | VMDisconnectedException e) {
+				if (failure == null) {
+					failure = e;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		return replies;
+	}
+
 	/**
 	 * Performs a VM request.
 	 *
@@ -472,6 +569,21 @@ public class MirrorImpl implements Mirror {
 		return result;
 	}
 
+	/**
+	 * Decodes the records of a reply and, if verbose is on, outputs verbose
+	 * info.
+	 *
+	 * @return Returns the records of the reply.
+	 */
+	public JdwpRecords readRecords(JdwpRecordFormat format, JdwpReplyPacket reply)
+			throws IOException {
+		JdwpRecordDecoder decoder = format;
+		if (fVerboseWriter != null) {
+			decoder = new VerboseRecordDecoder(format, fVerboseWriter);
+		}
+		return decoder.decode(virtualMachineImpl(), reply);
+	}
+
 	/**
 	 * Reads Jdwp data and, if verbose is on, outputs verbose info.
 	 *
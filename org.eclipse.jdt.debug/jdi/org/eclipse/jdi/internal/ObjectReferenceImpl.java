@@ -515,6 +515,13 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 		}
 	}
 
+	/**
+	 * Sets the type of this object, retrieved with the types of other objects.
+	 */
+	void setReferenceType(ReferenceType type) {
+		fReferenceType = type;
+	}
+
 	/**
 	 * @return Returns the ReferenceType that mirrors the type of this object.
 	 */
@@ -31,9 +31,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.jdi.internal.jdwp.JdwpArrayID;
+import org.eclipse.jdi.internal.jdwp.JdwpClassID;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpFieldID;
 import org.eclipse.jdi.internal.jdwp.JdwpID;
+import org.eclipse.jdi.internal.jdwp.JdwpInterfaceID;
 import org.eclipse.jdi.internal.jdwp.JdwpMethodID;
 import org.eclipse.jdi.internal.jdwp.JdwpReferenceTypeID;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
@@ -99,11 +102,10 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		protected String fAbsoluteFileName;
 
 		/**
-		 * Map line number in the input source file -> list of [start line in
-		 * the output source file, range in the output source file]. (Integer ->
-		 * List of int[2]).
+		 * Table line number in the input source file -> [start line in the
+		 * output source file, range in the output source file].
 		 */
-		private final HashMap<Integer, List<int[]>> fLineInfo;
+		private final LineTable fLineInfo;
 
 		/**
 		 * FileInfo constructor.
@@ -119,7 +121,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			fFileId = fileId;
 			fFileName = fileName;
 			fAbsoluteFileName = absoluteFileName;
-			fLineInfo = new HashMap<>();
+			fLineInfo = new LineTable();
 		}
 
 		/**
@@ -137,13 +139,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		 */
 		public void addLineInfo(int inputLine, int outputStartLine,
 				int outputLineRange) {
-			Integer key = Integer.valueOf(inputLine);
-			List<int[]> outputLines = fLineInfo.get(key);
-			if (outputLines == null) {
-				outputLines = new ArrayList<>();
-				fLineInfo.put(key, outputLines);
-			}
-			outputLines.add(new int[] { outputStartLine, outputLineRange });
+			fLineInfo.add(inputLine, outputStartLine, outputLineRange);
 		}
 
 		/**
@@ -152,15 +148,15 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		 *
 		 * @param lineNumber
 		 *            the line number in the input source file.
-		 * @return a List of int[2].
+		 * @return a List of Integer.
 		 */
 		public List<Integer> getOutputLinesForLine(int lineNumber) {
 			List<Integer> list = new ArrayList<>();
-			List<int[]> outputLines = fLineInfo.get(Integer.valueOf(lineNumber));
-			if (outputLines != null) {
-				for (int[] info : outputLines) {
-					int outputLineNumber = info[0];
-					int length = info[1];
+			int position = fLineInfo.indexOf(lineNumber);
+			if (position != -1) {
+				for (int size = fLineInfo.size(); position < size && fLineInfo.lineAt(position) == lineNumber; position++) {
+					int outputLineNumber = fLineInfo.firstAt(position);
+					int length = fLineInfo.secondAt(position);
 					if (length == 0) {
 						length = length + 1;
 					}
@@ -206,10 +202,10 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		private int fPrimaryFileId;
 
 		/**
-		 * Map line number in the output source file -> list of line numbers in
-		 * the input source file. (Integer -> List of Integer)
+		 * Table line number in the output source file -> [id of the input
+		 * source file, line number in the input source file].
 		 */
-		private final HashMap<Integer, List<int[]>> fOutputLineToInputLine;
+		private final LineTable fOutputLineToInputLine;
 
 		/**
 		 * Stratum constructor.
@@ -220,7 +216,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		public Stratum(String id) {
 			fId = id;
 			fFileInfos = new ArrayList<>();
-			fOutputLineToInputLine = new HashMap<>();
+			fOutputLineToInputLine = new LineTable();
 			fPrimaryFileId = -1;
 		}
 
@@ -307,17 +303,21 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		}
 
 		/**
-		 * Add the data to the map.
+		 * Add the data to the table.
 		 */
 		private void addLineInfoToMap(int inputStartLine, int lineFileId,
 				int outputStartLine) {
-			Integer key = Integer.valueOf(outputStartLine);
-			List<int[]> inputLines = fOutputLineToInputLine.get(key);
-			if (inputLines == null) {
-				inputLines = new ArrayList<>();
-				fOutputLineToInputLine.put(key, inputLines);
+			fOutputLineToInputLine.add(outputStartLine, lineFileId, inputStartLine);
+		}
+
+		/**
+		 * Sort the line tables of this stratum once the SMAP is parsed.
+		 */
+		void compact() {
+			fOutputLineToInputLine.compact();
+			for (FileInfo fileInfo : fFileInfos) {
+				fileInfo.fLineInfo.compact();
 			}
-			inputLines.add(new int[] { lineFileId, inputStartLine });
 		}
 
 		/**
@@ -337,8 +337,25 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			return null;
 		}
 
-		public List<int[]> getInputLineInfos(int outputLineNumber) {
-			return fOutputLineToInputLine.get(Integer.valueOf(outputLineNumber));
+		/**
+		 * Return the position in {@link #inputLineInfos()} of the first line
+		 * information associated to the given line in the output source file,
+		 * or <code>-1</code> if there is none.
+		 *
+		 * @param outputLineNumber
+		 *            the line number in the output source file.
+		 */
+		public int getInputLineInfos(int outputLineNumber) {
+			return fOutputLineToInputLine.indexOf(outputLineNumber);
+		}
+
+		/**
+		 * Return the table of line information, [id of the input source file,
+		 * line number in the input source file] by line number in the output
+		 * source file.
+		 */
+		LineTable inputLineInfos() {
+			return fOutputLineToInputLine;
 		}
 
 	}
@@ -388,6 +405,17 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 */
 	private String fSmap; // JSR-045 addition
 
+	/**
+	 * The digest of the class file found in the SMAP, or <code>null</code>.
+	 */
+	private String fClassDigest;
+
+	/**
+	 * The cached metadata of this type, see {@link #typeMetadata()}.
+	 */
+	private TypeMetadata fTypeMetadata;
+	private boolean fTypeMetadataKnown;
+
 	/**
 	 * Creates new instance.
 	 */
@@ -456,6 +484,9 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		fDefaultStratumId = null;
 		fStrata = null;
 		fSmap = null;
+		fClassDigest = null;
+		fTypeMetadata = null;
+		fTypeMetadataKnown = false;
 
 		// The following cached results are stored higher up in the class
 		// hierarchy.
@@ -1233,6 +1264,10 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 */
 	@Override
 	public List<ReferenceType> nestedTypes() {
+		List<ReferenceType> registered = virtualMachineImpl().registeredNestedTypes(this);
+		if (registered != null) {
+			return registered;
+		}
 		// Note that the VM gives an empty reply on RT_NESTED_TYPES, therefore
 		// we search for the
 		// nested types in the loaded types.
@@ -1381,6 +1416,52 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		return allLineLocations(virtualMachine().getDefaultStratum(), null);
 	}
 
+	/**
+	 * @return Returns new or cached instance for a type tag and ID decoded
+	 *         from a reply, or <code>null</code> for a null ID.
+	 */
+	public static ReferenceTypeImpl create(VirtualMachineImpl vmImpl,
+			byte typeTag, long id) {
+		JdwpReferenceTypeID ID;
+		switch (typeTag) {
+		case 0:
+			return null;
+		case ArrayTypeImpl.typeTag:
+			ID = new JdwpArrayID(vmImpl);
+			break;
+		case ClassTypeImpl.typeTag:
+			ID = new JdwpClassID(vmImpl);
+			break;
+		case InterfaceTypeImpl.typeTag:
+			ID = new JdwpInterfaceID(vmImpl);
+			break;
+		default:
+			throw new InternalException(
+					JDIMessages.ReferenceTypeImpl_Invalid_ReferenceTypeID_tag_encountered___8
+							+ typeTag);
+		}
+		ID.setValue(id);
+		if (ID.isNull()) {
+			return null;
+		}
+		ReferenceTypeImpl mirror = vmImpl.getCachedMirror(ID);
+		if (mirror == null) {
+			switch (typeTag) {
+			case ArrayTypeImpl.typeTag:
+				mirror = new ArrayTypeImpl(vmImpl, (JdwpArrayID) ID);
+				break;
+			case ClassTypeImpl.typeTag:
+				mirror = new ClassTypeImpl(vmImpl, (JdwpClassID) ID);
+				break;
+			default:
+				mirror = new InterfaceTypeImpl(vmImpl, (JdwpInterfaceID) ID);
+				break;
+			}
+			vmImpl.addCachedMirror(mirror);
+		}
+		return mirror;
+	}
+
 	/**
 	 * @return Reads JDWP representation and returns new or cached instance.
 	 */
@@ -1644,16 +1725,28 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		List<Location> locations = new ArrayList<>();
 		boolean hasLineInformation = false;
 		AbsentInformationException exception = null;
+		// the lines in the output source are the same for all methods, compute
+		// them once
+		int[] javaLines = null;
+		AbsentInformationException javaLinesException = null;
+		try {
+			javaLines = javaLinesOfLine(stratum, sourceName, lineNumber);
+		} catch (AbsentInformationException e) {
+			javaLinesException = e;
+		}
 		while (allMethods.hasNext()) {
 			MethodImpl method = (MethodImpl) allMethods.next();
 			if (method.isAbstract() || method.isNative()) {
 				continue;
 			}
+			if (javaLines == null) {
+				throw javaLinesException;
+			}
 			// one line in the input source can be translate in multiple lines
 			// in different
 			// methods in the output source. We need all these locations.
 			try {
-				locations.addAll(locationsOfLine(stratum, sourceName, lineNumber, method));
+				locations.addAll(method.javaStratumLocationsOfLines(javaLines));
 				hasLineInformation = true;
 			} catch (AbsentInformationException e) {
 				exception = e;
@@ -1760,6 +1853,9 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		// parse the source map.
 		fStrata = new HashMap<>();
 		SourceDebugExtensionParser.parse(fSmap, this);
+		for (Stratum stratum : fStrata.values()) {
+			stratum.compact();
+		}
 	}
 
 	/**
@@ -1831,6 +1927,42 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		fDefaultStratumId = defaultStratumId;
 	}
 
+	/**
+	 * Set the digest of the class file, found in a vendor section of the SMAP.
+	 */
+	protected void setClassDigest(String classDigest) {
+		fClassDigest = classDigest;
+	}
+
+	/**
+	 * Returns the metadata of this type kept across sessions, or
+	 * <code>null</code> if the VM has no type metadata cache or the class file
+	 * of this type is not known. The class file is known from the SMAP, which
+	 * is retrieved if needed.
+	 * <p>
+	 * The digest in the SMAP is taken before the class is transformed, so the
+	 * metadata is looked up with the constant pool of the class in the VM as
+	 * well, which is retrieved once per type. Other agents that transform the
+	 * class change its constant pool.
+	 * </p>
+	 */
+	synchronized TypeMetadata typeMetadata() {
+		TypeMetadataCache cache = virtualMachineImpl().typeMetadataCache();
+		if (cache == null) {
+			return null;
+		}
+		if (!fTypeMetadataKnown) {
+			fTypeMetadataKnown = true;
+			if (isSourceDebugExtensionAvailable() && fClassDigest != null && virtualMachineImpl().canGetConstantPool()) {
+				byte[] constantPool = constantPool();
+				if (constantPool != null && constantPool.length > 0) {
+					fTypeMetadata = cache.get(fClassDigest, virtualMachineImpl().typeMetadataVMKey(), TypeMetadata.fingerprint(constantPool), signature());
+				}
+			}
+		}
+		return fTypeMetadata;
+	}
+
 	/**
 	 * Add a new stratum to this type.
 	 */
@@ -1879,14 +2011,14 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	private FileInfo fileInfo(long codeIndex, MethodImpl method, Stratum stratum) {
 		int fileId = stratum.fPrimaryFileId;
 		if (stratum.fFileInfos.size() > 1) {
-			List<int[]> lineInfos = null;
+			int lineInfo = -1;
 			try {
-				lineInfos = lineInfos(codeIndex, method, stratum);
+				lineInfo = lineInfos(codeIndex, method, stratum);
 			} catch (AbsentInformationException e) {
 				// nothing to do, use the primary file id.
 			}
-			if (lineInfos != null) {
-				fileId = lineInfos.get(0)[0];
+			if (lineInfo != -1) {
+				fileId = stratum.inputLineInfos().firstAt(lineInfo);
 			}
 		}
 		for (FileInfo fileInfo : stratum.fFileInfos) {
@@ -1899,26 +2031,27 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	}
 
 	/**
-	 * Return the list of line number in the input files of the stratum
-	 * associated with the code at the given address.
+	 * Return the position of the first line information in the input files of
+	 * the stratum associated with the code at the given address.
 	 *
 	 * @param codeIndex
 	 *            the index of the code.
 	 * @param method
 	 *            the method where is the code.
-	 * @return List of int[2]: [fileId, inputLineNumber]
+	 * @return the position in {@link Stratum#inputLineInfos()} of the first
+	 *         [fileId, inputLineNumber] entry, or <code>-1</code>
 	 */
-	private List<int[]> lineInfos(long codeIndex, MethodImpl method, Stratum stratum) throws AbsentInformationException {
+	private int lineInfos(long codeIndex, MethodImpl method, Stratum stratum) throws AbsentInformationException {
 		int outputLineNumber = -1;
 		try {
 			outputLineNumber = method.javaStratumLineNumber(codeIndex);
 		} catch (NativeMethodException e) { // Occurs in SUN VM.
-			return null;
+			return -1;
 		}
 		if (outputLineNumber != -1) {
 			return stratum.getInputLineInfos(outputLineNumber);
 		}
-		return null;
+		return -1;
 	}
 
 	/**
@@ -1965,9 +2098,9 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		Stratum stratum = getStratum(stratumId);
 		try {
 			if (stratum != null) {
-				List<int[]> lineInfos = lineInfos(codeIndex, method, stratum);
-				if (lineInfos != null) {
-					return lineInfos.get(0)[1];
+				int lineInfo = lineInfos(codeIndex, method, stratum);
+				if (lineInfo != -1) {
+					return stratum.inputLineInfos().secondAt(lineInfo);
 				}
 				return LocationImpl.LINE_NR_NOT_AVAILABLE;
 			}
@@ -1998,23 +2131,36 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 *             if the specified sourceName is not valid.
 	 */
 	public List<Location> locationsOfLine(String stratumId, String sourceName, int lineNumber, MethodImpl method)	throws AbsentInformationException {
+		return method.javaStratumLocationsOfLines(javaLinesOfLine(stratumId, sourceName, lineNumber));
+	}
+
+	/**
+	 * Return the lines in the Java stratum which are part of the translation
+	 * of the given line, in the given stratum in the source file with the
+	 * given source name. If sourceName is <code>null</code>, return the lines
+	 * for all source file in the given stratum.
+	 *
+	 * @return the sorted, distinct line numbers in the Java stratum.
+	 * @throws AbsentInformationException
+	 *             if the specified sourceName is not valid.
+	 */
+	private int[] javaLinesOfLine(String stratumId, String sourceName, int lineNumber) throws AbsentInformationException {
 		Stratum stratum = getStratum(stratumId);
+		if (stratum == null) { // Java stratum
+			return new int[] { lineNumber };
+		}
 		List<Integer> javaLines = new ArrayList<>();
-		if (stratum != null) {
-			boolean found = false;
-			for (Iterator<FileInfo> iter = stratum.fFileInfos.iterator(); iter.hasNext() && !found;) {
-				FileInfo fileInfo = iter.next();
-				if (sourceName == null || (found = sourceName.equals(fileInfo.fFileName))) {
-					javaLines.addAll(fileInfo.getOutputLinesForLine(lineNumber));
-				}
-			}
-			if (sourceName != null && !found) {
-				throw new AbsentInformationException(JDIMessages.ReferenceTypeImpl_34);
+		boolean found = false;
+		for (Iterator<FileInfo> iter = stratum.fFileInfos.iterator(); iter.hasNext() && !found;) {
+			FileInfo fileInfo = iter.next();
+			if (sourceName == null || (found = sourceName.equals(fileInfo.fFileName))) {
+				javaLines.addAll(fileInfo.getOutputLinesForLine(lineNumber));
 			}
-		} else { // Java stratum
-			javaLines.add(Integer.valueOf(lineNumber));
 		}
-		return method.javaStratumLocationsOfLines(javaLines);
+		if (sourceName != null && !found) {
+			throw new AbsentInformationException(JDIMessages.ReferenceTypeImpl_34);
+		}
+		return javaLines.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
 	}
 
 	/**
@@ -2039,16 +2185,19 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			int[] javaStratumLineNumberTable) throws AbsentInformationException {
 		Stratum stratum = getStratum(stratumId);
 		if (stratum != null) {
-			int[][] lineInfoTable = new int[codeIndexTable.length][];
+			LineTable inputLineInfos = stratum.inputLineInfos();
+			// position in inputLineInfos of the line info of each code index,
+			// -1 if the code index does not start a new line
+			int[] lineInfoTable = new int[codeIndexTable.length];
+			Arrays.fill(lineInfoTable, -1);
 			if (sourceName == null) {
 				int lastIndex = 0;
 				for (int i = 0, length = javaStratumLineNumberTable.length; i < length; i++) {
 					// for each executable line in the java source, get the
 					// associated lines in the stratum source
-					List<int[]> lineInfos = stratum.getInputLineInfos(javaStratumLineNumberTable[i]);
-					if (lineInfos != null) {
-						int[] lineInfo = lineInfos.get(0);
-						if (!Arrays.equals(lineInfo, lineInfoTable[lastIndex])) {
+					int lineInfo = stratum.getInputLineInfos(javaStratumLineNumberTable[i]);
+					if (lineInfo != -1) {
+						if (!sameLineInfo(inputLineInfos, lineInfo, lineInfoTable[lastIndex])) {
 							lineInfoTable[i] = lineInfo;
 							lastIndex = i;
 						}
@@ -2062,11 +2211,12 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 				int fileId = fileInfo.fFileId;
 				int lastIndex = 0;
 				for (int i = 0, length = javaStratumLineNumberTable.length; i < length; i++) {
-					List<int[]> lineInfos = stratum.getInputLineInfos(javaStratumLineNumberTable[i]);
-					if (lineInfos != null) {
-						for (int[] lineInfo : lineInfos) {
-							if (lineInfo[0] == fileId) {
-								if (!Arrays.equals(lineInfo, lineInfoTable[lastIndex])) {
+					int outputLine = javaStratumLineNumberTable[i];
+					int lineInfo = stratum.getInputLineInfos(outputLine);
+					if (lineInfo != -1) {
+						for (int size = inputLineInfos.size(); lineInfo < size && inputLineInfos.lineAt(lineInfo) == outputLine; lineInfo++) {
+							if (inputLineInfos.firstAt(lineInfo) == fileId) {
+								if (!sameLineInfo(inputLineInfos, lineInfo, lineInfoTable[lastIndex])) {
 									lineInfoTable[i] = lineInfo;
 									lastIndex = i;
 								}
@@ -2078,7 +2228,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			}
 			List<Location> locations = new ArrayList<>();
 			for (int i = 0, length = lineInfoTable.length; i < length; i++) {
-				if (lineInfoTable[i] != null) {
+				if (lineInfoTable[i] != -1) {
 					locations.add(new LocationImpl(virtualMachineImpl(), method, codeIndexTable[i]));
 				}
 			}
@@ -2092,6 +2242,19 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		return result;
 	}
 
+	/**
+	 * Return whether the line information at the given positions refer to the
+	 * same line of the same input source file. A position of <code>-1</code>
+	 * refers to no line information.
+	 */
+	private static boolean sameLineInfo(LineTable lineInfos, int position, int otherPosition) {
+		if (otherPosition == -1) {
+			return false;
+		}
+		return lineInfos.firstAt(position) == lineInfos.firstAt(otherPosition)
+				&& lineInfos.secondAt(position) == lineInfos.secondAt(otherPosition);
+	}
+
 	/*
 	 * @since 3.0
 	 *
@@ -22,6 +22,12 @@ import com.sun.jdi.AbsentInformationException;
 
 public class SourceDebugExtensionParser {
 
+	/**
+	 * Vendor id of the vendor section holding the digest of the class file,
+	 * added by the advanced source lookup javaagent.
+	 */
+	static final String CLASS_DIGEST_VENDOR_ID = "org.eclipse.jdt.classdigest"; //$NON-NLS-1$
+
 	private static class Lexer {
 
 		static final int UNKNOWN = 0;
@@ -483,6 +489,12 @@ public class SourceDebugExtensionParser {
 					new String(lexer.lexem())));
 		}
 		lexer.nextLexem();
+		if (!isAsteriskLexem(lexer.lexemType())) {
+			String vendorId = getNonAsteriskString(lexer);
+			if (CLASS_DIGEST_VENDOR_ID.equals(vendorId) && !isAsteriskLexem(lexer.lexemType())) {
+				fReferenceType.setClassDigest(getNonAsteriskString(lexer));
+			}
+		}
 		while (!isAsteriskLexem(lexer.lexemType())) {
 			// do nothing in this case, just consume the lexems.
 			getNonAsteriskString(lexer);
@@ -497,6 +509,12 @@ public class SourceDebugExtensionParser {
 					new String(lexer.lexem())));
 		}
 		lexer.nextLexem();
+		if (!isAsteriskLexem(lexer.lexemType())) {
+			String vendorId = getNonAsteriskString(lexer);
+			if (CLASS_DIGEST_VENDOR_ID.equals(vendorId) && !isAsteriskLexem(lexer.lexemType())) {
+				fReferenceType.setClassDigest(getNonAsteriskString(lexer));
+			}
+		}
 		while (!isAsteriskLexem(lexer.lexemType())) {
 			// do nothing in this case, just consume the lexems.
 			getNonAsteriskString(lexer);
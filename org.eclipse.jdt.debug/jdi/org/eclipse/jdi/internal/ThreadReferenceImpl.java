@@ -544,23 +544,7 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 			int threadStatus = readInt(
 					"thread status", threadStatusMap(), replyData); //$NON-NLS-1$
 			readInt("suspend status", suspendStatusStrings(), replyData); //$NON-NLS-1$
-			switch (threadStatus) {
-			case JDWP_THREAD_STATUS_ZOMBIE:
-				return THREAD_STATUS_ZOMBIE;
-			case JDWP_THREAD_STATUS_RUNNING:
-				return THREAD_STATUS_RUNNING;
-			case JDWP_THREAD_STATUS_SLEEPING:
-				return THREAD_STATUS_SLEEPING;
-			case JDWP_THREAD_STATUS_MONITOR:
-				return THREAD_STATUS_MONITOR;
-			case JDWP_THREAD_STATUS_WAIT:
-				return THREAD_STATUS_WAIT;
-			case -1: // see bug 30816
-				return THREAD_STATUS_UNKNOWN;
-			}
-			throw new InternalException(
-					JDIMessages.ThreadReferenceImpl_Unknown_thread_status_received___6
-							+ threadStatus);
+			return toThreadStatus(threadStatus);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return 0;
@@ -569,6 +553,30 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/**
+	 * @return Returns the {@link ThreadReference} status of the given JDWP
+	 *         thread status.
+	 */
+	static int toThreadStatus(int threadStatus) {
+		switch (threadStatus) {
+		case JDWP_THREAD_STATUS_ZOMBIE:
+			return THREAD_STATUS_ZOMBIE;
+		case JDWP_THREAD_STATUS_RUNNING:
+			return THREAD_STATUS_RUNNING;
+		case JDWP_THREAD_STATUS_SLEEPING:
+			return THREAD_STATUS_SLEEPING;
+		case JDWP_THREAD_STATUS_MONITOR:
+			return THREAD_STATUS_MONITOR;
+		case JDWP_THREAD_STATUS_WAIT:
+			return THREAD_STATUS_WAIT;
+		case -1: // see bug 30816
+			return THREAD_STATUS_UNKNOWN;
+		}
+		throw new InternalException(
+				JDIMessages.ThreadReferenceImpl_Unknown_thread_status_received___6
+						+ threadStatus);
+	}
+
 	/**
 	 * Stops this thread with an asynchronous exception.
 	 *
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Metadata of a class that only depends on its class file: the line tables
+ * and local variable tables of its methods, by method name and signature.
+ * <p>
+ * The metadata is kept by {@link TypeMetadataCache} across sessions, so that
+ * it is not requested again from a VM running the same class file. The
+ * arrays held by the metadata are never modified.
+ * </p>
+ * <p>
+ * The class file is identified before it is transformed, so the metadata is
+ * also keyed by a fingerprint of the constant pool of the class in the VM,
+ * see {@link #fingerprint(byte[])}. A class transformed differently by
+ * another agent has a different constant pool and therefore other metadata.
+ * </p>
+ */
+final class TypeMetadata {
+
+	/**
+	 * Line table of a method, as returned by the VM. The table is empty if the
+	 * VM returned no entries.
+	 */
+	static final class Lines {
+		final long fLowestCodeIndex;
+		final long fHighestCodeIndex;
+		final long[] fCodeIndexes;
+		final int[] fLines;
+
+		Lines(long lowestCodeIndex, long highestCodeIndex, long[] codeIndexes, int[] lines) {
+			fLowestCodeIndex = lowestCodeIndex;
+			fHighestCodeIndex = highestCodeIndex;
+			fCodeIndexes = codeIndexes;
+			fLines = lines;
+		}
+	}
+
+	/**
+	 * Local variable table of a method, as returned by the VM, without the
+	 * <code>this</code> variable.
+	 */
+	static final class Variables {
+		final int fArgumentSlots;
+		final long[] fCodeIndexes;
+		final String[] fNames;
+		final String[] fSignatures;
+		final String[] fGenericSignatures;
+		final int[] fLengths;
+		final int[] fSlots;
+
+		Variables(int argumentSlots, long[] codeIndexes, String[] names, String[] signatures, String[] genericSignatures, int[] lengths, int[] slots) {
+			fArgumentSlots = argumentSlots;
+			fCodeIndexes = codeIndexes;
+			fNames = names;
+			fSignatures = signatures;
+			fGenericSignatures = genericSignatures;
+			fLengths = lengths;
+			fSlots = slots;
+		}
+
+		int size() {
+			return fNames.length;
+		}
+	}
+
+	private static final int VERSION = 3;
+
+	private final TypeMetadataCache fCache;
+	private final String fKey;
+	private final String fSignature;
+
+	/**
+	 * Guarded by <code>this</code>
+	 */
+	private final Map<String, Lines> fLines = new HashMap<>();
+
+	/**
+	 * Guarded by <code>this</code>
+	 */
+	private final Map<String, Variables> fVariables = new HashMap<>();
+
+	TypeMetadata(TypeMetadataCache cache, String key, String signature) {
+		fCache = cache;
+		fKey = key;
+		fSignature = signature;
+	}
+
+	String key() {
+		return fKey;
+	}
+
+	/**
+	 * Returns the key of the given method in the metadata of its type.
+	 */
+	static String methodKey(MethodImpl method) {
+		return method.name() + method.signature();
+	}
+
+	/**
+	 * Returns the fingerprint of the given bytes, e.g. the constant pool of a
+	 * class, made of their length and checksum.
+	 */
+	static long fingerprint(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, bytes.length);
+		return ((long) bytes.length << 32) | crc.getValue();
+	}
+
+	synchronized Lines lines(String method) {
+		return fLines.get(method);
+	}
+
+	void putLines(String method, Lines lines) {
+		synchronized (this) {
+			fLines.put(method, lines);
+		}
+		fCache.changed(this);
+	}
+
+	synchronized Variables variables(String method) {
+		return fVariables.get(method);
+	}
+
+	void putVariables(String method, Variables variables) {
+		synchronized (this) {
+			fVariables.put(method, variables);
+		}
+		fCache.changed(this);
+	}
+
+	synchronized void write(DataOutputStream out) throws IOException {
+		out.writeInt(VERSION);
+		out.writeUTF(fSignature);
+		out.writeInt(fLines.size());
+		for (Map.Entry<String, Lines> entry : fLines.entrySet()) {
+			Lines lines = entry.getValue();
+			out.writeUTF(entry.getKey());
+			out.writeLong(lines.fLowestCodeIndex);
+			out.writeLong(lines.fHighestCodeIndex);
+			out.writeInt(lines.fCodeIndexes.length);
+			for (int i = 0; i < lines.fCodeIndexes.length; i++) {
+				out.writeLong(lines.fCodeIndexes[i]);
+				out.writeInt(lines.fLines[i]);
+			}
+		}
+		out.writeInt(fVariables.size());
+		for (Map.Entry<String, Variables> entry : fVariables.entrySet()) {
+			Variables variables = entry.getValue();
+			out.writeUTF(entry.getKey());
+			out.writeInt(variables.fArgumentSlots);
+			out.writeInt(variables.size());
+			for (int i = 0; i < variables.size(); i++) {
+				out.writeLong(variables.fCodeIndexes[i]);
+				out.writeUTF(variables.fNames[i]);
+				out.writeUTF(variables.fSignatures[i]);
+				out.writeBoolean(variables.fGenericSignatures[i] != null);
+				if (variables.fGenericSignatures[i] != null) {
+					out.writeUTF(variables.fGenericSignatures[i]);
+				}
+				out.writeInt(variables.fLengths[i]);
+				out.writeInt(variables.fSlots[i]);
+			}
+		}
+	}
+
+	/**
+	 * Reads metadata written by {@link #write(DataOutputStream)}.
+	 *
+	 * @return <code>true</code> if the metadata was read, <code>false</code>
+	 *         if it was written by another version or for another type
+	 */
+	synchronized boolean read(DataInputStream in) throws IOException {
+		if (in.readInt() != VERSION || !fSignature.equals(in.readUTF())) {
+			return false;
+		}
+		int methods = in.readInt();
+		for (int m = 0; m < methods; m++) {
+			String method = in.readUTF();
+			long lowest = in.readLong();
+			long highest = in.readLong();
+			int count = checkCount(in.readInt());
+			long[] codeIndexes = new long[count];
+			int[] lines = new int[count];
+			for (int i = 0; i < count; i++) {
+				codeIndexes[i] = in.readLong();
+				lines[i] = in.readInt();
+			}
+			fLines.put(method, new Lines(lowest, highest, codeIndexes, lines));
+		}
+		methods = in.readInt();
+		for (int m = 0; m < methods; m++) {
+			String method = in.readUTF();
+			int argumentSlots = in.readInt();
+			int count = checkCount(in.readInt());
+			long[] codeIndexes = new long[count];
+			String[] names = new String[count];
+			String[] signatures = new String[count];
+			String[] genericSignatures = new String[count];
+			int[] lengths = new int[count];
+			int[] slots = new int[count];
+			for (int i = 0; i < count; i++) {
+				codeIndexes[i] = in.readLong();
+				names[i] = in.readUTF();
+				signatures[i] = in.readUTF();
+				genericSignatures[i] = in.readBoolean() ? in.readUTF() : null;
+				lengths[i] = in.readInt();
+				slots[i] = in.readInt();
+			}
+			fVariables.put(method, new Variables(argumentSlots, codeIndexes, names, signatures, genericSignatures, lengths, slots));
+		}
+		return true;
+	}
+
+	/**
+	 * Rejects negative or implausible counts of a corrupt file before they are
+	 * used to allocate arrays.
+	 */
+	private static int checkCount(int count) throws IOException {
+		// a method has at most 64k bytes of code
+		if (count < 0 || count > 0x10000) {
+			throw new IOException("Invalid count " + count); //$NON-NLS-1$
+		}
+		return count;
+	}
+}
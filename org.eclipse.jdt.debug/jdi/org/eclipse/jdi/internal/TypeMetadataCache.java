@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Metadata of classes kept on disk across sessions, see {@link TypeMetadata}.
+ * <p>
+ * Metadata is keyed by the digest of the class file, which the advanced
+ * source lookup javaagent adds to the SMAP of the classes it instruments, by
+ * a fingerprint of the class in the VM and by the VM it was retrieved from.
+ * Classes without a digest are not cached.
+ * Each class is stored in its own file, entries not used for
+ * {@link #MAX_AGE} are deleted when the cache is saved.
+ * </p>
+ * <p>
+ * A cache can be shared by any number of VMs, see
+ * {@link VirtualMachineImpl#setTypeMetadataCache(TypeMetadataCache)}.
+ * </p>
+ */
+public final class TypeMetadataCache {
+
+	/**
+	 * Time after which an entry that was not used is deleted
+	 */
+	private static final long MAX_AGE = 30L * 24 * 60 * 60 * 1000;
+
+	/**
+	 * Digests are SHA-256 hashes in hex, anything else in the SMAP is ignored
+	 */
+	private static final Pattern DIGEST = Pattern.compile("[0-9a-f]{64}"); //$NON-NLS-1$
+
+	private final File fDirectory;
+
+	/**
+	 * Metadata changed since the last save. Guarded by <code>this</code>.
+	 */
+	private final Set<TypeMetadata> fChanged = new LinkedHashSet<>();
+
+	/**
+	 * Whether old entries were deleted already. Guarded by <code>this</code>.
+	 */
+	private boolean fPruned;
+
+	/**
+	 * Creates a cache stored in the given directory.
+	 *
+	 * @param directory
+	 *            the directory to store the metadata in, created when the
+	 *            cache is first saved
+	 */
+	public TypeMetadataCache(File directory) {
+		fDirectory = directory;
+	}
+
+	/**
+	 * Returns the metadata of a class, read from disk if it was cached by an
+	 * earlier session.
+	 *
+	 * @param digest
+	 *            the digest of the class file
+	 * @param vmKey
+	 *            identifies the kind of VM the class is loaded in
+	 * @param fingerprint
+	 *            the fingerprint of the class as loaded in the VM, see
+	 *            {@link TypeMetadata#fingerprint(byte[])}
+	 * @param signature
+	 *            the signature of the class
+	 * @return the metadata of the class, or <code>null</code> if the digest
+	 *         is not valid
+	 */
+	TypeMetadata get(String digest, String vmKey, long fingerprint, String signature) {
+		if (!DIGEST.matcher(digest).matches()) {
+			return null;
+		}
+		String key = digest + '-' + vmKey + '-' + String.format("%016x", Long.valueOf(fingerprint)); //$NON-NLS-1$
+		TypeMetadata metadata = new TypeMetadata(this, key, signature);
+		File file = fileOf(key);
+		if (file.isFile()) {
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+				if (!metadata.read(in)) {
+					metadata = new TypeMetadata(this, key, signature);
+				}
+				file.setLastModified(System.currentTimeMillis());
+			} catch (IOException | RuntimeException e) {
+				// corrupt or unreadable entry, retrieve the metadata again
+				metadata = new TypeMetadata(this, key, signature);
+			}
+		}
+		return metadata;
+	}
+
+	/**
+	 * Notes that the given metadata changed and needs to be saved.
+	 */
+	synchronized void changed(TypeMetadata metadata) {
+		fChanged.add(metadata);
+	}
+
+	/**
+	 * Writes the metadata that changed since the last save, and deletes
+	 * entries that were not used recently the first time it is called.
+	 *
+	 * @throws IOException
+	 *             if some metadata could not be written
+	 */
+	public void save() throws IOException {
+		List<TypeMetadata> changed;
+		boolean prune;
+		synchronized (this) {
+			changed = new ArrayList<>(fChanged);
+			fChanged.clear();
+			prune = !fPruned;
+			fPruned = true;
+		}
+		IOException failure = null;
+		for (TypeMetadata metadata : changed) {
+			try {
+				write(metadata);
+			} catch (IOException e) {
+				failure = e;
+			}
+		}
+		if (prune) {
+			prune();
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private void write(TypeMetadata metadata) throws IOException {
+		File file = fileOf(metadata.key());
+		File parent = file.getParentFile();
+		if (!parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Could not create " + parent); //$NON-NLS-1$
+		}
+		File temp = new File(parent, file.getName() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+			metadata.write(out);
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private void prune() {
+		File[] buckets = fDirectory.listFiles(File::isDirectory);
+		if (buckets == null) {
+			return;
+		}
+		long oldest = System.currentTimeMillis() - MAX_AGE;
+		for (File bucket : buckets) {
+			File[] files = bucket.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					if (file.lastModified() < oldest) {
+						file.delete();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the file of the given key, in a directory named after the first
+	 * characters of the key to keep directories small.
+	 */
+	private File fileOf(String key) {
+		return new File(new File(fDirectory, key.substring(0, 2)), key);
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.io.IOException;
+
+import org.eclipse.jdi.internal.jdwp.JdwpID;
+import org.eclipse.jdi.internal.jdwp.JdwpRecordDecoder;
+import org.eclipse.jdi.internal.jdwp.JdwpRecordFormat;
+import org.eclipse.jdi.internal.jdwp.JdwpRecords;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+
+/**
+ * Decorates a record decoder to write the decoded records to the verbose
+ * output, as {@link MirrorImpl#readInt(String, java.io.DataInputStream)} and
+ * friends do for each value they read.
+ */
+final class VerboseRecordDecoder implements JdwpRecordDecoder {
+
+	private final JdwpRecordDecoder fDecoder;
+	private final VerboseWriter fVerboseWriter;
+
+	VerboseRecordDecoder(JdwpRecordDecoder decoder, VerboseWriter verboseWriter) {
+		fDecoder = decoder;
+		fVerboseWriter = verboseWriter;
+	}
+
+	@Override
+	public JdwpRecords decode(VirtualMachineImpl vmImpl, JdwpReplyPacket reply) throws IOException {
+		JdwpRecords records = fDecoder.decode(vmImpl, reply);
+		JdwpRecordFormat format = records.format();
+		fVerboseWriter.println("elements", records.size()); //$NON-NLS-1$
+		for (int record = 0; record < records.size(); record++) {
+			for (int field = 0; field < format.fieldCount(); field++) {
+				String description = format.description(field);
+				switch (format.kind(field)) {
+				case JdwpRecordFormat.BYTE:
+					fVerboseWriter.println(description, records.getByte(field, record));
+					break;
+				case JdwpRecordFormat.TYPE_TAG:
+					fVerboseWriter.println(description, records.getByte(field, record), JdwpID.typeTagMap());
+					break;
+				case JdwpRecordFormat.BOOLEAN:
+					fVerboseWriter.println(description, records.getBoolean(field, record));
+					break;
+				case JdwpRecordFormat.INT:
+					fVerboseWriter.println(description, records.getInt(field, record));
+					break;
+				case JdwpRecordFormat.CLASS_STATUS:
+					fVerboseWriter.println(description, records.getInt(field, record), ReferenceTypeImpl.classStatusStrings());
+					break;
+				case JdwpRecordFormat.STRING:
+					fVerboseWriter.println(description, records.getString(field, record));
+					break;
+				default:
+					fVerboseWriter.println(description, records.getLong(field, record));
+					break;
+				}
+			}
+		}
+		return records;
+	}
+}
@@ -25,15 +25,22 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jdi.Bootstrap;
 import org.eclipse.jdi.internal.connect.PacketReceiveManager;
 import org.eclipse.jdi.internal.connect.PacketSendManager;
 import org.eclipse.jdi.internal.event.EventQueueImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpFrameID;
+import org.eclipse.jdi.internal.jdwp.JdwpID;
 import org.eclipse.jdi.internal.jdwp.JdwpObjectID;
+import org.eclipse.jdi.internal.jdwp.JdwpRecordFormat;
+import org.eclipse.jdi.internal.jdwp.JdwpRecords;
 import org.eclipse.jdi.internal.jdwp.JdwpReferenceTypeID;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpStatistics;
 import org.eclipse.jdi.internal.request.EventRequestManagerImpl;
 import org.eclipse.osgi.util.NLS;
 
@@ -43,14 +50,19 @@ import com.sun.jdi.CharValue;
 import com.sun.jdi.DoubleValue;
 import com.sun.jdi.FloatValue;
 import com.sun.jdi.IntegerValue;
+import com.sun.jdi.LocalVariable;
 import com.sun.jdi.LongValue;
+import com.sun.jdi.Method;
 import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.ShortValue;
+import com.sun.jdi.StackFrame;
 import com.sun.jdi.StringReference;
 import com.sun.jdi.ThreadGroupReference;
 import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.Value;
 import com.sun.jdi.VirtualMachine;
 import com.sun.jdi.VoidValue;
 import com.sun.jdi.connect.spi.Connection;
@@ -68,6 +80,12 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	public static final byte HCR_RELOAD_FAILURE = 1;
 	public static final byte HCR_RELOAD_IGNORED = 2;
 
+	/**
+	 * Maximum number of requests sent before waiting for their replies when
+	 * requests are pipelined
+	 */
+	private static final int MAX_PIPELINED_REQUESTS = 64;
+
 	/* Indexes in HCR capabilities list. */
 	private static final int HCR_CAN_RELOAD_CLASSES = 0;
 	private static final int HCR_CAN_GET_CLASS_VERSION = 1;
@@ -161,6 +179,35 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	private final PacketReceiveManager fPacketReceiveManager;
 	private final PacketSendManager fPacketSendManager;
 
+	/**
+	 * Statistics of the JDWP requests sent to this VM
+	 */
+	private final JdwpStatistics fStatistics = new JdwpStatistics();
+
+	/**
+	 * Registry of the loaded classes, <code>null</code> unless enabled by
+	 * {@link #enableLoadedClassRegistry()}
+	 */
+	private final AtomicReference<LoadedClassRegistry> fLoadedClasses = new AtomicReference<>();
+
+	/**
+	 * Number of event sets received from the VM that have not been read from
+	 * the event queue yet
+	 */
+	private final AtomicInteger fUnreadEventSets = new AtomicInteger();
+
+	/**
+	 * Cache of class metadata across sessions, <code>null</code> unless set
+	 * by {@link #setTypeMetadataCache(TypeMetadataCache)}
+	 */
+	private volatile TypeMetadataCache fTypeMetadataCache;
+
+	/**
+	 * Identifies this kind of VM in the keys of the type metadata cache,
+	 * computed when first needed
+	 */
+	private volatile String fTypeMetadataVMKey;
+
 	/**
 	 * Creates a new Virtual Machine.
 	 */
@@ -274,7 +321,11 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	 * it.
 	 */
 	public final void removeKnownRefType(String signature) {
-		List<ReferenceType> refTypeList = classesBySignature(signature);
+		List<ReferenceType> refTypeList = requestClassesBySignature(signature);
+		LoadedClassRegistry registry = fLoadedClasses.get();
+		if (registry != null) {
+			registry.update(signature, refTypeList);
+		}
 		if (refTypeList.isEmpty()) {
 			return;
 		}
@@ -308,6 +359,128 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		}
 	}
 
+	/**
+	 * Registers a class or interface reported by a class prepare event in the
+	 * loaded class registry, if enabled.
+	 *
+	 * @param refType
+	 *            the prepared type
+	 */
+	public final void addPreparedRefType(ReferenceTypeImpl refType) {
+		LoadedClassRegistry registry = fLoadedClasses.get();
+		if (registry != null && refType != null) {
+			registry.add(refType);
+		}
+	}
+
+	/**
+	 * Enables a registry of the loaded classes, which answers
+	 * {@link #classesByName(String)}, {@link #classesBySignature(String)} and
+	 * {@link ReferenceTypeImpl#nestedTypes()} without requests to the VM. The
+	 * registry is seeded from {@link #allClasses()} and then maintained from
+	 * class prepare and class unload events, which requires the event queue
+	 * of this VM to be read.
+	 * <p>
+	 * The registry is only used while all event sets received from the VM
+	 * have been read, otherwise a class may have been prepared without being
+	 * registered yet. Array types are always looked up in the VM.
+	 * </p>
+	 * <p>
+	 * Has no effect if the registry is already enabled.
+	 * </p>
+	 */
+	public void enableLoadedClassRegistry() {
+		LoadedClassRegistry registry = new LoadedClassRegistry();
+		if (!fLoadedClasses.compareAndSet(null, registry)) {
+			return;
+		}
+		// request class prepare events before retrieving the loaded classes,
+		// so that no class is missed
+		eventRequestManagerImpl().enableInternalClassPrepareEvent();
+		Set<String> unloaded = registry.seed(allClasses());
+		for (String signature : unloaded) {
+			registry.update(signature, requestClassesBySignature(signature));
+		}
+		registry.setSeeded();
+	}
+
+	/**
+	 * Sets the cache the line tables and local variable tables of classes are
+	 * kept in across sessions. Only classes whose SMAP holds the digest of their
+	 * class file are cached, see {@link TypeMetadataCache}.
+	 *
+	 * @param cache
+	 *            the cache, or <code>null</code> to disable caching
+	 */
+	public void setTypeMetadataCache(TypeMetadataCache cache) {
+		fTypeMetadataCache = cache;
+	}
+
+	TypeMetadataCache typeMetadataCache() {
+		return fTypeMetadataCache;
+	}
+
+	/**
+	 * Returns the part of the type metadata cache keys identifying this kind
+	 * of VM. Metadata is only shared between VMs of the same name, version and
+	 * ID sizes.
+	 */
+	String typeMetadataVMKey() {
+		// computing the key twice is harmless
+		if (fTypeMetadataVMKey == null) {
+			String description = name() + '\n' + version() + '\n' + fFieldIDSize + ',' + fMethodIDSize + ',' + fObjectIDSize + ','
+					+ fReferenceTypeIDSize + ',' + fFrameIDSize;
+			fTypeMetadataVMKey = String.format("%08x", Integer.valueOf(description.hashCode())); //$NON-NLS-1$
+		}
+		return fTypeMetadataVMKey;
+	}
+
+	/**
+	 * @return Returns whether the loaded class registry is enabled and
+	 *         seeded.
+	 */
+	public boolean isLoadedClassRegistryEnabled() {
+		LoadedClassRegistry registry = fLoadedClasses.get();
+		return registry != null && registry.isSeeded();
+	}
+
+	/**
+	 * Returns the loaded class registry if it can answer queries, i.e. it is
+	 * enabled and seeded, and all received event sets have been read.
+	 */
+	private LoadedClassRegistry currentLoadedClasses() {
+		LoadedClassRegistry registry = fLoadedClasses.get();
+		if (registry == null || !registry.isSeeded() || fUnreadEventSets.get() != 0) {
+			return null;
+		}
+		return registry;
+	}
+
+	/**
+	 * Notifies this VM that an event set has been received, it is read later
+	 * from the event queue.
+	 */
+	public void eventSetReceived() {
+		fUnreadEventSets.incrementAndGet();
+	}
+
+	/**
+	 * Notifies this VM that a received event set has been read from the event
+	 * queue.
+	 */
+	public void eventSetRead() {
+		fUnreadEventSets.decrementAndGet();
+	}
+
+	/**
+	 * Returns the loaded types nested in the given type from the loaded class
+	 * registry, or <code>null</code> if the registry can not answer queries.
+	 */
+	List<ReferenceType> registeredNestedTypes(ReferenceTypeImpl refType) {
+		LoadedClassRegistry registry = currentLoadedClasses();
+		return registry == null ? null : registry.nestedTypes(refType.signature());
+	}
+
 	/*
 	 * @exception Throws UnsupportedOperationException if VM does not support J9
 	 * HCR.
@@ -333,6 +506,13 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		return fPacketReceiveManager;
 	}
 
+	/**
+	 * @return Returns the statistics of the JDWP requests sent to this VM.
+	 */
+	public final JdwpStatistics statistics() {
+		return fStatistics;
+	}
+
 	/*
 	 * @return Returns Manager for sending packets to the Virtual Machine.
 	 */
@@ -376,17 +556,21 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 					: JdwpCommandPacket.VM_ALL_CLASSES;
 			JdwpReplyPacket replyPacket = requestVM(jdwpCommand);
 			defaultReplyErrorHandler(replyPacket.errorCode());
-			DataInputStream replyData = replyPacket.dataInStream();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+			// fields: type tag, ID, signature, [generic signature,] status
+			JdwpRecords records = readRecords(
+					withGenericSignature ? JdwpRecordFormat.ALL_CLASSES_WITH_GENERIC
+							: JdwpRecordFormat.ALL_CLASSES, replyPacket);
+			int nrOfElements = records.size();
 			List<ReferenceType> elements = new ArrayList<>(nrOfElements);
 			for (int i = 0; i < nrOfElements; i++) {
-				ReferenceTypeImpl elt = ReferenceTypeImpl
-						.readWithTypeTagAndSignature(this,
-								withGenericSignature, replyData);
+				ReferenceTypeImpl elt = ReferenceTypeImpl.create(this,
+						records.getByte(0, i), records.getLong(1, i));
 				if (elt == null) {
 					continue;
 				}
-				readInt("status", ReferenceTypeImpl.classStatusStrings(), replyData); //$NON-NLS-1$
+				elt.setSignature(records.getString(2, i));
+				elt.setGenericSignature(withGenericSignature ? records
+						.getString(3, i) : null);
 				elements.add(elt);
 			}
 			return elements;
@@ -647,6 +831,20 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	 * @return Returns the loaded reference types that match a given signature.
 	 */
 	public List<ReferenceType> classesBySignature(String signature) {
+		if (signature.charAt(0) != '[') {
+			LoadedClassRegistry registry = currentLoadedClasses();
+			if (registry != null) {
+				return registry.classesBySignature(signature);
+			}
+		}
+		return requestClassesBySignature(signature);
+	}
+
+	/**
+	 * @return Returns the loaded reference types that match a given signature,
+	 *         as reported by the VM.
+	 */
+	private List<ReferenceType> requestClassesBySignature(String signature) {
 		// Note that this information should not be cached.
 		initJdwpRequest();
 		try {
@@ -657,16 +855,18 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 			JdwpReplyPacket replyPacket = requestVM(
 					JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE, outBytes);
 			defaultReplyErrorHandler(replyPacket.errorCode());
-			DataInputStream replyData = replyPacket.dataInStream();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+			// fields: type tag, ID, status
+			JdwpRecords records = readRecords(
+					JdwpRecordFormat.CLASSES_BY_SIGNATURE, replyPacket);
+			int nrOfElements = records.size();
 			List<ReferenceType> elements = new ArrayList<>(nrOfElements);
 			for (int i = 0; i < nrOfElements; i++) {
-				ReferenceTypeImpl elt = ReferenceTypeImpl.readWithTypeTag(this,
-						replyData);
-				readInt("status", ReferenceTypeImpl.classStatusStrings(), replyData); //$NON-NLS-1$
+				ReferenceTypeImpl elt = ReferenceTypeImpl.create(this,
+						records.getByte(0, i), records.getLong(1, i));
 				if (elt == null) {
 					continue;
 				}
+				elt.setSignature(signature);
 				elements.add(elt);
 			}
 			return elements;
@@ -1500,6 +1700,362 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		}
 	}
 
+	/**
+	 * Returns the objects that directly reference each of the given objects,
+	 * as {@link ObjectReference#referringObjects(long)} does. The requests for
+	 * all objects are pipelined rather than sent one at a time.
+	 *
+	 * @param objects
+	 *            the objects to get the referrers of
+	 * @param maxReferrers
+	 *            the maximum number of referrers to return for each object,
+	 *            or 0 for all referrers
+	 * @return the referrers of each object, in the order of the given
+	 *         objects. The referrers of an object that was collected are
+	 *         <code>null</code>.
+	 */
+	public List<List<ObjectReference>> referringObjects(List<? extends ObjectReference> objects, long maxReferrers) {
+		if (maxReferrers < 0) {
+			throw new IllegalArgumentException(JDIMessages.ReferenceTypeImpl_26);
+		}
+		int max = (int) Math.min(maxReferrers, Integer.MAX_VALUE);
+		List<List<ObjectReference>> result = new ArrayList<>(objects.size());
+		for (int from = 0; from < objects.size(); from += MAX_PIPELINED_REQUESTS) {
+			List<? extends ObjectReference> window = objects.subList(from, Math.min(objects.size(), from + MAX_PIPELINED_REQUESTS));
+			initJdwpRequest();
+			try {
+				List<byte[]> outData = new ArrayList<>(window.size());
+				for (ObjectReference object : window) {
+					ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+					DataOutputStream data = new DataOutputStream(outBytes);
+					((ObjectReferenceImpl) object).getObjectID().write(data);
+					writeInt(max, "max referrers", data); //$NON-NLS-1$
+					outData.add(outBytes.toByteArray());
+				}
+				for (JdwpReplyPacket replyPacket : requestVM(JdwpCommandPacket.OR_REFERRING_OBJECTS, outData)) {
+					switch (replyPacket.errorCode()) {
+					case JdwpReplyPacket.INVALID_OBJECT:
+						result.add(null);
+						continue;
+					case JdwpReplyPacket.NOT_IMPLEMENTED:
+						throw new UnsupportedOperationException(JDIMessages.ReferenceTypeImpl_27);
+					case JdwpReplyPacket.ILLEGAL_ARGUMENT:
+						throw new IllegalArgumentException(JDIMessages.ReferenceTypeImpl_26);
+					case JdwpReplyPacket.VM_DEAD:
+						throw new VMDisconnectedException(JDIMessages.vm_dead);
+					}
+					defaultReplyErrorHandler(replyPacket.errorCode());
+
+					DataInputStream replyData = replyPacket.dataInStream();
+					int elements = readInt("elements", replyData); //$NON-NLS-1$
+					if (max > 0 && elements > max) {
+						elements = max;
+					}
+					List<ObjectReference> referrers = new ArrayList<>(elements);
+					for (int i = 0; i < elements; i++) {
+						referrers.add((ObjectReference) ValueImpl.readWithTag(this, replyData));
+					}
+					result.add(referrers);
+				}
+			} catch (IOException e) {
+				defaultIOExceptionHandler(e);
+				return null;
+			} finally {
+				handledJdwpRequest();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the data of a reply to one of several pipelined requests.
+	 */
+	@FunctionalInterface
+	private interface ReplyReader<T> {
+		T read(DataInputStream replyData) throws IOException;
+	}
+
+	/**
+	 * Sends a request with each of the given data, at most
+	 * {@link #MAX_PIPELINED_REQUESTS} at a time, and reads the replies in the
+	 * order of the requests. The result of a request for an object that was
+	 * collected is <code>null</code>.
+	 */
+	private <T> List<T> requestPipelined(int command, List<byte[]> outData, ReplyReader<T> reader) {
+		return requestPipelined(command, outData, reader, JdwpReplyPacket.INVALID_OBJECT);
+	}
+
+	/**
+	 * Sends a request with each of the given data, as
+	 * {@link #requestPipelined(int, List, ReplyReader)} does. The result of a
+	 * request that fails with one of the given errors is <code>null</code>.
+	 */
+	private <T> List<T> requestPipelined(int command, List<byte[]> outData, ReplyReader<T> reader, int... nullErrors) {
+		List<T> result = new ArrayList<>(outData.size());
+		for (int from = 0; from < outData.size(); from += MAX_PIPELINED_REQUESTS) {
+			List<byte[]> window = outData.subList(from, Math.min(outData.size(), from + MAX_PIPELINED_REQUESTS));
+			initJdwpRequest();
+			try {
+				replies: for (JdwpReplyPacket replyPacket : requestVM(command, window)) {
+					if (replyPacket.errorCode() == JdwpReplyPacket.VM_DEAD) {
+						throw new VMDisconnectedException(JDIMessages.vm_dead);
+					}
+					for (int error : nullErrors) {
+						if (replyPacket.errorCode() == error) {
+							result.add(null);
+							continue replies;
+						}
+					}
+					defaultReplyErrorHandler(replyPacket.errorCode());
+					result.add(reader.read(replyPacket.dataInStream()));
+				}
+			} catch (IOException e) {
+				defaultIOExceptionHandler(e);
+				return null;
+			} finally {
+				handledJdwpRequest();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the values of local variables in each of the given frames, as
+	 * {@link StackFrame#getValues(List)} does. The requests for all frames are
+	 * pipelined rather than sent one at a time.
+	 *
+	 * @param frames
+	 *            the frames to get values in, of suspended threads
+	 * @param variables
+	 *            the variables to get in each frame, not including
+	 *            <code>this</code>, see {@link #thisObjects(List)}
+	 * @return the values of each frame, in the order of the given variables
+	 */
+	public List<List<Value>> frameValues(List<? extends StackFrame> frames, List<? extends List<? extends LocalVariable>> variables) {
+		List<byte[]> outData = new ArrayList<>(frames.size());
+		try {
+			for (int i = 0; i < frames.size(); i++) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				DataOutputStream data = new DataOutputStream(outBytes);
+				((StackFrameImpl) frames.get(i)).writeWithThread(this, data);
+				List<? extends LocalVariable> frameVariables = variables.get(i);
+				writeInt(frameVariables.size(), "size", data); //$NON-NLS-1$
+				for (LocalVariable variable : frameVariables) {
+					LocalVariableImpl var = (LocalVariableImpl) variable;
+					writeInt(var.slot(), "slot", data); //$NON-NLS-1$
+					writeByte(var.tag(), "tag", JdwpID.tagMap(), data); //$NON-NLS-1$
+				}
+				outData.add(outBytes.toByteArray());
+			}
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		}
+		return requestPipelined(JdwpCommandPacket.SF_GET_VALUES, outData, this::readValues);
+	}
+
+	/**
+	 * Returns the <code>this</code> object of each of the given frames, as
+	 * {@link StackFrame#thisObject()} does. The requests for all frames are
+	 * pipelined rather than sent one at a time.
+	 *
+	 * @param frames
+	 *            the frames, of suspended threads
+	 * @return the <code>this</code> object of each frame, <code>null</code>
+	 *         for frames of static and native methods
+	 */
+	public List<ObjectReference> thisObjects(List<? extends StackFrame> frames) {
+		List<byte[]> outData = new ArrayList<>(frames.size());
+		try {
+			for (StackFrame frame : frames) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				((StackFrameImpl) frame).writeWithThread(this, new DataOutputStream(outBytes));
+				outData.add(outBytes.toByteArray());
+			}
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		}
+		return requestPipelined(JdwpCommandPacket.SF_THIS_OBJECT, outData, replyData -> ObjectReferenceImpl.readObjectRefWithTag(this, replyData));
+	}
+
+	/**
+	 * Returns the runtime type of each of the given objects, as
+	 * {@link ObjectReference#referenceType()} does. The requests for all
+	 * objects are pipelined rather than sent one at a time.
+	 *
+	 * @param objects
+	 *            the objects to get the types of
+	 * @return the type of each object, <code>null</code> for objects that
+	 *         were collected
+	 */
+	public List<ReferenceType> referenceTypes(List<? extends ObjectReference> objects) {
+		List<byte[]> outData = new ArrayList<>(objects.size());
+		try {
+			for (ObjectReference object : objects) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				((ObjectReferenceImpl) object).write(this, new DataOutputStream(outBytes));
+				outData.add(outBytes.toByteArray());
+			}
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		}
+		List<ReferenceType> types = requestPipelined(JdwpCommandPacket.OR_REFERENCE_TYPE, outData, replyData -> ReferenceTypeImpl.readWithTypeTag(this, replyData));
+		for (int i = 0; i < types.size(); i++) {
+			if (types.get(i) != null) {
+				((ObjectReferenceImpl) objects.get(i)).setReferenceType(types.get(i));
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * Returns the values of instance fields of each of the given objects, as
+	 * {@link ObjectReference#getValues(List)} does. The requests for all
+	 * objects are pipelined rather than sent one at a time.
+	 *
+	 * @param objects
+	 *            the objects to get values of
+	 * @param fields
+	 *            the instance fields to get of each object
+	 * @return the values of each object, in the order of the given fields.
+	 *         The values of an object that was collected are
+	 *         <code>null</code>.
+	 */
+	public List<List<Value>> fieldValues(List<? extends ObjectReference> objects, List<? extends List<? extends com.sun.jdi.Field>> fields) {
+		List<byte[]> outData = new ArrayList<>(objects.size());
+		try {
+			for (int i = 0; i < objects.size(); i++) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				DataOutputStream data = new DataOutputStream(outBytes);
+				((ObjectReferenceImpl) objects.get(i)).write(this, data);
+				List<? extends com.sun.jdi.Field> objectFields = fields.get(i);
+				writeInt(objectFields.size(), "size", data); //$NON-NLS-1$
+				for (com.sun.jdi.Field field : objectFields) {
+					((FieldImpl) field).write(this, data);
+				}
+				outData.add(outBytes.toByteArray());
+			}
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		}
+		return requestPipelined(JdwpCommandPacket.OR_GET_VALUES, outData, this::readValues);
+	}
+
+	/**
+	 * Returns the value of each of the given strings, as
+	 * {@link StringReference#value()} does. The requests for all strings are
+	 * pipelined rather than sent one at a time.
+	 *
+	 * @param strings
+	 *            the strings to get the values of
+	 * @return the value of each string, <code>null</code> for strings that
+	 *         were collected
+	 */
+	public List<String> stringValues(List<? extends StringReference> strings) {
+		List<byte[]> outData = new ArrayList<>(strings.size());
+		try {
+			for (StringReference string : strings) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				((StringReferenceImpl) string).write(this, new DataOutputStream(outBytes));
+				outData.add(outBytes.toByteArray());
+			}
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		}
+		return requestPipelined(JdwpCommandPacket.SR_VALUE, outData, replyData -> readString("value", replyData)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the methods of the frames of each of the given threads, the top
+	 * frame first, as {@link ThreadReference#frames()} followed by the method
+	 * of the location of each frame does. The requests for all threads are
+	 * pipelined rather than sent one at a time, and no stack frames are
+	 * created.
+	 *
+	 * @param threads
+	 *            the threads, which should be suspended
+	 * @return the methods on the stack of each thread, <code>null</code> for
+	 *         threads that died or are not suspended
+	 */
+	public List<List<Method>> stackMethods(List<? extends ThreadReference> threads) {
+		List<byte[]> outData = new ArrayList<>(threads.size());
+		try {
+			for (ThreadReference thread : threads) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				DataOutputStream data = new DataOutputStream(outBytes);
+				((ThreadReferenceImpl) thread).write(this, data);
+				writeInt(0, "start", data); //$NON-NLS-1$
+				writeInt(-1, "length", data); //$NON-NLS-1$
+				outData.add(outBytes.toByteArray());
+			}
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		}
+		return requestPipelined(JdwpCommandPacket.TR_FRAMES, outData, this::readStackMethods,
+				JdwpReplyPacket.INVALID_OBJECT, JdwpReplyPacket.INVALID_THREAD, JdwpReplyPacket.THREAD_NOT_SUSPENDED);
+	}
+
+	/**
+	 * Returns the status of each of the given threads, as
+	 * {@link ThreadReference#status()} does. The requests for all threads are
+	 * pipelined rather than sent one at a time.
+	 *
+	 * @param threads
+	 *            the threads
+	 * @return the status of each thread, <code>null</code> for threads that
+	 *         died
+	 */
+	public List<Integer> threadStatuses(List<? extends ThreadReference> threads) {
+		List<byte[]> outData = new ArrayList<>(threads.size());
+		try {
+			for (ThreadReference thread : threads) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				((ThreadReferenceImpl) thread).write(this, new DataOutputStream(outBytes));
+				outData.add(outBytes.toByteArray());
+			}
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		}
+		return requestPipelined(JdwpCommandPacket.TR_STATUS, outData, this::readThreadStatus,
+				JdwpReplyPacket.INVALID_OBJECT, JdwpReplyPacket.INVALID_THREAD);
+	}
+
+	private Integer readThreadStatus(DataInputStream replyData) throws IOException {
+		int threadStatus = readInt("thread status", ThreadReferenceImpl.threadStatusMap(), replyData); //$NON-NLS-1$
+		readInt("suspend status", ThreadReferenceImpl.suspendStatusStrings(), replyData); //$NON-NLS-1$
+		return Integer.valueOf(ThreadReferenceImpl.toThreadStatus(threadStatus));
+	}
+
+	private List<Method> readStackMethods(DataInputStream replyData) throws IOException {
+		int elements = readInt("elements", replyData); //$NON-NLS-1$
+		List<Method> methods = new ArrayList<>(elements);
+		JdwpFrameID id = new JdwpFrameID(this);
+		for (int i = 0; i < elements; i++) {
+			id.read(replyData);
+			MethodImpl method = MethodImpl.readWithReferenceTypeWithTag(this, replyData);
+			readLong("index", replyData); //$NON-NLS-1$
+			if (method != null) {
+				methods.add(method);
+			}
+		}
+		return methods;
+	}
+
+	private List<Value> readValues(DataInputStream replyData) throws IOException {
+		int elements = readInt("elements", replyData); //$NON-NLS-1$
+		List<Value> values = new ArrayList<>(elements);
+		for (int i = 0; i < elements; i++) {
+			values.add(ValueImpl.readWithTag(this, replyData));
+		}
+		return values;
+	}
+
 	/**
 	 * Returns whether this VM is disconnected.
 	 *
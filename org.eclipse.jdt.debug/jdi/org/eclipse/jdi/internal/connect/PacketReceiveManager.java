@@ -16,8 +16,12 @@ package org.eclipse.jdi.internal.connect;
 import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.jdi.TimeoutException;
 import org.eclipse.jdi.internal.VirtualMachineImpl;
@@ -54,6 +58,32 @@ public class PacketReceiveManager extends PacketManager {
 	 */
 	private final ArrayList<Integer> fTimedOutPackets;
 
+	/**
+	 * Handlers of the replies to requests that were sent without waiting for
+	 * the reply, by request id, in the order they were registered, which is
+	 * the order of their deadlines unless the request timeout changes. Guarded
+	 * by itself.
+	 */
+	private final Map<Integer, ReplyHandler> fReplyHandlers;
+
+	/**
+	 * Handler of the reply to a request that was sent without waiting for the
+	 * reply.
+	 */
+	private static final class ReplyHandler {
+		final Consumer<JdwpReplyPacket> fHandler;
+
+		/**
+		 * Time after which the reply is no longer expected, in milliseconds
+		 */
+		final long fDeadline;
+
+		ReplyHandler(Consumer<JdwpReplyPacket> handler, long deadline) {
+			fHandler = handler;
+			fDeadline = deadline;
+		}
+	}
+
 	private final VirtualMachineImpl fVM;
 
 	/**
@@ -65,11 +95,15 @@ public class PacketReceiveManager extends PacketManager {
 		fCommandPackets = new LinkedList<>();
 		fReplyPackets = new LinkedList<>();
 		fTimedOutPackets = new ArrayList<>();
+		fReplyHandlers = new LinkedHashMap<>();
 	}
 
 	@Override
 	public void disconnectVM() {
 		super.disconnectVM();
+		synchronized (fReplyHandlers) {
+			fReplyHandlers.clear();
+		}
 		synchronized (fCommandPackets) {
 			fCommandPackets.notifyAll();
 		}
@@ -263,6 +297,11 @@ public class PacketReceiveManager extends PacketManager {
 		if (isTimedOut(packet)) {
 			return; // already timed out. No need to keep this one
 		}
+		if (packet.getCommand() == JdwpCommandPacket.E_COMPOSITE) {
+			// counted before the packet is available, see
+			// VirtualMachineImpl#enableLoadedClassRegistry()
+			fVM.eventSetReceived();
+		}
 		synchronized (fCommandPackets) {
 			fCommandPackets.add(packet);
 			fCommandPackets.notifyAll();
@@ -286,6 +325,54 @@ public class PacketReceiveManager extends PacketManager {
 		}
 	}
 
+	/**
+	 * Registers a handler for the reply to a request that is sent without
+	 * waiting for the reply. The handler is called by the thread reading
+	 * packets from the VM, so it must not block. The handler must be
+	 * registered before the request is sent.
+	 * <p>
+	 * If the reply does not arrive within the request timeout of the VM, the
+	 * handler is discarded without being called and the reply is dropped
+	 * when it arrives. Handlers are checked for their timeout whenever a
+	 * handler is registered or a reply arrives.
+	 * </p>
+	 *
+	 * @param id
+	 *            the id of the request
+	 * @param handler
+	 *            the handler of the reply
+	 */
+	public void handleReply(int id, Consumer<JdwpReplyPacket> handler) {
+		long now = System.currentTimeMillis();
+		synchronized (fReplyHandlers) {
+			if (!fReplyHandlers.isEmpty()) {
+				removeTimedOutHandlers(now);
+			}
+			fReplyHandlers.put(Integer.valueOf(id), new ReplyHandler(handler, now + fVM.getRequestTimeout()));
+		}
+	}
+
+	/**
+	 * Discards the handlers whose reply did not arrive in time, so that their
+	 * replies are dropped when they arrive. Stops at the first handler that
+	 * has not timed out, as later handlers have later deadlines.
+	 */
+	private void removeTimedOutHandlers(long now) {
+		for (Iterator<Map.Entry<Integer, ReplyHandler>> iter = fReplyHandlers.entrySet().iterator(); iter.hasNext();) {
+			Map.Entry<Integer, ReplyHandler> entry = iter.next();
+			if (entry.getValue().fDeadline >= now) {
+				break;
+			}
+			iter.remove();
+			synchronized (fTimedOutPackets) {
+				fTimedOutPackets.add(entry.getKey());
+			}
+			if (JDIDebugOptions.DEBUG) {
+				JDIDebugOptions.trace(null, "Timed out waiting for reply to packet: " + entry.getKey(), null); //$NON-NLS-1$
+			}
+		}
+	}
+
 	/**
 	 * Add a reply packet to the reply packet list.
 	 */
@@ -293,6 +380,25 @@ public class PacketReceiveManager extends PacketManager {
 		if (isTimedOut(packet)) {
 			return; // already timed out. No need to keep this one
 		}
+		ReplyHandler handler;
+		synchronized (fReplyHandlers) {
+			if (fReplyHandlers.isEmpty()) {
+				handler = null;
+			} else {
+				handler = fReplyHandlers.remove(Integer.valueOf(packet.getId()));
+				removeTimedOutHandlers(System.currentTimeMillis());
+			}
+		}
+		if (handler != null) {
+			try {
+				handler.fHandler.accept(packet);
+			} catch (RuntimeException e) {
+				if (JDIDebugOptions.DEBUG) {
+					JDIDebugOptions.trace(null, "Reply handler failed for packet: " + packet.getId(), e); //$NON-NLS-1$
+				}
+			}
+			return;
+		}
 		synchronized (fReplyPackets) {
 			fReplyPackets.add(packet);
 			fReplyPackets.notifyAll();
@@ -59,6 +59,7 @@ public class ClassPrepareEventImpl extends EventImpl implements
 				target, false, dataInStream);
 		target.readInt(
 				"class status", ReferenceTypeImpl.classStatusStrings(), dataInStream); //$NON-NLS-1$
+		vmImpl.addPreparedRefType(event.fReferenceType);
 		return event;
 	}
 
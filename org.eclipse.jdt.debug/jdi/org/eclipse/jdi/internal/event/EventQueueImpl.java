@@ -70,7 +70,11 @@ public class EventQueueImpl extends MirrorImpl implements EventQueue {
 				JdwpCommandPacket packet = getCommandVM(
 						JdwpCommandPacket.E_COMPOSITE, timeout);
 				initJdwpEventSet(packet);
-				set = EventSetImpl.read(this, packet.dataInStream());
+				try {
+					set = EventSetImpl.read(this, packet.dataInStream());
+				} finally {
+					virtualMachineImpl().eventSetRead();
+				}
 				handledJdwpEventSet(null);
 			} while (set.isEmpty());
 			return set;
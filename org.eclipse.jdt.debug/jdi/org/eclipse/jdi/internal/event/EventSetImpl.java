@@ -164,6 +164,7 @@ public class EventSetImpl extends MirrorImpl implements EventSet {
 		int size = target.readInt("size", in); //$NON-NLS-1$
 		// Create event list.
 		eventSet.fEvents = new ArrayList<>(size);
+		List<Event> stale = null;
 
 		while (size-- > 0) {
 			EventImpl event = EventImpl.read(target, in);
@@ -176,12 +177,28 @@ public class EventSetImpl extends MirrorImpl implements EventSet {
 
 			EventRequestImpl request = (EventRequestImpl) event.request();
 
+			// Drop late events of requests that were cleared without waiting
+			// for the reply, see EventRequestImpl#disable().
+			if (request == null && vmImpl.eventRequestManagerImpl().isCleared(event.requestID())) {
+				if (stale == null) {
+					stale = new ArrayList<>(1);
+				}
+				stale.add(event);
+				continue;
+			}
+
 			// Check if the request corresponding to the event was not generated
 			// from inside this JDI implementation.
 			if (request == null || !request.isGeneratedInside())
 				eventSet.fEvents.add(event);
 
 		}
+		if (stale != null && eventSet.fEvents.isEmpty()) {
+			// nobody will resume the threads suspended by the dropped events
+			eventSet.fEvents = stale;
+			eventSet.resume();
+			eventSet.fEvents = new ArrayList<>(0);
+		}
 		return eventSet;
 	}
 
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+import java.io.InputStream;
+
+/**
+ * Input stream over the data of a packet.
+ * <p>
+ * Unlike {@link java.io.ByteArrayInputStream} the methods of this stream are
+ * not synchronized, as the data of a packet is read by a single thread. The
+ * data is read one byte at a time by a {@link java.io.DataInputStream}, which
+ * would otherwise acquire a lock for each byte.
+ * </p>
+ */
+final class JdwpByteArrayInputStream extends InputStream {
+
+	private final byte[] fBuf;
+	private int fPos;
+
+	JdwpByteArrayInputStream(byte[] buf) {
+		fBuf = buf;
+	}
+
+	@Override
+	public int read() {
+		return fPos < fBuf.length ? fBuf[fPos++] & 0xFF : -1;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		if (len == 0) {
+			return 0;
+		}
+		int available = fBuf.length - fPos;
+		if (available <= 0) {
+			return -1;
+		}
+		int count = Math.min(len, available);
+		System.arraycopy(fBuf, fPos, b, off, count);
+		fPos += count;
+		return count;
+	}
+
+	@Override
+	public long skip(long n) {
+		long count = Math.max(0, Math.min(n, fBuf.length - fPos));
+		fPos += (int) count;
+		return count;
+	}
+
+	@Override
+	public int available() {
+		return fBuf.length - fPos;
+	}
+}
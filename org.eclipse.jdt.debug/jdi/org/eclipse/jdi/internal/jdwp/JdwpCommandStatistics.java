@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a single JDWP command: number of requests, bytes sent and
+ * received, error replies and a histogram of the round-trip latency.
+ */
+public final class JdwpCommandStatistics {
+
+	private final int fCommand;
+	private final LongAdder fCount = new LongAdder();
+	private final LongAdder fBytesSent = new LongAdder();
+	private final LongAdder fBytesReceived = new LongAdder();
+	private final LongAdder fErrors = new LongAdder();
+	private final LatencyHistogram fLatency = new LatencyHistogram();
+
+	JdwpCommandStatistics(int command) {
+		fCommand = command;
+	}
+
+	void record(int bytesSent, int bytesReceived, boolean error, long nanos) {
+		fCount.increment();
+		fBytesSent.add(bytesSent);
+		fBytesReceived.add(bytesReceived);
+		if (error) {
+			fErrors.increment();
+		}
+		fLatency.record(nanos);
+	}
+
+	/**
+	 * @return the command, command set in the high byte and command in the low
+	 *         byte, as used by {@link JdwpCommandPacket}
+	 */
+	public int getCommand() {
+		return fCommand;
+	}
+
+	/**
+	 * @return the command set
+	 */
+	public int getCommandSet() {
+		return fCommand >>> 8;
+	}
+
+	/**
+	 * @return a readable name of the command, e.g.
+	 *         <code>VIRTUAL_MACHINE - VERSION</code>
+	 */
+	public String getName() {
+		String name = JdwpCommandPacket.commandMap().get(Integer.valueOf(fCommand));
+		return name == null ? Integer.toString(fCommand) : name;
+	}
+
+	public long getCount() {
+		return fCount.sum();
+	}
+
+	public long getBytesSent() {
+		return fBytesSent.sum();
+	}
+
+	public long getBytesReceived() {
+		return fBytesReceived.sum();
+	}
+
+	public long getErrorCount() {
+		return fErrors.sum();
+	}
+
+	public LatencyHistogram getLatency() {
+		return fLatency;
+	}
+}
@@ -129,6 +129,14 @@ public abstract class JdwpID {
 	 */
 	public abstract boolean isNull();
 
+	/**
+	 * Sets the value of this ID, e.g. to a value decoded by a
+	 * {@link JdwpRecordFormat}.
+	 */
+	public void setValue(long value) {
+		fValue = value;
+	}
+
 	/**
 	 * Reads ID.
 	 */
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+import java.io.IOException;
+
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+
+/**
+ * Decodes the records of a reply.
+ * <p>
+ * A {@link JdwpRecordFormat} decodes the packet data. Verbose output is
+ * written by a decorator around the format, so that decoding itself does not
+ * check for it.
+ * </p>
+ */
+public interface JdwpRecordDecoder {
+
+	/**
+	 * Decodes the records of the given reply.
+	 *
+	 * @param vmImpl
+	 *            the VM that sent the reply, giving the sizes of IDs
+	 * @param reply
+	 *            the reply
+	 * @return the decoded records
+	 * @throws IOException
+	 *             if the reply does not match the format
+	 */
+	JdwpRecords decode(VirtualMachineImpl vmImpl, JdwpReplyPacket reply) throws IOException;
+}
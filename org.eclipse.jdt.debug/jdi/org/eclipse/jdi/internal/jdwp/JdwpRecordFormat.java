@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+
+/**
+ * Layout of a reply that consists of a number of records followed by the
+ * records, e.g. the reply to {@link JdwpCommandPacket#VM_ALL_CLASSES}.
+ * <p>
+ * The layout is described by a table giving the kind and the description of
+ * each field of a record. Replies are decoded directly from the packet data
+ * into {@link JdwpRecords}, without per-field checks for verbose output. See
+ * {@link JdwpRecordDecoder}.
+ * </p>
+ */
+public final class JdwpRecordFormat implements JdwpRecordDecoder {
+
+	/** A byte */
+	public static final int BYTE = 0;
+	/** A type tag, see {@link JdwpID#typeTagMap()} */
+	public static final int TYPE_TAG = 1;
+	/** A boolean */
+	public static final int BOOLEAN = 2;
+	/** An int */
+	public static final int INT = 3;
+	/** A class status, see {@link org.eclipse.jdi.internal.ReferenceTypeImpl#classStatusStrings()} */
+	public static final int CLASS_STATUS = 4;
+	/** A long */
+	public static final int LONG = 5;
+	/** A string */
+	public static final int STRING = 6;
+	/** An object ID, IDs are the last kinds as they are not sign extended */
+	public static final int OBJECT_ID = 7;
+	/** A reference type ID */
+	public static final int REFERENCE_TYPE_ID = 8;
+	/** A method ID */
+	public static final int METHOD_ID = 9;
+	/** A field ID */
+	public static final int FIELD_ID = 10;
+
+	/**
+	 * Reply to {@link JdwpCommandPacket#VM_ALL_CLASSES}
+	 */
+	public static final JdwpRecordFormat ALL_CLASSES = new JdwpRecordFormat(
+			new int[] { TYPE_TAG, REFERENCE_TYPE_ID, STRING, CLASS_STATUS },
+			new String[] { "type tag", "referenceType", "signature", "status" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	/**
+	 * Reply to {@link JdwpCommandPacket#VM_ALL_CLASSES_WITH_GENERIC}
+	 */
+	public static final JdwpRecordFormat ALL_CLASSES_WITH_GENERIC = new JdwpRecordFormat(
+			new int[] { TYPE_TAG, REFERENCE_TYPE_ID, STRING, STRING, CLASS_STATUS },
+			new String[] { "type tag", "referenceType", "signature", "generic signature", "status" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+	/**
+	 * Reply to {@link JdwpCommandPacket#VM_CLASSES_BY_SIGNATURE}
+	 */
+	public static final JdwpRecordFormat CLASSES_BY_SIGNATURE = new JdwpRecordFormat(
+			new int[] { TYPE_TAG, REFERENCE_TYPE_ID, CLASS_STATUS },
+			new String[] { "type tag", "referenceType", "status" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private final int[] fKinds;
+	private final String[] fDescriptions;
+
+	/**
+	 * Column of each field, in the string columns for strings and in the
+	 * numeric columns otherwise
+	 */
+	private final int[] fColumns;
+	private final int fNumericColumns;
+	private final int fStringColumns;
+
+	/**
+	 * Creates a record format.
+	 *
+	 * @param kinds
+	 *            the kind of each field
+	 * @param descriptions
+	 *            the description of each field, used for verbose output
+	 */
+	public JdwpRecordFormat(int[] kinds, String[] descriptions) {
+		fKinds = kinds;
+		fDescriptions = descriptions;
+		fColumns = new int[kinds.length];
+		int numeric = 0;
+		int strings = 0;
+		for (int i = 0; i < kinds.length; i++) {
+			fColumns[i] = kinds[i] == STRING ? strings++ : numeric++;
+		}
+		fNumericColumns = numeric;
+		fStringColumns = strings;
+	}
+
+	/**
+	 * @return Returns the number of fields of a record.
+	 */
+	public int fieldCount() {
+		return fKinds.length;
+	}
+
+	/**
+	 * @return Returns the kind of the given field.
+	 */
+	public int kind(int field) {
+		return fKinds[field];
+	}
+
+	/**
+	 * @return Returns the description of the given field.
+	 */
+	public String description(int field) {
+		return fDescriptions[field];
+	}
+
+	int column(int field) {
+		return fColumns[field];
+	}
+
+	@Override
+	public JdwpRecords decode(VirtualMachineImpl vmImpl, JdwpReplyPacket reply) throws IOException {
+		byte[] data = reply.data();
+		if (data == null) {
+			throw new EOFException();
+		}
+		int[] sizes = new int[fKinds.length];
+		for (int i = 0; i < fKinds.length; i++) {
+			sizes[i] = sizeOf(vmImpl, fKinds[i]);
+		}
+		int count = readInt(data, 0);
+		int pos = 4;
+		// each record takes at least one byte, which bounds the allocation
+		// for a corrupt count
+		if (count < 0 || count > data.length - pos) {
+			throw new EOFException();
+		}
+		long[][] numbers = new long[fNumericColumns][count];
+		String[][] strings = new String[fStringColumns][count];
+		for (int record = 0; record < count; record++) {
+			for (int field = 0; field < fKinds.length; field++) {
+				int size = sizes[field];
+				if (size < 0) {
+					int length = readInt(data, pos);
+					pos += 4;
+					if (length < 0 || length > data.length - pos) {
+						throw new EOFException();
+					}
+					strings[fColumns[field]][record] = JdwpString.decode(data, pos, length);
+					pos += length;
+				} else {
+					if (size > data.length - pos) {
+						throw new EOFException();
+					}
+					long value = 0;
+					for (int i = 0; i < size; i++) {
+						value = value << 8 | (data[pos + i] & 0xFF);
+					}
+					if (fKinds[field] < OBJECT_ID && size < 8) {
+						// sign extend bytes and ints, IDs are unsigned
+						int shift = 64 - size * 8;
+						value = value << shift >> shift;
+					}
+					numbers[fColumns[field]][record] = value;
+					pos += size;
+				}
+			}
+		}
+		return new JdwpRecords(this, count, numbers, strings);
+	}
+
+	/**
+	 * Returns the size in bytes of a field of the given kind, or
+	 * <code>-1</code> for strings.
+	 */
+	private static int sizeOf(VirtualMachineImpl vmImpl, int kind) {
+		switch (kind) {
+		case BYTE:
+		case TYPE_TAG:
+		case BOOLEAN:
+			return 1;
+		case INT:
+		case CLASS_STATUS:
+			return 4;
+		case LONG:
+			return 8;
+		case STRING:
+			return -1;
+		case OBJECT_ID:
+			return vmImpl.objectIDSize();
+		case REFERENCE_TYPE_ID:
+			return vmImpl.referenceTypeIDSize();
+		case METHOD_ID:
+			return vmImpl.methodIDSize();
+		case FIELD_ID:
+			return vmImpl.fieldIDSize();
+		}
+		throw new IllegalArgumentException(Integer.toString(kind));
+	}
+
+	private static int readInt(byte[] data, int pos) throws EOFException {
+		if (pos + 4 > data.length) {
+			throw new EOFException();
+		}
+		return (data[pos] & 0xFF) << 24 | (data[pos + 1] & 0xFF) << 16 | (data[pos + 2] & 0xFF) << 8 | (data[pos + 3] & 0xFF);
+	}
+}
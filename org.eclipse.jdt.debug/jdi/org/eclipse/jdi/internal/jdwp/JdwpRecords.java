@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+/**
+ * The records of a reply decoded by a {@link JdwpRecordFormat}.
+ * <p>
+ * Values are stored by field in columns, numbers and IDs as
+ * <code>long</code>s and strings as strings. Fields are identified by their
+ * position in the record format.
+ * </p>
+ */
+public final class JdwpRecords {
+
+	private final JdwpRecordFormat fFormat;
+	private final int fSize;
+	private final long[][] fNumbers;
+	private final String[][] fStrings;
+
+	JdwpRecords(JdwpRecordFormat format, int size, long[][] numbers, String[][] strings) {
+		fFormat = format;
+		fSize = size;
+		fNumbers = numbers;
+		fStrings = strings;
+	}
+
+	/**
+	 * @return Returns the format of the records.
+	 */
+	public JdwpRecordFormat format() {
+		return fFormat;
+	}
+
+	/**
+	 * @return Returns the number of records.
+	 */
+	public int size() {
+		return fSize;
+	}
+
+	/**
+	 * @return Returns the value of a numeric or ID field of a record.
+	 */
+	public long getLong(int field, int record) {
+		return fNumbers[fFormat.column(field)][record];
+	}
+
+	/**
+	 * @return Returns the value of an int field of a record.
+	 */
+	public int getInt(int field, int record) {
+		return (int) getLong(field, record);
+	}
+
+	/**
+	 * @return Returns the value of a byte field of a record.
+	 */
+	public byte getByte(int field, int record) {
+		return (byte) getLong(field, record);
+	}
+
+	/**
+	 * @return Returns the value of a boolean field of a record.
+	 */
+	public boolean getBoolean(int field, int record) {
+		return getLong(field, record) != 0;
+	}
+
+	/**
+	 * @return Returns the value of a string field of a record.
+	 */
+	public String getString(int field, int record) {
+		return fStrings[fFormat.column(field)][record];
+	}
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Always-on statistics of the JDWP requests sent to a virtual machine, kept
+ * per command. Recording a request does not block and does not allocate once
+ * the command has been seen.
+ */
+public final class JdwpStatistics {
+
+	private final ConcurrentMap<Integer, JdwpCommandStatistics> fCommands = new ConcurrentHashMap<>();
+
+	/**
+	 * Records a completed request.
+	 *
+	 * @param command
+	 *            the command packet that was sent
+	 * @param reply
+	 *            the reply that was received
+	 * @param nanos
+	 *            round-trip time in nanoseconds
+	 */
+	public void record(JdwpCommandPacket command, JdwpReplyPacket reply, long nanos) {
+		Integer key = Integer.valueOf(command.getCommand());
+		JdwpCommandStatistics statistics = fCommands.get(key);
+		if (statistics == null) {
+			statistics = fCommands.computeIfAbsent(key, JdwpCommandStatistics::new);
+		}
+		statistics.record(command.getLength(), reply.getLength(), reply.errorCode() != JdwpReplyPacket.NONE, nanos);
+	}
+
+	/**
+	 * @return statistics of all commands sent so far, ordered by command
+	 */
+	public List<JdwpCommandStatistics> getCommandStatistics() {
+		List<JdwpCommandStatistics> list = new ArrayList<>(fCommands.values());
+		list.sort(Comparator.comparingInt(JdwpCommandStatistics::getCommand));
+		return list;
+	}
+}
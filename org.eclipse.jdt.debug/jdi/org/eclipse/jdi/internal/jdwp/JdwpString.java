@@ -17,6 +17,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * This class implements the corresponding Java Debug Wire Protocol (JDWP) ID
@@ -31,14 +32,47 @@ public class JdwpString {
 		int utfSize = in.readInt();
 		byte utfBytes[] = new byte[utfSize];
 		in.readFully(utfBytes);
+		return decode(utfBytes, 0, utfSize);
+	}
+
+	/**
+	 * Decodes a String from the UTF bytes of a Jdwp string, without the
+	 * length.
+	 *
+	 * @param utfBytes
+	 *            the buffer holding the bytes
+	 * @param offset
+	 *            the position of the first byte
+	 * @param utfSize
+	 *            the number of bytes
+	 * @return the decoded String
+	 * @throws UTFDataFormatException
+	 *             if the bytes are not valid UTF
+	 */
+	public static String decode(byte[] utfBytes, int offset, int utfSize) throws UTFDataFormatException {
+		int end = offset + utfSize;
+		int ascii = offset;
+		while (ascii < end && utfBytes[ascii] >= 0) {
+			ascii++;
+		}
+		if (ascii == end) {
+			// Signatures and names are mostly ASCII, which needs no decoding
+			return new String(utfBytes, offset, utfSize, StandardCharsets.ISO_8859_1);
+		}
 		/* Guess at buffer size */
 		StringBuilder strBuffer = new StringBuilder(utfSize / 3 * 2);
-		for (int i = 0; i < utfSize;) {
+		strBuffer.append(new String(utfBytes, offset, ascii - offset, StandardCharsets.ISO_8859_1));
+		for (int i = ascii; i < end;) {
 			int a = utfBytes[i] & 0xFF;
 			if ((a >> 4) < 12) {
 				strBuffer.append((char) a);
 				i++;
 			} else {
+				if (i + 1 >= end || ((a >> 4) >= 14 && i + 2 >= end)) {
+					// the sequence is truncated, do not read past the string
+					throw new UTFDataFormatException(
+							JDWPMessages.JdwpString_Input_does_not_match_UTF_Specification_3);
+				}
 				int b = utfBytes[i + 1] & 0xFF;
 				if ((a >> 4) < 14) {
 					if ((b & 0xBF) == 0) {
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free histogram of latencies in nanoseconds. Values are recorded into
+ * log-linear buckets: every power of two is split into {@link #SUB_BUCKETS}
+ * linear sub-buckets, so percentiles are reported with a relative error of at
+ * most 1/{@link #SUB_BUCKETS} while the histogram has a fixed, small
+ * footprint.
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = SUB_BUCKETS
+			* (Long.SIZE - SUB_BUCKET_BITS + 1);
+
+	private final AtomicLongArray fCounts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong fCount = new AtomicLong();
+	private final AtomicLong fTotal = new AtomicLong();
+	private final AtomicLong fMax = new AtomicLong();
+
+	/**
+	 * Records the given latency.
+	 *
+	 * @param nanos
+	 *            latency in nanoseconds, negative values are recorded as 0
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		fCounts.incrementAndGet(indexOf(value));
+		fCount.incrementAndGet();
+		fTotal.addAndGet(value);
+		long max = fMax.get();
+		while (value > max && !fMax.compareAndSet(max, value)) {
+			max = fMax.get();
+		}
+	}
+
+	/**
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		return fCount.get();
+	}
+
+	/**
+	 * @return the largest recorded value in nanoseconds, or 0 if none
+	 */
+	public long getMax() {
+		return fMax.get();
+	}
+
+	/**
+	 * @return the mean of the recorded values in nanoseconds, or 0 if none
+	 */
+	public long getMean() {
+		long count = fCount.get();
+		return count == 0 ? 0 : fTotal.get() / count;
+	}
+
+	/**
+	 * Returns the value at the given percentile. The result is the upper bound
+	 * of the bucket containing the percentile, but never more than the largest
+	 * recorded value.
+	 *
+	 * @param percentile
+	 *            percentile between 0 and 100
+	 * @return latency in nanoseconds, or 0 if no values have been recorded
+	 */
+	public long getPercentile(double percentile) {
+		// snapshot the buckets, concurrent updates may be partially visible
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = fCounts.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		double p = Math.min(100, Math.max(0, percentile));
+		long rank = Math.max(1, (long) Math.ceil(p / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(highestValueOf(i), fMax.get());
+			}
+		}
+		return fMax.get();
+	}
+
+	/**
+	 * Returns the bucket of the given non-negative value.
+	 */
+	static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value))
+				- SUB_BUCKET_BITS;
+		int sub = (int) (value >>> shift) - SUB_BUCKETS;
+		return SUB_BUCKETS + (shift * SUB_BUCKETS) + sub;
+	}
+
+	/**
+	 * Returns the largest value that falls into the given bucket.
+	 */
+	static long highestValueOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+		long sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+		long next = (SUB_BUCKETS + sub + 1) << shift;
+		return next <= 0 ? Long.MAX_VALUE : next - 1;
+	}
+}
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.jdi.internal.FieldImpl;
+import org.eclipse.jdi.internal.JDIMessages;
 import org.eclipse.jdi.internal.LocationImpl;
 import org.eclipse.jdi.internal.MirrorImpl;
 import org.eclipse.jdi.internal.ObjectReferenceImpl;
@@ -33,6 +34,8 @@ import org.eclipse.jdi.internal.VirtualMachineImpl;
 import org.eclipse.jdi.internal.event.EventImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.osgi.util.NLS;
 
 import com.sun.jdi.InternalException;
 import com.sun.jdi.ObjectCollectedException;
@@ -223,6 +226,14 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 
 	/**
 	 * Disables event request.
+	 * <p>
+	 * The request is cleared in the VM without waiting for the reply, since
+	 * the VM processes commands in order and later commands see the request
+	 * cleared. Events of the request that were sent before the VM cleared it
+	 * are dropped, see {@link EventRequestManagerImpl#isCleared(RequestID)}.
+	 * A request the VM no longer knows is therefore not reported with an
+	 * {@link InvalidRequestStateException}.
+	 * </p>
 	 */
 	@Override
 	public synchronized void disable() {
@@ -238,17 +249,11 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 					"event kind", EventImpl.eventKindMap(), outData); //$NON-NLS-1$
 			fRequestID.write(this, outData);
 
-			JdwpReplyPacket replyPacket = requestVM(JdwpCommandPacket.ER_CLEAR,
-					outBytes);
-			switch (replyPacket.errorCode()) {
-			case JdwpReplyPacket.NOT_FOUND:
-				throw new InvalidRequestStateException();
-			}
-			defaultReplyErrorHandler(replyPacket.errorCode());
-
-			virtualMachineImpl().eventRequestManagerImpl()
-					.removeRequestIDMapping(this);
+			EventRequestManagerImpl manager = virtualMachineImpl().eventRequestManagerImpl();
+			manager.removeRequestIDMapping(this);
+			manager.clearing(fRequestID);
 			fRequestID = null;
+			requestVMNoWait(JdwpCommandPacket.ER_CLEAR, outBytes.toByteArray(), EventRequestImpl::clearReplied);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 		} finally {
@@ -256,6 +261,22 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 		}
 	}
 
+	/**
+	 * Logs a failure to clear a request, reported by the VM after
+	 * {@link #disable()} returned. The reply carries nothing else.
+	 */
+	private static void clearReplied(JdwpReplyPacket reply) {
+		switch (reply.errorCode()) {
+		case JdwpReplyPacket.NONE:
+		case JdwpReplyPacket.NOT_FOUND: // the request is gone already
+		case JdwpReplyPacket.VM_DEAD:
+			return;
+		default:
+			JDIDebugPlugin.logError(NLS.bind(JDIMessages.EventRequestImpl_clear_failed,
+					JdwpReplyPacket.errorMap().get(Integer.valueOf(reply.errorCode()))), null);
+		}
+	}
+
 	/**
 	 * Enables event request.
 	 */
@@ -19,7 +19,9 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdi.internal.FieldImpl;
 import org.eclipse.jdi.internal.LocationImpl;
@@ -117,6 +119,17 @@ public class EventRequestManagerImpl extends MirrorImpl implements EventRequestM
 	private final EventRequestType<MonitorWaitedRequest> MONITOR_WAITED_TYPE= new EventRequestType<>();
 	private final EventRequestType<MonitorWaitRequest> MONITOR_WAIT_TYPE= new EventRequestType<>();
 
+	/**
+	 * Maximum number of cleared request IDs remembered to drop late events of
+	 * these requests. The VM does not reuse request IDs.
+	 */
+	private static final int MAX_CLEARED_IDS = 1024;
+
+	/**
+	 * IDs of requests cleared recently, oldest first. Guarded by itself.
+	 */
+	private final Set<RequestID> fClearedRequestIDs = new LinkedHashSet<>();
+
 	/**
 	 * Creates new EventRequestManager.
 	 */
@@ -641,9 +654,43 @@ public class EventRequestManagerImpl extends MirrorImpl implements EventRequestM
 	}
 
 	/**
-	 * Find Request that matches event.
+	 * Notes that the request with the given ID is being cleared in the VM
+	 * without waiting for the reply, see {@link EventRequestImpl#disable()}.
+	 */
+	void clearing(RequestID id) {
+		synchronized (fClearedRequestIDs) {
+			fClearedRequestIDs.add(id);
+			if (fClearedRequestIDs.size() > MAX_CLEARED_IDS) {
+				Iterator<RequestID> oldest = fClearedRequestIDs.iterator();
+				oldest.next();
+				oldest.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the request with the given ID was cleared. Events of
+	 * such a request were generated before the VM processed the clear and
+	 * must not be given to the application.
+	 *
+	 * @param id
+	 *            a request ID
+	 * @return whether the request was cleared
+	 */
+	public boolean isCleared(RequestID id) {
+		synchronized (fClearedRequestIDs) {
+			return !fClearedRequestIDs.isEmpty() && fClearedRequestIDs.contains(id);
+		}
+	}
+
+	/**
+	 * Find Request that matches event. Returns <code>null</code> for events of
+	 * requests that were cleared, see {@link #isCleared(RequestID)}.
 	 */
 	public EventRequest findRequest(EventImpl event) {
+		if (isCleared(event.requestID())) {
+			return null;
+		}
 		if (event instanceof AccessWatchpointEventImpl) {
 			return ACCESS_WATCHPOINT_TYPE.enabledrequests.get(event.requestID());
 		} else if (event instanceof BreakpointEventImpl) {
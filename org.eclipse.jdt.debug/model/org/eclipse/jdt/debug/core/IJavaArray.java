@@ -59,6 +59,34 @@ public interface IJavaArray extends IJavaObject, IIndexedValue {
 	 */
 	public IJavaValue getValue(int index) throws DebugException;
 
+	/**
+	 * Returns a range of the values contained in this array. Implementations
+	 * read the range from the target with a single request.
+	 *
+	 * @param offset
+	 *            the index of the first value to return
+	 * @param length
+	 *            the number of values to return
+	 * @return the values in the given range
+	 * @exception DebugException
+	 *                if this method fails. Reasons include:
+	 *                <ul>
+	 *                <li>Failure communicating with the VM. The
+	 *                DebugException's status code contains the underlying
+	 *                exception responsible for the failure.</li>
+	 *                </ul>
+	 * @exception java.lang.IndexOutOfBoundsException
+	 *                if the range is not within the bounds of this array.
+	 * @since 3.26
+	 */
+	public default IJavaValue[] getValues(int offset, int length) throws DebugException {
+		IJavaValue[] values = new IJavaValue[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = getValue(offset + i);
+		}
+		return values;
+	}
+
 	/**
 	 * Returns the length of this array.
 	 *
@@ -53,6 +53,15 @@ public interface IJavaBreakpoint extends IBreakpoint, ITriggerPoint {
 	 * @since 3.23
 	 */
 	public static final int RESUME_ON_HIT = 3;
+
+	/**
+	 * Suspend policy constant indicating a breakpoint never stops the thread
+	 * it is hit in, and only counts its hits. The condition and hit count of
+	 * such a breakpoint are ignored.
+	 *
+	 * @since 3.26
+	 */
+	public static final int COUNT_ONLY = 4;
 	/**
 	 * Returns whether this breakpoint is installed in at least one debug
 	 * target.
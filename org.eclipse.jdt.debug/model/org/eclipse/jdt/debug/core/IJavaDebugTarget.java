@@ -580,4 +580,15 @@ public interface IJavaDebugTarget extends IDebugTarget, IStepFilters {
 	public void removeHotCodeReplaceListener(
 			IJavaHotCodeReplaceListener listener);
 
+	/**
+	 * Returns statistics of the work performed by this debug target, such as
+	 * the number and latency of JDWP requests sent to the virtual machine. The
+	 * statistics help to identify the features that cause round-trips to the
+	 * virtual machine.
+	 *
+	 * @return statistics of this debug target
+	 * @since 3.26
+	 */
+	public IJavaDebugTargetStatistics getStatistics();
+
 }
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.core;
+
+/**
+ * Statistics of the work performed by a Java debug target since it was
+ * created: the JDWP requests sent to the virtual machine and the number of
+ * events, evaluations and breakpoint hits processed. Statistics are collected
+ * at all times and values returned reflect the state at the time of the call.
+ *
+ * @see IJavaDebugTarget#getStatistics()
+ * @since 3.26
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface IJavaDebugTargetStatistics {
+
+	/**
+	 * Returns the number of debug events received from the virtual machine and
+	 * dispatched by the debug target.
+	 *
+	 * @return number of dispatched events
+	 */
+	public long getEventCount();
+
+	/**
+	 * Returns the number of evaluations run in threads of the debug target.
+	 *
+	 * @return number of evaluations
+	 */
+	public long getEvaluationCount();
+
+	/**
+	 * Returns the number of times a breakpoint was hit in the debug target,
+	 * including hits that did not suspend a thread because of a condition, hit
+	 * count or listener vote.
+	 *
+	 * @return number of breakpoint hits
+	 */
+	public long getBreakpointHitCount();
+
+	/**
+	 * Returns the number of threads that started and died before their start
+	 * was applied to the debug target. Such threads are never added to the
+	 * debug target and no debug events are fired for them.
+	 *
+	 * @return number of threads not added to the debug target
+	 */
+	public long getCoalescedThreadCount();
+
+	/**
+	 * Returns statistics of each JDWP command that has been sent to the
+	 * virtual machine, ordered by command set and command. Returns an empty
+	 * array when the underlying JDI implementation does not collect JDWP
+	 * statistics.
+	 *
+	 * @return statistics per JDWP command
+	 */
+	public IJdwpCommandStatistics[] getCommandStatistics();
+
+	/**
+	 * Returns these statistics as a JSON object.
+	 *
+	 * @return JSON representation of these statistics
+	 */
+	public String toJSON();
+}
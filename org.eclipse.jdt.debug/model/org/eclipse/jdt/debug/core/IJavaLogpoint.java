@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.core;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A logpoint is a line breakpoint that logs a message each time it is hit,
+ * and by default resumes the thread it was hit in without notifying clients
+ * of a suspend.
+ * <p>
+ * The message is a template in which expressions enclosed in braces are
+ * evaluated in the context of the top stack frame, e.g.
+ * <code>"count={count}, name={getName()}"</code>. Literal braces are written
+ * doubled, i.e. <code>{{</code> and <code>}}</code>. Logged messages are
+ * written to the console of the process being debugged, in batches.
+ * </p>
+ *
+ * @since 3.26
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface IJavaLogpoint extends IJavaLineBreakpoint {
+
+	/**
+	 * Returns the message template of this logpoint.
+	 *
+	 * @return the message template of this logpoint
+	 * @exception CoreException
+	 *                if unable to access the property from this breakpoint's
+	 *                underlying marker
+	 */
+	public String getLogMessage() throws CoreException;
+
+	/**
+	 * Sets the message template of this logpoint.
+	 *
+	 * @param message
+	 *            the message template
+	 * @exception CoreException
+	 *                if unable to set the property on this breakpoint's
+	 *                underlying marker
+	 */
+	public void setLogMessage(String message) throws CoreException;
+
+}
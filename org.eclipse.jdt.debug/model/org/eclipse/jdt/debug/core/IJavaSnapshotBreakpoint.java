@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.core;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A snapshot breakpoint is a line breakpoint that captures the top stack
+ * frames of the thread it is hit in, with their local variables and the fields
+ * of <code>this</code>, and by default resumes the thread without notifying
+ * clients of a suspend.
+ * <p>
+ * Snapshots are kept by the debug target they were taken in, a bounded number
+ * at a time, and can be browsed after the thread has resumed. Objects are
+ * captured to the configured field depth, objects below it are only
+ * described by their type and id.
+ * </p>
+ *
+ * @since 3.26
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface IJavaSnapshotBreakpoint extends IJavaLineBreakpoint {
+
+	/**
+	 * Returns the number of stack frames captured from the top of the stack.
+	 *
+	 * @return the number of stack frames captured
+	 * @exception CoreException
+	 *                if unable to access the property from this breakpoint's
+	 *                underlying marker
+	 */
+	public int getFrameCount() throws CoreException;
+
+	/**
+	 * Sets the number of stack frames captured from the top of the stack.
+	 *
+	 * @param count
+	 *            the number of stack frames to capture, at least 1
+	 * @exception CoreException
+	 *                if unable to set the property on this breakpoint's
+	 *                underlying marker
+	 */
+	public void setFrameCount(int count) throws CoreException;
+
+	/**
+	 * Returns the number of levels of fields captured below <code>this</code>
+	 * and the local variables of captured frames. A depth of 0 captures no
+	 * fields.
+	 *
+	 * @return the number of levels of fields captured
+	 * @exception CoreException
+	 *                if unable to access the property from this breakpoint's
+	 *                underlying marker
+	 */
+	public int getFieldDepth() throws CoreException;
+
+	/**
+	 * Sets the number of levels of fields captured below <code>this</code> and
+	 * the local variables of captured frames.
+	 *
+	 * @param depth
+	 *            the number of levels of fields to capture, at least 0
+	 * @exception CoreException
+	 *                if unable to set the property on this breakpoint's
+	 *                underlying marker
+	 */
+	public void setFieldDepth(int depth) throws CoreException;
+
+}
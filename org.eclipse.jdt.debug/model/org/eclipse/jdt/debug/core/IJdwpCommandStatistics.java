@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.core;
+
+/**
+ * Statistics of a single JDWP command sent by a Java debug target.
+ *
+ * @see IJavaDebugTargetStatistics#getCommandStatistics()
+ * @since 3.26
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface IJdwpCommandStatistics {
+
+	/**
+	 * Returns the JDWP command set.
+	 *
+	 * @return command set
+	 */
+	public int getCommandSet();
+
+	/**
+	 * Returns the JDWP command within its command set.
+	 *
+	 * @return command
+	 */
+	public int getCommand();
+
+	/**
+	 * Returns a human readable name of the command, for example
+	 * <code>VIRTUAL_MACHINE - VERSION</code>.
+	 *
+	 * @return name of the command
+	 */
+	public String getName();
+
+	/**
+	 * Returns the number of requests sent with this command.
+	 *
+	 * @return number of requests
+	 */
+	public long getCount();
+
+	/**
+	 * Returns the number of bytes sent in command packets, including packet
+	 * headers.
+	 *
+	 * @return bytes sent
+	 */
+	public long getBytesSent();
+
+	/**
+	 * Returns the number of bytes received in reply packets, including packet
+	 * headers.
+	 *
+	 * @return bytes received
+	 */
+	public long getBytesReceived();
+
+	/**
+	 * Returns the number of replies that reported an error.
+	 *
+	 * @return number of error replies
+	 */
+	public long getErrorCount();
+
+	/**
+	 * Returns the round-trip latency at the given percentile, in nanoseconds.
+	 * Latencies are kept in a histogram with a relative precision of about
+	 * six percent.
+	 *
+	 * @param percentile
+	 *            percentile between 0 and 100, for example 50 or 99
+	 * @return latency in nanoseconds, or 0 if no request has completed
+	 */
+	public long getLatency(double percentile);
+
+	/**
+	 * Returns the largest round-trip latency observed, in nanoseconds.
+	 *
+	 * @return largest latency in nanoseconds
+	 */
+	public long getMaxLatency();
+}
@@ -35,9 +35,11 @@ import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaClassPrepareBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaExceptionBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLineBreakpoint;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLogpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaMethodBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaMethodEntryBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaPatternBreakpoint;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaSnapshotBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaStratumLineBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaTargetPatternBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaWatchpoint;
@@ -833,6 +835,116 @@ public class JDIDebugModel {
 				register, attributes);
 	}
 
+	/**
+	 * Creates and returns a logpoint in the type with the given name, at the
+	 * given line number. A logpoint logs its message each time it is hit and
+	 * resumes the thread it was hit in, see {@link IJavaLogpoint}.
+	 *
+	 * @param resource
+	 *            the resource on which to create the associated breakpoint
+	 *            marker
+	 * @param typeName
+	 *            the fully qualified name of the type the logpoint is to be
+	 *            installed in, as for
+	 *            {@link #createLineBreakpoint(IResource, String, int, int, int, int, boolean, Map)}
+	 * @param lineNumber
+	 *            the lineNumber on which the logpoint is set - line numbers are
+	 *            1 based, associated with the source file in which the
+	 *            logpoint is set
+	 * @param charStart
+	 *            the first character index associated with the logpoint, or -1
+	 *            if unspecified, in the source file in which the logpoint is
+	 *            set
+	 * @param charEnd
+	 *            the last character index associated with the logpoint, or -1
+	 *            if unspecified, in the source file in which the logpoint is
+	 *            set
+	 * @param message
+	 *            the message template of the logpoint
+	 * @param register
+	 *            whether to add this logpoint to the breakpoint manager
+	 * @param attributes
+	 *            a map of client defined attributes that should be assigned to
+	 *            the underlying breakpoint marker on creation, or
+	 *            <code>null</code> if none.
+	 * @return a logpoint
+	 * @exception CoreException
+	 *                If this method fails. Reasons include:
+	 *                <ul>
+	 *                <li>Failure creating underlying marker. The exception's
+	 *                status contains the underlying exception responsible for
+	 *                the failure.</li>
+	 *                </ul>
+	 * @since 3.26
+	 */
+	public static IJavaLogpoint createLogpoint(IResource resource,
+			String typeName, int lineNumber, int charStart, int charEnd,
+			String message, boolean register, Map<String, Object> attributes)
+			throws CoreException {
+		if (attributes == null) {
+			attributes = new HashMap<>(10);
+		}
+		return new JavaLogpoint(resource, typeName, lineNumber, charStart,
+				charEnd, message, register, attributes);
+	}
+
+	/**
+	 * Creates and returns a snapshot breakpoint in the type with the given
+	 * name, at the given line number. A snapshot breakpoint captures the top
+	 * stack frames of the thread it is hit in and resumes the thread, see
+	 * {@link IJavaSnapshotBreakpoint}.
+	 *
+	 * @param resource
+	 *            the resource on which to create the associated breakpoint
+	 *            marker
+	 * @param typeName
+	 *            the fully qualified name of the type the breakpoint is to be
+	 *            installed in, as for
+	 *            {@link #createLineBreakpoint(IResource, String, int, int, int, int, boolean, Map)}
+	 * @param lineNumber
+	 *            the lineNumber on which the breakpoint is set - line numbers
+	 *            are 1 based, associated with the source file in which the
+	 *            breakpoint is set
+	 * @param charStart
+	 *            the first character index associated with the breakpoint, or
+	 *            -1 if unspecified, in the source file in which the breakpoint
+	 *            is set
+	 * @param charEnd
+	 *            the last character index associated with the breakpoint, or
+	 *            -1 if unspecified, in the source file in which the breakpoint
+	 *            is set
+	 * @param frameCount
+	 *            the number of stack frames to capture, at least 1
+	 * @param fieldDepth
+	 *            the number of levels of fields to capture below
+	 *            <code>this</code> and local variables, at least 0
+	 * @param register
+	 *            whether to add this breakpoint to the breakpoint manager
+	 * @param attributes
+	 *            a map of client defined attributes that should be assigned to
+	 *            the underlying breakpoint marker on creation, or
+	 *            <code>null</code> if none.
+	 * @return a snapshot breakpoint
+	 * @exception CoreException
+	 *                If this method fails. Reasons include:
+	 *                <ul>
+	 *                <li>Failure creating underlying marker. The exception's
+	 *                status contains the underlying exception responsible for
+	 *                the failure.</li>
+	 *                </ul>
+	 * @since 3.26
+	 */
+	public static IJavaSnapshotBreakpoint createSnapshotBreakpoint(IResource resource,
+			String typeName, int lineNumber, int charStart, int charEnd,
+			int frameCount, int fieldDepth, boolean register,
+			Map<String, Object> attributes) throws CoreException {
+		if (attributes == null) {
+			attributes = new HashMap<>(10);
+		}
+		return new JavaSnapshotBreakpoint(resource, typeName, lineNumber,
+				charStart, charEnd, frameCount, fieldDepth, register, attributes);
+	}
+
 	/**
 	 * Returns a Java line breakpoint that is already registered with the
 	 * breakpoint manager for a type with the given name at the given line
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2025 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -22,6 +23,7 @@ import java.util.Map;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.DebugEvent;
@@ -29,15 +31,21 @@ import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.jdi.internal.event.ExceptionEventImpl;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaLogpoint;
+import org.eclipse.jdt.debug.core.IJavaSnapshotBreakpoint;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 
+import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMDisconnectedException;
 import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.event.ClassPrepareEvent;
 import com.sun.jdi.event.Event;
 import com.sun.jdi.event.EventIterator;
 import com.sun.jdi.event.EventQueue;
 import com.sun.jdi.event.EventSet;
+import com.sun.jdi.event.LocatableEvent;
 import com.sun.jdi.event.ThreadDeathEvent;
+import com.sun.jdi.event.ThreadStartEvent;
 import com.sun.jdi.event.VMDeathEvent;
 import com.sun.jdi.event.VMDisconnectEvent;
 import com.sun.jdi.event.VMStartEvent;
@@ -60,6 +68,16 @@ import com.sun.jdi.request.EventRequest;
  * only resumed in if all event handlers agree that the thread should be
  * resumed.
  * </p>
+ * <p>
+ * Event sets that require the evaluation of expressions are dispatched by
+ * worker jobs, so that events generated by the evaluation can be read while it
+ * runs. When {@link JDIDebugPlugin#PREF_EVENT_DISPATCH_LANES} is set, the
+ * other event sets of a single thread are dispatched in order by one of a fixed
+ * number of lanes, so that event sets of unrelated threads do not wait for each
+ * other. Event sets that affect the whole VM, i.e. events without a thread,
+ * class prepare events and event sets that suspend all threads, are dispatched
+ * once all lanes are idle.
+ * </p>
  */
 
 public class EventDispatcher implements Runnable {
@@ -83,6 +101,29 @@ public class EventDispatcher implements Runnable {
 	 */
 	private final Map<EventSet, List<DebugEvent>> fSetToQueue = new HashMap<>();
 
+	/**
+	 * Maximum number of lanes
+	 */
+	private static final int MAX_LANES = 8;
+
+	/**
+	 * Lanes dispatching the event sets of threads, <code>null</code> if event
+	 * sets are dispatched by the thread reading them.
+	 */
+	private final DispatchWorker[] fLanes;
+
+	/**
+	 * Number of event sets queued in lanes and not dispatched yet. Guarded by
+	 * <code>fLanes</code>.
+	 */
+	private int fLanePending;
+
+	/**
+	 * Workers that dispatch event sets requiring expression evaluation and are
+	 * idle. Guarded by itself.
+	 */
+	private final ArrayDeque<DispatchWorker> fIdleWorkers = new ArrayDeque<>();
+
 	/**
 	 * Constructs a new event dispatcher listening for events originating from
 	 * the specified debug target's underlying VM.
@@ -94,6 +135,31 @@ public class EventDispatcher implements Runnable {
 		fEventHandlers = new HashMap<>(10);
 		fTarget = target;
 		fShutdown = false;
+		if (Platform.getPreferencesService().getBoolean(
+				JDIDebugPlugin.getUniqueIdentifier(),
+				JDIDebugPlugin.PREF_EVENT_DISPATCH_LANES,
+				false,
+				null)) {
+			int count = Math.max(2, Math.min(MAX_LANES, Runtime.getRuntime().availableProcessors()));
+			fLanes = new DispatchWorker[count];
+			for (int i = 0; i < count; i++) {
+				fLanes[i] = new DispatchWorker("JDI Event Dispatch Lane", true); //$NON-NLS-1$
+			}
+		} else {
+			fLanes = null;
+		}
+	}
+
+	/**
+	 * Returns whether the given event set only has class prepare events.
+	 */
+	private static boolean isClassPrepareOnly(EventSet eventSet) {
+		for (Event event : eventSet) {
+			if (!(event instanceof ClassPrepareEvent)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -118,6 +184,12 @@ public class EventDispatcher implements Runnable {
 			buf.append("}\n"); //$NON-NLS-1$
 			JDIDebugOptions.trace(buf.toString());
 		}
+		fTarget.getStatistics().eventsDispatched(eventSet.size());
+		if (!isClassPrepareOnly(eventSet)) {
+			// the thread of the event ran, classes prepared while the object
+			// graph helper runs do not change the values it captures
+			fTarget.discardObjectGraphSnapshots();
+		}
 		EventIterator iter = eventSet.eventIterator();
 		IJDIEventListener[] listeners = new IJDIEventListener[eventSet.size()];
 		boolean vote = false;
@@ -134,7 +206,7 @@ public class EventDispatcher implements Runnable {
 				continue;
 			}
 			// Dispatch events to registered listeners, if any
-			IJDIEventListener listener = fEventHandlers.get(event.request());
+			IJDIEventListener listener = getListener(event);
 			listeners[index] = listener;
 			if (listener != null) {
 				if (listener instanceof IJavaLineBreakpoint) {
@@ -192,8 +264,7 @@ public class EventDispatcher implements Runnable {
 					continue;
 				}
 				// Dispatch events to registered listeners, if any
-				IJDIEventListener listener = fEventHandlers
-						.get(event.request());
+				IJDIEventListener listener = getListener(event);
 				if (listener != null) {
 					vote = true;
 					try {
@@ -208,8 +279,6 @@ public class EventDispatcher implements Runnable {
 			}
 		}
 
-		List<Runnable> threadDeathRunnables = new ArrayList<>();
-
 		// notify handlers of the end result
 		index = -1;
 		iter = eventSet.eventIterator();
@@ -219,21 +288,13 @@ public class EventDispatcher implements Runnable {
 			// notify registered listener, if any
 			IJDIEventListener listener = listeners[index];
 			if (listener != null) {
-				if (event instanceof ThreadDeathEvent) {
-					final boolean res = resume;
-					threadDeathRunnables.add(() -> listener.eventSetComplete(event, fTarget, !res, eventSet));
-				} else {
-					listener.eventSetComplete(event, fTarget, !resume, eventSet);
-				}
+				listener.eventSetComplete(event, fTarget, !resume, eventSet);
 			}
 		}
 
 		// fire queued DEBUG events
 		fireEvents(eventSet);
 
-		// Queue runnables which will remove terminated threads once other queued events are proceeded
-		threadDeathRunnables.forEach(runnable -> DebugPlugin.getDefault().asyncExec(runnable));
-
 		if (vote && resume) {
 			try {
 				eventSet.resume();
@@ -256,7 +317,16 @@ public class EventDispatcher implements Runnable {
 			if (event == null) {
 				continue;
 			}
-			IJDIEventListener listener = fEventHandlers.get(event.request());
+			IJDIEventListener listener = getListener(event);
+			if (listener instanceof IJavaLogpoint) {
+				// the message of a logpoint is evaluated when hit
+				return true;
+			}
+			if (listener instanceof IJavaSnapshotBreakpoint) {
+				// capturing a snapshot takes many requests, events of other
+				// threads are read meanwhile
+				return true;
+			}
 			if (listener instanceof IJavaLineBreakpoint) {
 				try {
 					if (((IJavaLineBreakpoint) listener).isConditionEnabled()) {
@@ -271,6 +341,146 @@ public class EventDispatcher implements Runnable {
 		return false;
 	}
 
+	/**
+	 * Returns the thread whose event sets the given event set must be
+	 * dispatched in order with, or <code>null</code> if it affects the whole VM
+	 * and must be dispatched on its own.
+	 */
+	private static ThreadReference getLaneThread(EventSet eventSet) {
+		if (eventSet.suspendPolicy() == EventRequest.SUSPEND_ALL) {
+			return null;
+		}
+		ThreadReference thread = null;
+		EventIterator iter = eventSet.eventIterator();
+		while (iter.hasNext()) {
+			Event event = iter.nextEvent();
+			ThreadReference eventThread;
+			if (event instanceof LocatableEvent) {
+				eventThread = ((LocatableEvent) event).thread();
+			} else if (event instanceof ThreadStartEvent) {
+				eventThread = ((ThreadStartEvent) event).thread();
+			} else if (event instanceof ThreadDeathEvent) {
+				eventThread = ((ThreadDeathEvent) event).thread();
+			} else {
+				// e.g. class prepare events install breakpoints that the
+				// events of any thread dispatched later depend on
+				return null;
+			}
+			if (eventThread == null || (thread != null && !thread.equals(eventThread))) {
+				return null;
+			}
+			thread = eventThread;
+		}
+		return thread;
+	}
+
+	/**
+	 * Dispatches the given event set, in the thread reading events if it does
+	 * not require expression evaluation.
+	 */
+	private void dispatchOrHandOff(EventSet eventSet) {
+		if (!requiresExpressionEvaluation(eventSet)) {
+			dispatch(eventSet);
+		} else {
+			// 269231 always evaluate expressions in a separate job to avoid deadlocks
+			DispatchWorker worker;
+			synchronized (fIdleWorkers) {
+				worker = fIdleWorkers.poll();
+			}
+			if (worker == null) {
+				worker = new DispatchWorker("JDI Expression Evaluation Event Dispatch", false); //$NON-NLS-1$
+			}
+			worker.add(eventSet);
+		}
+	}
+
+	/**
+	 * Queues the given event set in the lane of the given thread.
+	 */
+	private void dispatchInLane(EventSet eventSet, ThreadReference thread) {
+		synchronized (fLanes) {
+			fLanePending++;
+		}
+		fLanes[(thread.hashCode() & Integer.MAX_VALUE) % fLanes.length].add(eventSet);
+	}
+
+	/**
+	 * Waits until the event sets queued in lanes are dispatched, or this
+	 * dispatcher is shutdown.
+	 */
+	private void waitForLanes() throws InterruptedException {
+		synchronized (fLanes) {
+			while (fLanePending > 0 && !isShutdown()) {
+				fLanes.wait(1000);
+			}
+		}
+	}
+
+	private void laneDispatched() {
+		synchronized (fLanes) {
+			if (--fLanePending == 0) {
+				fLanes.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Dispatches the event sets added to it in order, either for the threads
+	 * of a lane, or for one event set at a time when idle.
+	 */
+	private class DispatchWorker extends AbstractDispatchJob {
+
+		private final boolean fLane;
+
+		/**
+		 * Guarded by itself
+		 */
+		private final ArrayDeque<EventSet> fQueue = new ArrayDeque<>();
+
+		DispatchWorker(String name, boolean lane) {
+			super(name);
+			fLane = lane;
+			setSystem(true);
+		}
+
+		void add(EventSet eventSet) {
+			synchronized (fQueue) {
+				fQueue.add(eventSet);
+			}
+			schedule();
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			while (true) {
+				EventSet eventSet;
+				synchronized (fQueue) {
+					eventSet = fQueue.poll();
+				}
+				if (eventSet == null) {
+					if (!fLane && !isShutdown()) {
+						synchronized (fIdleWorkers) {
+							fIdleWorkers.push(this);
+						}
+					}
+					return Status.OK_STATUS;
+				}
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				if (fLane) {
+					try {
+						dispatchOrHandOff(eventSet);
+					} finally {
+						laneDispatched();
+					}
+				} else {
+					dispatch(eventSet);
+				}
+			}
+		}
+	}
+
 	/** @noreference public for test purposes */
 	public abstract class AbstractDispatchJob extends Job {
 		protected AbstractDispatchJob(String name) {
@@ -316,19 +526,14 @@ public class EventDispatcher implements Runnable {
 					}
 
 					if (eventSet != null) {
-						if (!requiresExpressionEvaluation(eventSet)) {
-							dispatch(eventSet);
+						ThreadReference thread = fLanes == null ? null : getLaneThread(eventSet);
+						if (thread != null) {
+							dispatchInLane(eventSet, thread);
 						} else {
-							// 269231 always evaluate expressions in a separate job to avoid deadlocks
-							Job job = new AbstractDispatchJob("JDI Expression Evaluation Event Dispatch") { //$NON-NLS-1$
-								@Override
-								protected IStatus run(IProgressMonitor monitor) {
-									dispatch(eventSet);
-									return Status.OK_STATUS;
-								}
-							};
-							job.setSystem(true);
-							job.schedule();
+							if (fLanes != null) {
+								waitForLanes();
+							}
+							dispatchOrHandOff(eventSet);
 						}
 					}
 				} catch (InterruptedException e) {
@@ -346,6 +551,9 @@ public class EventDispatcher implements Runnable {
 	public void shutdown() {
 		fShutdown = true;
 		Job.getJobManager().cancel(this);
+		synchronized (fIdleWorkers) {
+			fIdleWorkers.clear();
+		}
 	}
 
 	/**
@@ -370,7 +578,9 @@ public class EventDispatcher implements Runnable {
 	 */
 	public void addJDIEventListener(IJDIEventListener listener,
 			EventRequest request) {
-		fEventHandlers.put(request, listener);
+		synchronized (fEventHandlers) {
+			fEventHandlers.put(request, listener);
+		}
 	}
 
 	/**
@@ -384,7 +594,19 @@ public class EventDispatcher implements Runnable {
 	 *            the event request to de-register
 	 */
 	public void removeJDIEventListener(IJDIEventListener listener, EventRequest request) {
-		fEventHandlers.remove(request);
+		synchronized (fEventHandlers) {
+			fEventHandlers.remove(request);
+		}
+	}
+
+	/**
+	 * Returns the listener registered for the request of the given event, if
+	 * any. Event sets are dispatched by several threads.
+	 */
+	private IJDIEventListener getListener(Event event) {
+		synchronized (fEventHandlers) {
+			return fEventHandlers.get(event.request());
+		}
 	}
 
 	/**
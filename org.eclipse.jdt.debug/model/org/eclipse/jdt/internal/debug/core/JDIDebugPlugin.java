@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.eclipse.core.resources.ISaveContext;
@@ -34,6 +37,7 @@ import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunchManager;
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.jdi.Bootstrap;
+import org.eclipse.jdi.internal.TypeMetadataCache;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.dom.Message;
 import org.eclipse.jdt.debug.core.IJavaBreakpoint;
@@ -46,7 +50,10 @@ import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaType;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
+import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointASTCache;
+import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointHitNotifier;
 import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointListenerManager;
+import org.eclipse.jdt.internal.debug.core.breakpoints.LogpointOutput;
 import org.eclipse.jdt.internal.debug.core.hcr.JavaHotCodeReplaceManager;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
@@ -121,6 +128,47 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 	public static final String PREF_ENABLE_ADVANCED_SOURCELOOKUP = JDIDebugPlugin
 			.getUniqueIdentifier() + ".enable_advanced_sourcelookup"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference controlling if thread start and death events of
+	 * virtual threads are filtered by the target VM. Model threads for virtual
+	 * threads are then only created once the thread reports an event, e.g.
+	 * suspends at a breakpoint.
+	 *
+	 * @since 3.26
+	 */
+	public static final String PREF_FILTER_VIRTUAL_THREAD_EVENTS = JDIDebugPlugin
+			.getUniqueIdentifier() + ".filter_virtual_thread_events"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling if the loaded classes of a target VM are
+	 * kept in a registry maintained from class prepare and unload events,
+	 * rather than being looked up in the VM for each query.
+	 *
+	 * @since 3.26
+	 */
+	public static final String PREF_LOADED_CLASS_REGISTRY = JDIDebugPlugin
+			.getUniqueIdentifier() + ".loaded_class_registry"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling if the line and local variable tables of
+	 * classes are kept on disk across sessions, for classes whose class file
+	 * digest is known from the advanced source lookup javaagent.
+	 *
+	 * @since 3.26
+	 */
+	public static final String PREF_TYPE_METADATA_CACHE = JDIDebugPlugin
+			.getUniqueIdentifier() + ".type_metadata_cache"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling if the event sets of different threads
+	 * are dispatched in parallel by a fixed number of lanes, rather than one
+	 * after the other by the thread reading events from the target VM.
+	 *
+	 * @since 3.26
+	 */
+	public static final String PREF_EVENT_DISPATCH_LANES = JDIDebugPlugin
+			.getUniqueIdentifier() + ".event_dispatch_lanes"; //$NON-NLS-1$
+
 	/**
 	 * Extension point for java logical structures.
 	 *
@@ -215,6 +263,16 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 
 	private Function<IJavaStackFrame, IJavaStackFrame.Category> stackFrameCategorizer;
 
+	/**
+	 * Writes batches of logpoint messages, contributed by the UI
+	 */
+	private BiConsumer<IJavaDebugTarget, List<String>> logpointWriter;
+
+	/**
+	 * Metadata of classes shared by all targets, created on first use
+	 */
+	private TypeMetadataCache fTypeMetadataCache;
+
 	/**
 	 * Returns whether the debug UI plug-in is in trace mode.
 	 *
@@ -372,6 +430,9 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 				node.removePreferenceChangeListener(this);
 			}
 			JavaHotCodeReplaceManager.getDefault().shutdown();
+			BreakpointASTCache.shutdown();
+			LogpointOutput.shutdown();
+			BreakpointHitNotifier.shutdown();
 			ILaunchManager launchManager = DebugPlugin.getDefault()
 					.getLaunchManager();
 			IDebugTarget[] targets = launchManager.getDebugTargets();
@@ -380,6 +441,7 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 					((JDIDebugTarget) target).shutdown();
 				}
 			}
+			saveTypeMetadataCache();
 			fBreakpointListeners = null;
 			ResourcesPlugin.getWorkspace().removeSaveParticipant(getUniqueIdentifier());
 		} finally {
@@ -388,6 +450,43 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 		}
 	}
 
+	/**
+	 * Returns the metadata of classes kept across sessions, see
+	 * {@link #PREF_TYPE_METADATA_CACHE}.
+	 *
+	 * @return the type metadata cache, or <code>null</code> if there is no
+	 *         state location to keep it in
+	 */
+	public synchronized TypeMetadataCache getTypeMetadataCache() {
+		if (fTypeMetadataCache == null) {
+			try {
+				fTypeMetadataCache = new TypeMetadataCache(getStateLocation().append("typeMetadata").toFile()); //$NON-NLS-1$
+			} catch (IllegalStateException e) {
+				// no instance location
+				return null;
+			}
+		}
+		return fTypeMetadataCache;
+	}
+
+	/**
+	 * Writes the metadata of classes retrieved since the last save, if the
+	 * type metadata cache is in use.
+	 */
+	public void saveTypeMetadataCache() {
+		TypeMetadataCache cache;
+		synchronized (this) {
+			cache = fTypeMetadataCache;
+		}
+		if (cache != null) {
+			try {
+				cache.save();
+			} catch (IOException e) {
+				log(e);
+			}
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener#preferenceChange(org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent)
 	 */
@@ -843,4 +942,20 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 		this.stackFrameCategorizer = stackFrameCategorizer;
 	}
 
+	/**
+	 * Returns the function that writes the messages of logpoints, or
+	 * <code>null</code> if none.
+	 */
+	public synchronized BiConsumer<IJavaDebugTarget, List<String>> getLogpointWriter() {
+		return logpointWriter;
+	}
+
+	/**
+	 * Sets the function that writes the messages of logpoints hit in a target,
+	 * called with batches of messages.
+	 */
+	public synchronized void setLogpointWriter(BiConsumer<IJavaDebugTarget, List<String>> logpointWriter) {
+		this.logpointWriter = logpointWriter;
+	}
+
 }
@@ -51,5 +51,9 @@ public class JDIDebugPluginPreferenceInitializer extends
 		node.putInt(JDIDebugModel.PREF_SHOW_STEP_TIMEOUT, JDIDebugModel.DEF_SHOW_STEP_TIMEOUT);
 		node.putBoolean(JDIDebugPlugin.PREF_ENABLE_ADVANCED_SOURCELOOKUP, true);
 		node.putBoolean(JDIDebugModel.PREF_CREATE_EXCEPTION_BREAKPOINTS_ON_CLICK, true);
+		node.putBoolean(JDIDebugPlugin.PREF_FILTER_VIRTUAL_THREAD_EVENTS, false);
+		node.putBoolean(JDIDebugPlugin.PREF_LOADED_CLASS_REGISTRY, false);
+		node.putBoolean(JDIDebugPlugin.PREF_TYPE_METADATA_CACHE, false);
+		node.putBoolean(JDIDebugPlugin.PREF_EVENT_DISPATCH_LANES, false);
 	}
 }
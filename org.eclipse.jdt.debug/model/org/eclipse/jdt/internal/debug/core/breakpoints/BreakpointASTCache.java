@@ -0,0 +1,360 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.BufferChangedEvent;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * Cache of the ASTs, with bindings, used to verify breakpoint locations.
+ * <p>
+ * Verifying a breakpoint needs a {@link CompilationUnit} of the breakpoint's
+ * compilation unit. Rather than parsing the unit for each breakpoint, clients
+ * {@link #acquire(ICompilationUnit)} the AST from this cache and
+ * {@link #release(CompilationUnit)} it when done. An AST stays cached while
+ * it is acquired, and the {@link #MAX_RELEASED} most recently released ASTs
+ * are kept for later requests, so that breakpoints of several units can be
+ * verified in turn without parsing the units again.
+ * ASTs are cached per compilation unit handle, so a working copy and its
+ * primary unit do not share an AST. Cached ASTs are discarded when the
+ * underlying resource changes, when the buffer of a working copy changes or
+ * when a working copy is reconciled. The cache stops listening to the buffer
+ * of a working copy once its AST is evicted, when the buffer is closed and
+ * when the cache is shut down.
+ * </p>
+ */
+public final class BreakpointASTCache implements IElementChangedListener, IBufferChangedListener {
+
+	/**
+	 * Maximum number of released ASTs kept in the cache
+	 */
+	private static final int MAX_RELEASED = 8;
+
+	private static BreakpointASTCache fgDefault = null;
+
+	/**
+	 * A cached AST
+	 */
+	private static final class Entry {
+		final CompilationUnit fUnit;
+		final long fStamp;
+
+		/**
+		 * The buffer of the working copy the AST was parsed from, or
+		 * <code>null</code> if the unit is not a working copy
+		 */
+		final IBuffer fBuffer;
+		int fReferences;
+
+		Entry(CompilationUnit unit, long stamp, IBuffer buffer) {
+			fUnit = unit;
+			fStamp = stamp;
+			fBuffer = buffer;
+		}
+	}
+
+	/**
+	 * Cached ASTs by compilation unit, least recently used first. Guarded by
+	 * <code>this</code>.
+	 */
+	private final Map<ICompilationUnit, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Incremented each time cached ASTs are discarded because a buffer changed
+	 * or a working copy was reconciled, so that an AST parsed meanwhile is not
+	 * cached. Guarded by <code>this</code>.
+	 */
+	private int fModifications;
+
+	/**
+	 * Number of cached entries and parses in progress using each working copy
+	 * buffer this cache listens to. A buffer is still listened to when it is
+	 * no longer used after being edited, as listeners cannot be removed while
+	 * the buffer notifies them, until it is used again, closed or the cache
+	 * is shut down. Guarded by <code>this</code>.
+	 */
+	private final Map<IBuffer, Integer> fBuffers = new HashMap<>();
+
+	private BreakpointASTCache() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the shared cache
+	 */
+	public static synchronized BreakpointASTCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault = new BreakpointASTCache();
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Disposes the shared cache, if it was created.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			synchronized (fgDefault) {
+				fgDefault.fEntries.clear();
+				for (IBuffer buffer : fgDefault.fBuffers.keySet()) {
+					buffer.removeBufferChangedListener(fgDefault);
+				}
+				fgDefault.fBuffers.clear();
+			}
+			fgDefault = null;
+		}
+	}
+
+	/**
+	 * Returns the AST of the given compilation unit, with bindings resolved,
+	 * parsing it if it is not cached. Each call must be paired with a call to
+	 * {@link #release(CompilationUnit)} once the AST is no longer used.
+	 *
+	 * @param cunit
+	 *            the compilation unit
+	 * @return the AST of the compilation unit or <code>null</code> if it could
+	 *         not be created
+	 */
+	public CompilationUnit acquire(ICompilationUnit cunit) {
+		long stamp = getStamp(cunit);
+		IBuffer buffer = getBuffer(cunit);
+		int modifications;
+		synchronized (this) {
+			Entry entry = fEntries.get(cunit);
+			if (entry != null) {
+				if (entry.fStamp == stamp && entry.fBuffer == buffer) {
+					entry.fReferences++;
+					return entry.fUnit;
+				}
+				fEntries.remove(cunit);
+				unlisten(entry.fBuffer);
+			}
+			modifications = fModifications;
+			// edits of a working copy do not change the resource, listen to
+			// the buffer while the unit is parsed
+			listen(buffer);
+		}
+		// do not hold the lock while parsing
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(cunit);
+		parser.setResolveBindings(true);
+		CompilationUnit unit = null;
+		try {
+			unit = (CompilationUnit) parser.createAST(new NullProgressMonitor());
+		} finally {
+			if (unit == null) {
+				synchronized (this) {
+					unlisten(buffer);
+				}
+			}
+		}
+		synchronized (this) {
+			if (modifications != fModifications) {
+				// the unit may have changed while it was parsed, use the AST
+				// without caching it
+				unlisten(buffer);
+				return unit;
+			}
+			Entry entry = fEntries.get(cunit);
+			if (entry == null || entry.fStamp != stamp || entry.fBuffer != buffer) {
+				// another thread may have parsed the unit meanwhile, keep the
+				// AST it cached if it is still current
+				if (entry != null) {
+					unlisten(entry.fBuffer);
+				}
+				// the new entry keeps listening to the buffer
+				entry = new Entry(unit, stamp, buffer);
+				fEntries.put(cunit, entry);
+			} else {
+				unlisten(buffer);
+			}
+			entry.fReferences++;
+			return entry.fUnit;
+		}
+	}
+
+	/**
+	 * Releases an AST returned by {@link #acquire(ICompilationUnit)}.
+	 *
+	 * @param unit
+	 *            the AST to release, <code>null</code> is ignored
+	 */
+	public synchronized void release(CompilationUnit unit) {
+		if (unit == null) {
+			return;
+		}
+		for (Entry entry : fEntries.values()) {
+			if (entry.fUnit == unit) {
+				if (entry.fReferences > 0) {
+					entry.fReferences--;
+				}
+				break;
+			}
+		}
+		trim();
+	}
+
+	/**
+	 * Discards the least recently used released ASTs above the limit.
+	 */
+	private void trim() {
+		int released = 0;
+		for (Entry entry : fEntries.values()) {
+			if (entry.fReferences == 0) {
+				released++;
+			}
+		}
+		for (Iterator<Entry> iter = fEntries.values().iterator(); iter.hasNext() && released > MAX_RELEASED;) {
+			Entry entry = iter.next();
+			if (entry.fReferences == 0) {
+				iter.remove();
+				unlisten(entry.fBuffer);
+				released--;
+			}
+		}
+	}
+
+	/**
+	 * Listens to the given buffer, if any, until {@link #unlisten(IBuffer)} is
+	 * called as many times. Must be called holding the lock of this cache.
+	 */
+	private void listen(IBuffer buffer) {
+		if (buffer != null && fBuffers.put(buffer, fBuffers.getOrDefault(buffer, 0) + 1) == null) {
+			buffer.addBufferChangedListener(this);
+		}
+	}
+
+	/**
+	 * Stops listening to the given buffer, if any, once no cached entry or
+	 * parse uses it. Must be called holding the lock of this cache.
+	 */
+	private void unlisten(IBuffer buffer) {
+		if (buffer == null) {
+			return;
+		}
+		Integer count = fBuffers.get(buffer);
+		if (count == null) {
+			// the cache was shut down meanwhile
+			return;
+		}
+		if (count.intValue() > 1) {
+			fBuffers.put(buffer, count - 1);
+		} else {
+			fBuffers.remove(buffer);
+			buffer.removeBufferChangedListener(this);
+		}
+	}
+
+	/**
+	 * Returns the modification stamp of the resource of the given compilation
+	 * unit, or {@link IResource#NULL_STAMP} if it has none.
+	 */
+	private static long getStamp(ICompilationUnit cunit) {
+		IResource resource = cunit.getResource();
+		return resource == null ? IResource.NULL_STAMP : resource.getModificationStamp();
+	}
+
+	/**
+	 * Returns the buffer of the given compilation unit if it is a working copy,
+	 * or <code>null</code> otherwise.
+	 */
+	private static IBuffer getBuffer(ICompilationUnit cunit) {
+		if (!cunit.isWorkingCopy()) {
+			return null;
+		}
+		try {
+			return cunit.getBuffer();
+		} catch (JavaModelException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Discards the AST of a working copy when it is reconciled, as its
+	 * contents changed without the resource being modified.
+	 *
+	 * @see org.eclipse.jdt.core.IElementChangedListener#elementChanged(org.eclipse.jdt.core.ElementChangedEvent)
+	 */
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		IJavaElementDelta delta = event.getDelta();
+		IJavaElement element = delta.getElement();
+		if (element instanceof ICompilationUnit) {
+			ICompilationUnit cunit = (ICompilationUnit) element;
+			// acquired ASTs stay valid for their holders, they are just no
+			// longer handed out
+			synchronized (this) {
+				discard(cunit);
+				discard(cunit.getPrimary());
+				fModifications++;
+			}
+		}
+	}
+
+	/**
+	 * Discards the ASTs parsed from a working copy buffer when the buffer is
+	 * edited, which may happen before the working copy is reconciled.
+	 *
+	 * @see org.eclipse.jdt.core.IBufferChangedListener#bufferChanged(org.eclipse.jdt.core.BufferChangedEvent)
+	 */
+	@Override
+	public void bufferChanged(BufferChangedEvent event) {
+		IBuffer buffer = event.getBuffer();
+		synchronized (this) {
+			for (Iterator<Entry> iter = fEntries.values().iterator(); iter.hasNext();) {
+				if (iter.next().fBuffer == buffer) {
+					iter.remove();
+					fBuffers.computeIfPresent(buffer, (b, count) -> count - 1);
+				}
+			}
+			if (buffer.isClosed()) {
+				// a closed buffer drops its listeners
+				fBuffers.remove(buffer);
+			}
+			fModifications++;
+		}
+	}
+
+	/**
+	 * Discards the cached AST of the given compilation unit, if any. Must be
+	 * called holding the lock of this cache.
+	 */
+	private void discard(ICompilationUnit cunit) {
+		Entry entry = fEntries.remove(cunit);
+		if (entry != null) {
+			unlisten(entry.fBuffer);
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+
+/**
+ * Notifies the breakpoint manager of changes to the hit statistics of
+ * breakpoints with the suspend policy {@link IJavaBreakpoint#COUNT_ONLY}, see
+ * {@link BreakpointHitStatistics}.
+ * <p>
+ * Hits are batched for {@link #DELAY} milliseconds, so that a breakpoint hit
+ * thousands of times a second is refreshed once a second. Breakpoints that
+ * were hit in the last minute keep being refreshed, so that their rate and
+ * histogram decay once they are no longer hit.
+ * </p>
+ */
+public final class BreakpointHitNotifier extends Job {
+
+	/**
+	 * Time in milliseconds over which hits are batched
+	 */
+	private static final int DELAY = 1000;
+
+	private static BreakpointHitNotifier fgDefault = null;
+
+	/**
+	 * Breakpoints to refresh, guarded by <code>this</code>.
+	 */
+	private Set<JavaBreakpoint> fChanged = new LinkedHashSet<>();
+
+	private BreakpointHitNotifier() {
+		super(JDIDebugBreakpointMessages.BreakpointHitNotifier_0);
+		setSystem(true);
+	}
+
+	/**
+	 * Returns the shared notifier.
+	 *
+	 * @return the shared notifier
+	 */
+	public static synchronized BreakpointHitNotifier getDefault() {
+		if (fgDefault == null) {
+			fgDefault = new BreakpointHitNotifier();
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Stops refreshing breakpoints, if the shared notifier was created.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			fgDefault.cancel();
+			synchronized (fgDefault) {
+				fgDefault.fChanged.clear();
+			}
+			fgDefault = null;
+		}
+	}
+
+	/**
+	 * Notes that the statistics of the given breakpoint changed.
+	 *
+	 * @param breakpoint
+	 *            the breakpoint that was hit
+	 */
+	public void changed(JavaBreakpoint breakpoint) {
+		synchronized (this) {
+			if (!fChanged.add(breakpoint) || fChanged.size() > 1) {
+				// already scheduled
+				return;
+			}
+		}
+		schedule(DELAY);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		Set<JavaBreakpoint> changed;
+		synchronized (this) {
+			changed = fChanged;
+			fChanged = new LinkedHashSet<>();
+		}
+		long time = System.currentTimeMillis();
+		boolean active = false;
+		for (JavaBreakpoint breakpoint : changed) {
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			if (breakpoint.getMarker() == null || !breakpoint.getMarker().exists()) {
+				continue;
+			}
+			breakpoint.fireChanged();
+			BreakpointHitStatistics statistics = breakpoint.getHitStatistics();
+			if (statistics != null && statistics.isActive(time)) {
+				synchronized (this) {
+					active |= fChanged.add(breakpoint) && fChanged.size() == 1;
+				}
+			}
+		}
+		if (active) {
+			schedule(DELAY);
+		}
+		return Status.OK_STATUS;
+	}
+}
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaThread;
+
+/**
+ * Hits of a breakpoint with the suspend policy
+ * {@link IJavaBreakpoint#COUNT_ONLY}: the total number of hits, the number of
+ * hits per thread and the number of hits in each of the last
+ * {@link #BUCKETS} seconds.
+ * <p>
+ * Recording a hit only updates counters, so that bursts of hits on hot paths
+ * cost little. Clients are notified of changes in batches, see
+ * {@link BreakpointHitNotifier}.
+ * </p>
+ */
+public final class BreakpointHitStatistics {
+
+	/**
+	 * Number of buckets, one per second, in the histogram
+	 */
+	public static final int BUCKETS = 60;
+
+	/**
+	 * Length of a bucket in milliseconds
+	 */
+	private static final long BUCKET_LENGTH = 1000;
+
+	/**
+	 * Hits in the last seconds, the bucket of a time is its second modulo
+	 * {@link #BUCKETS}. Guarded by <code>this</code>.
+	 */
+	private final long[] fBuckets = new long[BUCKETS];
+
+	/**
+	 * Second of the latest hit, buckets older than {@link #BUCKETS} seconds
+	 * before it are cleared. Guarded by <code>this</code>.
+	 */
+	private long fLatestSecond = -1;
+
+	/**
+	 * Guarded by <code>this</code>
+	 */
+	private long fTotal;
+
+	/**
+	 * Hits by thread. Guarded by <code>this</code>.
+	 */
+	private final Map<IJavaThread, long[]> fThreads = new LinkedHashMap<>();
+
+	/**
+	 * Records a hit.
+	 *
+	 * @param thread
+	 *            the thread the breakpoint was hit in, or <code>null</code>
+	 *            if unknown
+	 * @param time
+	 *            the time of the hit, in milliseconds
+	 */
+	public synchronized void hit(IJavaThread thread, long time) {
+		long second = time / BUCKET_LENGTH;
+		advance(second);
+		fBuckets[(int) (second % BUCKETS)]++;
+		fTotal++;
+		if (thread != null) {
+			fThreads.computeIfAbsent(thread, t -> new long[1])[0]++;
+		}
+	}
+
+	/**
+	 * Clears the buckets between the latest hit and the given second.
+	 */
+	private void advance(long second) {
+		if (second <= fLatestSecond) {
+			return;
+		}
+		if (fLatestSecond < 0 || second - fLatestSecond >= BUCKETS) {
+			Arrays.fill(fBuckets, 0);
+		} else {
+			for (long s = fLatestSecond + 1; s <= second; s++) {
+				fBuckets[(int) (s % BUCKETS)] = 0;
+			}
+		}
+		fLatestSecond = second;
+	}
+
+	/**
+	 * Returns the total number of hits.
+	 *
+	 * @return the total number of hits
+	 */
+	public synchronized long getTotal() {
+		return fTotal;
+	}
+
+	/**
+	 * Returns the number of hits in each of the last {@link #BUCKETS}
+	 * seconds, the oldest first. The last bucket is the current second.
+	 *
+	 * @param time
+	 *            the current time, in milliseconds
+	 * @return the number of hits per second
+	 */
+	public synchronized long[] getHistogram(long time) {
+		long second = time / BUCKET_LENGTH;
+		advance(second);
+		long[] histogram = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			histogram[i] = fBuckets[(int) ((second + 1 + i) % BUCKETS)];
+		}
+		return histogram;
+	}
+
+	/**
+	 * Returns the average number of hits per second over the last
+	 * <code>seconds</code> complete seconds.
+	 *
+	 * @param time
+	 *            the current time, in milliseconds
+	 * @param seconds
+	 *            the number of seconds to average over, at most
+	 *            {@link #BUCKETS} - 1
+	 * @return the number of hits per second
+	 */
+	public synchronized double getRate(long time, int seconds) {
+		long second = time / BUCKET_LENGTH;
+		advance(second);
+		long hits = 0;
+		for (int i = 1; i <= seconds; i++) {
+			hits += fBuckets[(int) ((second - i + BUCKETS) % BUCKETS)];
+		}
+		return (double) hits / seconds;
+	}
+
+	/**
+	 * Returns whether there were hits in the last {@link #BUCKETS} seconds.
+	 *
+	 * @param time
+	 *            the current time, in milliseconds
+	 * @return whether the histogram shows any hits
+	 */
+	public synchronized boolean isActive(long time) {
+		return fLatestSecond >= 0 && time / BUCKET_LENGTH - fLatestSecond < BUCKETS;
+	}
+
+	/**
+	 * Returns the number of hits by thread, in the order the threads first
+	 * hit the breakpoint.
+	 *
+	 * @return the number of hits by thread
+	 */
+	public synchronized Map<IJavaThread, Long> getThreadCounts() {
+		Map<IJavaThread, Long> counts = new LinkedHashMap<>();
+		fThreads.forEach((thread, count) -> counts.put(thread, Long.valueOf(count[0])));
+		return counts;
+	}
+
+	/**
+	 * Forgets the threads of the given target. The total and the histogram
+	 * keep its hits.
+	 *
+	 * @param target
+	 *            a target that is no longer debugged
+	 */
+	public synchronized void removeThreads(IDebugTarget target) {
+		for (Iterator<IJavaThread> iter = fThreads.keySet().iterator(); iter.hasNext();) {
+			if (iter.next().getDebugTarget() == target) {
+				iter.remove();
+			}
+		}
+	}
+}
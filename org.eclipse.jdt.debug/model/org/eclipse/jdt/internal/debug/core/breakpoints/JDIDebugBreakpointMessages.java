@@ -52,6 +52,13 @@ public class JDIDebugBreakpointMessages extends NLS {
 	public static String JavaClassPrepareBreakpoint_2;
 	public static String JavaClassPrepareBreakpoint_3;
 
+	public static String JavaLogpoint_0;
+	public static String JavaLogpoint_1;
+
+	public static String LogpointOutput_0;
+	public static String LogpointOutput_1;
+	public static String BreakpointHitNotifier_0;
+
 	static {
 		// load message values from bundle file
 		NLS.initializeMessages(BUNDLE_NAME, JDIDebugBreakpointMessages.class);
@@ -161,6 +161,12 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 	 */
 	private List<String> fBreakpointListenerIds = null;
 
+	/**
+	 * Hits recorded while this breakpoint only counts its hits, or
+	 * <code>null</code> if it never did.
+	 */
+	private volatile BreakpointHitStatistics fHitStatistics;
+
 	/**
 	 * Empty instance filters array.
 	 */
@@ -306,17 +312,36 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 			return handleClassPrepareEvent((ClassPrepareEvent) event, target,
 					suspendVote);
 		}
-		ThreadReference threadRef = ((LocatableEvent) event).thread();
-		JDIThread thread = target.findThread(threadRef);
-		if (thread == null) {
-			thread = target.findThread(threadRef);
+		if (isStaleCountOnlyEvent(event)) {
+			return true;
 		}
+		ThreadReference threadRef = ((LocatableEvent) event).thread();
+		JDIThread thread = target.findOrCreateThread(threadRef);
 		if (thread == null || thread.isIgnoringBreakpoints()) {
 			return true;
 		}
+		target.getStatistics().breakpointHit();
 		return handleBreakpointEvent(event, thread, suspendVote);
 	}
 
+	/**
+	 * Returns whether the given event was requested to not suspend, but this
+	 * breakpoint no longer only counts its hits. Such events arrive while the
+	 * request is replaced, the thread is not suspended and the event is
+	 * dropped.
+	 */
+	private boolean isStaleCountOnlyEvent(Event event) {
+		EventRequest request = event.request();
+		if (request == null || request.suspendPolicy() != EventRequest.SUSPEND_NONE) {
+			return false;
+		}
+		try {
+			return !isCountOnly();
+		} catch (CoreException e) {
+			return true;
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -337,6 +362,10 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		if (threadRef == null) {
 			return;
 		}
+		if (event.request() != null && event.request().suspendPolicy() == EventRequest.SUSPEND_NONE) {
+			// the thread was never suspended
+			return;
+		}
 		JDIThread thread = target.findThread(threadRef);
 		if (thread == null || thread.isIgnoringBreakpoints()) {
 			return;
@@ -409,9 +438,59 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 	 * @see IJavaBreakpointListener#breakpointHit(IJavaThread, IJavaBreakpoint)
 	 */
 	protected boolean suspend(JDIThread thread, boolean suspendVote) {
+		try {
+			if (isCountOnly()) {
+				recordHit(thread);
+				return false;
+			}
+		} catch (CoreException e) {
+			JDIDebugPlugin.log(e);
+		}
 		return thread.handleSuspendForBreakpoint(this, suspendVote);
 	}
 
+	/**
+	 * Returns whether this breakpoint only counts its hits, see
+	 * {@link IJavaBreakpoint#COUNT_ONLY}.
+	 *
+	 * @return whether this breakpoint only counts its hits
+	 * @exception CoreException
+	 *                if unable to access this breakpoint's suspend policy
+	 *                setting
+	 */
+	protected boolean isCountOnly() throws CoreException {
+		return getSuspendPolicy() == IJavaBreakpoint.COUNT_ONLY;
+	}
+
+	/**
+	 * Records a hit of this breakpoint in the given thread, which is not
+	 * suspended, and schedules a change notification.
+	 */
+	private void recordHit(JDIThread thread) {
+		BreakpointHitStatistics statistics = fHitStatistics;
+		if (statistics == null) {
+			synchronized (this) {
+				statistics = fHitStatistics;
+				if (statistics == null) {
+					statistics = new BreakpointHitStatistics();
+					fHitStatistics = statistics;
+				}
+			}
+		}
+		statistics.hit(thread, System.currentTimeMillis());
+		BreakpointHitNotifier.getDefault().changed(this);
+	}
+
+	/**
+	 * Returns the hits recorded while this breakpoint only counted its hits,
+	 * or <code>null</code> if it never did.
+	 *
+	 * @return the hit statistics of this breakpoint, or <code>null</code>
+	 */
+	public BreakpointHitStatistics getHitStatistics() {
+		return fHitStatistics;
+	}
+
 	/**
 	 * Returns whether the given reference type is appropriate for this
 	 * breakpoint to be installed in the given target. Query registered
@@ -541,7 +620,10 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		request.setSuspendPolicy(getJDISuspendPolicy());
 		request.putProperty(JAVA_BREAKPOINT_PROPERTY, this);
 		configureRequestThreadFilter(request, target);
-		configureRequestHitCount(request);
+		if (!isCountOnly()) {
+			// a count filter would expire the request after the first hits
+			configureRequestHitCount(request);
+		}
 		configureInstanceFilters(request, target);
 		// Important: only enable a request after it has been configured
 		updateEnabledState(request, target);
@@ -645,7 +727,34 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 					+ "$*", referenceTypeName), target); //$NON-NLS-1$
 		}
 
-		// create breakpoint requests for each class currently loaded
+		// when the target installs breakpoints in stages, requests for the
+		// loaded classes are created once all class prepare requests exist
+		if (target.deferLoadedTypeRequests(this)) {
+			return;
+		}
+		createLoadedTypeRequests(target);
+	}
+
+	/**
+	 * Creates breakpoint requests for each class of this breakpoint that is
+	 * currently loaded in the given target. Class prepare requests for the
+	 * types of this breakpoint must already exist, so that classes loaded
+	 * later are not missed.
+	 *
+	 * @param target
+	 *            the target
+	 * @throws CoreException
+	 *             if creating the requests fails
+	 */
+	public void createLoadedTypeRequests(JDIDebugTarget target) throws CoreException {
+		if (target.isTerminated() || shouldSkipBreakpoint()) {
+			return;
+		}
+		String referenceTypeName = getTypeName();
+		String enclosingTypeName = getEnclosingReferenceTypeName();
+		if (referenceTypeName == null || enclosingTypeName == null) {
+			return;
+		}
 		List<ReferenceType> classes = target.jdiClassesByName(referenceTypeName);
 		if (classes.isEmpty() && enclosingTypeName.equals(referenceTypeName)) {
 			return;
@@ -684,7 +793,7 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 	protected void addToTargetForLocalType(JDIDebugTarget target, String enclosingTypeName) throws CoreException {
 		List<ReferenceType> classes = target.jdiClassesByName(enclosingTypeName);
 		for(ReferenceType type : classes) {
-			for(ReferenceType nestedType : type.nestedTypes()) {
+			for(ReferenceType nestedType : target.jdiNestedTypes(type)) {
 				if (createRequest(target, nestedType)) {
 					break;
 				}
@@ -707,6 +816,9 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		if (breakpointPolicy == IJavaBreakpoint.SUSPEND_THREAD || breakpointPolicy == IJavaBreakpoint.RESUME_ON_HIT ) {
 			return EventRequest.SUSPEND_EVENT_THREAD;
 		}
+		if (breakpointPolicy == IJavaBreakpoint.COUNT_ONLY) {
+			return EventRequest.SUSPEND_NONE;
+		}
 		return EventRequest.SUSPEND_ALL;
 	}
 
@@ -746,6 +858,10 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 	public void removeFromTarget(final JDIDebugTarget target)
 			throws CoreException {
 		removeRequests(target);
+		BreakpointHitStatistics statistics = fHitStatistics;
+		if (statistics != null) {
+			statistics.removeThreads(target);
+		}
 		Object removed = fFilteredThreadsByTarget.remove(target);
 		boolean changed = removed != null;
 		boolean markerExists = markerExists();
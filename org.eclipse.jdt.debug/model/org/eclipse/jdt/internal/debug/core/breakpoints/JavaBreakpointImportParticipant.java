@@ -23,16 +23,13 @@ import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.IBreakpointImportParticipant;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.Signature;
-import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.ArrayType;
@@ -58,11 +55,6 @@ import org.eclipse.jdt.debug.core.IJavaWatchpoint;
 public class JavaBreakpointImportParticipant implements
 		IBreakpointImportParticipant {
 
-	// keep the last resource/timestamp with CU for optimization
-	IResource lastResourceVerified = null;
-	long lastResourceVerifiedTimeStamp = -1;
-	CompilationUnit lastCompilationUnit = null;
-
 	class BreakpointVerifier extends ASTVisitor {
 		static final int TYPE = 0;
 		static final int METHOD = 1;
@@ -533,59 +525,66 @@ public class JavaBreakpointImportParticipant implements
 		IResource resource = breakpoint.getMarker().getResource();
 		CompilationUnit unit = null;
 		if (resource != null && resource.getType() == IResource.FILE) {
-			if (resource.equals(lastResourceVerified)) {
-				if (resource.getModificationStamp() == lastResourceVerifiedTimeStamp) {
-					unit = lastCompilationUnit;
-				}
-			}
-			if (unit == null) {
-				ICompilationUnit cunit = JavaCore.createCompilationUnitFrom((IFile) resource);
-				if (cunit != null) {
-					ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-					parser.setSource(cunit);
-					parser.setResolveBindings(true);
-					unit = (CompilationUnit) parser.createAST(new NullProgressMonitor());
-				}
+			// breakpoints of the same unit share the cached AST, rather than
+			// parsing the unit for each breakpoint
+			ICompilationUnit cunit = JavaCore.createCompilationUnitFrom((IFile) resource);
+			if (cunit != null) {
+				unit = BreakpointASTCache.getDefault().acquire(cunit);
 			}
 		}
 		if (unit != null) {
-			lastResourceVerified = resource;
-			lastCompilationUnit = unit;
-			lastResourceVerifiedTimeStamp = lastResourceVerified.getModificationStamp();
-			if (breakpoint instanceof JavaClassPrepareBreakpoint
-					|| breakpoint instanceof JavaWatchpoint
-					|| breakpoint instanceof JavaMethodEntryBreakpoint
-					|| breakpoint instanceof JavaMethodBreakpoint) {
-				unit.accept(new BreakpointVerifier(breakpoint, unit));
-			} else if (breakpoint instanceof JavaLineBreakpoint) {
-				JavaLineBreakpoint bp = (JavaLineBreakpoint) breakpoint;
-				// line breakpoint use the ValidBreakpointLocationLocator to
-				// (re)place it
-				int currentline = bp.getLineNumber();
-				ValidBreakpointLocationLocator locator = new ValidBreakpointLocationLocator(
-						unit, currentline, true, true);
-				unit.accept(locator);
-				int newline = locator.getLineLocation();
-				if (locator.getLocationType() == ValidBreakpointLocationLocator.LOCATION_LINE) {
-					if (currentline != newline) {
-						if (locator.getFullyQualifiedTypeName() == null) {
-							throw new CoreException(Status.CANCEL_STATUS);
-						}
-						bp.getMarker().setAttribute(JavaBreakpoint.TYPE_NAME,
-								locator.getFullyQualifiedTypeName());
-						bp.getMarker().setAttribute(IMarker.LINE_NUMBER,
-								newline);
-						int length = bp.getCharEnd() - bp.getCharStart();
-						int pos = unit.getPosition(newline, 1);
-						bp.getMarker().setAttribute(IMarker.CHAR_START, pos);
-						bp.getMarker().setAttribute(IMarker.CHAR_END,
-								pos + length);
+			try {
+				verify(breakpoint, unit);
+			} finally {
+				BreakpointASTCache.getDefault().release(unit);
+			}
+		}
+	}
+
+	/**
+	 * Verifies the given breakpoint against the AST of its compilation unit
+	 *
+	 * @param breakpoint
+	 *            the breakpoint to verify
+	 * @param unit
+	 *            the AST of the compilation unit of the breakpoint
+	 * @throws CoreException
+	 *             if the breakpoint is no longer valid
+	 */
+	private void verify(IBreakpoint breakpoint, CompilationUnit unit) throws CoreException {
+		if (breakpoint instanceof JavaClassPrepareBreakpoint
+				|| breakpoint instanceof JavaWatchpoint
+				|| breakpoint instanceof JavaMethodEntryBreakpoint
+				|| breakpoint instanceof JavaMethodBreakpoint) {
+			unit.accept(new BreakpointVerifier(breakpoint, unit));
+		} else if (breakpoint instanceof JavaLineBreakpoint) {
+			JavaLineBreakpoint bp = (JavaLineBreakpoint) breakpoint;
+			// line breakpoint use the ValidBreakpointLocationLocator to
+			// (re)place it
+			int currentline = bp.getLineNumber();
+			ValidBreakpointLocationLocator locator = new ValidBreakpointLocationLocator(
+					unit, currentline, true, true);
+			unit.accept(locator);
+			int newline = locator.getLineLocation();
+			if (locator.getLocationType() == ValidBreakpointLocationLocator.LOCATION_LINE) {
+				if (currentline != newline) {
+					if (locator.getFullyQualifiedTypeName() == null) {
+						throw new CoreException(Status.CANCEL_STATUS);
 					}
-				} else {
-					// the line breakpoint will not be a line breakpoint anymore
-					// get rid of it
-					throw new CoreException(Status.CANCEL_STATUS);
+					bp.getMarker().setAttribute(JavaBreakpoint.TYPE_NAME,
+							locator.getFullyQualifiedTypeName());
+					bp.getMarker().setAttribute(IMarker.LINE_NUMBER,
+							newline);
+					int length = bp.getCharEnd() - bp.getCharStart();
+					int pos = unit.getPosition(newline, 1);
+					bp.getMarker().setAttribute(IMarker.CHAR_START, pos);
+					bp.getMarker().setAttribute(IMarker.CHAR_END,
+							pos + length);
 				}
+			} else {
+				// the line breakpoint will not be a line breakpoint anymore
+				// get rid of it
+				throw new CoreException(Status.CANCEL_STATUS);
 			}
 		}
 	}
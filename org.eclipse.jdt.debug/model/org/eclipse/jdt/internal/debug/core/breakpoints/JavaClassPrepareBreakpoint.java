@@ -216,11 +216,12 @@ public class JavaClassPrepareBreakpoint extends JavaBreakpoint implements
 			}
 			if (isEnabled() && pattern.matcher(event.referenceType().name()).find()){
 				ThreadReference threadRef = event.thread();
-				JDIThread thread = target.findThread(threadRef);
+				JDIThread thread = target.findOrCreateThread(threadRef);
 				if (thread == null || thread.isIgnoringBreakpoints()) {
 					return true;
 				}
 				fInstalledTypeName = event.referenceType().name();
+				target.getStatistics().breakpointHit();
 				return handleBreakpointEvent(event, thread, suspendVote);
 			}
 		} catch (CoreException e) {
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IResource;
@@ -44,7 +45,6 @@ import org.eclipse.jdt.internal.debug.core.model.MethodResult.ResultType;
 import org.eclipse.osgi.util.NLS;
 
 import com.sun.jdi.ClassType;
-import com.sun.jdi.Location;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.ThreadReference;
@@ -133,9 +133,92 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 	 */
 	protected String[] fExclusionClassFilters = null;
 
+	/**
+	 * The inclusion and exclusion filters compiled for matching throw
+	 * locations, or <code>null</code> if not yet compiled.
+	 */
+	private volatile CompiledFilters fCompiledFilters;
+
 	private ObjectReference fLastException;
 	private JDIDebugTarget fLastTarget;
 
+	/**
+	 * Inclusion and exclusion filters compiled into one pattern each, with a
+	 * cache of the throw location types they rejected. Throw locations are
+	 * matched by their declaring type only, so a type once rejected is
+	 * rejected again without matching its name.
+	 */
+	static final class CompiledFilters {
+		private final Pattern fInclusion;
+		private final Pattern fExclusion;
+		private final Set<ReferenceType> fRejected = ConcurrentHashMap.newKeySet();
+
+		CompiledFilters(String[] inclusionFilters, String[] exclusionFilters) {
+			fInclusion = compile(inclusionFilters);
+			fExclusion = compile(exclusionFilters);
+		}
+
+		/**
+		 * Returns a pattern finding any of the given filters in a type name,
+		 * or <code>null</code> if there are no filters.
+		 */
+		private static Pattern compile(String[] filters) {
+			if (filters.length == 0) {
+				return null;
+			}
+			StringBuilder regex = new StringBuilder();
+			for (int i = 0; i < filters.length; i++) {
+				if (i > 0) {
+					regex.append('|');
+				}
+				// an empty filter, the default package, matches any type
+				regex.append("(?:"); //$NON-NLS-1$
+				String filter = filters[i];
+				for (int j = 0; j < filter.length(); j++) {
+					char c = filter.charAt(j);
+					if (c == '*') {
+						regex.append(".*"); //$NON-NLS-1$
+					} else if (c == '.' || c == '$') {
+						regex.append('\\').append(c);
+					} else {
+						regex.append(c);
+					}
+				}
+				regex.append(')');
+			}
+			return Pattern.compile(regex.toString());
+		}
+
+		boolean isEmpty() {
+			return fInclusion == null && fExclusion == null;
+		}
+
+		/**
+		 * Returns whether an exception thrown in the given type passes the
+		 * filters.
+		 */
+		boolean accepts(ReferenceType type) {
+			if (fRejected.contains(type)) {
+				return false;
+			}
+			String typeName = type.name();
+			boolean included = fInclusion == null || fInclusion.matcher(typeName).find();
+			if (included && (fExclusion == null || !fExclusion.matcher(typeName).find())) {
+				return true;
+			}
+			fRejected.add(type);
+			return false;
+		}
+
+		/**
+		 * Forgets the rejected types, which belong to a VM the breakpoint is
+		 * no longer installed in.
+		 */
+		void clearRejected() {
+			fRejected.clear();
+		}
+	}
+
 	public JavaExceptionBreakpoint() {
 	}
 
@@ -411,27 +494,12 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 						//This Java Exception breakpoint is the  breakpoint created for catching compilation and Uncaught exception in JavaDebugOptionsManagaer initialization
 						// This does not have scope defined
 						if (jExceptionBreakpoint.getTypeName().equals(name)) {
-							if (jExceptionBreakpoint.getExclusionClassFilters().length >= 1
-						|| jExceptionBreakpoint.getInclusionClassFilters().length >= 1
-						|| filtersIncludeDefaultPackage(jExceptionBreakpoint.fInclusionClassFilters)
-						|| filtersIncludeDefaultPackage(jExceptionBreakpoint.fExclusionClassFilters)) {
-							Location location = ((ExceptionEvent) event).location();
-							String typeName = location.declaringType().name();
-							boolean defaultPackage = typeName.indexOf('.') == -1;
-							boolean included = true;
-							String[] filters = jExceptionBreakpoint.getInclusionClassFilters();
-							if (filters.length > 0) {
-								included = matchesFilters(filters, typeName, defaultPackage);
-							}
-							boolean excluded = false;
-							filters = jExceptionBreakpoint.getExclusionClassFilters();
-							if (filters.length > 0) {
-								excluded = matchesFilters(filters, typeName, defaultPackage);
-							}
-							if (included && !excluded) {
-								return !suspend(thread, suspendVote);
-							}
-							return true;
+							CompiledFilters filters = jExceptionBreakpoint.getCompiledFilters();
+							if (filters != null) {
+								if (filters.accepts(((ExceptionEvent) event).location().declaringType())) {
+									return !suspend(thread, suspendVote);
+								}
+								return true;
 							}
 						}
 					}
@@ -478,54 +546,11 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 	protected void setInstalledIn(IJavaDebugTarget target, boolean installed) {
 		fLastException = null;
 		fLastTarget = null;
-		super.setInstalledIn(target, installed);
-	}
-
-	/**
-	 * Determines of the filters for this exception include the default package
-	 * or not
-	 *
-	 * @param filters
-	 *            the list of filters to inspect
-	 * @return true if any one of the specified filters include the default
-	 *         package
-	 */
-	protected boolean filtersIncludeDefaultPackage(String[] filters) {
-		for (String filter : filters) {
-			if (filter.length() == 0 || (filter.indexOf('.') == -1)) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	/**
-	 * Returns whether the given type is in the given filter set.
-	 *
-	 * @param filters
-	 *            the filter set
-	 * @param typeName
-	 *            fully qualified type name
-	 * @param defaultPackage
-	 *            whether the type name is in the default package
-	 * @return boolean
-	 */
-	protected boolean matchesFilters(String[] filters, String typeName,
-			boolean defaultPackage) {
-		for (String filter2 : filters) {
-			String filter = filter2;
-			if (defaultPackage && filter.length() == 0) {
-				return true;
-			}
-
-			filter = filter.replaceAll("\\.", "\\\\."); //$NON-NLS-1$//$NON-NLS-2$
-			filter = filter.replaceAll("\\*", "\\.\\*"); //$NON-NLS-1$//$NON-NLS-2$
-			Pattern pattern = Pattern.compile(filter);
-			if (pattern.matcher(typeName).find()) {
-				return true;
-			}
+		CompiledFilters filters = fCompiledFilters;
+		if (filters != null && !installed) {
+			filters.clearRejected();
 		}
-		return false;
+		super.setInstalledIn(target, installed);
 	}
 
 	/**
@@ -596,13 +621,16 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 
 		ExceptionRequest request = (ExceptionRequest) eRequest;
 
-		if (iFilters.length == 1) {
-			if (eFilters.length == 0) {
-				request.addClassFilter(iFilters[0]);
-			}
-		} else if (eFilters.length == 1) {
-			if (iFilters.length == 0) {
-				request.addClassExclusionFilter(eFilters[0]);
+		// The VM requires an event to pass all class filters of a request, so
+		// a single inclusion filter can be sent, while every exclusion filter
+		// can. Events that pass are still matched against all filters in
+		// handleBreakpointEvent.
+		if (iFilters.length == 1 && isVMClassPattern(iFilters[0])) {
+			request.addClassFilter(iFilters[0]);
+		}
+		for (String filter : eFilters) {
+			if (isVMClassPattern(filter)) {
+				request.addClassExclusionFilter(filter);
 			}
 		}
 
@@ -678,6 +706,7 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 
 	protected void setInclusionClassFilters(String[] filters) {
 		fInclusionClassFilters = filters;
+		fCompiledFilters = null;
 	}
 
 	protected String[] getExclusionClassFilters() {
@@ -694,6 +723,38 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 
 	protected void setExclusionClassFilters(String[] filters) {
 		fExclusionClassFilters = filters;
+		fCompiledFilters = null;
+	}
+
+	/**
+	 * Returns the compiled inclusion and exclusion filters of this breakpoint,
+	 * or <code>null</code> if it has no filters.
+	 */
+	CompiledFilters getCompiledFilters() {
+		CompiledFilters filters = fCompiledFilters;
+		if (filters == null) {
+			filters = new CompiledFilters(getInclusionClassFilters(), getExclusionClassFilters());
+			fCompiledFilters = filters;
+		}
+		return filters.isEmpty() ? null : filters;
+	}
+
+	/**
+	 * Returns whether the given filter can be sent to the VM as a class
+	 * pattern, that is, whether it is an exact name or a name starting or
+	 * ending with a single <code>*</code>. The default package filter
+	 * (<code>""</code>) cannot.
+	 */
+	static boolean isVMClassPattern(String filter) {
+		if (filter.isEmpty()) {
+			return false;
+		}
+		int star = filter.indexOf('*');
+		if (star == -1) {
+			return true;
+		}
+		return filter.length() > 1 && filter.indexOf('*', star + 1) == -1
+				&& (star == 0 || star == filter.length() - 1);
 	}
 
 	/**
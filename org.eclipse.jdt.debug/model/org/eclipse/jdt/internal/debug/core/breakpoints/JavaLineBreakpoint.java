@@ -649,6 +649,14 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 		return fCompiledExpressions.get(thread);
 	}
 
+	/**
+	 * Discards the compiled expressions of all threads, e.g. as the expression
+	 * they were compiled from changed.
+	 */
+	protected void clearCompiledExpressions() {
+		fCompiledExpressions.clear();
+	}
+
 	/**
 	 * Sets the compiled expression for a thread.
 	 *
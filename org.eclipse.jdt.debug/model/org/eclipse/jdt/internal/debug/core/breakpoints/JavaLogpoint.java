@@ -0,0 +1,365 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaLogpoint;
+import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
+import org.eclipse.jdt.debug.core.IJavaValue;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
+import org.eclipse.jdt.debug.eval.ICompiledExpression;
+import org.eclipse.jdt.debug.eval.IEvaluationResult;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIThread;
+
+import com.sun.jdi.VMDisconnectedException;
+
+/**
+ * A line breakpoint that logs a message when hit, see {@link IJavaLogpoint}.
+ * <p>
+ * The message is formatted while the thread is stopped by the breakpoint
+ * event. By default the suspend policy of a logpoint is
+ * {@link IJavaBreakpoint#RESUME_ON_HIT}, so the thread resumes once the message
+ * is formatted and clients are not notified of a suspend. Templates without
+ * expressions are logged as is. Templates whose expressions only name local
+ * variables holding primitives, strings or <code>null</code> are formatted
+ * from the values of the variables, without evaluation. Other templates are
+ * turned into a string concatenation, which is compiled once per thread like
+ * a breakpoint condition and evaluated.
+ * </p>
+ * <p>
+ * Messages are not formatted inside the debuggee. JDWP cannot run code at a
+ * location without stopping the thread, so this would require the javaagent
+ * to insert the formatting code into the loaded class. Retransforming a class
+ * deletes all breakpoints in it and would be needed again for each change of
+ * a template, and VMs that are attached to or launched without the javaagent
+ * could not use logpoints at all.
+ * </p>
+ */
+public class JavaLogpoint extends JavaLineBreakpoint implements IJavaLogpoint {
+
+	public static final String JAVA_LOGPOINT = "org.eclipse.jdt.debug.javaLogpointMarker"; //$NON-NLS-1$
+
+	/**
+	 * Breakpoint attribute storing a logpoint's message template (value
+	 * <code>"org.eclipse.jdt.debug.core.logMessage"</code>). This attribute is
+	 * stored as a <code>String</code>.
+	 */
+	protected static final String LOG_MESSAGE = "org.eclipse.jdt.debug.core.logMessage"; //$NON-NLS-1$
+
+	public JavaLogpoint() {
+	}
+
+	/**
+	 * @see JDIDebugModel#createLogpoint(IResource, String, int, int, int,
+	 *      String, boolean, Map)
+	 */
+	public JavaLogpoint(IResource resource, String typeName, int lineNumber,
+			int charStart, int charEnd, String message, boolean add,
+			Map<String, Object> attributes) throws DebugException {
+		super(resource, typeName, lineNumber, charStart, charEnd, 0, add,
+				addLogMessage(attributes, message), JAVA_LOGPOINT);
+	}
+
+	private static Map<String, Object> addLogMessage(Map<String, Object> attributes, String message) {
+		attributes.put(LOG_MESSAGE, message);
+		return attributes;
+	}
+
+	@Override
+	protected int getDefaultSuspendPolicy() {
+		return IJavaBreakpoint.RESUME_ON_HIT;
+	}
+
+	/**
+	 * @see IJavaLineBreakpoint#supportsCondition()
+	 */
+	@Override
+	public boolean supportsCondition() {
+		return false;
+	}
+
+	@Override
+	public String getLogMessage() throws CoreException {
+		return ensureMarker().getAttribute(LOG_MESSAGE, ""); //$NON-NLS-1$
+	}
+
+	@Override
+	public void setLogMessage(String message) throws CoreException {
+		clearCompiledExpressions();
+		setAttributes(new String[] { LOG_MESSAGE }, new Object[] { message });
+	}
+
+	/**
+	 * Evaluates the message of this logpoint in the top stack frame of the
+	 * given thread, which is stopped by this logpoint, and queues it for
+	 * output. Failures are logged in place of the message.
+	 *
+	 * @param thread
+	 *            the thread this logpoint was hit in
+	 */
+	public void logMessage(JDIThread thread) {
+		String message;
+		try {
+			message = evaluateMessage(thread);
+		} catch (CoreException e) {
+			message = failed(e.getStatus().getMessage());
+		}
+		if (message != null) {
+			LogpointOutput.getDefault().log((IJavaDebugTarget) thread.getDebugTarget(), message);
+		}
+	}
+
+	/**
+	 * Returns the message of this logpoint, or <code>null</code> if the
+	 * target went away during the evaluation.
+	 */
+	private String evaluateMessage(JDIThread thread) throws CoreException {
+		List<String> parts = parse(getLogMessage());
+		if (parts.size() == 1) {
+			return parts.get(0);
+		}
+		IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+		if (frame == null) {
+			return null;
+		}
+		String message = formatFromVariables(parts, frame);
+		if (message != null) {
+			return message;
+		}
+		IJavaProject project = getJavaProject(frame);
+		if (project == null) {
+			IMarker marker = getMarker();
+			IProject curProject = marker == null ? null : marker.getResource().getProject();
+			if (curProject == null) {
+				return failed(JDIDebugBreakpointMessages.JavaLogpoint_1);
+			}
+			project = JavaCore.create(curProject);
+		}
+		IAstEvaluationEngine engine = ((JDIDebugTarget) thread.getDebugTarget()).getEvaluationEngine(project);
+		if (engine == null) {
+			return failed(JDIDebugBreakpointMessages.JavaLogpoint_1);
+		}
+		ICompiledExpression expression = getExpression(thread);
+		if (expression == null) {
+			expression = engine.getCompiledExpression(toExpression(parts), frame);
+			setExpression(thread, expression);
+		}
+		if (expression.hasErrors()) {
+			return failed(String.join(", ", expression.getErrorMessages())); //$NON-NLS-1$
+		}
+		IEvaluationResult[] result = new IEvaluationResult[1];
+		Object lock = new Object();
+		synchronized (lock) {
+			engine.evaluateExpression(expression, frame, evaluationResult -> {
+				synchronized (lock) {
+					result[0] = evaluationResult;
+					lock.notifyAll();
+				}
+			}, DebugEvent.EVALUATION_IMPLICIT, false);
+			try {
+				while (result[0] == null) {
+					lock.wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+		if (result[0].isTerminated()) {
+			return null;
+		}
+		if (result[0].hasErrors()) {
+			DebugException exception = result[0].getException();
+			if (exception == null) {
+				return failed(String.join(", ", result[0].getErrorMessages())); //$NON-NLS-1$
+			}
+			if (exception.getStatus().getException() instanceof VMDisconnectedException) {
+				return null;
+			}
+			return failed(exception.getStatus().getMessage());
+		}
+		IJavaValue value = result[0].getValue();
+		return value == null ? null : value.getValueString();
+	}
+
+	/**
+	 * Returns the message of the given template parts formatted from the
+	 * values of local variables, or <code>null</code> if an expression does
+	 * not name a visible local variable or its value would be formatted by
+	 * invoking <code>toString()</code>.
+	 */
+	private static String formatFromVariables(List<String> parts, IJavaStackFrame frame) throws DebugException {
+		IJavaVariable[] locals = null;
+		StringBuilder message = new StringBuilder(parts.get(0));
+		for (int i = 1; i < parts.size(); i += 2) {
+			String name = parts.get(i);
+			if (!isIdentifier(name)) {
+				return null;
+			}
+			if (locals == null) {
+				locals = frame.getLocalVariables();
+			}
+			IJavaValue value = null;
+			for (IJavaVariable local : locals) {
+				if (local.getName().equals(name)) {
+					value = (IJavaValue) local.getValue();
+					break;
+				}
+			}
+			if (value == null || !(value instanceof IJavaPrimitiveValue || value.isNull()
+					|| "Ljava/lang/String;".equals(value.getSignature()))) { //$NON-NLS-1$
+				return null;
+			}
+			message.append(value.getValueString()).append(parts.get(i + 1));
+		}
+		return message.toString();
+	}
+
+	private static boolean isIdentifier(String name) {
+		if (!Character.isJavaIdentifierStart(name.charAt(0))) {
+			return false;
+		}
+		for (int i = 1; i < name.length(); i++) {
+			if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String failed(String detail) {
+		String template;
+		try {
+			template = getLogMessage();
+		} catch (CoreException e) {
+			template = ""; //$NON-NLS-1$
+		}
+		return MessageFormat.format(JDIDebugBreakpointMessages.JavaLogpoint_0, template, detail);
+	}
+
+	/**
+	 * Splits the given message template into literal text, at even indexes,
+	 * and expressions, at odd indexes. Doubled braces stand for literal
+	 * braces, braces nested in an expression are kept in the expression, and a
+	 * brace that is not closed is kept as literal text.
+	 *
+	 * @param template
+	 *            the message template
+	 * @return the parts of the template, starting and ending with literal text
+	 */
+	static List<String> parse(String template) {
+		List<String> parts = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		int length = template.length();
+		int i = 0;
+		while (i < length) {
+			char c = template.charAt(i);
+			if ((c == '{' || c == '}') && i + 1 < length && template.charAt(i + 1) == c) {
+				literal.append(c);
+				i += 2;
+				continue;
+			}
+			if (c == '{') {
+				int depth = 1;
+				int end = i + 1;
+				while (end < length && depth > 0) {
+					char e = template.charAt(end);
+					if (e == '{') {
+						depth++;
+					} else if (e == '}') {
+						depth--;
+					}
+					end++;
+				}
+				String expression = template.substring(i + 1, end - 1).trim();
+				if (depth == 0 && !expression.isEmpty()) {
+					parts.add(literal.toString());
+					literal.setLength(0);
+					parts.add(expression);
+					i = end;
+					continue;
+				}
+			}
+			literal.append(c);
+			i++;
+		}
+		parts.add(literal.toString());
+		return parts;
+	}
+
+	/**
+	 * Returns a string concatenation of the given parts, see
+	 * {@link #parse(String)}.
+	 */
+	static String toExpression(List<String> parts) {
+		StringBuilder expression = new StringBuilder();
+		for (int i = 0; i < parts.size(); i++) {
+			if (i > 0) {
+				expression.append(" + "); //$NON-NLS-1$
+			}
+			if (i % 2 == 0) {
+				appendLiteral(expression, parts.get(i));
+			} else {
+				expression.append('(').append(parts.get(i)).append(')');
+			}
+		}
+		return expression.toString();
+	}
+
+	private static void appendLiteral(StringBuilder expression, String text) {
+		expression.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"':
+					expression.append("\\\""); //$NON-NLS-1$
+					break;
+				case '\\':
+					expression.append("\\\\"); //$NON-NLS-1$
+					break;
+				case '\n':
+					expression.append("\\n"); //$NON-NLS-1$
+					break;
+				case '\r':
+					expression.append("\\r"); //$NON-NLS-1$
+					break;
+				case '\t':
+					expression.append("\\t"); //$NON-NLS-1$
+					break;
+				default:
+					expression.append(c);
+			}
+		}
+		expression.append('"');
+	}
+}
@@ -29,12 +29,12 @@ import org.eclipse.jdt.debug.core.IJavaMethodBreakpoint;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIMethod;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 import org.eclipse.jdt.internal.debug.core.model.LambdaUtils;
 import org.eclipse.jdt.internal.debug.core.model.MethodResult;
 import org.eclipse.jdt.internal.debug.core.model.MethodResult.ResultType;
 
-import com.sun.jdi.ClassType;
 import com.sun.jdi.Location;
 import com.sun.jdi.Method;
 import com.sun.jdi.ObjectReference;
@@ -133,6 +133,12 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 	 */
 	protected static final Integer EXIT_EVENT = Integer.valueOf(1);
 
+	/**
+	 * Property set on the breakpoint requests installed at the return
+	 * instructions of the method, which report method exits.
+	 */
+	private static final String EXIT_REQUEST = "org.eclipse.jdt.debug.core.exitRequest"; //$NON-NLS-1$
+
 	/**
 	 * Maps each debug target that is suspended for this breakpoint to reason
 	 * that this breakpoint suspended it. Reasons include:
@@ -314,20 +320,14 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 		if (manager != null) {
 			try {
 				if (entry) {
-					if (classFilter instanceof ClassType && getMethodName() != null
-							&& getMethodSignature() != null) {
+					if (classFilter instanceof ReferenceType) {
 						// use a line breakpoint if possible for better performance
-						ClassType clazz = (ClassType) classFilter;
-						if (clazz.name().equals(getTypeName())) {
-							// only use line breakpoint when there is an exact match
-							Method method = clazz.concreteMethodByName(
-									getMethodName(), getMethodSignature());
-							if (method != null && !method.isNative()) {
-								Location location = method.location();
-								if (location != null && location.codeIndex() != -1) {
-									request = manager
-											.createBreakpointRequest(location);
-								}
+						Method method = resolveMethod((ReferenceType) classFilter);
+						if (method != null) {
+							Location location = method.location();
+							if (location != null && location.codeIndex() != -1) {
+								request = manager
+										.createBreakpointRequest(location);
 							}
 						}
 					}
@@ -368,6 +368,105 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 		return null;
 	}
 
+	/**
+	 * Returns the method of the given type this breakpoint is set on, when
+	 * it can be breakpointed directly, or <code>null</code> if method entry
+	 * and exit requests must be used instead. Only an exact match of type
+	 * name, method name and signature of a method with byte codes is
+	 * returned.
+	 */
+	private Method resolveMethod(ReferenceType type) throws CoreException {
+		String name = getMethodName();
+		String signature = getMethodSignature();
+		if (name == null || signature == null || isNativeOnly()
+				|| !type.name().equals(getTypeName())) {
+			return null;
+		}
+		for (Method method : type.methodsByName(name)) {
+			if (method.isNative() || method.isAbstract()) {
+				continue;
+			}
+			String sig = method.signature();
+			if (sig.indexOf('$') > -1) {
+				sig = sig.replace('$', '.');
+			}
+			if (sig.equals(signature)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns breakpoint requests at each return instruction of this
+	 * breakpoint's method in the given type, to report method exits without
+	 * a method exit request, which reports every method exit in the type.
+	 * Returns <code>null</code> if a method exit request must be used: the
+	 * method cannot be resolved or its byte codes are not available, a hit
+	 * count is set (which counts exits of the method rather than hits of one
+	 * return instruction), or the value returned by the method is shown when
+	 * suspended, which is only reported by method exit events.
+	 *
+	 * @param target
+	 *            the target in which to create the requests
+	 * @param type
+	 *            the type on which to create the requests
+	 * @return breakpoint requests or <code>null</code>
+	 * @exception CoreException
+	 *                if an exception occurs accessing this breakpoint's
+	 *                underlying marker
+	 */
+	private EventRequest[] createReturnRequests(JDIDebugTarget target,
+			ReferenceType type) throws CoreException {
+		if (getHitCount() > 0 || isLambdaBreakpoint()
+				|| JDIThread.showStepResultIsEnabled(target)) {
+			return null;
+		}
+		EventRequestManager manager = target.getEventRequestManager();
+		if (manager == null) {
+			return null;
+		}
+		try {
+			Method method = resolveMethod(type);
+			if (method == null) {
+				return null;
+			}
+			long[] returns = JDIMethod.getReturnCodeIndexes(method);
+			if (returns == null || returns.length == 0) {
+				return null;
+			}
+			EventRequest[] requests = new EventRequest[returns.length];
+			for (int i = 0; i < returns.length; i++) {
+				Location location = method.locationOfCodeIndex(returns[i]);
+				if (location == null) {
+					return null;
+				}
+				requests[i] = manager.createBreakpointRequest(location);
+				requests[i].putProperty(EXIT_REQUEST, Boolean.TRUE);
+			}
+			for (EventRequest request : requests) {
+				configureRequest(request, target);
+			}
+			return requests;
+		} catch (VMDisconnectedException e) {
+			if (!target.isAvailable()) {
+				return null;
+			}
+			JDIDebugPlugin.log(e);
+		} catch (RuntimeException e) {
+			target.internalError(e);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether the given request reports method exits at a return
+	 * instruction.
+	 */
+	private static boolean isExitRequest(EventRequest request) {
+		return request.getProperty(EXIT_REQUEST) != null;
+	}
+
 	/**
 	 * @see JavaBreakpoint#setRequestThreadFilter(EventRequest, ThreadReference)
 	 */
@@ -408,7 +507,9 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 	protected void updateEnabledState(EventRequest request,
 			JDIDebugTarget target) throws CoreException {
 		boolean enabled = isEnabled();
-		if (request instanceof MethodEntryRequest
+		if (request instanceof BreakpointRequest && isExitRequest(request)) {
+			enabled = enabled && isExit();
+		} else if (request instanceof MethodEntryRequest
 				|| request instanceof BreakpointRequest) {
 			enabled = enabled && isEntry();
 		} else if (request instanceof MethodExitRequest) {
@@ -472,7 +573,7 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 			}
 			return result;
 		} else if (event instanceof BreakpointEvent) {
-			fLastEventTypes.put(thread.getDebugTarget(), ENTRY_EVENT);
+			fLastEventTypes.put(thread.getDebugTarget(), isExitRequest(event.request()) ? EXIT_EVENT : ENTRY_EVENT);
 			return super.handleBreakpointEvent(event, thread, suspendVote);
 		}
 		return true;
@@ -786,10 +887,15 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 			return false;
 		}
 		EventRequest entryRequest = createMethodEntryRequest(target, type);
-		EventRequest exitRequest = createMethodExitRequest(target, type);
-
 		registerRequest(entryRequest, target);
-		registerRequest(exitRequest, target);
+		EventRequest[] returnRequests = isExit() ? createReturnRequests(target, type) : null;
+		if (returnRequests != null) {
+			for (EventRequest returnRequest : returnRequests) {
+				registerRequest(returnRequest, target);
+			}
+		} else {
+			registerRequest(createMethodExitRequest(target, type), target);
+		}
 		return true;
 	}
 
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaSnapshotBreakpoint;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDISnapshot;
+import org.eclipse.jdt.internal.debug.core.model.JDIThread;
+
+import com.sun.jdi.VMDisconnectedException;
+
+/**
+ * A line breakpoint that takes a snapshot of the thread it is hit in, see
+ * {@link IJavaSnapshotBreakpoint}.
+ * <p>
+ * The snapshot is taken while the thread is stopped by the breakpoint event
+ * and is added to the debug target. By default the suspend policy of a
+ * snapshot breakpoint is {@link IJavaBreakpoint#RESUME_ON_HIT}, so the thread
+ * resumes once the snapshot is taken and clients are not notified of a
+ * suspend.
+ * </p>
+ */
+public class JavaSnapshotBreakpoint extends JavaLineBreakpoint implements IJavaSnapshotBreakpoint {
+
+	public static final String JAVA_SNAPSHOT_BREAKPOINT = "org.eclipse.jdt.debug.javaSnapshotBreakpointMarker"; //$NON-NLS-1$
+
+	/**
+	 * Breakpoint attribute storing the number of frames a snapshot breakpoint
+	 * captures (value <code>"org.eclipse.jdt.debug.core.snapshotFrames"</code>).
+	 * This attribute is stored as an <code>int</code>.
+	 */
+	protected static final String FRAME_COUNT = "org.eclipse.jdt.debug.core.snapshotFrames"; //$NON-NLS-1$
+
+	/**
+	 * Breakpoint attribute storing the number of levels of fields a snapshot
+	 * breakpoint captures (value
+	 * <code>"org.eclipse.jdt.debug.core.snapshotFieldDepth"</code>). This
+	 * attribute is stored as an <code>int</code>.
+	 */
+	protected static final String FIELD_DEPTH = "org.eclipse.jdt.debug.core.snapshotFieldDepth"; //$NON-NLS-1$
+
+	/**
+	 * Default number of frames captured
+	 */
+	private static final int DEFAULT_FRAME_COUNT = 5;
+
+	/**
+	 * Default number of levels of fields captured
+	 */
+	private static final int DEFAULT_FIELD_DEPTH = 1;
+
+	public JavaSnapshotBreakpoint() {
+	}
+
+	/**
+	 * @see JDIDebugModel#createSnapshotBreakpoint(IResource, String, int, int,
+	 *      int, int, int, boolean, Map)
+	 */
+	public JavaSnapshotBreakpoint(IResource resource, String typeName, int lineNumber,
+			int charStart, int charEnd, int frameCount, int fieldDepth, boolean add,
+			Map<String, Object> attributes) throws DebugException {
+		super(resource, typeName, lineNumber, charStart, charEnd, 0, add,
+				addSnapshotAttributes(attributes, frameCount, fieldDepth), JAVA_SNAPSHOT_BREAKPOINT);
+	}
+
+	private static Map<String, Object> addSnapshotAttributes(Map<String, Object> attributes, int frameCount, int fieldDepth) {
+		attributes.put(FRAME_COUNT, Integer.valueOf(Math.max(frameCount, 1)));
+		attributes.put(FIELD_DEPTH, Integer.valueOf(Math.max(fieldDepth, 0)));
+		return attributes;
+	}
+
+	@Override
+	protected int getDefaultSuspendPolicy() {
+		return IJavaBreakpoint.RESUME_ON_HIT;
+	}
+
+	/**
+	 * @see IJavaLineBreakpoint#supportsCondition()
+	 */
+	@Override
+	public boolean supportsCondition() {
+		return false;
+	}
+
+	@Override
+	public int getFrameCount() throws CoreException {
+		return ensureMarker().getAttribute(FRAME_COUNT, DEFAULT_FRAME_COUNT);
+	}
+
+	@Override
+	public void setFrameCount(int count) throws CoreException {
+		setAttributes(new String[] { FRAME_COUNT }, new Object[] { Integer.valueOf(Math.max(count, 1)) });
+	}
+
+	@Override
+	public int getFieldDepth() throws CoreException {
+		return ensureMarker().getAttribute(FIELD_DEPTH, DEFAULT_FIELD_DEPTH);
+	}
+
+	@Override
+	public void setFieldDepth(int depth) throws CoreException {
+		setAttributes(new String[] { FIELD_DEPTH }, new Object[] { Integer.valueOf(Math.max(depth, 0)) });
+	}
+
+	/**
+	 * Takes a snapshot of the given thread, which is stopped by this
+	 * breakpoint, and adds it to the thread's debug target. Failures are
+	 * logged.
+	 *
+	 * @param thread
+	 *            the thread this breakpoint was hit in
+	 */
+	public void takeSnapshot(JDIThread thread) {
+		try {
+			JDISnapshot snapshot = JDISnapshot.capture(thread, this, getFrameCount(), getFieldDepth());
+			((JDIDebugTarget) thread.getDebugTarget()).addSnapshot(snapshot);
+		} catch (CoreException e) {
+			if (!(e.getStatus().getException() instanceof VMDisconnectedException)) {
+				JDIDebugPlugin.log(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+
+/**
+ * Buffers the messages of logpoints and hands them in batches to the
+ * logpoint writer of the debug plug-in, see
+ * {@link JDIDebugPlugin#setLogpointWriter(BiConsumer)}.
+ * <p>
+ * Messages are written at most every {@link #DELAY} milliseconds, so that
+ * logpoints on hot paths do not write to the console for each hit. When more
+ * than {@link #MAX_PENDING} messages are waiting, further messages are
+ * dropped and replaced by a note of how many were dropped.
+ * </p>
+ */
+public final class LogpointOutput extends Job {
+
+	/**
+	 * Time in milliseconds over which messages are batched
+	 */
+	private static final int DELAY = 100;
+
+	/**
+	 * Maximum number of messages waiting to be written
+	 */
+	private static final int MAX_PENDING = 10000;
+
+	private static LogpointOutput fgDefault = null;
+
+	/**
+	 * Messages waiting to be written for a target
+	 */
+	private static final class Batch {
+		final List<String> fMessages = new ArrayList<>();
+		int fDropped;
+	}
+
+	/**
+	 * Batches by target, guarded by <code>this</code>.
+	 */
+	private Map<IJavaDebugTarget, Batch> fBatches = new LinkedHashMap<>();
+
+	/**
+	 * Number of messages in all batches, guarded by <code>this</code>.
+	 */
+	private int fPending;
+
+	private LogpointOutput() {
+		super(JDIDebugBreakpointMessages.LogpointOutput_0);
+		setSystem(true);
+	}
+
+	/**
+	 * Returns the shared output.
+	 *
+	 * @return the shared output
+	 */
+	public static synchronized LogpointOutput getDefault() {
+		if (fgDefault == null) {
+			fgDefault = new LogpointOutput();
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Discards the messages not written yet, if the shared output was
+	 * created.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			fgDefault.cancel();
+			synchronized (fgDefault) {
+				fgDefault.fBatches.clear();
+				fgDefault.fPending = 0;
+			}
+			fgDefault = null;
+		}
+	}
+
+	/**
+	 * Queues a message logged in the given target.
+	 *
+	 * @param target
+	 *            the target the logpoint was hit in
+	 * @param message
+	 *            the message
+	 */
+	public void log(IJavaDebugTarget target, String message) {
+		synchronized (this) {
+			Batch batch = fBatches.computeIfAbsent(target, t -> new Batch());
+			if (fPending >= MAX_PENDING) {
+				batch.fDropped++;
+				return;
+			}
+			batch.fMessages.add(message);
+			fPending++;
+			if (fPending > 1) {
+				// already scheduled
+				return;
+			}
+		}
+		schedule(DELAY);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		Map<IJavaDebugTarget, Batch> batches;
+		synchronized (this) {
+			batches = fBatches;
+			fBatches = new LinkedHashMap<>();
+			fPending = 0;
+		}
+		BiConsumer<IJavaDebugTarget, List<String>> writer = null;
+		JDIDebugPlugin plugin = JDIDebugPlugin.getDefault();
+		if (plugin != null) {
+			writer = plugin.getLogpointWriter();
+		}
+		if (writer == null) {
+			return Status.OK_STATUS;
+		}
+		for (Map.Entry<IJavaDebugTarget, Batch> entry : batches.entrySet()) {
+			Batch batch = entry.getValue();
+			if (batch.fDropped > 0) {
+				batch.fMessages.add(MessageFormat.format(JDIDebugBreakpointMessages.LogpointOutput_1, Integer.toString(batch.fDropped)));
+			}
+			if (!batch.fMessages.isEmpty()) {
+				try {
+					writer.accept(entry.getKey(), batch.fMessages);
+				} catch (RuntimeException e) {
+					JDIDebugPlugin.log(e);
+				}
+			}
+		}
+		return Status.OK_STATUS;
+	}
+}
@@ -15,8 +15,12 @@
 package org.eclipse.jdt.internal.debug.core.logicalstructures;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IValue;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.jdt.debug.core.IJavaArrayType;
 import org.eclipse.jdt.debug.core.IJavaObject;
@@ -26,8 +30,12 @@ import org.eclipse.jdt.internal.debug.core.HeapWalkingManager;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIArrayValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIHeapWalker;
 import org.eclipse.jdt.internal.debug.core.model.JDIPlaceholderValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIReferenceType;
+import org.eclipse.jdt.internal.debug.core.model.JDIValue;
+
+import com.sun.jdi.ObjectReference;
 
 
 
@@ -40,6 +48,7 @@ import org.eclipse.jdt.internal.debug.core.model.JDIReferenceType;
 public class JDIAllInstancesValue extends JDIArrayValue {
 
 	private IJavaObject[] fInstances;
+	private List<ObjectReference> fReferences;
 	private final JDIReferenceType fRoot;
 	private IJavaArrayType fType;
 	private boolean fIsMoreThanPreference;
@@ -68,22 +77,37 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	/**
 	 * @return an array of java objects that are instances of the root type
 	 */
-	protected IJavaObject[] getInstances() {
+	protected synchronized IJavaObject[] getInstances() {
+		loadInstances();
+		for (int i = 0; i < fInstances.length; i++) {
+			getInstance(i);
+		}
+		return fInstances;
+	}
+
+	/**
+	 * Retrieves the instances of the root type. Values are created for the
+	 * instances as they are requested, so that presenting a range of
+	 * instances only creates the values of that range.
+	 */
+	private synchronized void loadInstances() {
 		if (fInstances != null) {
-			return fInstances;
+			return;
 		}
-		IJavaObject[] instances = new IJavaObject[0];
+		fReferences = Collections.emptyList();
 		fIsMoreThanPreference = false;
+		IJavaObject placeholder = null;
 		if (fRoot != null) {
 			int max = HeapWalkingManager.getDefault()
 					.getAllInstancesMaxCount();
 			try {
 				if (max == 0) {
-					instances = fRoot.getInstances(max);
+					fReferences = fRoot.getInstanceReferences(max);
 				} else {
-					instances = fRoot.getInstances(max + 1);
-					if (instances.length > max) {
-						instances[max] = new JDIPlaceholderValue(
+					fReferences = fRoot.getInstanceReferences(max + 1);
+					if (fReferences.size() > max) {
+						fReferences = fReferences.subList(0, max);
+						placeholder = new JDIPlaceholderValue(
 								(JDIDebugTarget) fRoot.getDebugTarget(),
 								MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_2, Integer.toString(max)));
 						fIsMoreThanPreference = true;
@@ -93,8 +117,33 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 				JDIDebugPlugin.log(e);
 			}
 		}
-		fInstances = instances;
-		return instances;
+		fInstances = new IJavaObject[fReferences.size() + (placeholder == null ? 0 : 1)];
+		if (placeholder != null) {
+			fInstances[fInstances.length - 1] = placeholder;
+		}
+	}
+
+	/**
+	 * @return the number of instances, including the placeholder shown when
+	 *         there are more instances than the preference allows
+	 */
+	private synchronized int getInstanceCount() {
+		loadInstances();
+		return fInstances.length;
+	}
+
+	/**
+	 * @return the instance at the given index, creating its value if needed
+	 */
+	private synchronized IJavaObject getInstance(int index) {
+		loadInstances();
+		IJavaObject instance = fInstances[index];
+		if (instance == null) {
+			instance = (IJavaObject) JDIValue.createValue(
+					(JDIDebugTarget) fRoot.getDebugTarget(), fReferences.get(index));
+			fInstances[index] = instance;
+		}
+		return instance;
 	}
 
 	/*
@@ -104,7 +153,7 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public synchronized int getLength() throws DebugException {
-		return getInstances().length;
+		return getInstanceCount();
 	}
 
 	/*
@@ -114,7 +163,7 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public int getSize() throws DebugException {
-		return getInstances().length;
+		return getInstanceCount();
 	}
 
 	/*
@@ -125,10 +174,10 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public IJavaValue getValue(int index) throws DebugException {
-		if (index > getInstances().length - 1 || index < 0) {
+		if (index > getInstanceCount() - 1 || index < 0) {
 			internalError(LogicalStructuresMessages.JDIAllInstancesValue_0);
 		}
-		return getInstances()[index];
+		return getInstance(index);
 	}
 
 	/*
@@ -149,17 +198,17 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public IVariable getVariable(int offset) throws DebugException {
-		if (offset > getInstances().length - 1 || offset < 0) {
+		if (offset > getInstanceCount() - 1 || offset < 0) {
 			internalError(LogicalStructuresMessages.JDIAllInstancesValue_1);
 		}
-		if (isMoreThanPreference() && offset == getInstances().length - 1) {
+		if (isMoreThanPreference() && offset == getInstanceCount() - 1) {
 			return new JDIPlaceholderVariable(
 					LogicalStructuresMessages.JDIAllInstancesValue_4,
-					getInstances()[offset]);
+					getInstance(offset));
 		}
 		return new JDIPlaceholderVariable(MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_5,
 				Integer.toString(offset)),
-				getInstances()[offset]);
+				getInstance(offset));
 	}
 
 	/*
@@ -175,13 +224,14 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 		if (length == 0) {
 			return new IVariable[0];
 		}
-		if (offset > getInstances().length - 1 || offset < 0) {
+		if (offset > getInstanceCount() - 1 || offset < 0) {
 			internalError(LogicalStructuresMessages.JDIAllInstancesValue_1);
 		}
 		IVariable[] vars = new JDIPlaceholderVariable[length];
 		for (int i = 0; i < length; i++) {
 			vars[i] = getVariable(i + offset);
 		}
+		loadReferences(vars);
 		return vars;
 	}
 
@@ -192,7 +242,37 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public IVariable[] getVariables() throws DebugException {
-		return getVariables(0, getInstances().length);
+		return getVariables(0, getInstanceCount());
+	}
+
+	/**
+	 * Retrieves the references to the given instances at once when references
+	 * are shown as variables, rather than one instance at a time as each
+	 * instance is presented.
+	 */
+	private void loadReferences(IVariable[] vars) {
+		HeapWalkingManager manager = HeapWalkingManager.getDefault();
+		if (!manager.isShowReferenceInVarView()) {
+			return;
+		}
+		List<IJavaObject> objects = new ArrayList<>(vars.length);
+		for (IVariable var : vars) {
+			try {
+				IValue value = var.getValue();
+				if (value instanceof IJavaObject && !(value instanceof JDIPlaceholderValue)) {
+					objects.add((IJavaObject) value);
+				}
+			} catch (DebugException e) {
+				// not an instance
+			}
+		}
+		// retrieve as many references as JDIReferenceListValue does
+		int max = manager.getAllReferencesMaxCount();
+		try {
+			JDIHeapWalker.loadReferringObjects(getJavaDebugTarget(), objects.toArray(new IJavaObject[objects.size()]), max == 0 ? 0 : max + 1);
+		} catch (DebugException e) {
+			JDIDebugPlugin.log(e);
+		}
 	}
 
 	/*
@@ -237,7 +317,7 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public boolean hasVariables() throws DebugException {
-		return getInstances().length > 0;
+		return getInstanceCount() > 0;
 	}
 
 	/*
@@ -281,13 +361,13 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	public String getValueString() throws DebugException {
 		if (isMoreThanPreference()) {
 			return MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_7,
-							Integer.toString(getInstances().length - 1));
-		} else if (getInstances().length == 1) {
+							Integer.toString(getInstanceCount() - 1));
+		} else if (getInstanceCount() == 1) {
 			return MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_8,
-					Integer.toString(getInstances().length));
+					Integer.toString(getInstanceCount()));
 		} else {
 			return MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_9,
-					Integer.toString(getInstances().length));
+					Integer.toString(getInstanceCount()));
 		}
 	}
 
@@ -328,8 +408,8 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 *         displayed
 	 */
 	protected boolean isMoreThanPreference() {
-		getInstances(); // The instances must be requested to know if there are
-						// more than the preference
+		loadInstances(); // The instances must be requested to know if there
+							// are more than the preference
 		return fIsMoreThanPreference;
 	}
 
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.debug.core.model;
 
 import java.text.MessageFormat;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.debug.core.DebugEvent;
@@ -88,6 +89,13 @@ public class JDIArrayEntryVariable extends JDIModificationVariable {
 	protected Value retrieveValue() {
 		ArrayReference ar = getArrayReference();
 		if (ar != null) {
+			Map<Integer, Value> captured = ((JDIDebugTarget) getDebugTarget()).getObjectGraphSnapshots().getElements(ar);
+			if (captured != null) {
+				Integer index = Integer.valueOf(getIndex());
+				if (captured.containsKey(index)) {
+					return captured.get(index);
+				}
+			}
 			return ar.getValue(getIndex());
 		}
 		return null;
@@ -111,6 +119,7 @@ public class JDIArrayEntryVariable extends JDIModificationVariable {
 		}
 		try {
 			ar.setValue(getIndex(), value);
+			((JDIDebugTarget) getDebugTarget()).getObjectGraphSnapshots().clear();
 			fireChangeEvent(DebugEvent.CONTENT);
 		} catch (ClassNotLoadedException e) {
 			targetRequestFailed(
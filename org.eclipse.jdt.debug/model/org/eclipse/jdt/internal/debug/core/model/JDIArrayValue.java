@@ -72,6 +72,33 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		return JDIValue.createValue((JDIDebugTarget) getDebugTarget(), v);
 	}
 
+	/**
+	 * @see IJavaArray#getValues(int, int)
+	 */
+	@Override
+	public IJavaValue[] getValues(int offset, int length) throws DebugException {
+		List<Value> list;
+		try {
+			list = getArrayReference().getValues(offset, length);
+		} catch (IndexOutOfBoundsException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIArrayValue_exception_while_retrieving_values_from_array,
+							e.toString()), e);
+			// execution will not reach this line as
+			// an exception will be thrown
+			return null;
+		}
+		JDIDebugTarget target = (JDIDebugTarget) getDebugTarget();
+		IJavaValue[] values = new IJavaValue[list.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = JDIValue.createValue(target, list.get(i));
+		}
+		return values;
+	}
+
 	/**
 	 * @see IJavaArray#getLength()
 	 */
@@ -98,6 +125,7 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		try {
 			getArrayReference().setValue(index,
 					((JDIValue) value).getUnderlyingValue());
+			getJavaDebugTarget().getObjectGraphSnapshots().clear();
 		} catch (IndexOutOfBoundsException e) {
 			throw e;
 		} catch (InvalidTypeException e) {
@@ -225,11 +253,14 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		if ((offset + length - 1) >= getLength()) {
 			requestFailed(JDIDebugModelMessages.JDIArrayValue_8, new IndexOutOfBoundsException(Integer.toString(offset + length - 1)));
 		}
+		prefetchObjectGraph();
 		IVariable[] variables = new IVariable[length];
 		int index = offset;
 		for (int i = 0; i < length; i++) {
-			variables[i] = new JDIArrayEntryVariable(getJavaDebugTarget(),
+			JDIArrayEntryVariable variable = new JDIArrayEntryVariable(getJavaDebugTarget(),
 					getArrayReference(), index, fLogicalParent);
+			variable.setFrameThread(getFrameThread());
+			variables[i] = variable;
 			index++;
 		}
 		return variables;
@@ -270,6 +301,7 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 				list.add(((JDIValue) value).getUnderlyingValue());
 			}
 			getArrayReference().setValues(offset, list, startOffset, length);
+			getJavaDebugTarget().getObjectGraphSnapshots().clear();
 		} catch (IndexOutOfBoundsException e) {
 			throw e;
 		} catch (InvalidTypeException e) {
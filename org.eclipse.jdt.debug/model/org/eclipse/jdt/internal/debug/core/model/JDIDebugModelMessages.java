@@ -62,6 +62,8 @@ public class JDIDebugModelMessages extends NLS {
 	public static String JDIDebugTarget_Unable_to_retrieve_types___VM_disconnected__4;
 	public static String JDIDebugTarget_0;
 	public static String JDIDebugTarget_ThreadNameNotifier;
+	public static String JDIDebugTarget_ThreadLifecycleNotifier;
+	public static String JDIDebugTarget_BreakpointInstaller;
 
 	public static String JDIFieldVariable_exception_modifying_value;
 	public static String JDIFieldVariable_exception_retrieving_field_name;
@@ -104,6 +106,11 @@ public class JDIDebugModelMessages extends NLS {
 	public static String JDIReferenceListValue_11;
 	public static String JDIReferenceListValue_15;
 
+	public static String JDIReferencePathValue_0;
+	public static String JDIReferencePathValue_1;
+	public static String JDIReferencePathValue_2;
+	public static String JDIReferencePathValue_3;
+
 	public static String JDIReferenceType_5;
 
 	public static String JDIStackFrame__unknown_declaring_type__1;
@@ -238,4 +245,14 @@ public class JDIDebugModelMessages extends NLS {
 
 	public static String JDIDebugTarget_1;
 
+	public static String JDISnapshot_0;
+
+	public static String JDISnapshot_1;
+
+	public static String JDISnapshot_2;
+
+	public static String JDISnapshot_3;
+
+	public static String StackSampler_0;
+
 }
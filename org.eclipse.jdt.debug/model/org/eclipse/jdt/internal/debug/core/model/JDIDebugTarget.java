@@ -15,10 +15,17 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core.model;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -27,9 +34,11 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
@@ -48,7 +57,9 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
@@ -66,8 +77,11 @@ import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.debug.core.model.ISuspendResume;
 import org.eclipse.debug.core.model.IThread;
 import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
+import org.eclipse.jdi.internal.TypeMetadataCache;
 import org.eclipse.jdi.internal.VirtualMachineImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+import org.eclipse.jdi.internal.request.ThreadLifecycleRequestImpl;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -121,6 +135,7 @@ import com.sun.jdi.event.VMStartEvent;
 import com.sun.jdi.request.ClassPrepareRequest;
 import com.sun.jdi.request.EventRequest;
 import com.sun.jdi.request.EventRequestManager;
+import com.sun.jdi.request.ThreadDeathRequest;
 
 /**
  * Debug target for JDI debug model.
@@ -130,13 +145,13 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		IDebugEventSetListener {
 
 	/**
-	 * Threads contained in this debug target. When a thread starts it is added
-	 * to the list. When a thread ends it is removed from the list.
+	 * Threads contained in this debug target, indexed by their underlying
+	 * thread reference. When a thread starts it is added to the registry. When
+	 * a thread ends it is removed from the registry.
 	 *
-	 * TODO investigate making this a synchronized collection, to remove all this copying
 	 * @see #getThreadIterator()
 	 */
-	private final List<JDIThread> fThreads;
+	private final JDIThreadRegistry fThreads;
 
 	/**
 	 * List of thread groups in this target.
@@ -151,6 +166,29 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * Underlying virtual machine.
 	 */
 	private VirtualMachine fVirtualMachine;
+	/**
+	 * Statistics of this target
+	 */
+	private final JDIDebugTargetStatistics fStatistics;
+	/**
+	 * Field values and array elements retrieved in bulk
+	 */
+	private final ObjectGraphSnapshots fObjectGraphSnapshots;
+	/**
+	 * Snapshots taken by snapshot breakpoints, oldest first. Guarded by
+	 * itself.
+	 */
+	private final ArrayDeque<JDISnapshot> fSnapshots = new ArrayDeque<>();
+	/**
+	 * Samples the stacks of this target while sampling, or kept the profile
+	 * of the last sampling. Guarded by <code>this</code>.
+	 */
+	private StackSampler fStackSampler;
+	/**
+	 * File the sampled stacks are written to when this target terminates or
+	 * disconnects, or <code>null</code> if they are not written
+	 */
+	private File fStackSamplesFile;
 	/**
 	 * Whether terminate is supported. Not all targets support terminate. For
 	 * example, a VM that was attached to remotely may not allow the user to
@@ -216,6 +254,44 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	private ThreadStartHandler fThreadStartHandler;
 
+	/**
+	 * The thread death event handler
+	 */
+	private ThreadDeathHandler fThreadDeathHandler;
+
+	/**
+	 * Coalesces thread start and death events before they are applied to the
+	 * model
+	 */
+	private ThreadLifecycleJob fThreadLifecycleJob;
+
+	/**
+	 * Installs the breakpoints that exist when this target is created, or
+	 * <code>null</code> if there were none
+	 */
+	private volatile BreakpointInstallJob fBreakpointInstallJob;
+
+	/**
+	 * Breakpoints that are currently being added to this target, used to
+	 * avoid installing a breakpoint twice when it is added by the breakpoint
+	 * manager while the initial breakpoints are installed. Guarded by itself.
+	 */
+	private final Set<IBreakpoint> fBreakpointsBeingAdded = new HashSet<>();
+
+	/**
+	 * Breakpoints removed from the breakpoint manager while they were being
+	 * added to this target, removed again once added. Guarded by
+	 * {@link #fBreakpointsBeingAdded}.
+	 */
+	private final Set<IBreakpoint> fBreakpointsRemovedWhileAdding = new HashSet<>();
+
+	/**
+	 * Whether thread start and death events of virtual threads are filtered
+	 * by the target VM. Model threads of virtual threads are then only created
+	 * when they report an event.
+	 */
+	private boolean fFilterVirtualThreadEvents;
+
 	/**
 	 * Handles changes in thread names, detected via a breakpoint in {@link java.lang.Thread#setName(String)}.
 	 */
@@ -244,6 +320,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	/** Number of extra VM.resume operations needed due SUSPEND_VM breakpoints */
 	private final AtomicInteger extraResumeCount = new AtomicInteger(0);
 
+	/**
+	 * Lock held while the VM is suspended or resumed together with the
+	 * suspended state of this target, see {@link #getVMSuspendLock()}
+	 */
+	private final Object fVMSuspendLock = new Object();
+
 	/**
 	 * Evaluation engine cache by Java project. Engines are disposed when this
 	 * target terminates.
@@ -307,6 +389,18 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * Mask used to flip individual bit masks via XOR
 	 */
 	private static final int XOR_MASK = 0xFFF;
+
+	/**
+	 * Maximum number of snapshots kept by a target
+	 */
+	private static final int MAX_SNAPSHOTS = 50;
+
+	/**
+	 * Rate at which stacks are sampled when the launch configuration specifies
+	 * a file to write them to
+	 */
+	private static final int STACK_SAMPLES_PER_SECOND = 100;
+
 	/**
 	 * Whether this debug target is currently performing a hot code replace
 	 */
@@ -390,6 +484,8 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		fSupportsTerminate = supportTerminate;
 		fSupportsDisconnect = supportDisconnect;
 		fVirtualMachine = jvm;
+		fStatistics = new JDIDebugTargetStatistics(jvm instanceof VirtualMachineImpl ? ((VirtualMachineImpl) jvm).statistics() : null);
+		fObjectGraphSnapshots = new ObjectGraphSnapshots(this);
 		jvm.setDebugTraceMode(VirtualMachine.TRACE_NONE);
 		setProcess(process);
 		setTerminated(false);
@@ -399,7 +495,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		setName(name);
 		fScope = prepareBreakpointsSearchScope();
 		fBreakpoints = Collections.synchronizedList(new ArrayList<>(5));
-		fThreads = Collections.synchronizedList(new ArrayList<>());
+		fThreads = new JDIThreadRegistry();
 		fGroups = Collections.synchronizedList(new ArrayList<>(5));
 		fOutOfSynchTypes = Collections.synchronizedSet(new HashSet<>());
 		setHCROccurred(false);
@@ -482,12 +578,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * @return an iterator over the collection of threads
 	 */
 	private Iterator<JDIThread> getThreadIterator() {
-		List<JDIThread> threadList;
-		synchronized (fThreads) {
-			//TODO investigate making fThreads be a synchronized collection, to remove all this copying
-			threadList = new ArrayList<>(fThreads);
-		}
-		return threadList.iterator();
+		return fThreads.getThreadList().iterator();
 	}
 
 	/**
@@ -510,6 +601,25 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 *            VM start event
 	 */
 	public void handleVMStart(VMStartEvent event) {
+		BreakpointInstallJob job = fBreakpointInstallJob;
+		if (job != null) {
+			// the VM is still suspended, do not let it run past breakpoints
+			// that are not installed yet, and do not block event dispatch
+			// while they are installed
+			job.whenDone(() -> {
+				if (isAvailable()) {
+					vmStarted();
+				}
+			});
+		} else {
+			vmStarted();
+		}
+	}
+
+	/**
+	 * Resumes the VM after it has started, as specified on creation.
+	 */
+	private void vmStarted() {
 		if (isResumeOnStartup()) {
 			try {
 				setSuspended(true);
@@ -557,6 +667,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		initializeRequests();
 		initializeState();
 		initializeBreakpoints();
+		initializeSampling();
 		getLaunch().addDebugTarget(this);
 		DebugPlugin plugin = DebugPlugin.getDefault();
 		plugin.addDebugEventListener(this);
@@ -576,6 +687,27 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		});
 	}
 
+	/**
+	 * Starts sampling the stacks of this target if its launch configuration
+	 * specifies a file to write them to.
+	 */
+	private void initializeSampling() {
+		ILaunchConfiguration config = getLaunch().getLaunchConfiguration();
+		if (config == null) {
+			return;
+		}
+		try {
+			// See IJavaLaunchConfigurationConstants.ATTR_STACK_SAMPLES_FILE
+			String file = config.getAttribute("org.eclipse.jdt.launching.ATTR_STACK_SAMPLES_FILE", (String) null); //$NON-NLS-1$
+			if (file != null && !file.isBlank()) {
+				fStackSamplesFile = new File(file);
+				startSampling(STACK_SAMPLES_PER_SECOND);
+			}
+		} catch (CoreException e) {
+			logError(e);
+		}
+	}
+
 	/**
 	 * Adds all of the pre-existing threads to this debug target.
 	 */
@@ -598,7 +730,10 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			if (threads != null) {
 				Iterator<ThreadReference> initialThreads = threads.iterator();
 				while (initialThreads.hasNext()) {
-					createThread(initialThreads.next());
+					ThreadReference thread = initialThreads.next();
+					if (!isLazyThread(thread)) {
+						createThread(thread);
+					}
 				}
 			}
 		}
@@ -612,14 +747,85 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * Registers event handlers for thread creation, thread termination.
 	 */
 	protected void initializeRequests() {
+		fFilterVirtualThreadEvents = Platform.getPreferencesService().getBoolean(
+				JDIDebugPlugin.getUniqueIdentifier(),
+				JDIDebugPlugin.PREF_FILTER_VIRTUAL_THREAD_EVENTS,
+				false,
+				null);
+		if (Platform.getPreferencesService().getBoolean(
+				JDIDebugPlugin.getUniqueIdentifier(),
+				JDIDebugPlugin.PREF_LOADED_CLASS_REGISTRY,
+				false,
+				null)) {
+			enableLoadedClassRegistry();
+		}
+		if (Platform.getPreferencesService().getBoolean(
+				JDIDebugPlugin.getUniqueIdentifier(),
+				JDIDebugPlugin.PREF_TYPE_METADATA_CACHE,
+				false,
+				null)) {
+			enableTypeMetadataCache();
+		}
+		fThreadLifecycleJob = new ThreadLifecycleJob();
 		setThreadStartHandler(new ThreadStartHandler());
 		setThreadNameChangeHandler(new ThreadNameChangeHandler());
-		new ThreadDeathHandler();
+		fThreadDeathHandler = new ThreadDeathHandler();
+	}
+
+	/**
+	 * Enables the registry of loaded classes of the underlying VM, which then
+	 * answers class lookups without requests to the VM. The registry is kept
+	 * current by the events read by the event dispatcher.
+	 */
+	private void enableLoadedClassRegistry() {
+		VirtualMachine vm = getVM();
+		if (vm instanceof VirtualMachineImpl) {
+			try {
+				((VirtualMachineImpl) vm).enableLoadedClassRegistry();
+			} catch (VMDisconnectedException e) {
+			} catch (RuntimeException e) {
+				internalError(e);
+			}
+		}
+	}
+
+	/**
+	 * Lets the underlying VM keep the line and variable tables of classes in
+	 * the plug-in's type metadata cache, so that they are not requested again
+	 * by later sessions running the same class files.
+	 */
+	private void enableTypeMetadataCache() {
+		VirtualMachine vm = getVM();
+		TypeMetadataCache cache = JDIDebugPlugin.getDefault().getTypeMetadataCache();
+		if (vm instanceof VirtualMachineImpl && cache != null) {
+			((VirtualMachineImpl) vm).setTypeMetadataCache(cache);
+		}
+	}
+
+	/**
+	 * Returns whether the model thread for the given thread should only be
+	 * created once the thread reports an event. This is the case for virtual
+	 * threads that are not suspended, when virtual thread events are filtered.
+	 *
+	 * @param thread
+	 *            underlying thread
+	 * @return whether the model thread is created lazily
+	 */
+	private boolean isLazyThread(ThreadReference thread) {
+		if (!fFilterVirtualThreadEvents) {
+			return false;
+		}
+		try {
+			return thread instanceof ThreadReferenceImpl && ((ThreadReferenceImpl) thread).isVirtual() && !thread.isSuspended();
+		} catch (RuntimeException e) {
+			return false;
+		}
 	}
 
 	/**
 	 * Installs all Java breakpoints that currently exist in the breakpoint
-	 * manager
+	 * manager. Breakpoints are installed in the background so that the target
+	 * is usable immediately, see {@link BreakpointInstallJob}.
 	 */
 	protected void initializeBreakpoints() {
 		IBreakpointManager manager = DebugPlugin.getDefault()
@@ -627,11 +833,33 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		manager.addBreakpointListener(this);
 		IBreakpoint[] bps = manager.getBreakpoints(JDIDebugModel
 				.getPluginIdentifier());
+		List<IBreakpoint> breakpoints = new ArrayList<>(bps.length);
 		for (IBreakpoint bp : bps) {
 			if (bp instanceof IJavaBreakpoint) {
-				breakpointAdded(bp);
+				breakpoints.add(bp);
 			}
 		}
+		if (!breakpoints.isEmpty()) {
+			BreakpointInstallJob job = new BreakpointInstallJob(breakpoints);
+			fBreakpointInstallJob = job;
+			job.schedule();
+		}
+	}
+
+	/**
+	 * Returns whether the given breakpoint is being installed as one of the
+	 * breakpoints that existed when this target was created, and the requests
+	 * for its loaded classes should be created later by calling
+	 * {@link JavaBreakpoint#createLoadedTypeRequests(JDIDebugTarget)}. In that
+	 * case the breakpoint has been remembered by this target.
+	 *
+	 * @param breakpoint
+	 *            breakpoint whose class prepare requests have been created
+	 * @return whether the requests for loaded classes are deferred
+	 */
+	public boolean deferLoadedTypeRequests(JavaBreakpoint breakpoint) {
+		BreakpointInstallJob job = fBreakpointInstallJob;
+		return job != null && job.defer(breakpoint);
 	}
 
 	/**
@@ -652,13 +880,65 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		if (isDisconnected()) {
 			return null;
 		}
-		synchronized (fThreads) {
-			fThreads.add(jdiThread);
+		if (!registerThread(jdiThread)) {
+			// created concurrently
+			return fThreads.find(thread);
 		}
 		jdiThread.fireCreationEvent();
 		return jdiThread;
 	}
 
+	/**
+	 * Adds the given model thread to this target's collection of threads,
+	 * unless there is already a model thread for the same underlying thread.
+	 * Does not fire a creation event.
+	 *
+	 * @param jdiThread
+	 *            model thread
+	 * @return whether the thread was added
+	 */
+	private boolean registerThread(JDIThread jdiThread) {
+		if (!fThreads.add(jdiThread)) {
+			return false;
+		}
+		if (fFilterVirtualThreadEvents && jdiThread.isVirtualThread()) {
+			ThreadDeathHandler handler = fThreadDeathHandler;
+			if (handler != null) {
+				handler.watch(jdiThread.getUnderlyingThread());
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds and returns the model thread for the given underlying thread. If
+	 * there is none, the model thread is created when the start of the thread
+	 * is waiting to be applied, or when thread lifecycle events of virtual
+	 * threads are filtered, since the thread has not been reported by a thread
+	 * start event.
+	 *
+	 * @param thread
+	 *            underlying thread
+	 * @return the associated model thread or <code>null</code>
+	 */
+	public JDIThread findOrCreateThread(ThreadReference thread) {
+		JDIThread jdiThread = findThread(thread);
+		if (jdiThread == null && thread != null) {
+			// the thread may have started recently, and is needed now
+			ThreadLifecycleJob job = fThreadLifecycleJob;
+			if (job != null && job.startRegistering(thread)) {
+				try {
+					jdiThread = createThread(thread);
+				} finally {
+					job.finishRegistering(thread, jdiThread);
+				}
+			} else if (fFilterVirtualThreadEvents) {
+				jdiThread = createThread(thread);
+			}
+		}
+		return jdiThread;
+	}
+
 	/**
 	 * Factory method for creating new threads. Creates and returns a new thread
 	 * object for the underlying thread reference, or <code>null</code> if none
@@ -679,23 +959,8 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	@Override
 	public IThread[] getThreads() {
-		synchronized (fThreads) {
-			IThread[] threads = new IThread[fThreads.size()];
-			int index = 0;
-			for (JDIThread thread : fThreads) {
-				if (!thread.isSystemThread()) {
-					threads[index] = thread;
-					++index;
-				}
-			}
-			for (JDIThread thread : fThreads) {
-				if (thread.isSystemThread()) {
-					threads[index] = thread;
-					++index;
-				}
-			}
-			return threads;
-		}
+		JDIThread[] threads = fThreads.getThreads();
+		return Arrays.copyOf(threads, threads.length, IThread[].class);
 	}
 
 	@Override
@@ -1012,14 +1277,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * @return the associated model thread
 	 */
 	public JDIThread findThread(ThreadReference tr) {
-		Iterator<JDIThread> iter = getThreadIterator();
-		while (iter.hasNext()) {
-			JDIThread thread = iter.next();
-			if (thread.getUnderlyingThread().equals(tr)) {
-				return thread;
-			}
-		}
-		return null;
+		return fThreads.find(tr);
 	}
 
 	@Override
@@ -1300,17 +1558,19 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			return;
 		}
 		try {
-			setSuspended(false);
-			resumeThreads();
-			VirtualMachine vm = getVM();
-			if (vm != null) {
-				// Extra resume call per each VM_SUSPEND breakpoint hit before
-				while (extraResumeCount.getAndUpdate(count -> count > 0 ? --count : 0) > 0) {
+			synchronized (fVMSuspendLock) {
+				setSuspended(false);
+				resumeThreads();
+				VirtualMachine vm = getVM();
+				if (vm != null) {
+					// Extra resume call per each VM_SUSPEND breakpoint hit before
+					while (extraResumeCount.getAndUpdate(count -> count > 0 ? --count : 0) > 0) {
+						vm.resume();
+					}
+
+					// "regular" resume
 					vm.resume();
 				}
-
-				// "regular" resume
-				vm.resume();
 			}
 			if (fireNotification) {
 				fireResumeEvent(DebugEvent.CLIENT_REQUEST);
@@ -1584,16 +1844,22 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		if (supportsBreakpoint(breakpoint)) {
 			try {
 				JavaBreakpoint javaBreakpoint = (JavaBreakpoint) breakpoint;
-				if (!getBreakpoints().contains(breakpoint)) {
-					if (!javaBreakpoint.shouldSkipBreakpoint()) {
-						// If the breakpoint should be skipped, don't add the
-						// breakpoint
-						// request to the VM. Just add the breakpoint to the
-						// collection so
-						// we have it if the manager is later enabled.
-						javaBreakpoint.addToTarget(this);
+				if (startAdding(breakpoint)) {
+					try {
+						if (!getBreakpoints().contains(breakpoint)) {
+							if (!javaBreakpoint.shouldSkipBreakpoint()) {
+								// If the breakpoint should be skipped, don't add the
+								// breakpoint
+								// request to the VM. Just add the breakpoint to the
+								// collection so
+								// we have it if the manager is later enabled.
+								javaBreakpoint.addToTarget(this);
+							}
+							getBreakpoints().add(breakpoint);
+						}
+					} finally {
+						finishAdding(breakpoint);
 					}
-					getBreakpoints().add(breakpoint);
 				}
 			} catch (CoreException e) {
 				logError(e);
@@ -1601,6 +1867,38 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 	}
 
+	/**
+	 * Notes that the given breakpoint is being added to this target.
+	 *
+	 * @param breakpoint
+	 *            the breakpoint to add
+	 * @return whether the breakpoint is not being added already
+	 */
+	private boolean startAdding(IBreakpoint breakpoint) {
+		synchronized (fBreakpointsBeingAdded) {
+			return fBreakpointsBeingAdded.add(breakpoint);
+		}
+	}
+
+	/**
+	 * Notes that the given breakpoint has been added to this target, and
+	 * removes it again if it was removed from the breakpoint manager in the
+	 * meantime.
+	 *
+	 * @param breakpoint
+	 *            the breakpoint that was added
+	 */
+	private void finishAdding(IBreakpoint breakpoint) {
+		boolean removed;
+		synchronized (fBreakpointsBeingAdded) {
+			fBreakpointsBeingAdded.remove(breakpoint);
+			removed = fBreakpointsRemovedWhileAdding.remove(breakpoint);
+		}
+		if (removed) {
+			breakpointRemoved(breakpoint, null);
+		}
+	}
+
 	/**
 	 * Notification that one or more attributes of the given breakpoint has
 	 * changed. If the breakpoint is a Java breakpoint, the associated event
@@ -1628,6 +1926,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			return;
 		}
 		if (supportsBreakpoint(breakpoint)) {
+			synchronized (fBreakpointsBeingAdded) {
+				if (fBreakpointsBeingAdded.contains(breakpoint)) {
+					// removed again once added, see finishAdding()
+					fBreakpointsRemovedWhileAdding.add(breakpoint);
+				}
+			}
 			try {
 				((JavaBreakpoint) breakpoint).removeFromTarget(this);
 				getBreakpoints().remove(breakpoint);
@@ -1654,11 +1958,13 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		try {
 			VirtualMachine vm = getVM();
 			prepareThreadsForClientSuspend();
-			if (vm != null) {
-				vm.suspend();
+			synchronized (fVMSuspendLock) {
+				if (vm != null) {
+					vm.suspend();
+				}
+				suspendThreads();
+				setSuspended(true);
 			}
-			suspendThreads();
-			setSuspended(true);
 			fireSuspendEvent(DebugEvent.CLIENT_REQUEST);
 		} catch (RuntimeException e) {
 			setSuspended(false);
@@ -1843,12 +2149,29 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		});
 		fVirtualMachine = null;
 		setThreadStartHandler(null);
+		fThreadDeathHandler = null;
+		if (fThreadLifecycleJob != null) {
+			fThreadLifecycleJob.stop();
+			fThreadLifecycleJob = null;
+		}
+		if (fBreakpointInstallJob != null) {
+			fBreakpointInstallJob.cancel();
+			fBreakpointInstallJob = null;
+		}
+		StackSampleProfile profile = stopSampling();
+		if (profile != null && fStackSamplesFile != null) {
+			writeStackSamples(profile, fStackSamplesFile);
+		}
 		setEventDispatcher(null);
 		setStepFilters(new String[0]);
 		fHCRListeners.clear();
 		fKnownTypes.clear();
 		fProjects = null;
 		fBreakpoints.clear();
+		JDIDebugPlugin jdiPlugin = JDIDebugPlugin.getDefault();
+		if (jdiPlugin != null) {
+			jdiPlugin.saveTypeMetadataCache();
+		}
 	}
 
 	/**
@@ -1861,9 +2184,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			JDIThread child = itr.next();
 			child.terminated();
 		}
-		synchronized (fThreads) {
-			fThreads.clear();
-		}
+		fThreads.clear();
 	}
 
 	/**
@@ -1909,6 +2230,13 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		VirtualMachine vm = getVM();
 		if (vm != null) {
 			try {
+				BreakpointInstallJob job = fBreakpointInstallJob;
+				if (job != null) {
+					List<ReferenceType> classes = job.classesByName(className);
+					if (classes != null) {
+						return classes;
+					}
+				}
 				return vm.classesByName(className);
 			} catch (VMDisconnectedException e) {
 				if (!isAvailable()) {
@@ -1922,6 +2250,33 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		return Collections.EMPTY_LIST;
 	}
 
+	/**
+	 * Returns ReferenceType.nestedTypes() of the given type, logging any JDI
+	 * exceptions.
+	 *
+	 * @see com.sun.jdi.ReferenceType#nestedTypes()
+	 */
+	public List<ReferenceType> jdiNestedTypes(ReferenceType type) {
+		try {
+			BreakpointInstallJob job = fBreakpointInstallJob;
+			if (job != null) {
+				List<ReferenceType> classes = job.nestedTypes(type);
+				if (classes != null) {
+					return classes;
+				}
+			}
+			return type.nestedTypes();
+		} catch (VMDisconnectedException e) {
+			if (!isAvailable()) {
+				return Collections.emptyList();
+			}
+			logError(e);
+		} catch (RuntimeException e) {
+			internalError(e);
+		}
+		return Collections.emptyList();
+	}
+
 	@Override
 	public IJavaVariable findVariable(String varName) throws DebugException {
 		IThread[] threads = getThreads();
@@ -2216,6 +2571,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 				try {
 					EventRequest req = manager.createThreadStartRequest();
 					req.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+					if (fFilterVirtualThreadEvents && req instanceof ThreadLifecycleRequestImpl) {
+						((ThreadLifecycleRequestImpl) req).addPlatformThreadsOnlyFilter();
+					}
 					req.enable();
 					addJDIEventListener(this, req);
 					setRequest(req);
@@ -2226,9 +2584,10 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 
 		/**
-		 * Creates a model thread for the underlying JDI thread and adds it to
-		 * the collection of threads for this debug target. As a side effect of
-		 * creating the thread, a create event is fired for the model thread.
+		 * Queues the creation of a model thread for the underlying JDI thread.
+		 * Thread starts are coalesced with other thread starts and deaths, and
+		 * the model thread is added to the collection of threads for this
+		 * debug target and a create event is fired when the batch is applied.
 		 * The event is ignored if the underlying thread is already marked as
 		 * collected.
 		 *
@@ -2255,16 +2614,17 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			} catch (TimeoutException e) {
 				// continue - attempt to create the thread
 			}
-			JDIThread jdiThread = findThread(thread);
+			JDIThread jdiThread = fThreads.find(thread);
 			if (jdiThread == null) {
-				jdiThread = createThread(thread);
-				if (jdiThread == null) {
+				ThreadLifecycleJob job = fThreadLifecycleJob;
+				if (job == null) {
 					return false;
 				}
-			} else {
-				jdiThread.disposeStackFrames();
-				jdiThread.fireChangeEvent(DebugEvent.CONTENT);
+				job.threadStarted(thread);
+				return true;
 			}
+			jdiThread.disposeStackFrames();
+			jdiThread.fireChangeEvent(DebugEvent.CONTENT);
 			return !jdiThread.isSuspended();
 		}
 
@@ -2299,8 +2659,8 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	class ThreadDeathHandler implements IJDIEventListener {
 
-		// terminated threads marked for removal from the fThreads list
-		private final Map<Event, JDIThread> toRemove = Collections.synchronizedMap(new HashMap<>());
+		// death requests of virtual threads whose model threads were created lazily
+		private final Map<ThreadReference, EventRequest> watchRequests = new ConcurrentHashMap<>();
 
 		protected ThreadDeathHandler() {
 			createRequest();
@@ -2315,6 +2675,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 				try {
 					EventRequest req = manager.createThreadDeathRequest();
 					req.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+					if (fFilterVirtualThreadEvents && req instanceof ThreadLifecycleRequestImpl) {
+						((ThreadLifecycleRequestImpl) req).addPlatformThreadsOnlyFilter();
+					}
 					req.enable();
 					addJDIEventListener(this, req);
 				} catch (RuntimeException e) {
@@ -2324,8 +2687,34 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 
 		/**
-		 * Locates the model thread associated with the underlying JDI thread that has terminated, and marks it for removal from the collection of
-		 * threads belonging to this debug target. A terminate event is fired for the model thread.
+		 * Requests the death event of a single virtual thread. Used for model
+		 * threads that were created without a thread start event, as death
+		 * events of virtual threads are filtered otherwise.
+		 *
+		 * @param thread
+		 *            underlying virtual thread
+		 */
+		void watch(ThreadReference thread) {
+			EventRequestManager manager = getEventRequestManager();
+			if (manager == null || watchRequests.containsKey(thread)) {
+				return;
+			}
+			try {
+				ThreadDeathRequest req = manager.createThreadDeathRequest();
+				req.addThreadFilter(thread);
+				req.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+				req.enable();
+				addJDIEventListener(this, req);
+				watchRequests.put(thread, req);
+			} catch (RuntimeException e) {
+				logError(e);
+			}
+		}
+
+		/**
+		 * Locates the model thread associated with the underlying JDI thread that has terminated, marks it as terminated and queues its removal
+		 * from the collection of threads belonging to this debug target. A terminate event is fired for the model thread when the batch of thread
+		 * starts and deaths is applied. A thread that dies before its start was applied is never added to the model.
 		 *
 		 * @param event
 		 *            a thread death event
@@ -2337,35 +2726,30 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		public boolean handleEvent(Event event, JDIDebugTarget target,
 				boolean suspend, EventSet eventSet) {
 			ThreadReference ref = ((ThreadDeathEvent) event).thread();
-			JDIThread thread = findThread(ref);
-			if (thread == null) {
-				thread = target.findThread(ref);
+			EventRequest watchRequest = watchRequests.remove(ref);
+			if (watchRequest != null) {
+				removeJDIEventListener(this, watchRequest);
+				EventRequestManager manager = getEventRequestManager();
+				if (manager != null) {
+					try {
+						manager.deleteEventRequest(watchRequest);
+					} catch (VMDisconnectedException e) {
+						// the thread's death request goes away with the VM
+					} catch (RuntimeException e) {
+						logError(e);
+					}
+				}
 			}
-			if (thread != null) {
-				toRemove.put(event, thread);
-				// triggers DebugEvent
-				thread.terminated();
+			ThreadLifecycleJob job = fThreadLifecycleJob;
+			if (job != null) {
+				job.threadDied(ref);
 			}
 			return true;
 		}
 
-		/**
-		 * Removes the model thread associated with the underlying JDI thread that has terminated from the collection of threads belonging to this
-		 * debug target.
-		 *
-		 * @param event
-		 *            a thread death event
-		 * @param target
-		 *            the target in which the thread died
-		 */
 		@Override
 		public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
-			JDIThread thread = toRemove.remove(event);
-			if (thread != null) {
-				synchronized (fThreads) {
-					fThreads.remove(thread);
-				}
-			}
+			// nothing to do here, the thread is removed when its batch is applied
 		}
 
 	}
@@ -2482,6 +2866,370 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 	}
 
+	/**
+	 * Installs the breakpoints that exist when the target is created, in the
+	 * background. Installation is staged: first the class prepare requests of
+	 * all breakpoints are created, then a single snapshot of the loaded
+	 * classes is taken and the requests for loaded classes are created from
+	 * an index of that snapshot rather than asking the VM for the classes of
+	 * each breakpoint. Since the snapshot is taken after all class prepare
+	 * requests exist, classes loaded in the meantime are not missed.
+	 * Breakpoints are installed grouped by package.
+	 */
+	class BreakpointInstallJob extends Job {
+
+		private final List<IBreakpoint> fPending;
+
+		/**
+		 * Breakpoints whose requests for loaded classes have been deferred, in
+		 * installation order
+		 */
+		private final List<JavaBreakpoint> fDeferred = new ArrayList<>();
+
+		private volatile Thread fThread;
+
+		private volatile boolean fDeferring;
+
+		/**
+		 * Index of loaded classes, only set while requests for loaded classes
+		 * are created
+		 */
+		private volatile LoadedClassIndex fIndex;
+
+		BreakpointInstallJob(List<IBreakpoint> breakpoints) {
+			super(JDIDebugModelMessages.JDIDebugTarget_BreakpointInstaller);
+			setSystem(true);
+			fPending = breakpoints;
+		}
+
+		boolean isInstallThread() {
+			return Thread.currentThread() == fThread;
+		}
+
+		/**
+		 * Runs the given runnable once, when the breakpoints have been
+		 * installed or installation has been canceled. Does not wait for it.
+		 */
+		void whenDone(Runnable runnable) {
+			AtomicBoolean ran = new AtomicBoolean();
+			Runnable once = () -> {
+				if (ran.compareAndSet(false, true)) {
+					runnable.run();
+				}
+			};
+			addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					once.run();
+				}
+			});
+			if (getState() == Job.NONE) {
+				// done already
+				once.run();
+			}
+		}
+
+		boolean defer(JavaBreakpoint breakpoint) {
+			if (!fDeferring || !isInstallThread()) {
+				return false;
+			}
+			fDeferred.add(breakpoint);
+			return true;
+		}
+
+		/**
+		 * Returns the loaded classes with the given name from the index, or
+		 * <code>null</code> if the index is not available to the calling
+		 * thread
+		 */
+		List<ReferenceType> classesByName(String name) {
+			LoadedClassIndex index = fIndex;
+			if (index == null || !isInstallThread()) {
+				return null;
+			}
+			return index.classesByName(name);
+		}
+
+		/**
+		 * Returns the loaded nested classes of the given type from the index,
+		 * or <code>null</code> if the index is not available to the calling
+		 * thread
+		 */
+		List<ReferenceType> nestedTypes(ReferenceType type) {
+			LoadedClassIndex index = fIndex;
+			if (index == null || !isInstallThread()) {
+				return null;
+			}
+			return index.nestedTypes(type);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			fThread = Thread.currentThread();
+			try {
+				fDeferring = true;
+				IBreakpointManager manager = DebugPlugin.getDefault().getBreakpointManager();
+				for (List<IBreakpoint> group : groupByPackage(fPending)) {
+					for (IBreakpoint breakpoint : group) {
+						if (monitor.isCanceled() || !isAvailable()) {
+							return Status.CANCEL_STATUS;
+						}
+						// skip breakpoints deleted since the target was created
+						if (manager.isRegistered(breakpoint)) {
+							breakpointAdded(breakpoint);
+						}
+					}
+				}
+				fDeferring = false;
+				VirtualMachine vm = getVM();
+				if (vm == null || fDeferred.isEmpty()) {
+					return Status.OK_STATUS;
+				}
+				if (!(vm instanceof VirtualMachineImpl && ((VirtualMachineImpl) vm).isLoadedClassRegistryEnabled())) {
+					// the registry answers lookups locally already
+					fIndex = new LoadedClassIndex(vm);
+				}
+				for (JavaBreakpoint breakpoint : fDeferred) {
+					if (monitor.isCanceled() || !isAvailable()) {
+						return Status.CANCEL_STATUS;
+					}
+					if (startAdding(breakpoint)) {
+						try {
+							if (getBreakpoints().contains(breakpoint)) {
+								breakpoint.createLoadedTypeRequests(JDIDebugTarget.this);
+							}
+						} catch (CoreException e) {
+							logError(e);
+						} finally {
+							finishAdding(breakpoint);
+						}
+					}
+				}
+			} finally {
+				fDeferring = false;
+				fIndex = null;
+				fDeferred.clear();
+				fThread = null;
+			}
+			return Status.OK_STATUS;
+		}
+
+		/**
+		 * Returns the given breakpoints grouped by the package of their type,
+		 * ordered by package name.
+		 */
+		private Collection<List<IBreakpoint>> groupByPackage(List<IBreakpoint> breakpoints) {
+			Map<String, List<IBreakpoint>> groups = new TreeMap<>();
+			for (IBreakpoint breakpoint : breakpoints) {
+				String packageName = ""; //$NON-NLS-1$
+				try {
+					String typeName = ((IJavaBreakpoint) breakpoint).getTypeName();
+					if (typeName != null) {
+						int index = typeName.lastIndexOf('.');
+						if (index > 0) {
+							packageName = typeName.substring(0, index);
+						}
+					}
+				} catch (CoreException e) {
+					// install with the default package
+				}
+				groups.computeIfAbsent(packageName, p -> new ArrayList<>()).add(breakpoint);
+			}
+			return groups.values();
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == JDIDebugTarget.this;
+		}
+	}
+
+	/**
+	 * Coalesces thread start and death events over a short window. When the
+	 * window ends, the net effect is applied to the collection of threads in
+	 * one operation and a single set of debug events is fired. The start and
+	 * death of a thread within the same window cancel each other, the thread
+	 * is never added to the model and is only counted in the statistics of
+	 * this debug target.
+	 */
+	class ThreadLifecycleJob extends Job {
+
+		/**
+		 * Time in milliseconds over which thread starts and deaths are coalesced
+		 */
+		private static final int WINDOW = 100;
+
+		private final Set<ThreadReference> fStarted = new LinkedHashSet<>();
+
+		private final Set<JDIThread> fDied = new LinkedHashSet<>();
+
+		/**
+		 * Threads whose start has been taken out of the window and whose model
+		 * thread is being created and registered
+		 */
+		private final Set<ThreadReference> fRegistering = new HashSet<>();
+
+		/**
+		 * Threads that died while their model thread was being registered
+		 */
+		private final Set<ThreadReference> fDiedWhileRegistering = new HashSet<>();
+
+		ThreadLifecycleJob() {
+			super(JDIDebugModelMessages.JDIDebugTarget_ThreadLifecycleNotifier);
+			setSystem(true);
+		}
+
+		void threadStarted(ThreadReference thread) {
+			synchronized (this) {
+				if (!fStarted.add(thread) || pendingCount() > 1) {
+					return;
+				}
+			}
+			schedule(WINDOW);
+		}
+
+		/**
+		 * Handles the death of the given thread. The death of a thread that
+		 * started in the current window cancels its start. The death of a
+		 * thread whose model thread is being registered is applied once it is
+		 * registered.
+		 *
+		 * @param reference
+		 *            underlying thread
+		 */
+		void threadDied(ThreadReference reference) {
+			synchronized (this) {
+				if (fStarted.remove(reference)) {
+					fStatistics.threadCoalesced();
+					return;
+				}
+				if (fRegistering.contains(reference)) {
+					fDiedWhileRegistering.add(reference);
+					return;
+				}
+			}
+			JDIThread thread = fThreads.find(reference);
+			if (thread != null) {
+				threadDied(thread);
+			}
+		}
+
+		private void threadDied(JDIThread thread) {
+			thread.markTerminated();
+			synchronized (this) {
+				if (!fDied.add(thread) || pendingCount() > 1) {
+					return;
+				}
+			}
+			schedule(WINDOW);
+		}
+
+		/**
+		 * Returns the number of changes in the current window, the job is
+		 * scheduled when the first change is added. Must be called while
+		 * holding the lock on this job.
+		 */
+		private int pendingCount() {
+			return fStarted.size() + fDied.size();
+		}
+
+		/**
+		 * Takes the given thread out of the threads started in the current
+		 * window, so that its model thread can be registered now. Must be
+		 * followed by {@link #finishRegistering(ThreadReference, JDIThread)}.
+		 *
+		 * @param thread
+		 *            underlying thread
+		 * @return whether the thread started in the current window
+		 */
+		synchronized boolean startRegistering(ThreadReference thread) {
+			if (!fStarted.remove(thread)) {
+				return false;
+			}
+			fRegistering.add(thread);
+			return true;
+		}
+
+		/**
+		 * Notes that the model thread of the given thread has been registered,
+		 * and applies the death of the thread if it died in the meantime.
+		 *
+		 * @param reference
+		 *            underlying thread
+		 * @param thread
+		 *            the registered model thread, or <code>null</code> if none
+		 */
+		void finishRegistering(ThreadReference reference, JDIThread thread) {
+			boolean died;
+			synchronized (this) {
+				fRegistering.remove(reference);
+				died = fDiedWhileRegistering.remove(reference);
+			}
+			if (died && thread != null) {
+				threadDied(thread);
+			}
+		}
+
+		void stop() {
+			synchronized (this) {
+				fStarted.clear();
+				fDied.clear();
+				fRegistering.clear();
+				fDiedWhileRegistering.clear();
+			}
+			cancel();
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			List<ThreadReference> started;
+			List<JDIThread> died;
+			synchronized (this) {
+				started = new ArrayList<>(fStarted);
+				died = new ArrayList<>(fDied);
+				fStarted.clear();
+				fDied.clear();
+				fRegistering.addAll(started);
+			}
+			if (monitor.isCanceled() || isDisconnected()) {
+				synchronized (this) {
+					fRegistering.removeAll(started);
+					fDiedWhileRegistering.removeAll(started);
+				}
+				return Status.CANCEL_STATUS;
+			}
+			List<DebugEvent> events = new ArrayList<>(started.size() + died.size());
+			for (ThreadReference reference : started) {
+				JDIThread thread = newThread(reference);
+				if (thread != null && registerThread(thread)) {
+					events.add(new DebugEvent(thread, DebugEvent.CREATE));
+				} else if (thread != null) {
+					// registered concurrently
+					thread = fThreads.find(reference);
+				}
+				// a death reported while registering is applied in the next window
+				finishRegistering(reference, thread);
+			}
+			for (JDIThread thread : died) {
+				events.add(new DebugEvent(thread, DebugEvent.TERMINATE));
+			}
+			DebugPlugin plugin = DebugPlugin.getDefault();
+			if (!events.isEmpty()) {
+				plugin.fireDebugEventSet(events.toArray(new DebugEvent[events.size()]));
+			}
+			if (!died.isEmpty()) {
+				// remove terminated threads once the terminate events have been processed
+				plugin.asyncExec(() -> fThreads.removeAll(died));
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == JDIDebugTarget.this;
+		}
+	}
+
 	/**
 	 * Job to throttle thread name change events notification.
 	 */
@@ -2903,6 +3651,15 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	@Override
 	public void handleDebugEvents(DebugEvent[] events) {
+		for (DebugEvent event : events) {
+			// values may change once a thread runs, implicit evaluations are
+			// assumed not to change them
+			if (event.getKind() == DebugEvent.RESUME && event.getDetail() != DebugEvent.EVALUATION_IMPLICIT
+					&& event.getSource() instanceof JDIDebugElement && ((JDIDebugElement) event.getSource()).getDebugTarget() == this) {
+				fObjectGraphSnapshots.clear();
+				break;
+			}
+		}
 		if (events.length == 1) {
 			DebugEvent event = events[0];
 			if (event.getSource().equals(getProcess())
@@ -3214,6 +3971,140 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		fHCRListeners.remove(listener);
 	}
 
+	@Override
+	public JDIDebugTargetStatistics getStatistics() {
+		return fStatistics;
+	}
+
+	/**
+	 * Returns the field values and array elements of this target retrieved in
+	 * bulk.
+	 *
+	 * @return the snapshots of this target
+	 */
+	ObjectGraphSnapshots getObjectGraphSnapshots() {
+		return fObjectGraphSnapshots;
+	}
+
+	/**
+	 * Discards the field values and array elements retrieved in bulk, as a
+	 * thread ran in the meantime and may have changed them.
+	 */
+	public void discardObjectGraphSnapshots() {
+		fObjectGraphSnapshots.clear();
+	}
+
+	/**
+	 * Adds a snapshot taken by a snapshot breakpoint, discarding the oldest
+	 * snapshot when {@link #MAX_SNAPSHOTS} are kept already.
+	 *
+	 * @param snapshot
+	 *            the snapshot
+	 */
+	public void addSnapshot(JDISnapshot snapshot) {
+		synchronized (fSnapshots) {
+			if (fSnapshots.size() >= MAX_SNAPSHOTS) {
+				fSnapshots.removeFirst();
+			}
+			fSnapshots.addLast(snapshot);
+		}
+		fireChangeEvent(DebugEvent.CONTENT);
+	}
+
+	/**
+	 * Returns the snapshots taken by snapshot breakpoints in this target,
+	 * oldest first.
+	 *
+	 * @return the snapshots of this target
+	 */
+	public JDISnapshot[] getSnapshots() {
+		synchronized (fSnapshots) {
+			return fSnapshots.toArray(new JDISnapshot[fSnapshots.size()]);
+		}
+	}
+
+	/**
+	 * Starts sampling the stacks of the running threads of this target at the
+	 * given rate, into a new profile. Sampling stops when this target
+	 * terminates or disconnects.
+	 *
+	 * @param samplesPerSecond
+	 *            the number of samples to take per second, between 1 and 1000
+	 * @see #getSamplingProfile()
+	 */
+	public synchronized void startSampling(int samplesPerSecond) {
+		if (samplesPerSecond < 1 || samplesPerSecond > 1000) {
+			throw new IllegalArgumentException(Integer.toString(samplesPerSecond));
+		}
+		if (fStackSampler != null) {
+			fStackSampler.stop();
+		}
+		fStackSampler = new StackSampler(this, 1000 / samplesPerSecond);
+		fStackSampler.schedule();
+	}
+
+	/**
+	 * Stops sampling the stacks of this target, if it is sampling.
+	 *
+	 * @return the profile of the last sampling, or <code>null</code> if this
+	 *         target was never sampled
+	 */
+	public synchronized StackSampleProfile stopSampling() {
+		if (fStackSampler == null) {
+			return null;
+		}
+		fStackSampler.stop();
+		return fStackSampler.getProfile();
+	}
+
+	/**
+	 * Writes the given profile to the given file in the collapsed stack format
+	 * read by flame graph tools.
+	 */
+	private void writeStackSamples(StackSampleProfile profile, File file) {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			profile.writeCollapsed(writer);
+		} catch (IOException e) {
+			logError(e);
+		}
+	}
+
+	/**
+	 * Returns whether the stacks of this target are being sampled.
+	 *
+	 * @return whether this target is being sampled
+	 */
+	public synchronized boolean isSampling() {
+		return fStackSampler != null && !fStackSampler.isStopped();
+	}
+
+	/**
+	 * Returns the lock held while this target suspends or resumes the VM and
+	 * updates its suspended state. Holding it, the suspended state of this
+	 * target and its threads matches the VM, and it does not change until
+	 * the lock is released.
+	 *
+	 * @return the lock of the VM suspended state
+	 */
+	Object getVMSuspendLock() {
+		return fVMSuspendLock;
+	}
+
+	/**
+	 * Returns the profile the stacks of this target are sampled into, or the
+	 * profile of the last sampling.
+	 *
+	 * @return the sampled stacks, or <code>null</code> if this target was never
+	 *         sampled
+	 */
+	public synchronized StackSampleProfile getSamplingProfile() {
+		return fStackSampler == null ? null : fStackSampler.getProfile();
+	}
+
 	/**
 	 * Returns the current hot code replace listeners.
 	 *
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdi.internal.jdwp.JdwpCommandStatistics;
+import org.eclipse.jdi.internal.jdwp.JdwpStatistics;
+import org.eclipse.jdt.debug.core.IJavaDebugTargetStatistics;
+import org.eclipse.jdt.debug.core.IJdwpCommandStatistics;
+
+/**
+ * Statistics of a {@link JDIDebugTarget}. Counters are updated without locking
+ * from the event dispatch, evaluation and breakpoint code paths, JDWP
+ * statistics are collected by the JDI implementation.
+ */
+public class JDIDebugTargetStatistics implements IJavaDebugTargetStatistics {
+
+	private final LongAdder fEvents = new LongAdder();
+	private final LongAdder fEvaluations = new LongAdder();
+	private final LongAdder fBreakpointHits = new LongAdder();
+	private final LongAdder fCoalescedThreads = new LongAdder();
+
+	/**
+	 * JDWP statistics of the virtual machine or <code>null</code> if the JDI
+	 * implementation does not provide them
+	 */
+	private final JdwpStatistics fJdwpStatistics;
+
+	JDIDebugTargetStatistics(JdwpStatistics jdwpStatistics) {
+		fJdwpStatistics = jdwpStatistics;
+	}
+
+	/**
+	 * Notes that the given number of events have been dispatched.
+	 *
+	 * @param count
+	 *            number of events
+	 */
+	public void eventsDispatched(int count) {
+		fEvents.add(count);
+	}
+
+	/**
+	 * Notes that an evaluation has been run.
+	 */
+	void evaluationRun() {
+		fEvaluations.increment();
+	}
+
+	/**
+	 * Notes that a breakpoint has been hit.
+	 */
+	public void breakpointHit() {
+		fBreakpointHits.increment();
+	}
+
+	/**
+	 * Notes that the start and death of a thread cancelled each other.
+	 */
+	void threadCoalesced() {
+		fCoalescedThreads.increment();
+	}
+
+	@Override
+	public long getEventCount() {
+		return fEvents.sum();
+	}
+
+	@Override
+	public long getEvaluationCount() {
+		return fEvaluations.sum();
+	}
+
+	@Override
+	public long getBreakpointHitCount() {
+		return fBreakpointHits.sum();
+	}
+
+	@Override
+	public long getCoalescedThreadCount() {
+		return fCoalescedThreads.sum();
+	}
+
+	@Override
+	public IJdwpCommandStatistics[] getCommandStatistics() {
+		if (fJdwpStatistics == null) {
+			return new IJdwpCommandStatistics[0];
+		}
+		List<JdwpCommandStatistics> list = fJdwpStatistics.getCommandStatistics();
+		IJdwpCommandStatistics[] result = new IJdwpCommandStatistics[list.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = new CommandStatistics(list.get(i));
+		}
+		return result;
+	}
+
+	@Override
+	public String toJSON() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("{\"events\":").append(getEventCount()); //$NON-NLS-1$
+		buffer.append(",\"evaluations\":").append(getEvaluationCount()); //$NON-NLS-1$
+		buffer.append(",\"breakpointHits\":").append(getBreakpointHitCount()); //$NON-NLS-1$
+		buffer.append(",\"coalescedThreads\":").append(getCoalescedThreadCount()); //$NON-NLS-1$
+		buffer.append(",\"jdwp\":["); //$NON-NLS-1$
+		IJdwpCommandStatistics[] commands = getCommandStatistics();
+		for (int i = 0; i < commands.length; i++) {
+			IJdwpCommandStatistics command = commands[i];
+			if (i > 0) {
+				buffer.append(',');
+			}
+			buffer.append("{\"commandSet\":").append(command.getCommandSet()); //$NON-NLS-1$
+			buffer.append(",\"command\":").append(command.getCommand()); //$NON-NLS-1$
+			buffer.append(",\"name\":"); //$NON-NLS-1$
+			appendString(buffer, command.getName());
+			buffer.append(",\"count\":").append(command.getCount()); //$NON-NLS-1$
+			buffer.append(",\"bytesOut\":").append(command.getBytesSent()); //$NON-NLS-1$
+			buffer.append(",\"bytesIn\":").append(command.getBytesReceived()); //$NON-NLS-1$
+			buffer.append(",\"errors\":").append(command.getErrorCount()); //$NON-NLS-1$
+			buffer.append(",\"p50Nanos\":").append(command.getLatency(50)); //$NON-NLS-1$
+			buffer.append(",\"p99Nanos\":").append(command.getLatency(99)); //$NON-NLS-1$
+			buffer.append(",\"maxNanos\":").append(command.getMaxLatency()); //$NON-NLS-1$
+			buffer.append('}');
+		}
+		buffer.append("]}"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+
+	private static void appendString(StringBuilder buffer, String value) {
+		buffer.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				buffer.append('\\').append(c);
+			} else if (c < 0x20) {
+				buffer.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+			} else {
+				buffer.append(c);
+			}
+		}
+		buffer.append('"');
+	}
+
+	@Override
+	public String toString() {
+		return toJSON();
+	}
+
+	/**
+	 * Adapts the JDWP statistics of a command to the API
+	 */
+	private static class CommandStatistics implements IJdwpCommandStatistics {
+
+		private final JdwpCommandStatistics fStatistics;
+
+		CommandStatistics(JdwpCommandStatistics statistics) {
+			fStatistics = statistics;
+		}
+
+		@Override
+		public int getCommandSet() {
+			return fStatistics.getCommandSet();
+		}
+
+		@Override
+		public int getCommand() {
+			return fStatistics.getCommand() & 0xFF;
+		}
+
+		@Override
+		public String getName() {
+			return fStatistics.getName();
+		}
+
+		@Override
+		public long getCount() {
+			return fStatistics.getCount();
+		}
+
+		@Override
+		public long getBytesSent() {
+			return fStatistics.getBytesSent();
+		}
+
+		@Override
+		public long getBytesReceived() {
+			return fStatistics.getBytesReceived();
+		}
+
+		@Override
+		public long getErrorCount() {
+			return fStatistics.getErrorCount();
+		}
+
+		@Override
+		public long getLatency(double percentile) {
+			return fStatistics.getLatency().getPercentile(percentile);
+		}
+
+		@Override
+		public long getMaxLatency() {
+			return fStatistics.getLatency().getMax();
+		}
+	}
+}
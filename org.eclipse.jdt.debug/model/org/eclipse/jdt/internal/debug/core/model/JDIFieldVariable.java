@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.debug.core.model;
 
 import java.text.MessageFormat;
+import java.util.Map;
 
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
@@ -95,6 +96,13 @@ public class JDIFieldVariable extends JDIModificationVariable implements
 		if (getField().isStatic()) {
 			return (getField().declaringType().getValue(getField()));
 		}
+		Map<String, Value> captured = ((JDIDebugTarget) getDebugTarget()).getObjectGraphSnapshots().getFields(getObjectReference());
+		if (captured != null) {
+			String key = ObjectGraphSnapshots.keyOf(getField());
+			if (captured.containsKey(key)) {
+				return captured.get(key);
+			}
+		}
 		return getObjectReference().getValue(getField());
 	}
 
@@ -138,6 +146,7 @@ public class JDIFieldVariable extends JDIModificationVariable implements
 			} else {
 				getObjectReference().setValue(getField(), value);
 			}
+			((JDIDebugTarget) getDebugTarget()).getObjectGraphSnapshots().clear();
 			fireChangeEvent(DebugEvent.CONTENT);
 		} catch (ClassNotLoadedException e) {
 			targetRequestFailed(
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdt.debug.core.IJavaObject;
+
+import com.sun.jdi.ClassObjectReference;
+import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.VirtualMachine;
+
+/**
+ * Heap queries over many objects.
+ * <p>
+ * Referrers of several objects are retrieved with pipelined requests rather
+ * than one request per object, and the retrieved referrers are cached in the
+ * objects as {@link IJavaObject#getReferringObjects(long)} does. The path from
+ * an object to a GC root is searched breadth first over the referrer graph,
+ * retrieving the referrers of each level with one bulk query.
+ * </p>
+ */
+public final class JDIHeapWalker {
+
+	/**
+	 * Maximum number of objects visited while searching a path to a GC root
+	 */
+	private static final int MAX_VISITED = 100000;
+
+	private JDIHeapWalker() {
+	}
+
+	/**
+	 * Retrieves the referrers of the given objects, caching them in each
+	 * object. Objects that already hold current referrers are not queried
+	 * again.
+	 *
+	 * @param target
+	 *            the target the objects belong to
+	 * @param objects
+	 *            the objects to get the referrers of
+	 * @param max
+	 *            the maximum number of referrers to get for each object, or
+	 *            0 for all referrers
+	 * @throws DebugException
+	 *             if the referrers could not be retrieved
+	 */
+	public static void loadReferringObjects(JDIDebugTarget target, IJavaObject[] objects, long max) throws DebugException {
+		List<JDIObjectValue> values = new ArrayList<>(objects.length);
+		List<ObjectReference> references = new ArrayList<>(objects.length);
+		for (IJavaObject object : objects) {
+			if (object instanceof JDIObjectValue) {
+				JDIObjectValue value = (JDIObjectValue) object;
+				ObjectReference reference = value.getUnderlyingObject();
+				if (reference != null && !value.hasCurrentReferringObjects(max)) {
+					values.add(value);
+					references.add(reference);
+				}
+			}
+		}
+		if (references.isEmpty()) {
+			return;
+		}
+		List<List<ObjectReference>> referrers = getReferringObjects(target, references, max);
+		for (int i = 0; i < values.size(); i++) {
+			List<ObjectReference> list = referrers.get(i);
+			if (list != null) {
+				values.get(i).setReferringObjects(toJavaObjects(target, list), max);
+			}
+		}
+	}
+
+	/**
+	 * Returns a path of references from a GC root to the given object, found
+	 * by a breadth first search of the referrers of the object.
+	 * <p>
+	 * Referrers are only objects, so an object without referrers is held by a
+	 * stack frame, a JNI reference or not at all, and is considered a root.
+	 * Class objects and threads are roots as well, as they hold the values of
+	 * static fields and the thread's stack.
+	 * </p>
+	 *
+	 * @param object
+	 *            the object to find a path to
+	 * @param maxDepth
+	 *            the maximum length of the path
+	 * @param maxReferrers
+	 *            the maximum number of referrers followed for each object, or
+	 *            0 to follow all referrers
+	 * @param monitor
+	 *            progress monitor, may be <code>null</code>
+	 * @return the objects of the path, starting with the given object and
+	 *         ending with the root, or <code>null</code> if no root was found
+	 *         within the given depth or the search was cancelled
+	 * @throws DebugException
+	 *             if the referrers could not be retrieved
+	 */
+	public static IJavaObject[] findPathToRoot(IJavaObject object, int maxDepth, long maxReferrers, IProgressMonitor monitor) throws DebugException {
+		if (!(object instanceof JDIObjectValue) || ((JDIObjectValue) object).getUnderlyingObject() == null) {
+			return null;
+		}
+		JDIDebugTarget target = (JDIDebugTarget) object.getDebugTarget();
+		SubMonitor progress = SubMonitor.convert(monitor, maxDepth);
+		ObjectReference start = ((JDIObjectValue) object).getUnderlyingObject();
+		// each visited object mapped to the object it refers to on the way
+		// back to the start
+		Map<ObjectReference, ObjectReference> next = new HashMap<>();
+		next.put(start, null);
+		List<ObjectReference> level = new ArrayList<>();
+		level.add(start);
+		for (int depth = 0; depth <= maxDepth && !level.isEmpty(); depth++) {
+			if (progress.isCanceled()) {
+				return null;
+			}
+			List<List<ObjectReference>> referrers = getReferringObjects(target, level, maxReferrers);
+			List<ObjectReference> nextLevel = new ArrayList<>();
+			for (int i = 0; i < level.size(); i++) {
+				ObjectReference current = level.get(i);
+				List<ObjectReference> list = referrers.get(i);
+				if (list == null) {
+					// collected while searching
+					continue;
+				}
+				if (list.isEmpty() || (current != start && isRoot(current))) {
+					return toJavaObjects(target, pathFrom(current, next));
+				}
+				if (depth < maxDepth && next.size() < MAX_VISITED) {
+					for (ObjectReference referrer : list) {
+						if (!next.containsKey(referrer)) {
+							next.put(referrer, current);
+							nextLevel.add(referrer);
+						}
+					}
+				}
+			}
+			level = nextLevel;
+			progress.worked(1);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether the given object holds references that are GC roots.
+	 */
+	private static boolean isRoot(ObjectReference object) {
+		return object instanceof ClassObjectReference || object instanceof ThreadReference;
+	}
+
+	/**
+	 * Returns the path from the given object to the start of the search.
+	 */
+	private static List<ObjectReference> pathFrom(ObjectReference root, Map<ObjectReference, ObjectReference> next) {
+		List<ObjectReference> path = new ArrayList<>();
+		for (ObjectReference current = root; current != null; current = next.get(current)) {
+			path.add(0, current);
+		}
+		return path;
+	}
+
+	/**
+	 * Returns the referrers of the given objects, pipelining the requests when
+	 * the VM supports it. The referrers of a collected object are
+	 * <code>null</code>.
+	 */
+	private static List<List<ObjectReference>> getReferringObjects(JDIDebugTarget target, List<ObjectReference> objects, long max) throws DebugException {
+		try {
+			VirtualMachine vm = target.getVM();
+			if (vm instanceof VirtualMachineImpl) {
+				return ((VirtualMachineImpl) vm).referringObjects(objects, max);
+			}
+			List<List<ObjectReference>> referrers = new ArrayList<>(objects.size());
+			for (ObjectReference object : objects) {
+				try {
+					referrers.add(object.referringObjects(max));
+				} catch (ObjectCollectedException e) {
+					referrers.add(null);
+				}
+			}
+			return referrers;
+		} catch (RuntimeException e) {
+			target.targetRequestFailed(JDIDebugModelMessages.JDIObjectValue_12, e);
+			// execution will not reach this line, as
+			// #targetRequestFailed will thrown an exception
+			return null;
+		}
+	}
+
+	private static IJavaObject[] toJavaObjects(JDIDebugTarget target, List<ObjectReference> references) {
+		IJavaObject[] objects = new IJavaObject[references.size()];
+		for (int i = 0; i < objects.length; i++) {
+			objects[i] = (IJavaObject) JDIValue.createValue(target, references.get(i));
+		}
+		return objects;
+	}
+}
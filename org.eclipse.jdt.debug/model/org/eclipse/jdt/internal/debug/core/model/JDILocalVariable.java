@@ -215,6 +215,11 @@ public class JDILocalVariable extends JDIModificationVariable {
 		return fStackFrame;
 	}
 
+	@Override
+	protected JDIThread getFrameThread() {
+		return (JDIThread) fStackFrame.getThread();
+	}
+
 	/**
 	 * @see java.lang.Object#toString()
 	 */
@@ -15,6 +15,8 @@
 
 package org.eclipse.jdt.internal.debug.core.model;
 
+import java.util.Arrays;
+
 import com.sun.jdi.Method;
 
 /**
@@ -44,6 +46,38 @@ public class JDIMethod {
 
 	private static final int RETURN = 0xb1;
 
+	private static final int TABLESWITCH = 0xaa;
+	private static final int LOOKUPSWITCH = 0xab;
+	private static final int WIDE = 0xc4;
+	private static final int IINC = 0x84;
+
+	/**
+	 * Length of each instruction by opcode, 0 for variable length or invalid
+	 * opcodes
+	 */
+	private static final byte[] INSTRUCTION_LENGTHS = new byte[256];
+
+	static {
+		for (int opCode = 0x00; opCode <= 0xc9; opCode++) {
+			INSTRUCTION_LENGTHS[opCode] = 1;
+		}
+		setLength(2, 0x10, 0x12, 0x15, 0x16, 0x17, 0x18, 0x19, 0x36, 0x37, 0x38, 0x39, 0x3a, 0xa9, 0xbc);
+		setLength(3, 0x11, 0x13, 0x14, IINC, 0xb2, 0xb3, GETFIELD, PUTFIELD, 0xb6, 0xb7, 0xb8, 0xbb, 0xbd, 0xc0, 0xc1, 0xc6, 0xc7);
+		for (int opCode = 0x99; opCode <= 0xa8; opCode++) {
+			// conditional branches, goto and jsr
+			INSTRUCTION_LENGTHS[opCode] = 3;
+		}
+		setLength(4, 0xc5);
+		setLength(5, 0xb9, 0xba, 0xc8, 0xc9);
+		setLength(0, TABLESWITCH, LOOKUPSWITCH, WIDE);
+	}
+
+	private static void setLength(int length, int... opCodes) {
+		for (int opCode : opCodes) {
+			INSTRUCTION_LENGTHS[opCode] = (byte) length;
+		}
+	}
+
 	/**
 	 * Determines if the opcode passes in is one of the value return
 	 * instructions.
@@ -116,4 +150,87 @@ public class JDIMethod {
 				&& isXLoad1(bytecodes[1]) && (bytecodes[2] & 0xFF) == PUTFIELD
 				&& (bytecodes[5] & 0xFF) == RETURN;
 	}
+
+	/**
+	 * Returns the code indexes of the return instructions of the given method,
+	 * in increasing order.
+	 *
+	 * @param method
+	 *            Method to analyze
+	 * @return the code indexes of the 'return', 'areturn', 'ireturn', etc.
+	 *         instructions, or <code>null</code> if the byte codes of the
+	 *         method are not available or could not be decoded
+	 */
+	public static long[] getReturnCodeIndexes(Method method) {
+		if (!method.virtualMachine().canGetBytecodes()) {
+			return null;
+		}
+		byte[] bytecodes = method.bytecodes();
+		if (bytecodes == null || bytecodes.length == 0) {
+			return null;
+		}
+		long[] indexes = new long[4];
+		int count = 0;
+		int pc = 0;
+		while (pc < bytecodes.length) {
+			int opCode = bytecodes[pc] & 0xFF;
+			if (opCode == RETURN || isXReturn(bytecodes[pc])) {
+				if (count == indexes.length) {
+					indexes = Arrays.copyOf(indexes, count * 2);
+				}
+				indexes[count++] = pc;
+			}
+			int length = INSTRUCTION_LENGTHS[opCode];
+			if (length == 0) {
+				length = variableInstructionLength(bytecodes, pc);
+				if (length <= 0) {
+					return null;
+				}
+			}
+			pc += length;
+		}
+		return Arrays.copyOf(indexes, count);
+	}
+
+	/**
+	 * Returns the length of the variable length instruction at the given
+	 * position, or <code>-1</code> if the instruction is invalid.
+	 */
+	private static int variableInstructionLength(byte[] bytecodes, int pc) {
+		int opCode = bytecodes[pc] & 0xFF;
+		switch (opCode) {
+			case WIDE:
+				if (pc + 1 >= bytecodes.length) {
+					return -1;
+				}
+				return (bytecodes[pc + 1] & 0xFF) == IINC ? 6 : 4;
+			case TABLESWITCH: {
+				// operands are aligned on a multiple of 4 from the start of the code
+				int operands = (pc + 4) & ~3;
+				if (operands + 12 > bytecodes.length) {
+					return -1;
+				}
+				int low = readInt(bytecodes, operands + 4);
+				int high = readInt(bytecodes, operands + 8);
+				long length = operands - pc + 12 + ((long) high - low + 1) * 4;
+				return high < low || length > Integer.MAX_VALUE ? -1 : (int) length;
+			}
+			case LOOKUPSWITCH: {
+				int operands = (pc + 4) & ~3;
+				if (operands + 8 > bytecodes.length) {
+					return -1;
+				}
+				int pairs = readInt(bytecodes, operands + 4);
+				long length = operands - pc + 8 + (long) pairs * 8;
+				return pairs < 0 || length > Integer.MAX_VALUE ? -1 : (int) length;
+			}
+			default:
+				return -1;
+		}
+	}
+
+	private static int readInt(byte[] bytecodes, int position) {
+		return ((bytecodes[position] & 0xFF) << 24) | ((bytecodes[position + 1] & 0xFF) << 16)
+				| ((bytecodes[position + 2] & 0xFF) << 8) | (bytecodes[position + 3] & 0xFF);
+	}
 }
@@ -556,11 +556,7 @@ public class JDIObjectValue extends JDIValue implements IJavaObject {
 	 */
 	@Override
 	public IJavaObject[] getReferringObjects(long max) throws DebugException {
-		// The cached references should be reloaded if the suspend count has
-		// changed, or the maximum entries has changed
-		if (fCachedReferences == null
-				|| fSuspendCount < ((JDIDebugTarget) getDebugTarget())
-						.getSuspendCount() || fPreviousMax != max) {
+		if (!hasCurrentReferringObjects(max)) {
 			reloadReferringObjects(max);
 			fPreviousMax = max;
 			fSuspendCount = ((JDIDebugTarget) getDebugTarget())
@@ -569,6 +565,39 @@ public class JDIObjectValue extends JDIValue implements IJavaObject {
 		return fCachedReferences;
 	}
 
+	/**
+	 * Returns whether the cached references to this object can be returned
+	 * for the given maximum number of entries.
+	 *
+	 * @param max
+	 *            The maximum number of entries
+	 * @return whether the cached references are current
+	 */
+	boolean hasCurrentReferringObjects(long max) {
+		// The cached references should be reloaded if the suspend count has
+		// changed, or the maximum entries has changed
+		return fCachedReferences != null
+				&& fSuspendCount >= ((JDIDebugTarget) getDebugTarget())
+						.getSuspendCount() && fPreviousMax == max;
+	}
+
+	/**
+	 * Caches references to this object retrieved along with the references to
+	 * other objects.
+	 *
+	 * @param references
+	 *            the objects that reference this object
+	 * @param max
+	 *            The maximum number of entries the references were retrieved
+	 *            for
+	 * @see JDIHeapWalker
+	 */
+	void setReferringObjects(IJavaObject[] references, long max) {
+		fCachedReferences = references;
+		fPreviousMax = max;
+		fSuspendCount = ((JDIDebugTarget) getDebugTarget()).getSuspendCount();
+	}
+
 	/**
 	 * Returns true if references to this object have been calculated and
 	 * cached. This method will return true even if the cached references are
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.text.MessageFormat;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.debug.core.IJavaObject;
+
+/**
+ * A value representing a path of references from a GC root to the root object
+ * specified in the constructor. The children of this value are the objects of
+ * the path, starting with the object that directly references the root object
+ * and ending with the GC root.
+ *
+ * @see JDIHeapWalker#findPathToRoot(IJavaObject, int, long,
+ *      org.eclipse.core.runtime.IProgressMonitor)
+ */
+public class JDIReferencePathValue extends JDIReferenceListValue {
+
+	private final IJavaObject[] fPath;
+	private final boolean fFound;
+
+	/**
+	 * Constructor
+	 *
+	 * @param root
+	 *            the object the path leads to
+	 * @param path
+	 *            the objects of the path, starting with the root object, or
+	 *            <code>null</code> if no path was found
+	 */
+	public JDIReferencePathValue(IJavaObject root, IJavaObject[] path) {
+		super(root);
+		fFound = path != null && path.length > 0;
+		if (!fFound) {
+			fPath = new IJavaObject[0];
+		} else {
+			fPath = new IJavaObject[path.length - 1];
+			System.arraycopy(path, 1, fPath, 0, fPath.length);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue#getReferences()
+	 */
+	@Override
+	protected synchronized IJavaObject[] getReferences() {
+		return fPath;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue#hasVariables()
+	 */
+	@Override
+	public boolean hasVariables() throws DebugException {
+		return fPath.length > 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue#getDetailString()
+	 */
+	@Override
+	public String getDetailString() {
+		if (!fFound) {
+			return JDIDebugModelMessages.JDIReferencePathValue_0;
+		}
+		if (fPath.length == 0) {
+			// no object references the root object
+			return JDIDebugModelMessages.JDIReferencePathValue_3;
+		}
+		StringBuilder buf = new StringBuilder();
+		buf.append(MessageFormat.format(JDIDebugModelMessages.JDIReferencePathValue_1, Integer.toString(fPath.length)));
+		for (IJavaObject element : fPath) {
+			buf.append(element + "\n"); //$NON-NLS-1$
+		}
+		return buf.toString();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue#toString()
+	 */
+	@Override
+	public String toString() {
+		return MessageFormat.format(JDIDebugModelMessages.JDIReferencePathValue_2, getUnderlyingValue().toString());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof JDIReferencePathValue && super.equals(o);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+}
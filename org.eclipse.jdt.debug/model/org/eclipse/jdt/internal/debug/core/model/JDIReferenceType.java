@@ -367,14 +367,30 @@ public abstract class JDIReferenceType extends JDIType implements
 	 */
 	@Override
 	public IJavaObject[] getInstances(long max) throws DebugException {
+		List<ObjectReference> list = getInstanceReferences(max);
+		IJavaObject[] instances = new IJavaObject[list.size()];
+		for (int i = 0; i < instances.length; i++) {
+			instances[i] = (IJavaObject) JDIValue.createValue(
+					getJavaDebugTarget(), list.get(i));
+		}
+		return instances;
+	}
+
+	/**
+	 * Returns the underlying references to instances of this type, leaving it
+	 * to the caller to create values for the instances it presents.
+	 *
+	 * @param max
+	 *            the maximum number of instances to return or 0 for all
+	 *            instances
+	 * @return the references to instances of this type
+	 * @throws DebugException
+	 *             if the instances could not be retrieved
+	 * @see #getInstances(long)
+	 */
+	public List<ObjectReference> getInstanceReferences(long max) throws DebugException {
 		try {
-			List<ObjectReference> list = getReferenceType().instances(max);
-			IJavaObject[] instances = new IJavaObject[list.size()];
-			for (int i = 0; i < instances.length; i++) {
-				instances[i] = (IJavaObject) JDIValue.createValue(
-						getJavaDebugTarget(), list.get(i));
-			}
-			return instances;
+			return getReferenceType().instances(max);
 		} catch (RuntimeException e) {
 			targetRequestFailed(JDIDebugModelMessages.JDIReferenceType_5, e);
 		}
@@ -0,0 +1,550 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IBreakpoint;
+import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.debug.core.model.IThread;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+import org.eclipse.jdt.internal.debug.core.logicalstructures.JDIPlaceholderVariable;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.Field;
+import com.sun.jdi.IncompatibleThreadStateException;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.StringReference;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.Value;
+import com.sun.jdi.VirtualMachine;
+
+/**
+ * The top stack frames of a thread captured by a snapshot breakpoint, with
+ * their local variables, <code>this</code> and the fields of objects to a
+ * given depth. The snapshot is detached from the VM, it is kept by its debug
+ * target and presented like a suspended thread so that its frames and
+ * variables can be browsed after the thread resumed.
+ * <p>
+ * The values are retrieved in a few pipelined bursts when the VM supports it:
+ * the frames, then the local variables and <code>this</code> of all frames,
+ * then for each level the types of the objects found and the fields of those
+ * objects, and finally the values of strings. Only the first
+ * {@link #MAX_STRINGS} strings are retrieved, and their values are truncated
+ * to {@link #MAX_STRING_LENGTH} characters, so that a snapshot kept by its
+ * target stays small. Arrays and other strings are described by their type
+ * and id only, objects collected before their type was retrieved by a
+ * placeholder.
+ * </p>
+ */
+public class JDISnapshot extends JDIDebugElement implements IThread {
+
+	/**
+	 * Maximum number of objects whose fields are captured in a snapshot
+	 */
+	private static final int MAX_OBJECTS = 1000;
+
+	/**
+	 * Maximum number of strings whose value is captured in a snapshot, other
+	 * strings are described by their type and id
+	 */
+	private static final int MAX_STRINGS = 1000;
+
+	/**
+	 * Maximum number of characters kept of the value of a string, longer
+	 * values are truncated as in the detail pane
+	 */
+	private static final int MAX_STRING_LENGTH = 10000;
+
+	private final String fThreadName;
+	private final IBreakpoint fBreakpoint;
+	private final long fTime;
+	private JDISnapshotFrame[] fFrames = new JDISnapshotFrame[0];
+
+	private JDISnapshot(JDIDebugTarget target, String threadName, IBreakpoint breakpoint) {
+		super(target);
+		fThreadName = threadName;
+		fBreakpoint = breakpoint;
+		fTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Captures the top stack frames of the given thread, which must be
+	 * suspended in the VM.
+	 *
+	 * @param thread
+	 *            the thread to capture
+	 * @param breakpoint
+	 *            the breakpoint the thread is suspended at
+	 * @param frameCount
+	 *            the number of frames to capture
+	 * @param fieldDepth
+	 *            the number of levels of fields to capture below
+	 *            <code>this</code> and local variables
+	 * @return the snapshot
+	 * @throws DebugException
+	 *             if the thread could not be captured
+	 */
+	public static JDISnapshot capture(JDIThread thread, IBreakpoint breakpoint, int frameCount, int fieldDepth) throws DebugException {
+		JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+		JDISnapshot snapshot = new JDISnapshot(target, thread.getName(), breakpoint);
+		try {
+			ThreadReference reference = thread.getUnderlyingThread();
+			List<StackFrame> frames = reference.frames(0, Math.min(Math.max(frameCount, 1), reference.frameCount()));
+			new Capture(target, fieldDepth).run(snapshot, frames);
+		} catch (IncompatibleThreadStateException e) {
+			thread.requestFailed(JDIDebugModelMessages.JDISnapshot_0, e);
+		} catch (RuntimeException e) {
+			thread.targetRequestFailed(JDIDebugModelMessages.JDISnapshot_0, e);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Returns the time the snapshot was taken.
+	 *
+	 * @return the time the snapshot was taken, in milliseconds since the epoch
+	 */
+	public long getTime() {
+		return fTime;
+	}
+
+	@Override
+	public IStackFrame[] getStackFrames() {
+		return fFrames.clone();
+	}
+
+	@Override
+	public boolean hasStackFrames() {
+		return fFrames.length > 0;
+	}
+
+	@Override
+	public int getPriority() {
+		return 0;
+	}
+
+	@Override
+	public IStackFrame getTopStackFrame() {
+		return fFrames.length > 0 ? fFrames[0] : null;
+	}
+
+	/**
+	 * Returns the name of the thread the snapshot was taken in.
+	 */
+	@Override
+	public String getName() {
+		return fThreadName;
+	}
+
+	@Override
+	public IBreakpoint[] getBreakpoints() {
+		return new IBreakpoint[] { fBreakpoint };
+	}
+
+	@Override
+	public boolean canStepInto() {
+		return false;
+	}
+
+	@Override
+	public boolean canStepOver() {
+		return false;
+	}
+
+	@Override
+	public boolean canStepReturn() {
+		return false;
+	}
+
+	@Override
+	public boolean isStepping() {
+		return false;
+	}
+
+	@Override
+	public void stepInto() {
+	}
+
+	@Override
+	public void stepOver() {
+	}
+
+	@Override
+	public void stepReturn() {
+	}
+
+	@Override
+	public boolean canResume() {
+		return false;
+	}
+
+	@Override
+	public boolean canSuspend() {
+		return false;
+	}
+
+	@Override
+	public boolean isSuspended() {
+		return true;
+	}
+
+	@Override
+	public void resume() {
+	}
+
+	@Override
+	public void suspend() {
+	}
+
+	@Override
+	public boolean canTerminate() {
+		return false;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return false;
+	}
+
+	@Override
+	public void terminate() {
+	}
+
+	/**
+	 * Retrieves the values of a snapshot and builds its detached frames and
+	 * values.
+	 */
+	private static final class Capture {
+
+		private final JDIDebugTarget fTarget;
+		private final VirtualMachine fVM;
+		private final int fFieldDepth;
+
+		/**
+		 * Captured objects and strings, so that each is captured once
+		 */
+		private final Map<ObjectReference, JDISnapshotValue> fObjects = new HashMap<>();
+
+		/**
+		 * Objects other than strings whose type is retrieved in the next burst
+		 */
+		private List<ObjectReference> fUntyped = new ArrayList<>();
+
+		/**
+		 * Objects whose fields are captured at the next level
+		 */
+		private List<ObjectReference> fNextLevel = new ArrayList<>();
+
+		/**
+		 * Number of objects whose fields are captured
+		 */
+		private int fExpanded;
+
+		/**
+		 * Strings whose value is retrieved last
+		 */
+		private final List<StringReference> fStrings = new ArrayList<>();
+
+		/**
+		 * Instance fields by type
+		 */
+		private final Map<ReferenceType, List<Field>> fFields = new HashMap<>();
+
+		Capture(JDIDebugTarget target, int fieldDepth) {
+			fTarget = target;
+			fVM = target.getVM();
+			fFieldDepth = fieldDepth;
+		}
+
+		void run(JDISnapshot snapshot, List<StackFrame> frames) {
+			int count = frames.size();
+			List<Location> locations = new ArrayList<>(count);
+			List<List<LocalVariable>> locals = new ArrayList<>(count);
+			boolean[] localsAvailable = new boolean[count];
+			List<StackFrame> framesWithLocals = new ArrayList<>();
+			List<List<LocalVariable>> framesLocals = new ArrayList<>();
+			List<StackFrame> framesWithThis = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				StackFrame frame = frames.get(i);
+				Location location = frame.location();
+				locations.add(location);
+				Method method = location.method();
+				List<LocalVariable> variables = Collections.emptyList();
+				if (!method.isNative()) {
+					if (!method.isStatic()) {
+						framesWithThis.add(frame);
+					}
+					try {
+						variables = frame.visibleVariables();
+						localsAvailable[i] = true;
+					} catch (AbsentInformationException e) {
+						// no local variable table, e.g. compiled without -g
+					}
+				}
+				locals.add(variables);
+				if (!variables.isEmpty()) {
+					framesWithLocals.add(frame);
+					framesLocals.add(variables);
+				}
+			}
+
+			List<List<Value>> values = frameValues(framesWithLocals, framesLocals);
+			List<ObjectReference> thisObjects = thisObjects(framesWithThis);
+
+			JDISnapshotFrame[] result = new JDISnapshotFrame[count];
+			for (int i = 0, withLocals = 0, withThis = 0; i < count; i++) {
+				StackFrame frame = frames.get(i);
+				List<IJavaVariable> variables = new ArrayList<>();
+				if (withThis < framesWithThis.size() && framesWithThis.get(withThis) == frame) {
+					ObjectReference thisObject = thisObjects.get(withThis++);
+					if (thisObject != null) {
+						variables.add(new JDIPlaceholderVariable("this", valueOf(thisObject))); //$NON-NLS-1$
+					}
+				}
+				if (withLocals < framesWithLocals.size() && framesWithLocals.get(withLocals) == frame) {
+					List<LocalVariable> frameLocals = locals.get(i);
+					List<Value> frameValues = values.get(withLocals++);
+					for (int j = 0; j < frameLocals.size(); j++) {
+						variables.add(new JDIPlaceholderVariable(frameLocals.get(j).name(), valueOf(frameValues.get(j))));
+					}
+				}
+				result[i] = new JDISnapshotFrame(snapshot, nameOf(locations.get(i)), locations.get(i).lineNumber(), localsAvailable[i], variables);
+			}
+
+			for (int depth = 0; depth < fFieldDepth; depth++) {
+				resolveTypes(true);
+				if (fNextLevel.isEmpty()) {
+					break;
+				}
+				captureFields();
+			}
+			resolveTypes(false);
+			captureStrings();
+			snapshot.fFrames = result;
+		}
+
+		/**
+		 * Returns the detached value of the given value, noting objects and
+		 * strings seen for the first time. Objects are described once their
+		 * type is retrieved, see {@link #resolveTypes(boolean)}.
+		 */
+		private JDIValue valueOf(Value value) {
+			if (!(value instanceof ObjectReference)) {
+				// null and primitive values do not refer to the VM
+				return JDIValue.createValue(fTarget, value);
+			}
+			ObjectReference object = (ObjectReference) value;
+			JDISnapshotValue captured = fObjects.get(object);
+			if (captured == null) {
+				long id = object.uniqueID();
+				if (object instanceof StringReference) {
+					captured = new JDISnapshotValue(fTarget, "java.lang.String", id, null); //$NON-NLS-1$
+					if (fStrings.size() < MAX_STRINGS) {
+						fStrings.add((StringReference) object);
+					} else {
+						captured.setDescription(MessageFormat.format(JDIDebugModelMessages.JDISnapshot_1, "java.lang.String", Long.toString(id))); //$NON-NLS-1$
+					}
+				} else {
+					captured = new JDISnapshotValue(fTarget, null, id, null);
+					fUntyped.add(object);
+				}
+				fObjects.put(object, captured);
+			}
+			return captured;
+		}
+
+		/**
+		 * Retrieves the types of the objects seen since the last call and
+		 * describes them. Objects that were collected are described by a
+		 * placeholder.
+		 *
+		 * @param expand
+		 *            whether the fields of the objects are captured at the next
+		 *            level
+		 */
+		private void resolveTypes(boolean expand) {
+			if (fUntyped.isEmpty()) {
+				return;
+			}
+			List<ObjectReference> objects = fUntyped;
+			fUntyped = new ArrayList<>();
+			List<ReferenceType> types = referenceTypes(objects);
+			for (int i = 0; i < objects.size(); i++) {
+				ObjectReference object = objects.get(i);
+				JDISnapshotValue captured = fObjects.get(object);
+				ReferenceType type = types.get(i);
+				if (type == null) {
+					captured.setDescription(JDIDebugModelMessages.JDISnapshot_3);
+					continue;
+				}
+				String typeName = type.name();
+				captured.setTypeName(typeName);
+				captured.setDescription(MessageFormat.format(JDIDebugModelMessages.JDISnapshot_1, typeName, Long.toString(object.uniqueID())));
+				if (expand && !(object instanceof ArrayReference) && fExpanded < MAX_OBJECTS) {
+					fNextLevel.add(object);
+					fExpanded++;
+				}
+			}
+		}
+
+		private void captureFields() {
+			List<ObjectReference> level = fNextLevel;
+			fNextLevel = new ArrayList<>();
+			List<List<Field>> fields = new ArrayList<>(level.size());
+			for (ObjectReference object : level) {
+				fields.add(instanceFields(object.referenceType()));
+			}
+			List<List<Value>> values = fieldValues(level, fields);
+			for (int i = 0; i < level.size(); i++) {
+				JDISnapshotValue owner = fObjects.get(level.get(i));
+				owner.setFieldsCaptured();
+				List<Value> objectValues = values.get(i);
+				if (objectValues == null) {
+					// collected since it was seen
+					continue;
+				}
+				List<Field> objectFields = fields.get(i);
+				for (int j = 0; j < objectFields.size(); j++) {
+					owner.addField(new JDIPlaceholderVariable(objectFields.get(j).name(), valueOf(objectValues.get(j))));
+				}
+			}
+		}
+
+		private void captureStrings() {
+			List<String> strings;
+			if (fVM instanceof VirtualMachineImpl) {
+				strings = ((VirtualMachineImpl) fVM).stringValues(fStrings);
+			} else {
+				strings = new ArrayList<>(fStrings.size());
+				for (StringReference string : fStrings) {
+					try {
+						strings.add(string.value());
+					} catch (ObjectCollectedException e) {
+						strings.add(null);
+					}
+				}
+			}
+			for (int i = 0; i < fStrings.size(); i++) {
+				String string = strings.get(i);
+				if (string == null) {
+					string = JDIDebugModelMessages.JDISnapshot_3;
+				} else if (string.length() > MAX_STRING_LENGTH) {
+					string = string.substring(0, MAX_STRING_LENGTH) + "..."; //$NON-NLS-1$
+				}
+				fObjects.get(fStrings.get(i)).setDescription(string);
+			}
+		}
+
+		private List<Field> instanceFields(ReferenceType type) {
+			return fFields.computeIfAbsent(type, t -> {
+				List<Field> fields = new ArrayList<>();
+				for (Field field : t.allFields()) {
+					if (!field.isStatic()) {
+						fields.add(field);
+					}
+				}
+				return fields;
+			});
+		}
+
+		private List<ReferenceType> referenceTypes(List<ObjectReference> objects) {
+			if (fVM instanceof VirtualMachineImpl) {
+				return ((VirtualMachineImpl) fVM).referenceTypes(objects);
+			}
+			List<ReferenceType> types = new ArrayList<>(objects.size());
+			for (ObjectReference object : objects) {
+				try {
+					types.add(object.referenceType());
+				} catch (ObjectCollectedException e) {
+					types.add(null);
+				}
+			}
+			return types;
+		}
+
+		private List<List<Value>> frameValues(List<StackFrame> frames, List<List<LocalVariable>> variables) {
+			if (fVM instanceof VirtualMachineImpl) {
+				return ((VirtualMachineImpl) fVM).frameValues(frames, variables);
+			}
+			List<List<Value>> values = new ArrayList<>(frames.size());
+			for (int i = 0; i < frames.size(); i++) {
+				Map<LocalVariable, Value> frameValues = frames.get(i).getValues(variables.get(i));
+				List<Value> list = new ArrayList<>(variables.get(i).size());
+				for (LocalVariable variable : variables.get(i)) {
+					list.add(frameValues.get(variable));
+				}
+				values.add(list);
+			}
+			return values;
+		}
+
+		private List<ObjectReference> thisObjects(List<StackFrame> frames) {
+			if (fVM instanceof VirtualMachineImpl) {
+				return ((VirtualMachineImpl) fVM).thisObjects(frames);
+			}
+			List<ObjectReference> objects = new ArrayList<>(frames.size());
+			for (StackFrame frame : frames) {
+				objects.add(frame.thisObject());
+			}
+			return objects;
+		}
+
+		private List<List<Value>> fieldValues(List<ObjectReference> objects, List<List<Field>> fields) {
+			if (fVM instanceof VirtualMachineImpl) {
+				return ((VirtualMachineImpl) fVM).fieldValues(objects, fields);
+			}
+			List<List<Value>> values = new ArrayList<>(objects.size());
+			for (int i = 0; i < objects.size(); i++) {
+				try {
+					Map<Field, Value> objectValues = objects.get(i).getValues(fields.get(i));
+					List<Value> list = new ArrayList<>(fields.get(i).size());
+					for (Field field : fields.get(i)) {
+						list.add(objectValues.get(field));
+					}
+					values.add(list);
+				} catch (ObjectCollectedException e) {
+					values.add(null);
+				}
+			}
+			return values;
+		}
+
+		private static String nameOf(Location location) {
+			Method method = location.method();
+			StringBuilder arguments = new StringBuilder();
+			for (String argument : method.argumentTypeNames()) {
+				if (arguments.length() > 0) {
+					arguments.append(", "); //$NON-NLS-1$
+				}
+				arguments.append(argument.substring(argument.lastIndexOf('.') + 1));
+			}
+			return MessageFormat.format(JDIDebugModelMessages.JDISnapshot_2, location.declaringType().name(), method.name(), arguments.toString(), Integer.toString(location.lineNumber()));
+		}
+	}
+}
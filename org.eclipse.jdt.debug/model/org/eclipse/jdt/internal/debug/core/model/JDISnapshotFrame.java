@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.List;
+
+import org.eclipse.debug.core.model.IRegisterGroup;
+import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.debug.core.model.IThread;
+import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+
+/**
+ * A stack frame captured by a snapshot breakpoint, see {@link JDISnapshot}.
+ * The frame is detached from the VM and cannot be stepped, resumed or
+ * terminated.
+ */
+public class JDISnapshotFrame extends JDIDebugElement implements IStackFrame {
+
+	private final JDISnapshot fSnapshot;
+	private final String fName;
+	private final int fLineNumber;
+	private final boolean fLocalsAvailable;
+	private final List<IJavaVariable> fVariables;
+
+	JDISnapshotFrame(JDISnapshot snapshot, String name, int lineNumber, boolean localsAvailable, List<IJavaVariable> variables) {
+		super((JDIDebugTarget) snapshot.getDebugTarget());
+		fSnapshot = snapshot;
+		fName = name;
+		fLineNumber = lineNumber;
+		fLocalsAvailable = localsAvailable;
+		fVariables = variables;
+	}
+
+	/**
+	 * Returns whether the local variables of the frame were available when it
+	 * was captured.
+	 *
+	 * @return whether local variables were available
+	 */
+	public boolean wereLocalsAvailable() {
+		return fLocalsAvailable;
+	}
+
+	@Override
+	public IThread getThread() {
+		return fSnapshot;
+	}
+
+	@Override
+	public IVariable[] getVariables() {
+		return fVariables.toArray(new IVariable[fVariables.size()]);
+	}
+
+	@Override
+	public boolean hasVariables() {
+		return !fVariables.isEmpty();
+	}
+
+	@Override
+	public int getLineNumber() {
+		return fLineNumber;
+	}
+
+	@Override
+	public int getCharStart() {
+		return -1;
+	}
+
+	@Override
+	public int getCharEnd() {
+		return -1;
+	}
+
+	@Override
+	public String getName() {
+		return fName;
+	}
+
+	@Override
+	public IRegisterGroup[] getRegisterGroups() {
+		return new IRegisterGroup[0];
+	}
+
+	@Override
+	public boolean hasRegisterGroups() {
+		return false;
+	}
+
+	@Override
+	public boolean canStepInto() {
+		return false;
+	}
+
+	@Override
+	public boolean canStepOver() {
+		return false;
+	}
+
+	@Override
+	public boolean canStepReturn() {
+		return false;
+	}
+
+	@Override
+	public boolean isStepping() {
+		return false;
+	}
+
+	@Override
+	public void stepInto() {
+	}
+
+	@Override
+	public void stepOver() {
+	}
+
+	@Override
+	public void stepReturn() {
+	}
+
+	@Override
+	public boolean canResume() {
+		return false;
+	}
+
+	@Override
+	public boolean canSuspend() {
+		return false;
+	}
+
+	@Override
+	public boolean isSuspended() {
+		return true;
+	}
+
+	@Override
+	public void resume() {
+	}
+
+	@Override
+	public void suspend() {
+	}
+
+	@Override
+	public boolean canTerminate() {
+		return false;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return false;
+	}
+
+	@Override
+	public void terminate() {
+	}
+}
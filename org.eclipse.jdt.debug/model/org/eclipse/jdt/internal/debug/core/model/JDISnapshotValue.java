@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.debug.core.IJavaVariable;
+
+/**
+ * An object or string captured by a snapshot breakpoint, see
+ * {@link JDISnapshot}. The value is detached from the VM: its description and
+ * the fields that were captured with it remain available after the thread
+ * resumed, and even after the target terminated.
+ * <p>
+ * Like {@link JDIPlaceholderValue}, it extends <code>JDINullValue</code> so
+ * that actions which need a live object ignore it.
+ * </p>
+ */
+public class JDISnapshotValue extends JDIPlaceholderValue {
+
+	private String fTypeName;
+	private final long fId;
+	private String fDescription;
+
+	/**
+	 * Captured fields, <code>null</code> if the fields were not captured.
+	 */
+	private List<IJavaVariable> fFields;
+
+	/**
+	 * @param target
+	 *            the target the value was captured in
+	 * @param typeName
+	 *            the name of the type of the value, <code>null</code> if not
+	 *            known yet
+	 * @param id
+	 *            the unique id of the object in the VM
+	 * @param description
+	 *            the description of the value
+	 */
+	JDISnapshotValue(JDIDebugTarget target, String typeName, long id, String description) {
+		super(target, description);
+		fTypeName = typeName;
+		fId = id;
+		fDescription = description;
+	}
+
+	/**
+	 * Sets the description of this value, for values that are described after
+	 * they were created.
+	 */
+	void setDescription(String description) {
+		fDescription = description;
+	}
+
+	/**
+	 * Sets the name of the type of this value, for values whose type is
+	 * retrieved after they were created.
+	 */
+	void setTypeName(String typeName) {
+		fTypeName = typeName;
+	}
+
+	/**
+	 * Adds a captured field.
+	 */
+	void addField(IJavaVariable field) {
+		if (fFields == null) {
+			fFields = new ArrayList<>();
+		}
+		fFields.add(field);
+	}
+
+	/**
+	 * Notes that the fields of this value were captured, even when it has
+	 * none.
+	 */
+	void setFieldsCaptured() {
+		if (fFields == null) {
+			fFields = new ArrayList<>(0);
+		}
+	}
+
+	@Override
+	protected List<IJavaVariable> getVariablesList() {
+		return fFields == null ? Collections.emptyList() : fFields;
+	}
+
+	@Override
+	public String getReferenceTypeName() {
+		// the type of an object collected before it was retrieved is not known
+		return fTypeName == null ? super.getReferenceTypeName() : fTypeName;
+	}
+
+	@Override
+	public String getValueString() {
+		return fDescription;
+	}
+
+	@Override
+	public String toString() {
+		return fDescription;
+	}
+
+	@Override
+	public long getUniqueId() {
+		return fId;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj;
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(this);
+	}
+}
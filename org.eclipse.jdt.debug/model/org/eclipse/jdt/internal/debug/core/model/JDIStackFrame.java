@@ -346,9 +346,11 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 						while (fields.hasNext()) {
 							Field field = fields.next();
 							if (field.isStatic()) {
-								fVariables.add(new JDIFieldVariable(
+								JDIFieldVariable variable = new JDIFieldVariable(
 										(JDIDebugTarget) getDebugTarget(),
-										field, declaringType));
+										field, declaringType);
+								variable.setFrameThread(fThread);
+								fVariables.add(variable);
 							}
 						}
 						Collections.sort(fVariables,
@@ -369,8 +371,7 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 					// add "this"
 					ObjectReference t = getUnderlyingThisObject();
 					if (t != null) {
-						fVariables.add(new JDIThisVariable(
-								(JDIDebugTarget) getDebugTarget(), t));
+						fVariables.add(newThisVariable(t));
 					}
 				}
 				if (LambdaUtils.isLambdaFrame(this)) {
@@ -739,8 +740,7 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 			} else {
 				if (oldThisObject == null && thisObject != null) {
 					// creation of 'this'
-					oldThisObject = new JDIThisVariable(
-							(JDIDebugTarget) getDebugTarget(), thisObject);
+					oldThisObject = newThisVariable(thisObject);
 					fVariables.add(0, oldThisObject);
 					index = 1;
 				} else {
@@ -749,9 +749,7 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 						// different receiver
 						if (!oldThisObject.retrieveValue().equals(thisObject)) {
 							fVariables.remove(0);
-							fVariables.add(0, new JDIThisVariable(
-									(JDIDebugTarget) getDebugTarget(),
-									thisObject));
+							fVariables.add(0, newThisVariable(thisObject));
 						}
 						index = 1;
 					}
@@ -810,6 +808,15 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 		addStepReturnValue(fVariables);
 	}
 
+	/**
+	 * Returns a variable for the receiver of this frame.
+	 */
+	private JDIThisVariable newThisVariable(ObjectReference object) {
+		JDIThisVariable variable = new JDIThisVariable((JDIDebugTarget) getDebugTarget(), object);
+		variable.setFrameThread(fThread);
+		return variable;
+	}
+
 	/**
 	 * @see org.eclipse.debug.core.model.IDropToFrame#canDropToFrame()
 	 */
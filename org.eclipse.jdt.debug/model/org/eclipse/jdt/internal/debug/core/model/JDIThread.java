@@ -62,6 +62,8 @@ import org.eclipse.jdt.internal.debug.core.breakpoints.ConditionalBreakpointHand
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaExceptionBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLineBreakpoint;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLogpoint;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaSnapshotBreakpoint;
 import org.eclipse.jdt.internal.debug.core.model.MethodResult.ResultType;
 
 import com.sun.jdi.BooleanValue;
@@ -850,6 +852,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 				Job.getJobManager().beginRule(rule, monitor);
 			}
 			if (monitor == null || !monitor.isCanceled()) {
+				getJavaDebugTarget().getStatistics().evaluationRun();
 				evaluation.run(this, monitor);
 			}
 		} catch (DebugException e) {
@@ -1492,6 +1495,15 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 			}
 		}
 
+		// log the message of a logpoint, unless we're in an evaluation already
+		if (breakpoint instanceof JavaLogpoint && !isPerformingEvaluation()) {
+			((JavaLogpoint) breakpoint).logMessage(this);
+		}
+		// capture the thread for a snapshot breakpoint, unless it is evaluating
+		if (breakpoint instanceof JavaSnapshotBreakpoint && !isPerformingEvaluation()) {
+			((JavaSnapshotBreakpoint) breakpoint).takeSnapshot(this);
+		}
+
 		try {
 			if (resumeOnHit && breakpoint.getSuspendPolicy() == IJavaBreakpoint.RESUME_ON_HIT) {
 				synchronized (this) {
@@ -2267,9 +2279,17 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 * terminate event.
 	 */
 	protected void terminated() {
+		markTerminated();
+		fireTerminateEvent();
+	}
+
+	/**
+	 * Updates the state of this thread to terminated, without firing a
+	 * terminate event. Used when thread deaths are reported in batches.
+	 */
+	void markTerminated() {
 		setTerminated(true);
 		setRunning(false);
-		fireTerminateEvent();
 	}
 
 	/**
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.jdi.ThreadReference;
+
+/**
+ * The model threads of a debug target, indexed by their underlying thread reference. Threads are kept in the order they were added. All
+ * methods are thread safe.
+ */
+final class JDIThreadRegistry {
+
+	private final Map<ThreadReference, JDIThread> fThreads = new LinkedHashMap<>();
+
+	/**
+	 * Cached result of {@link #getThreads()}, <code>null</code> when the registry has changed since it was computed
+	 */
+	private JDIThread[] fSnapshot;
+
+	/**
+	 * Adds the given thread, unless a thread for the same underlying thread reference is already registered.
+	 *
+	 * @param thread
+	 *            model thread
+	 * @return <code>true</code> if the thread was added
+	 */
+	synchronized boolean add(JDIThread thread) {
+		ThreadReference reference = thread.getUnderlyingThread();
+		if (fThreads.containsKey(reference)) {
+			return false;
+		}
+		fThreads.put(reference, thread);
+		fSnapshot = null;
+		return true;
+	}
+
+	/**
+	 * Returns the model thread for the given underlying thread, or <code>null</code> if none.
+	 *
+	 * @param reference
+	 *            underlying thread
+	 * @return model thread or <code>null</code>
+	 */
+	synchronized JDIThread find(ThreadReference reference) {
+		if (reference == null) {
+			return null;
+		}
+		return fThreads.get(reference);
+	}
+
+	/**
+	 * Removes the given thread.
+	 *
+	 * @param thread
+	 *            model thread
+	 */
+	synchronized void remove(JDIThread thread) {
+		ThreadReference reference = thread.getUnderlyingThread();
+		if (fThreads.get(reference) == thread) {
+			fThreads.remove(reference);
+			fSnapshot = null;
+		}
+	}
+
+	/**
+	 * Removes all of the given threads in one operation.
+	 *
+	 * @param threads
+	 *            model threads
+	 */
+	synchronized void removeAll(Collection<JDIThread> threads) {
+		for (JDIThread thread : threads) {
+			remove(thread);
+		}
+	}
+
+	/**
+	 * Removes all threads.
+	 */
+	synchronized void clear() {
+		fThreads.clear();
+		fSnapshot = null;
+	}
+
+	synchronized int size() {
+		return fThreads.size();
+	}
+
+	/**
+	 * Returns a copy of the registered threads, in the order they were added.
+	 *
+	 * @return registered threads
+	 */
+	synchronized List<JDIThread> getThreadList() {
+		return new ArrayList<>(fThreads.values());
+	}
+
+	/**
+	 * Returns the registered threads with all user threads before all system threads. The returned array is shared between callers until the
+	 * registry changes and must not be modified.
+	 *
+	 * @return registered threads
+	 */
+	synchronized JDIThread[] getThreads() {
+		if (fSnapshot == null) {
+			JDIThread[] threads = new JDIThread[fThreads.size()];
+			int index = 0;
+			for (JDIThread thread : fThreads.values()) {
+				if (!thread.isSystemThread()) {
+					threads[index++] = thread;
+				}
+			}
+			for (JDIThread thread : fThreads.values()) {
+				if (thread.isSystemThread()) {
+					threads[index++] = thread;
+				}
+			}
+			fSnapshot = threads;
+		}
+		return fSnapshot;
+	}
+}
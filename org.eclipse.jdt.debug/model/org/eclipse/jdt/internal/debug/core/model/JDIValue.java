@@ -27,6 +27,7 @@ import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 
 import com.sun.jdi.ArrayReference;
+import com.sun.jdi.ArrayType;
 import com.sun.jdi.ClassObjectReference;
 import com.sun.jdi.Field;
 import com.sun.jdi.ObjectCollectedException;
@@ -63,6 +64,12 @@ public class JDIValue extends JDIDebugElement implements IJavaValue {
 	 */
 	protected IJavaValue fLogicalParent;
 
+	/**
+	 * Thread of the stack frame this value was retrieved from, or
+	 * <code>null</code> if not known
+	 */
+	private JDIThread fFrameThread;
+
 	/**
 	 * Constructor
 	 *
@@ -243,14 +250,17 @@ public class JDIValue extends JDIDebugElement implements IJavaValue {
 			return fVariables;
 		} else if (fValue instanceof ObjectReference) {
 			ObjectReference object = (ObjectReference) fValue;
+			prefetchObjectGraph();
 			fVariables = new ArrayList<>();
 			if (isArray()) {
 				try {
 					int length = getArrayLength();
 					for (int i = 0; i < length; i++) {
-						fVariables.add(new JDIArrayEntryVariable(
+						JDIArrayEntryVariable variable = new JDIArrayEntryVariable(
 								getJavaDebugTarget(), getArrayReference(), i,
-								fLogicalParent));
+								fLogicalParent);
+						variable.setFrameThread(fFrameThread);
+						fVariables.add(variable);
 					}
 				} catch (DebugException e) {
 					if (e.getCause() instanceof ObjectCollectedException) {
@@ -277,9 +287,11 @@ public class JDIValue extends JDIDebugElement implements IJavaValue {
 				Iterator<Field> list = fields.iterator();
 				while (list.hasNext()) {
 					Field field = list.next();
-					fVariables.add(new JDIFieldVariable(
+					JDIFieldVariable variable = new JDIFieldVariable(
 							(JDIDebugTarget) getDebugTarget(), field, object,
-							fLogicalParent));
+							fLogicalParent);
+					variable.setFrameThread(fFrameThread);
+					fVariables.add(variable);
 				}
 				Collections.sort(fVariables, (a, b) -> sortChildren(a, b));
 			}
@@ -314,6 +326,48 @@ public class JDIValue extends JDIDebugElement implements IJavaValue {
 		}
 	}
 
+	/**
+	 * Retrieves the values of the children of this object and of the objects
+	 * below it in bulk, when the launch enables it. The values of primitive
+	 * arrays are not retrieved this way.
+	 *
+	 * @see ObjectGraphSnapshots
+	 */
+	protected void prefetchObjectGraph() {
+		if (!(fValue instanceof ObjectReference)) {
+			return;
+		}
+		try {
+			if (isArray() && ((ArrayType) fValue.type()).componentSignature().length() == 1) {
+				return;
+			}
+		} catch (RuntimeException e) {
+			return;
+		}
+		getJavaDebugTarget().getObjectGraphSnapshots().prefetch((ObjectReference) fValue, fFrameThread);
+	}
+
+	/**
+	 * Returns the thread of the stack frame this value was retrieved from, or
+	 * <code>null</code> if not known.
+	 *
+	 * @return the thread of the stack frame of this value or <code>null</code>
+	 */
+	JDIThread getFrameThread() {
+		return fFrameThread;
+	}
+
+	/**
+	 * Sets the thread of the stack frame this value was retrieved from. The
+	 * children of this value are retrieved from the same frame.
+	 *
+	 * @param thread
+	 *            the thread or <code>null</code> if not known
+	 */
+	void setFrameThread(JDIThread thread) {
+		fFrameThread = thread;
+	}
+
 	/**
 	 * Returns whether this value is an array
 	 */
@@ -43,6 +43,12 @@ public abstract class JDIVariable extends JDIDebugElement implements
 	 */
 	private int fLastChangeIndex = -1;
 
+	/**
+	 * Thread of the stack frame this variable was retrieved from, or
+	 * <code>null</code> if not known
+	 */
+	private JDIThread fFrameThread;
+
 	protected final static String jdiStringSignature = "Ljava/lang/String;"; //$NON-NLS-1$
 
 	public JDIVariable(JDIDebugTarget target) {
@@ -97,26 +103,53 @@ public abstract class JDIVariable extends JDIDebugElement implements
 	public IValue getValue() throws DebugException {
 		Value currentValue = getCurrentValue();
 		if (fValue == null) {
-			fValue = JDIValue.createValue((JDIDebugTarget) getDebugTarget(),
-					currentValue);
+			fValue = createValue(currentValue);
 		} else {
 			Value previousValue = fValue.getUnderlyingValue();
 			if (currentValue == previousValue) {
 				return fValue;
 			}
 			if (previousValue == null || currentValue == null) {
-				fValue = JDIValue.createValue(
-						(JDIDebugTarget) getDebugTarget(), currentValue);
+				fValue = createValue(currentValue);
 				setChangeCount(getJavaDebugTarget().getSuspendCount());
 			} else if (!previousValue.equals(currentValue)) {
-				fValue = JDIValue.createValue(
-						(JDIDebugTarget) getDebugTarget(), currentValue);
+				fValue = createValue(currentValue);
 				setChangeCount(getJavaDebugTarget().getSuspendCount());
 			}
 		}
 		return fValue;
 	}
 
+	/**
+	 * Creates the model value of this variable for the given value.
+	 */
+	private JDIValue createValue(Value value) {
+		JDIValue result = JDIValue.createValue((JDIDebugTarget) getDebugTarget(), value);
+		result.setFrameThread(getFrameThread());
+		return result;
+	}
+
+	/**
+	 * Returns the thread of the stack frame this variable was retrieved from,
+	 * or <code>null</code> if not known.
+	 *
+	 * @return the thread of the stack frame of this variable or
+	 *         <code>null</code>
+	 */
+	protected JDIThread getFrameThread() {
+		return fFrameThread;
+	}
+
+	/**
+	 * Sets the thread of the stack frame this variable was retrieved from.
+	 *
+	 * @param thread
+	 *            the thread or <code>null</code> if not known
+	 */
+	void setFrameThread(JDIThread thread) {
+		fFrameThread = thread;
+	}
+
 	/**
 	 * @see IValueModification#supportsValueModification()
 	 */
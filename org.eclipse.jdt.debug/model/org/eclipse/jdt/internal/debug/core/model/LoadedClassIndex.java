@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.VirtualMachine;
+
+/**
+ * Index of the classes loaded in a virtual machine, keyed by JNI signature and
+ * built lazily from a single {@link VirtualMachine#allClasses()} snapshot.
+ * Answers the <code>classesByName</code> and <code>nestedTypes</code> queries
+ * made while installing breakpoints without a round trip to the virtual
+ * machine per query. The index does not see classes loaded after the snapshot
+ * was taken, callers must listen to class prepare events for those.
+ */
+final class LoadedClassIndex {
+
+	private final VirtualMachine fVM;
+
+	/**
+	 * Loaded classes by signature, <code>null</code> until the first query
+	 */
+	private Map<String, List<ReferenceType>> fBySignature;
+
+	/**
+	 * Nested classes by the signature prefix of each of their enclosing types,
+	 * i.e. <code>Lp/A$B$C;</code> is found under <code>Lp/A</code> and
+	 * <code>Lp/A$B</code>
+	 */
+	private Map<String, List<ReferenceType>> fNested;
+
+	LoadedClassIndex(VirtualMachine vm) {
+		fVM = vm;
+	}
+
+	/**
+	 * Returns the loaded classes with the given fully qualified name.
+	 *
+	 * @param name
+	 *            fully qualified type name
+	 * @return loaded classes, possibly empty
+	 */
+	List<ReferenceType> classesByName(String name) {
+		build();
+		List<ReferenceType> classes = fBySignature.get(toSignature(name));
+		return classes == null ? Collections.emptyList() : classes;
+	}
+
+	/**
+	 * Returns the loaded classes nested in the given type, equivalent to
+	 * {@link ReferenceType#nestedTypes()}.
+	 *
+	 * @param type
+	 *            enclosing type
+	 * @return loaded nested classes, possibly empty
+	 */
+	List<ReferenceType> nestedTypes(ReferenceType type) {
+		build();
+		String signature = type.signature();
+		List<ReferenceType> classes = fNested.get(signature.substring(0, signature.length() - 1));
+		return classes == null ? Collections.emptyList() : classes;
+	}
+
+	private void build() {
+		if (fBySignature != null) {
+			return;
+		}
+		List<ReferenceType> classes = fVM.allClasses();
+		fBySignature = new HashMap<>(classes.size() * 2);
+		fNested = new HashMap<>();
+		for (ReferenceType type : classes) {
+			String signature = type.signature();
+			fBySignature.computeIfAbsent(signature, s -> new ArrayList<>(1)).add(type);
+			if (signature.startsWith("L")) { //$NON-NLS-1$
+				int index = signature.indexOf('$');
+				while (index > 0) {
+					fNested.computeIfAbsent(signature.substring(0, index), s -> new ArrayList<>(2)).add(type);
+					index = signature.indexOf('$', index + 1);
+				}
+			}
+		}
+	}
+
+	private static String toSignature(String name) {
+		StringBuilder signature = new StringBuilder(name.length() + 2);
+		signature.append('L');
+		signature.append(name.replace('.', '/'));
+		signature.append(';');
+		return signature.toString();
+	}
+}
@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.debug.core.DebugException;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.ByteValue;
+import com.sun.jdi.ClassType;
+import com.sun.jdi.Field;
+import com.sun.jdi.Method;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Value;
+import com.sun.jdi.VirtualMachine;
+
+/**
+ * Field values and array elements of a debug target retrieved in bulk.
+ * <p>
+ * When the launch configuration enables
+ * <code>IJavaLaunchConfigurationConstants.ATTR_OBJECT_GRAPH_SNAPSHOTS</code>,
+ * the javaagent loads a helper class into the debuggee that serializes the
+ * objects reachable from a root object into a byte array. Snapshots are taken
+ * whenever the helper is found in the debuggee. Before the children of an object are retrieved, the helper is
+ * invoked for it in the thread of the stack frame the object was retrieved
+ * from. The field values and array elements it captured are kept until a
+ * thread resumes or an event is received from the VM, so that variables below
+ * the object are answered without a request per field. With the default
+ * policy of suspending only the thread of an event, other threads may still
+ * run and change captured values; like values already shown, captured values
+ * are then refreshed by the next resume or event. Anything not captured, or
+ * any failure to use the helper, falls back to plain JDI requests.
+ * </p>
+ * <p>
+ * The encoding is described by
+ * <code>org.eclipse.jdt.launching.internal.javaagent.ObjectGraphSnapshot</code>.
+ * </p>
+ */
+final class ObjectGraphSnapshots {
+
+	private static final String HELPER_CLASS = "org.eclipse.jdt.launching.internal.javaagent.ObjectGraphSnapshot"; //$NON-NLS-1$
+	private static final String SNAPSHOT_METHOD = "snapshot"; //$NON-NLS-1$
+	private static final String SNAPSHOT_SIGNATURE = "(Ljava/lang/Object;ILjava/lang/String;)[Ljava/lang/Object;"; //$NON-NLS-1$
+
+	private static final byte OBJECT = 0;
+	private static final byte ARRAY = 1;
+	private static final byte NOT_EXPANDED = 2;
+	private static final int NULL = -1;
+	private static final int NOT_CAPTURED = -2;
+
+	/**
+	 * Number of levels of objects captured below a root
+	 */
+	private static final int DEPTH = 3;
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * The helper method, <code>null</code> if not found in the debuggee.
+	 */
+	private Method fSnapshotMethod;
+
+	/**
+	 * Whether the helper was looked up. The javaagent loads the helper before
+	 * the main class, so it is looked up once.
+	 */
+	private boolean fLookedUp;
+
+	/**
+	 * Captured field values by object, keyed by {@link #keyOf(Field)}. Guarded
+	 * by <code>this</code>.
+	 */
+	private final Map<ObjectReference, Map<String, Value>> fFields = new HashMap<>();
+
+	/**
+	 * Captured elements by array and index. Guarded by <code>this</code>.
+	 */
+	private final Map<ObjectReference, Map<Integer, Value>> fElements = new HashMap<>();
+
+	/**
+	 * Roots a snapshot was taken or attempted for since the last resume.
+	 * Guarded by <code>this</code>.
+	 */
+	private final Set<ObjectReference> fRoots = new HashSet<>();
+
+	/**
+	 * Incremented each time the snapshots are discarded. Guarded by
+	 * <code>this</code>.
+	 */
+	private int fGeneration;
+
+	/**
+	 * @param target
+	 *            the target to take snapshots in
+	 */
+	ObjectGraphSnapshots(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Returns the key of the given field in the captured values of an object.
+	 */
+	static String keyOf(Field field) {
+		return field.declaringType().name() + '.' + field.name();
+	}
+
+	/**
+	 * Returns the captured field values of the given object, or
+	 * <code>null</code> if it was not captured. A field missing from the
+	 * result was not captured, a field mapped to <code>null</code> holds
+	 * <code>null</code>.
+	 */
+	synchronized Map<String, Value> getFields(ObjectReference object) {
+		return fFields.get(object);
+	}
+
+	/**
+	 * Returns the captured elements of the given array, or <code>null</code>
+	 * if it was not captured. An index missing from the result was not
+	 * captured.
+	 */
+	synchronized Map<Integer, Value> getElements(ArrayReference array) {
+		return fElements.get(array);
+	}
+
+	/**
+	 * Discards all snapshots, e.g. as the values they hold may have changed.
+	 */
+	synchronized void clear() {
+		fFields.clear();
+		fElements.clear();
+		fRoots.clear();
+		fGeneration++;
+	}
+
+	/**
+	 * Takes a snapshot of the objects reachable from the given object, unless
+	 * its content is already captured or a snapshot was attempted for it since
+	 * the last resume. Failures are ignored, values are then retrieved with
+	 * plain JDI requests.
+	 *
+	 * @param root
+	 *            the object whose children are about to be retrieved
+	 * @param thread
+	 *            the thread of the stack frame the object was retrieved from,
+	 *            no snapshot is taken if <code>null</code>
+	 */
+	void prefetch(ObjectReference root, JDIThread thread) {
+		if (root == null || thread == null || !canInvoke(thread)) {
+			return;
+		}
+		int generation;
+		synchronized (this) {
+			if (fFields.containsKey(root) || fElements.containsKey(root) || !fRoots.add(root)) {
+				return;
+			}
+			generation = fGeneration;
+		}
+		try {
+			Method method = getSnapshotMethod();
+			if (method == null) {
+				return;
+			}
+			VirtualMachine vm = fTarget.getVM();
+			List<Value> args = Arrays.asList(root, vm.mirrorOf(DEPTH), null);
+			Value result = thread.invokeMethod((ClassType) method.declaringType(), null, method, args, false);
+			if (result instanceof ArrayReference) {
+				read(vm, (ArrayReference) result, generation);
+			}
+		} catch (DebugException | IOException | RuntimeException e) {
+			// fall back to plain JDI requests
+		}
+	}
+
+	/**
+	 * Returns the helper method, looking it up in the debuggee the first
+	 * time.
+	 */
+	private synchronized Method getSnapshotMethod() {
+		if (fLookedUp) {
+			return fSnapshotMethod;
+		}
+		fLookedUp = true;
+		for (ReferenceType type : fTarget.jdiClassesByName(HELPER_CLASS)) {
+			if (type instanceof ClassType) {
+				Method method = ((ClassType) type).concreteMethodByName(SNAPSHOT_METHOD, SNAPSHOT_SIGNATURE);
+				if (method != null && method.isStatic()) {
+					fSnapshotMethod = method;
+					break;
+				}
+			}
+		}
+		return fSnapshotMethod;
+	}
+
+	/**
+	 * Returns whether the helper can be invoked in the given thread, i.e. it is
+	 * suspended by an event and not busy.
+	 */
+	private static boolean canInvoke(JDIThread thread) {
+		return thread.isSuspended() && !thread.isInvokingMethod() && !thread.isPerformingEvaluation()
+				&& !thread.hasClientRequestedSuspend();
+	}
+
+	/**
+	 * Reads the result of the helper and records the captured values, unless
+	 * the snapshots were discarded in the meantime.
+	 */
+	private void read(VirtualMachine vm, ArrayReference result, int generation) throws IOException {
+		List<Value> parts;
+		List<Value> bytes;
+		List<Value> objects;
+		result.disableCollection();
+		try {
+			parts = result.getValues();
+			bytes = ((ArrayReference) parts.get(0)).getValues();
+			objects = ((ArrayReference) parts.get(1)).getValues();
+		} finally {
+			result.enableCollection();
+		}
+		byte[] data = new byte[bytes.size()];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = ((ByteValue) bytes.get(i)).value();
+		}
+		Map<ObjectReference, Map<String, Value>> fields = new HashMap<>();
+		Map<ObjectReference, Map<Integer, Value>> elements = new HashMap<>();
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+		List<String> strings = new ArrayList<>();
+		for (Value value : objects) {
+			ObjectReference object = (ObjectReference) value;
+			byte kind = in.readByte();
+			if (kind == OBJECT) {
+				int count = in.readInt();
+				Map<String, Value> values = new HashMap<>(count * 2);
+				Set<String> ambiguous = null;
+				for (int i = 0; i < count; i++) {
+					String key = readString(in, strings);
+					char tag = (char) in.readByte();
+					if (tag == 'L') {
+						int index = in.readInt();
+						if (index == NOT_CAPTURED) {
+							continue;
+						}
+						value = index == NULL ? null : objects.get(index);
+					} else {
+						value = readPrimitive(vm, tag, in);
+					}
+					if (values.containsKey(key)) {
+						// fields of classes with the same name but different
+						// loaders, leave them to JDI
+						if (ambiguous == null) {
+							ambiguous = new HashSet<>();
+						}
+						ambiguous.add(key);
+					}
+					values.put(key, value);
+				}
+				if (ambiguous != null) {
+					values.keySet().removeAll(ambiguous);
+				}
+				fields.put(object, values);
+			} else if (kind == ARRAY) {
+				int count = in.readInt();
+				Map<Integer, Value> values = new HashMap<>(count * 2);
+				for (int i = 0; i < count; i++) {
+					in.readByte();
+					int index = in.readInt();
+					if (index != NOT_CAPTURED) {
+						values.put(Integer.valueOf(i), index == NULL ? null : objects.get(index));
+					}
+				}
+				elements.put(object, values);
+			} else if (kind != NOT_EXPANDED) {
+				throw new IOException("Unknown record kind " + kind); //$NON-NLS-1$
+			}
+		}
+		synchronized (this) {
+			if (generation == fGeneration) {
+				fFields.putAll(fields);
+				fElements.putAll(elements);
+			}
+		}
+	}
+
+	private static String readString(DataInputStream in, List<String> strings) throws IOException {
+		int index = in.readInt();
+		if (index >= 0) {
+			return strings.get(index);
+		}
+		String string = in.readUTF();
+		strings.add(string);
+		return string;
+	}
+
+	private static Value readPrimitive(VirtualMachine vm, char tag, DataInputStream in) throws IOException {
+		switch (tag) {
+			case 'I':
+				return vm.mirrorOf(in.readInt());
+			case 'J':
+				return vm.mirrorOf(in.readLong());
+			case 'Z':
+				return vm.mirrorOf(in.readBoolean());
+			case 'B':
+				return vm.mirrorOf(in.readByte());
+			case 'C':
+				return vm.mirrorOf(in.readChar());
+			case 'S':
+				return vm.mirrorOf(in.readShort());
+			case 'F':
+				return vm.mirrorOf(in.readFloat());
+			case 'D':
+				return vm.mirrorOf(in.readDouble());
+			default:
+				throw new IOException("Unknown value tag " + tag); //$NON-NLS-1$
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.jdi.Method;
+
+/**
+ * Stacks sampled by a {@link StackSampler}, aggregated in a trie of frames.
+ * <p>
+ * Each distinct method is interned once, and each distinct call path is one
+ * node of the trie that counts the samples ending in it. Adding a stack that
+ * was sampled before allocates nothing. The profile can be written in the
+ * collapsed stack format read by flame graph tools, see
+ * {@link #writeCollapsed(Writer)}.
+ * </p>
+ */
+public final class StackSampleProfile {
+
+	private static final Node[] NO_CHILDREN = new Node[0];
+
+	/**
+	 * A call path, identified by the frames from the root to this node
+	 */
+	private static final class Node {
+		final Node fParent;
+		final int fFrame;
+		Node[] fChildren = NO_CHILDREN;
+		int fChildCount;
+		long fSelf;
+
+		Node(Node parent, int frame) {
+			fParent = parent;
+			fFrame = frame;
+		}
+
+		Node child(int frame) {
+			for (int i = 0; i < fChildCount; i++) {
+				if (fChildren[i].fFrame == frame) {
+					return fChildren[i];
+				}
+			}
+			if (fChildCount == fChildren.length) {
+				fChildren = Arrays.copyOf(fChildren, Math.max(4, fChildCount * 2));
+			}
+			Node child = new Node(this, frame);
+			fChildren[fChildCount++] = child;
+			return child;
+		}
+	}
+
+	/**
+	 * Frame numbers by method. Guarded by <code>this</code>.
+	 */
+	private final Map<Method, Integer> fFrames = new HashMap<>();
+
+	/**
+	 * Frame names by frame number, resolved when the method is first seen so
+	 * that the profile can be written after the VM is gone. Guarded by
+	 * <code>this</code>.
+	 */
+	private final List<String> fFrameNames = new ArrayList<>();
+
+	/**
+	 * Guarded by <code>this</code>
+	 */
+	private final Node fRoot = new Node(null, -1);
+
+	/**
+	 * Number of samples taken. Guarded by <code>this</code>.
+	 */
+	private long fSamples;
+
+	/**
+	 * Number of stacks added. Guarded by <code>this</code>.
+	 */
+	private long fStacks;
+
+	/**
+	 * Adds a sampled stack.
+	 *
+	 * @param stack
+	 *            the methods on the stack, the top frame first
+	 */
+	synchronized void addStack(List<Method> stack) {
+		if (stack.isEmpty()) {
+			return;
+		}
+		Node node = fRoot;
+		for (int i = stack.size() - 1; i >= 0; i--) {
+			node = node.child(intern(stack.get(i)));
+		}
+		node.fSelf++;
+		fStacks++;
+	}
+
+	/**
+	 * Notes that all threads were sampled once.
+	 */
+	synchronized void sampled() {
+		fSamples++;
+	}
+
+	private int intern(Method method) {
+		Integer frame = fFrames.get(method);
+		if (frame == null) {
+			frame = Integer.valueOf(fFrameNames.size());
+			fFrames.put(method, frame);
+			fFrameNames.add(method.declaringType().name() + '.' + method.name());
+		}
+		return frame.intValue();
+	}
+
+	/**
+	 * Returns the number of times all threads were sampled.
+	 *
+	 * @return the number of samples
+	 */
+	public synchronized long getSampleCount() {
+		return fSamples;
+	}
+
+	/**
+	 * Returns the number of stacks in this profile, that is the number of
+	 * threads sampled over all samples.
+	 *
+	 * @return the number of stacks
+	 */
+	public synchronized long getStackCount() {
+		return fStacks;
+	}
+
+	/**
+	 * Writes this profile in the collapsed stack format: one line per
+	 * distinct stack, with the frames from the outermost to the innermost
+	 * separated by semicolons, followed by a space and the number of samples
+	 * of that stack.
+	 *
+	 * @param writer
+	 *            the writer to write to
+	 * @throws IOException
+	 *             if the profile could not be written
+	 */
+	public synchronized void writeCollapsed(Writer writer) throws IOException {
+		StringBuilder line = new StringBuilder();
+		Deque<Node> pending = new ArrayDeque<>();
+		Deque<Node> path = new ArrayDeque<>();
+		pending.push(fRoot);
+		while (!pending.isEmpty()) {
+			Node node = pending.pop();
+			for (int i = node.fChildCount - 1; i >= 0; i--) {
+				pending.push(node.fChildren[i]);
+			}
+			if (node.fSelf == 0) {
+				continue;
+			}
+			path.clear();
+			for (Node frame = node; frame != fRoot; frame = frame.fParent) {
+				path.push(frame);
+			}
+			line.setLength(0);
+			for (Node frame : path) {
+				if (line.length() > 0) {
+					line.append(';');
+				}
+				line.append(fFrameNames.get(frame.fFrame));
+			}
+			line.append(' ').append(node.fSelf).append('\n');
+			writer.write(line.toString());
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+
+import com.sun.jdi.Method;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.VirtualMachine;
+
+/**
+ * Periodically samples the stacks of the running threads of a target, see
+ * {@link JDIDebugTarget#startSampling(int)}.
+ * <p>
+ * A sample suspends the VM, retrieves the threads, their status and the
+ * stacks of the running ones, and resumes the VM. The status and stack
+ * requests are pipelined, so that a sample takes six round trips however
+ * many threads there are, as resuming the VM retrieves the threads again.
+ * Only running threads are sampled, not threads that are blocked, waiting,
+ * sleeping or suspended by the debugger. The VM is suspended and resumed
+ * while holding the lock of the target's suspended state, so that no sample
+ * is taken while the whole target is suspended. Suspensions are counted by
+ * the VM, so the target may suspend or resume while a sample is taken.
+ * </p>
+ */
+class StackSampler extends Job {
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * Time between the start of two samples, in milliseconds
+	 */
+	private final long fInterval;
+
+	private final StackSampleProfile fProfile = new StackSampleProfile();
+
+	private volatile boolean fStopped;
+
+	StackSampler(JDIDebugTarget target, long interval) {
+		super(JDIDebugModelMessages.StackSampler_0);
+		fTarget = target;
+		fInterval = interval;
+		setSystem(true);
+	}
+
+	StackSampleProfile getProfile() {
+		return fProfile;
+	}
+
+	void stop() {
+		fStopped = true;
+		cancel();
+	}
+
+	boolean isStopped() {
+		return fStopped;
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		if (fStopped || monitor.isCanceled()) {
+			return Status.CANCEL_STATUS;
+		}
+		long start = System.currentTimeMillis();
+		VirtualMachine vm = fTarget.getVM();
+		if (!(vm instanceof VirtualMachineImpl) || fTarget.isTerminated() || fTarget.isDisconnected()) {
+			fStopped = true;
+			return Status.OK_STATUS;
+		}
+		try {
+			sample((VirtualMachineImpl) vm);
+		} catch (VMDisconnectedException e) {
+			fStopped = true;
+			return Status.OK_STATUS;
+		} catch (RuntimeException e) {
+			fStopped = true;
+			JDIDebugPlugin.log(e);
+			return Status.OK_STATUS;
+		}
+		if (!fStopped) {
+			schedule(Math.max(0, fInterval - (System.currentTimeMillis() - start)));
+		}
+		return Status.OK_STATUS;
+	}
+
+	private void sample(VirtualMachineImpl vm) {
+		List<List<Method>> stacks;
+		synchronized (fTarget.getVMSuspendLock()) {
+			if (fTarget.isSuspended()) {
+				return;
+			}
+			vm.suspend();
+		}
+		try {
+			List<ThreadReference> candidates = new ArrayList<>();
+			for (ThreadReference thread : vm.allThreads()) {
+				JDIThread jdiThread = fTarget.findThread(thread);
+				if (jdiThread == null || !jdiThread.isSuspended()) {
+					candidates.add(thread);
+				}
+			}
+			List<Integer> statuses = vm.threadStatuses(candidates);
+			if (statuses == null) {
+				return;
+			}
+			List<ThreadReference> threads = new ArrayList<>(candidates.size());
+			for (int i = 0; i < candidates.size(); i++) {
+				Integer status = statuses.get(i);
+				if (status != null && status.intValue() == ThreadReference.THREAD_STATUS_RUNNING) {
+					threads.add(candidates.get(i));
+				}
+			}
+			stacks = vm.stackMethods(threads);
+		} finally {
+			synchronized (fTarget.getVMSuspendLock()) {
+				vm.resume();
+			}
+		}
+		if (stacks == null) {
+			return;
+		}
+		for (List<Method> stack : stacks) {
+			if (stack != null) {
+				fProfile.addStack(stack);
+			}
+		}
+		fProfile.sampled();
+	}
+}
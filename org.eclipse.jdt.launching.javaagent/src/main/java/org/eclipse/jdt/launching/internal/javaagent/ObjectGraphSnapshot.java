@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.launching.internal.javaagent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Serializes the objects reachable from a root object, so that a debugger can
+ * retrieve their field values with one method invocation and a few array
+ * reads instead of one request per field.
+ * <p>
+ * The class is loaded by {@link Premain} when the agent is given the
+ * <code>snapshots</code> option, and is only invoked by the debugger. It runs
+ * no code of the debuggee: field values are read by reflection and objects
+ * are identified by identity.
+ * </p>
+ * <p>
+ * {@link #snapshot(Object, int, String)} returns an array holding the encoded
+ * graph and the objects the encoding refers to by index, the root being the
+ * first object. For each object, in order, the encoding holds a record:
+ * </p>
+ * <ul>
+ * <li>{@link #OBJECT}, the number of fields, then for each field its key (a
+ * string, see below) and its value</li>
+ * <li>{@link #ARRAY}, the number of elements captured and the value of each
+ * element; the elements of primitive arrays are not captured</li>
+ * <li>{@link #NOT_EXPANDED} for objects that are referenced but whose content
+ * is not captured</li>
+ * </ul>
+ * <p>
+ * Fields are keyed by the name of their declaring class and their name,
+ * separated by a <code>'.'</code>. Fields that can not be read are left out.
+ * A string is encoded as an int index of a string already encoded, or
+ * <code>-1</code> followed by the string in modified UTF-8. A value is
+ * encoded as the signature character of its type followed by the value,
+ * objects as the int index of the object, {@link #NULL} or
+ * {@link #NOT_CAPTURED}.
+ * </p>
+ */
+public final class ObjectGraphSnapshot {
+
+	/** Record of an object with its fields */
+	public static final byte OBJECT = 0;
+
+	/** Record of an array with its elements */
+	public static final byte ARRAY = 1;
+
+	/** Record of an object whose content is not captured */
+	public static final byte NOT_EXPANDED = 2;
+
+	/** Index of a null reference */
+	public static final int NULL = -1;
+
+	/** Index of a reference that is not captured */
+	public static final int NOT_CAPTURED = -2;
+
+	/** Maximum number of objects whose content is captured */
+	private static final int MAX_EXPANDED = 10000;
+
+	/** Maximum number of objects referenced by a snapshot */
+	private static final int MAX_OBJECTS = 50000;
+
+	/** Maximum number of elements captured for each array */
+	private static final int MAX_ARRAY_ELEMENTS = 1000;
+
+	/**
+	 * Readable instance fields by class. Unlike a map keyed by class, the
+	 * values do not keep their classes, and so their class loaders, reachable.
+	 */
+	private static final ClassValue<Field[]> FIELDS = new ClassValue<Field[]>() {
+		@Override
+		protected Field[] computeValue(Class<?> type) {
+			return readableFields(type);
+		}
+	};
+
+	private final Pattern fFilter;
+	private final ByteArrayOutputStream fBytes = new ByteArrayOutputStream();
+	private final DataOutputStream fOut = new DataOutputStream(fBytes);
+	private final Map<Object, Integer> fIndexes = new IdentityHashMap<>();
+	private final List<Object> fObjects = new ArrayList<>();
+	private final List<Integer> fDepths = new ArrayList<>();
+	private final Map<String, Integer> fStrings = new HashMap<>();
+
+	private ObjectGraphSnapshot(String fieldFilter) {
+		fFilter = fieldFilter == null || fieldFilter.isEmpty() ? null : Pattern.compile(fieldFilter);
+	}
+
+	/**
+	 * Forces this class to be loaded and initialized, so that the debugger
+	 * finds it.
+	 */
+	static void install() {
+		// nothing to do, loading the class is enough
+	}
+
+	/**
+	 * Serializes the objects reachable from the given root.
+	 *
+	 * @param root
+	 *            the object to start from
+	 * @param depth
+	 *            the number of levels of references whose content is
+	 *            captured, 1 to capture the root only
+	 * @param fieldFilter
+	 *            regular expression matching the keys of fields that are not
+	 *            captured, or <code>null</code>
+	 * @return an array holding the encoded graph as a <code>byte[]</code> and
+	 *         the referenced objects as an <code>Object[]</code>
+	 * @throws IOException
+	 *             never, the graph is encoded in memory
+	 */
+	public static Object[] snapshot(Object root, int depth, String fieldFilter) throws IOException {
+		ObjectGraphSnapshot snapshot = new ObjectGraphSnapshot(fieldFilter);
+		snapshot.indexOf(root, 0);
+		int expanded = 0;
+		for (int i = 0; i < snapshot.fObjects.size(); i++) {
+			Object object = snapshot.fObjects.get(i);
+			int level = snapshot.fDepths.get(i).intValue();
+			if (level >= depth || expanded >= MAX_EXPANDED) {
+				snapshot.fOut.writeByte(NOT_EXPANDED);
+			} else if (object.getClass().isArray()) {
+				snapshot.writeArray(object, level + 1);
+				expanded++;
+			} else {
+				snapshot.writeObject(object, level + 1);
+				expanded++;
+			}
+		}
+		snapshot.fOut.flush();
+		return new Object[] { snapshot.fBytes.toByteArray(), snapshot.fObjects.toArray() };
+	}
+
+	private void writeObject(Object object, int level) throws IOException {
+		Field[] fields = FIELDS.get(object.getClass());
+		List<Field> captured = new ArrayList<>(fields.length);
+		for (Field field : fields) {
+			if (fFilter == null || !fFilter.matcher(keyOf(field)).matches()) {
+				captured.add(field);
+			}
+		}
+		fOut.writeByte(OBJECT);
+		fOut.writeInt(captured.size());
+		for (Field field : captured) {
+			writeString(keyOf(field));
+			Class<?> type = field.getType();
+			try {
+				if (type.isPrimitive()) {
+					writePrimitive(type, field.get(object));
+				} else {
+					fOut.writeByte('L');
+					fOut.writeInt(indexOf(field.get(object), level));
+				}
+			} catch (IllegalAccessException e) {
+				// fields are made accessible when collected
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private void writeArray(Object array, int level) throws IOException {
+		Class<?> componentType = array.getClass().getComponentType();
+		fOut.writeByte(ARRAY);
+		if (componentType.isPrimitive()) {
+			// primitive arrays are read in bulk by the debugger already
+			fOut.writeInt(0);
+			return;
+		}
+		int length = Math.min(Array.getLength(array), MAX_ARRAY_ELEMENTS);
+		fOut.writeInt(length);
+		Object[] elements = (Object[]) array;
+		for (int i = 0; i < length; i++) {
+			fOut.writeByte('L');
+			fOut.writeInt(indexOf(elements[i], level));
+		}
+	}
+
+	private void writePrimitive(Class<?> type, Object value) throws IOException {
+		if (type == int.class) {
+			fOut.writeByte('I');
+			fOut.writeInt(((Integer) value).intValue());
+		} else if (type == long.class) {
+			fOut.writeByte('J');
+			fOut.writeLong(((Long) value).longValue());
+		} else if (type == boolean.class) {
+			fOut.writeByte('Z');
+			fOut.writeBoolean(((Boolean) value).booleanValue());
+		} else if (type == byte.class) {
+			fOut.writeByte('B');
+			fOut.writeByte(((Byte) value).byteValue());
+		} else if (type == char.class) {
+			fOut.writeByte('C');
+			fOut.writeChar(((Character) value).charValue());
+		} else if (type == short.class) {
+			fOut.writeByte('S');
+			fOut.writeShort(((Short) value).shortValue());
+		} else if (type == float.class) {
+			fOut.writeByte('F');
+			fOut.writeFloat(((Float) value).floatValue());
+		} else {
+			fOut.writeByte('D');
+			fOut.writeDouble(((Double) value).doubleValue());
+		}
+	}
+
+	private void writeString(String string) throws IOException {
+		Integer index = fStrings.get(string);
+		if (index != null) {
+			fOut.writeInt(index.intValue());
+			return;
+		}
+		fStrings.put(string, Integer.valueOf(fStrings.size()));
+		fOut.writeInt(-1);
+		fOut.writeUTF(string);
+	}
+
+	/**
+	 * Returns the index of the given object, adding it to the objects of the
+	 * snapshot if it is not part of it yet.
+	 */
+	private int indexOf(Object object, int level) {
+		if (object == null) {
+			return NULL;
+		}
+		Integer index = fIndexes.get(object);
+		if (index != null) {
+			return index.intValue();
+		}
+		if (fObjects.size() >= MAX_OBJECTS) {
+			return NOT_CAPTURED;
+		}
+		int newIndex = fObjects.size();
+		fIndexes.put(object, Integer.valueOf(newIndex));
+		fObjects.add(object);
+		fDepths.add(Integer.valueOf(level));
+		return newIndex;
+	}
+
+	private static String keyOf(Field field) {
+		return field.getDeclaringClass().getName() + '.' + field.getName();
+	}
+
+	/**
+	 * Returns the instance fields of the given class and its superclasses that
+	 * can be read.
+	 */
+	private static Field[] readableFields(Class<?> type) {
+		List<Field> readable = new ArrayList<>();
+		for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+			Field[] declared;
+			try {
+				declared = current.getDeclaredFields();
+			} catch (RuntimeException | LinkageError e) {
+				continue;
+			}
+			for (Field field : declared) {
+				if (Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				try {
+					field.setAccessible(true);
+					readable.add(field);
+				} catch (RuntimeException e) {
+					// not accessible, e.g. not opened by its module, the debugger
+					// reads it
+				}
+			}
+		}
+		return readable.toArray(new Field[readable.size()]);
+	}
+}
@@ -28,7 +28,25 @@ public class Premain {
 	private static final ClassfileTransformer transformer = new ClassfileTransformer();
 
 	public static void premain(final String agentArgs, final Instrumentation inst) {
-		final boolean debuglog = "debuglog".equals(agentArgs); //$NON-NLS-1$
+		boolean log = false;
+		boolean snapshots = false;
+		if (agentArgs != null) {
+			for (String arg : agentArgs.split(",")) { //$NON-NLS-1$
+				if ("debuglog".equals(arg)) { //$NON-NLS-1$
+					log = true;
+				} else if ("snapshots".equals(arg)) { //$NON-NLS-1$
+					snapshots = true;
+				}
+			}
+		}
+		final boolean debuglog = log;
+
+		// the snapshot helper does not depend on instrumentation, load it so
+		// that the debugger finds it
+		if (snapshots) {
+			ObjectGraphSnapshot.install();
+			printErrorMessage("Object graph snapshots enabled.", null, debuglog);//$NON-NLS-1$
+		}
 
 		// disable instrumentation if Object.class class format is not supported
 		short major = readJavaLangObjectMajor(debuglog);
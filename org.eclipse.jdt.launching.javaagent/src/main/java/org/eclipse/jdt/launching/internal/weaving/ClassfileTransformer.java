@@ -14,6 +14,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.launching.internal.weaving;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
@@ -24,6 +27,11 @@ public class ClassfileTransformer {
 	// must match JDIHelpers.STRATA_ID
 	private static final String STRATA_ID = "jdt"; //$NON-NLS-1$
 
+	// must match SourceDebugExtensionParser.CLASS_DIGEST_VENDOR_ID
+	private static final String CLASS_DIGEST_VENDOR_ID = "org.eclipse.jdt.classdigest"; //$NON-NLS-1$
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
 	/** max supported java class format major version, must match {@link #ASM_API} below **/
 	public static final int MAX_CLASS_MAJOR = Opcodes.V26;
 
@@ -53,6 +61,13 @@ public class ClassfileTransformer {
 					// JSR-045, StratumSection
 					// "One FileSection and one LineSection (in either order) must follow the StratumSection"
 					smap.append("*L\n"); //$NON-NLS-1$
+					// identity of the class file, lets the debugger reuse metadata of the same class from earlier sessions
+					String digest = digest(classfileBuffer);
+					if (digest != null) {
+						smap.append("*V\n"); //$NON-NLS-1$
+						smap.append(CLASS_DIGEST_VENDOR_ID).append("\n"); //$NON-NLS-1$
+						smap.append(digest).append("\n"); //$NON-NLS-1$
+					}
 					smap.append("*E\n"); //$NON-NLS-1$
 					debug = smap.toString();
 				}
@@ -63,4 +78,22 @@ public class ClassfileTransformer {
 
 		return w.toByteArray();
 	}
+
+	/**
+	 * Returns the SHA-256 digest of the given class file as a hex string, or {@code null} if the digest is not available.
+	 */
+	private static String digest(byte[] classfileBuffer) {
+		byte[] hash;
+		try {
+			hash = MessageDigest.getInstance("SHA-256").digest(classfileBuffer); //$NON-NLS-1$
+		}
+		catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+		StringBuilder sb = new StringBuilder(2 * hash.length);
+		for (byte b : hash) {
+			sb.append(HEX_DIGITS[(b >> 4) & 0xf]).append(HEX_DIGITS[b & 0xf]);
+		}
+		return sb.toString();
+	}
 }
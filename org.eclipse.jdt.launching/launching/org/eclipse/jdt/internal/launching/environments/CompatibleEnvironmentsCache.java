@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.launching.environments;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.jdt.internal.launching.EEVMInstall;
+import org.eclipse.jdt.internal.launching.LaunchingPlugin;
+import org.eclipse.jdt.launching.AbstractVMInstall;
+import org.eclipse.jdt.launching.IVMInstall;
+import org.eclipse.jdt.launching.JavaRuntime;
+import org.eclipse.jdt.launching.environments.CompatibleEnvironment;
+import org.eclipse.jdt.launching.environments.IExecutionEnvironment;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Persistent cache of compatible environments per VM install and analyzer. Entries are keyed by the composite id of the VM and are only
+ * considered valid while the fingerprint of the VM install (location and time stamps) is unchanged, which allows analysis to be skipped for
+ * VMs that were already analyzed in a previous session.
+ */
+class CompatibleEnvironmentsCache {
+
+	/**
+	 * Name of the file in the plug-in state location
+	 */
+	private static final String CACHE_FILE = "compatibleEnvironments.xml"; //$NON-NLS-1$
+
+	private static final String ROOT = "compatibleEnvironments"; //$NON-NLS-1$
+	private static final String VM = "vm"; //$NON-NLS-1$
+	private static final String ANALYZER = "analyzer"; //$NON-NLS-1$
+	private static final String ENVIRONMENT = "environment"; //$NON-NLS-1$
+	private static final String ID = "id"; //$NON-NLS-1$
+	private static final String FINGERPRINT = "fingerprint"; //$NON-NLS-1$
+	private static final String STRICT = "strict"; //$NON-NLS-1$
+
+	/**
+	 * Cached results of a single VM install
+	 */
+	private static class VMEntry {
+		final String fingerprint;
+		final Map<String, List<String[]>> environments = new HashMap<>();
+
+		VMEntry(String fingerprint) {
+			this.fingerprint = fingerprint;
+		}
+	}
+
+	/**
+	 * Map of composite VM id to cached results
+	 */
+	private final Map<String, VMEntry> fEntries = new HashMap<>();
+
+	/**
+	 * File the cache is persisted in
+	 */
+	private final File fFile;
+
+	private boolean fRestored = false;
+
+	private boolean fDirty = false;
+
+	/**
+	 * Creates a cache persisted in the launching plug-in state location.
+	 */
+	CompatibleEnvironmentsCache() {
+		fFile = LaunchingPlugin.getDefault().getStateLocation().append(CACHE_FILE).toFile();
+	}
+
+	/**
+	 * Returns a fingerprint for the given VM install. Computing the fingerprint must not launch the VM.
+	 *
+	 * @param vm
+	 *            the VM install
+	 * @return fingerprint of the VM install
+	 */
+	static String getFingerprint(IVMInstall vm) {
+		StringBuilder buffer = new StringBuilder();
+		File location = vm.getInstallLocation();
+		if (location != null) {
+			buffer.append(location.getAbsolutePath());
+			buffer.append('|');
+			buffer.append(location.lastModified());
+			buffer.append('|');
+			buffer.append(new File(location, "release").lastModified()); //$NON-NLS-1$
+		}
+		if (vm instanceof AbstractVMInstall) {
+			AbstractVMInstall install = (AbstractVMInstall) vm;
+			buffer.append('|');
+			buffer.append(install.getAttribute(EEVMInstall.ATTR_EXECUTION_ENVIRONMENT_ID));
+			buffer.append('|');
+			buffer.append(install.getAttribute(EEVMInstall.ATTR_JAVA_VERSION));
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Returns the cached compatible environments computed by the given analyzer for the given VM, or <code>null</code> if there are no valid
+	 * cached results.
+	 *
+	 * @param vm
+	 *            the VM install
+	 * @param fingerprint
+	 *            the current fingerprint of the VM install
+	 * @param analyzerId
+	 *            id of the analyzer
+	 * @return cached compatible environments or <code>null</code>
+	 */
+	CompatibleEnvironment[] get(IVMInstall vm, String fingerprint, String analyzerId) {
+		List<String[]> environments;
+		synchronized (this) {
+			restore();
+			VMEntry entry = fEntries.get(JavaRuntime.getCompositeIdFromVM(vm));
+			if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+				return null;
+			}
+			environments = entry.environments.get(analyzerId);
+			if (environments == null) {
+				return null;
+			}
+		}
+		// resolve environments outside of the cache lock, the environments manager has its own lock
+		CompatibleEnvironment[] result = new CompatibleEnvironment[environments.size()];
+		for (int i = 0; i < result.length; i++) {
+			String[] environment = environments.get(i);
+			IExecutionEnvironment env = EnvironmentsManager.getDefault().getEnvironment(environment[0]);
+			if (env == null) {
+				// environment no longer contributed, analyze again
+				return null;
+			}
+			result[i] = new CompatibleEnvironment(env, Boolean.parseBoolean(environment[1]));
+		}
+		return result;
+	}
+
+	/**
+	 * Records the compatible environments computed by the given analyzer for the given VM.
+	 *
+	 * @param vm
+	 *            the VM install
+	 * @param fingerprint
+	 *            the fingerprint of the VM install at the time of analysis
+	 * @param analyzerId
+	 *            id of the analyzer
+	 * @param environments
+	 *            the compatible environments
+	 */
+	synchronized void put(IVMInstall vm, String fingerprint, String analyzerId, CompatibleEnvironment[] environments) {
+		restore();
+		String vmId = JavaRuntime.getCompositeIdFromVM(vm);
+		VMEntry entry = fEntries.get(vmId);
+		if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+			entry = new VMEntry(fingerprint);
+			fEntries.put(vmId, entry);
+		}
+		List<String[]> list = new ArrayList<>(environments.length);
+		for (CompatibleEnvironment environment : environments) {
+			list.add(new String[] { environment.getCompatibleEnvironment().getId(),
+					Boolean.toString(environment.isStrictlyCompatbile()) });
+		}
+		entry.environments.put(analyzerId, list);
+		fDirty = true;
+	}
+
+	/**
+	 * Discards all cached results for the given VM.
+	 *
+	 * @param vm
+	 *            the VM install
+	 */
+	synchronized void remove(IVMInstall vm) {
+		restore();
+		if (fEntries.remove(JavaRuntime.getCompositeIdFromVM(vm)) != null) {
+			fDirty = true;
+		}
+	}
+
+	/**
+	 * Writes the cache to its file if it has changed.
+	 */
+	synchronized void save() {
+		if (!fDirty) {
+			return;
+		}
+		try {
+			Document doc = DebugPlugin.newDocument();
+			Element root = doc.createElement(ROOT);
+			doc.appendChild(root);
+			for (Entry<String, VMEntry> entry : fEntries.entrySet()) {
+				Element vmElement = doc.createElement(VM);
+				vmElement.setAttribute(ID, entry.getKey());
+				vmElement.setAttribute(FINGERPRINT, entry.getValue().fingerprint);
+				root.appendChild(vmElement);
+				for (Entry<String, List<String[]>> analyzer : entry.getValue().environments.entrySet()) {
+					Element analyzerElement = doc.createElement(ANALYZER);
+					analyzerElement.setAttribute(ID, analyzer.getKey());
+					vmElement.appendChild(analyzerElement);
+					for (String[] environment : analyzer.getValue()) {
+						Element environmentElement = doc.createElement(ENVIRONMENT);
+						environmentElement.setAttribute(ID, environment[0]);
+						environmentElement.setAttribute(STRICT, environment[1]);
+						analyzerElement.appendChild(environmentElement);
+					}
+				}
+			}
+			String xml = DebugPlugin.serializeDocument(doc);
+			try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(fFile))) {
+				stream.write(xml.getBytes(StandardCharsets.UTF_8));
+			}
+			fDirty = false;
+		} catch (IOException | CoreException e) {
+			LaunchingPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Reads the cache from its file, once.
+	 */
+	private void restore() {
+		if (fRestored) {
+			return;
+		}
+		fRestored = true;
+		if (!fFile.exists()) {
+			return;
+		}
+		try (InputStream stream = new BufferedInputStream(new FileInputStream(fFile))) {
+			// the shared launching parser is not thread safe, use a private one
+			@SuppressWarnings("restriction")
+			DocumentBuilder parser = org.eclipse.core.internal.runtime.XmlProcessorFactory.createDocumentBuilderWithErrorOnDOCTYPE();
+			parser.setErrorHandler(new DefaultHandler());
+			Element root = parser.parse(new InputSource(stream)).getDocumentElement();
+			if (!root.getNodeName().equals(ROOT)) {
+				return;
+			}
+			for (Element vmElement : getChildElements(root, VM)) {
+				VMEntry entry = new VMEntry(vmElement.getAttribute(FINGERPRINT));
+				for (Element analyzerElement : getChildElements(vmElement, ANALYZER)) {
+					List<String[]> environments = new ArrayList<>();
+					for (Element environmentElement : getChildElements(analyzerElement, ENVIRONMENT)) {
+						environments.add(new String[] { environmentElement.getAttribute(ID), environmentElement.getAttribute(STRICT) });
+					}
+					entry.environments.put(analyzerElement.getAttribute(ID), environments);
+				}
+				fEntries.put(vmElement.getAttribute(ID), entry);
+			}
+		} catch (IOException | ParserConfigurationException | SAXException e) {
+			LaunchingPlugin.log(e);
+		}
+	}
+
+	private static List<Element> getChildElements(Element parent, String name) {
+		List<Element> result = new ArrayList<>();
+		NodeList list = parent.getChildNodes();
+		for (int i = 0; i < list.getLength(); i++) {
+			Node node = list.item(i);
+			if (node.getNodeType() == Node.ELEMENT_NODE && node.getNodeName().equals(name)) {
+				result.add((Element) node);
+			}
+		}
+		return result;
+	}
+}
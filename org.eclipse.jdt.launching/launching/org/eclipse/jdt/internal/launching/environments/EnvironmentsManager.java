@@ -16,15 +16,24 @@ package org.eclipse.jdt.internal.launching.environments;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -68,6 +77,11 @@ public class EnvironmentsManager implements IExecutionEnvironmentsManager, IVMIn
 
 	private static final Pattern EE_PATTERN = Pattern.compile("(\\d+)"); //$NON-NLS-1$
 
+	/**
+	 * Maximum number of VM installs analyzed concurrently
+	 */
+	private static final int MAX_ANALYSIS_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
 	/**
 	 * Extension configuration element name.
 	 */
@@ -120,7 +134,27 @@ public class EnvironmentsManager implements IExecutionEnvironmentsManager, IVMIn
 	/**
 	 * Whether compatible environments have been initialized
 	 */
-	private boolean fInitializedCompatibilities = false;
+	private volatile boolean fInitializedCompatibilities = false;
+
+	/**
+	 * Initialization of compatible environments in progress, or <code>null</code>. Guarded by {@link #fCompatibilitiesLock}.
+	 */
+	private CompletableFuture<Void> fCompatibilitiesInitialization = null;
+
+	/**
+	 * Lock guarding {@link #fCompatibilitiesInitialization}, never held while waiting or while acquiring the manager lock
+	 */
+	private final Object fCompatibilitiesLock = new Object();
+
+	/**
+	 * Whether the current thread initializes compatible environments, guards against re-entrant initialization from analyzers
+	 */
+	private static final ThreadLocal<Boolean> fgInitializing = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	/**
+	 * Persisted analysis results
+	 */
+	private final CompatibleEnvironmentsCache fCache = new CompatibleEnvironmentsCache();
 
 	/**
 	 * XML attribute
@@ -300,25 +334,131 @@ public class EnvironmentsManager implements IExecutionEnvironmentsManager, IVMIn
 	}
 
 	/**
-	 * Initializes compatibility settings.
+	 * Initializes compatibility settings. VM installs are analyzed concurrently, results of previous sessions are reused for VM installs that
+	 * did not change.
+	 * <p>
+	 * Analyzers look up environments through this manager, so analysis is done without holding the manager lock and a thread holding it never
+	 * waits for another thread to finish the initialization.
+	 * </p>
 	 */
 	void initializeCompatibilities() {
-		IVMInstallType[] installTypes = JavaRuntime.getVMInstallTypes();
-        synchronized (this) {
-        	if (!fInitializedCompatibilities) {
-	        	fInitializedCompatibilities = true;
-	            for (int i = 0; i < installTypes.length; i++) {
-	                IVMInstallType type = installTypes[i];
-	                IVMInstall[] installs = type.getVMInstalls();
-	                for (int j = 0; j < installs.length; j++) {
-	                    IVMInstall install = installs[j];
-	                    // TODO: progress reporting?
-	                    analyze(install, new NullProgressMonitor());
-	                }
-	            }
-	            initializeDefaultVMs();
-        	}
-        }
+		if (fInitializedCompatibilities || fgInitializing.get().booleanValue()) {
+			return;
+		}
+		if (Thread.holdsLock(this)) {
+			// the initializing thread may be waiting for the manager lock, analyze on this thread instead of waiting for it
+			initializeCompatibilitiesNow();
+			return;
+		}
+		CompletableFuture<Void> initialization;
+		boolean initialize;
+		synchronized (fCompatibilitiesLock) {
+			if (fInitializedCompatibilities) {
+				return;
+			}
+			initialize = fCompatibilitiesInitialization == null;
+			if (initialize) {
+				fCompatibilitiesInitialization = new CompletableFuture<>();
+			}
+			initialization = fCompatibilitiesInitialization;
+		}
+		if (!initialize) {
+			initialization.join();
+			return;
+		}
+		try {
+			initializeCompatibilitiesNow();
+		} finally {
+			synchronized (fCompatibilitiesLock) {
+				fCompatibilitiesInitialization = null;
+			}
+			initialization.complete(null);
+		}
+	}
+
+	/**
+	 * Analyzes all VM installs on the current thread and adds them to their compatible environments, unless another thread did so meanwhile.
+	 */
+	private void initializeCompatibilitiesNow() {
+		fgInitializing.set(Boolean.TRUE);
+		try {
+			IVMInstallType[] installTypes = JavaRuntime.getVMInstallTypes();
+			List<IVMInstall> installs = new ArrayList<>();
+			for (int i = 0; i < installTypes.length; i++) {
+				Collections.addAll(installs, installTypes[i].getVMInstalls());
+			}
+			Map<IVMInstall, List<CompatibleEnvironment>> results = analyzeAll(installs);
+			synchronized (this) {
+				if (fInitializedCompatibilities) {
+					return;
+				}
+				for (IVMInstall install : installs) {
+					List<CompatibleEnvironment> environments = results.get(install);
+					if (environments != null) {
+						addCompatibleEnvironments(install, environments);
+					}
+				}
+				initializeDefaultVMs();
+				fInitializedCompatibilities = true;
+			}
+			fCache.save();
+		} finally {
+			fgInitializing.remove();
+		}
+	}
+
+	/**
+	 * Analyzes the given VM installs concurrently, using at most {@link #MAX_ANALYSIS_THREADS} threads.
+	 *
+	 * @param installs
+	 *            the VM installs to analyze
+	 * @return compatible environments keyed by VM install
+	 */
+	private Map<IVMInstall, List<CompatibleEnvironment>> analyzeAll(List<IVMInstall> installs) {
+		Map<IVMInstall, List<CompatibleEnvironment>> results = new ConcurrentHashMap<>();
+		if (installs.isEmpty()) {
+			return results;
+		}
+		Analyzer[] analyzers = getAnalyzers();
+		if (installs.size() == 1 || Thread.holdsLock(this)) {
+			// analyzers need the manager lock, don't hand them to other threads while it is held
+			for (IVMInstall install : installs) {
+				results.put(install, analyze(install, analyzers, true, new NullProgressMonitor()));
+			}
+			return results;
+		}
+		int threads = Math.min(installs.size(), MAX_ANALYSIS_THREADS);
+		AtomicInteger count = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "Execution Environment Analyzer " + count.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> futures = new ArrayList<>(installs.size());
+			for (IVMInstall install : installs) {
+				futures.add(executor.submit(() -> {
+					fgInitializing.set(Boolean.TRUE);
+					try {
+						results.put(install, analyze(install, analyzers, true, new NullProgressMonitor()));
+					} finally {
+						fgInitializing.remove();
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					LaunchingPlugin.log(e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		return results;
 	}
 
 	/**
@@ -396,26 +536,62 @@ public class EnvironmentsManager implements IExecutionEnvironmentsManager, IVMIn
 	}
 
 	/**
-	 * Analyzes compatible execution environments for the given VM install.
+	 * Analyzes compatible execution environments for the given VM install and adds the VM to them.
 	 *
 	 * @param vm the {@link IVMInstall} to find environments for
 	 * @param monitor a progress monitor or <code>null</code>
 	 */
 	private void analyze(IVMInstall vm, IProgressMonitor monitor) {
-		Analyzer[] analyzers = getAnalyzers();
+		addCompatibleEnvironments(vm, analyze(vm, getAnalyzers(), false, monitor));
+		fCache.save();
+	}
+
+	/**
+	 * Computes compatible execution environments for the given VM install. Does not modify any environment, so it is safe to call
+	 * concurrently for different VM installs.
+	 *
+	 * @param vm
+	 *            the {@link IVMInstall} to find environments for
+	 * @param analyzers
+	 *            the analyzers to consult
+	 * @param useCache
+	 *            whether results persisted for an unchanged VM install may be used instead of analyzing it
+	 * @param monitor
+	 *            a progress monitor or <code>null</code>
+	 * @return compatible environments
+	 */
+	private List<CompatibleEnvironment> analyze(IVMInstall vm, Analyzer[] analyzers, boolean useCache, IProgressMonitor monitor) {
+		List<CompatibleEnvironment> result = new ArrayList<>();
+		String fingerprint = CompatibleEnvironmentsCache.getFingerprint(vm);
 		for (int i = 0; i < analyzers.length; i++) {
 			Analyzer analyzer = analyzers[i];
 			try {
-				CompatibleEnvironment[] environments = analyzer.analyze(vm, monitor);
-				for (int j = 0; j < environments.length; j++) {
-					CompatibleEnvironment compatibleEnvironment = environments[j];
-					ExecutionEnvironment environment = (ExecutionEnvironment) compatibleEnvironment.getCompatibleEnvironment();
-					environment.add(vm, compatibleEnvironment.isStrictlyCompatbile());
+				CompatibleEnvironment[] environments = useCache ? fCache.get(vm, fingerprint, analyzer.getId()) : null;
+				if (environments == null) {
+					environments = analyzer.analyze(vm, monitor);
+					fCache.put(vm, fingerprint, analyzer.getId(), environments);
 				}
+				Collections.addAll(result, environments);
 			} catch (CoreException e) {
 				LaunchingPlugin.log(e);
 			}
 		}
+		return result;
+	}
+
+	/**
+	 * Adds the given VM to each of the given compatible environments.
+	 *
+	 * @param vm
+	 *            the VM install
+	 * @param environments
+	 *            the compatible environments
+	 */
+	private synchronized void addCompatibleEnvironments(IVMInstall vm, List<CompatibleEnvironment> environments) {
+		for (CompatibleEnvironment compatibleEnvironment : environments) {
+			ExecutionEnvironment environment = (ExecutionEnvironment) compatibleEnvironment.getCompatibleEnvironment();
+			environment.add(vm, compatibleEnvironment.isStrictlyCompatbile());
+		}
 	}
 
 	/* (non-Javadoc)
@@ -464,6 +640,7 @@ public class EnvironmentsManager implements IExecutionEnvironmentsManager, IVMIn
 			ExecutionEnvironment environment = (ExecutionEnvironment) environments[i];
 			environment.remove(vm);
 		}
+		fCache.remove(vm);
 	}
 
 	synchronized void updateDefaultVMs() {
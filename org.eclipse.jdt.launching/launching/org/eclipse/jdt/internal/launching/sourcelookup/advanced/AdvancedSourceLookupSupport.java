@@ -41,6 +41,11 @@ public class AdvancedSourceLookupSupport {
 	// TODO consider moving to LaunchingPlugin
 	public static final String ID_workspaceProjectDescribers = LaunchingPlugin.ID_PLUGIN + ".workspaceProjectDescribers"; //$NON-NLS-1$
 
+	/**
+	 * Javaagent option loading the helper the debugger uses to retrieve object graphs in bulk
+	 */
+	public static final String JAVAAGENT_OPTION_SNAPSHOTS = "snapshots"; //$NON-NLS-1$
+
 	private static BackgroundProcessingJob backgroundJob;
 
 	private static volatile WorkspaceProjectSourceContainers workspaceProjects;
@@ -67,6 +72,8 @@ public class AdvancedSourceLookupSupport {
 		finally {
 			workspaceProjectsLock.unlock();
 		}
+
+		FileHashing.saveIndex();
 	}
 
 	public static void schedule(IRunnableWithProgress task) {
@@ -121,6 +128,13 @@ public class AdvancedSourceLookupSupport {
 		return "-javaagent:\"" + getJavaagentLocation() + "\""; //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	/**
+	 * Returns the javaagent VM argument with the given agent options, e.g. {@link #JAVAAGENT_OPTION_SNAPSHOTS}.
+	 */
+	public static String getJavaagentString(String options) {
+		return "-javaagent:\"" + getJavaagentLocation() + "\"=" + options; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 	public static String getJavaagentLocation() {
 		return LaunchingPlugin.getFileInPlugin(new Path("lib/javaagent-shaded.jar")).getAbsolutePath(); //$NON-NLS-1$
 	}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.launching.sourcelookup.advanced;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.internal.launching.LaunchingPlugin;
+
+/**
+ * Content digests of files that survive workbench restarts. An entry is only valid while the file key, size and last modification time of the file
+ * are unchanged, so the index never needs to be invalidated explicitly: files that changed are simply hashed again. Entries of files that no longer
+ * exist are dropped when the index is saved.
+ * <p>
+ * The index is stored as a text file in the state location of the launching plug-in, one file per line.
+ */
+public class FileHashIndex {
+
+	private static final String INDEX_FILE = "fileHashes.index"; //$NON-NLS-1$
+
+	private static final int VERSION = 1;
+
+	private static class Entry {
+		final long size;
+
+		final long lastModified;
+
+		final String fileKey;
+
+		final byte[] hash;
+
+		Entry(long size, long lastModified, String fileKey, byte[] hash) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.fileKey = fileKey;
+			this.hash = hash;
+		}
+
+		boolean matches(BasicFileAttributes attributes) {
+			return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis() && fileKey.equals(fileKey(attributes));
+		}
+	}
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private final File file;
+
+	private volatile boolean loaded;
+
+	private volatile boolean dirty;
+
+	/**
+	 * @param file
+	 *            file the index is persisted in, or {@code null} if the index should only be kept in memory
+	 */
+	public FileHashIndex(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Returns the index persisted in the state location of the launching plug-in.
+	 */
+	static FileHashIndex create() {
+		LaunchingPlugin plugin = LaunchingPlugin.getDefault();
+		File file = null;
+		if (plugin != null) {
+			try {
+				file = plugin.getStateLocation().append(INDEX_FILE).toFile();
+			}
+			catch (IllegalStateException e) {
+				// no state location, keep the index in memory
+			}
+		}
+		return new FileHashIndex(file);
+	}
+
+	/**
+	 * Returns the indexed digest of the given file, or {@code null} if the file is not indexed or changed since it was indexed.
+	 */
+	public byte[] get(Path path, BasicFileAttributes attributes) {
+		load();
+		Entry entry = entries.get(path.toString());
+		if (entry == null || !entry.matches(attributes)) {
+			return null;
+		}
+		return entry.hash.clone();
+	}
+
+	/**
+	 * Records the digest of the given file.
+	 */
+	public void put(Path path, BasicFileAttributes attributes, byte[] hash) {
+		load();
+		entries.put(path.toString(), new Entry(attributes.size(), attributes.lastModifiedTime().toMillis(), fileKey(attributes), hash.clone()));
+		dirty = true;
+	}
+
+	/**
+	 * Writes the index if it changed since it was loaded or last saved.
+	 */
+	public synchronized void save() {
+		if (file == null || !dirty) {
+			return;
+		}
+		dirty = false;
+		entries.keySet().removeIf(path -> !new File(path).isFile());
+		File temp = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (BufferedWriter writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+				writer.write(Integer.toString(VERSION));
+				writer.newLine();
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					if (entry.getKey().indexOf('\n') >= 0 || entry.getKey().indexOf('\r') >= 0) {
+						continue;
+					}
+					Entry value = entry.getValue();
+					writer.write(toHex(value.hash));
+					writer.write('\t');
+					writer.write(Long.toString(value.size));
+					writer.write('\t');
+					writer.write(Long.toString(value.lastModified));
+					writer.write('\t');
+					writer.write(value.fileKey);
+					writer.write('\t');
+					writer.write(entry.getKey());
+					writer.newLine();
+				}
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException e) {
+			dirty = true;
+			LaunchingPlugin.log(e);
+		}
+	}
+
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		synchronized (this) {
+			if (loaded) {
+				return;
+			}
+			if (file != null && file.isFile()) {
+				try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+					String line = reader.readLine();
+					if (line != null && line.equals(Integer.toString(VERSION))) {
+						while ((line = reader.readLine()) != null) {
+							String[] fields = line.split("\t", 5); //$NON-NLS-1$
+							if (fields.length == 5) {
+								entries.putIfAbsent(fields[4], new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3], fromHex(fields[0])));
+							}
+						}
+					}
+				}
+				catch (IOException | IllegalArgumentException e) {
+					// corrupt or unreadable index, files are hashed again
+					entries.clear();
+				}
+			}
+			loaded = true;
+		}
+	}
+
+	private static String fileKey(BasicFileAttributes attributes) {
+		Object key = attributes.fileKey();
+		// the index is line based, file keys must not contain separators
+		return key != null ? key.toString().replace('\t', ' ').replace('\n', ' ') : ""; //$NON-NLS-1$
+	}
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(2 * bytes.length);
+		for (byte b : bytes) {
+			sb.append(HEX_DIGITS[(b >> 4) & 0xf]).append(HEX_DIGITS[b & 0xf]);
+		}
+		return sb.toString();
+	}
+
+	private static byte[] fromHex(String hex) {
+		if (hex.length() % 2 != 0) {
+			throw new IllegalArgumentException(hex);
+		}
+		byte[] bytes = new byte[hex.length() / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+		}
+		return bytes;
+	}
+}
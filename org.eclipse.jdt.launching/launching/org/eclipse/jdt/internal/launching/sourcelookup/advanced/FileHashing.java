@@ -18,17 +18,23 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Helpers to compute file content digests. Provides long-lived hasher instance with bounded cache of most recently requested files, which is useful
  * to handle source lookup requests. Also provides factory of hasher instances with unbounded caches, which is useful to perform bulk workspace
- * indexing.
+ * indexing. All hashers are backed by a persistent index, so files that did not change since a previous session are not hashed again.
  */
 public class FileHashing {
 
@@ -40,6 +46,9 @@ public class FileHashing {
 	// this is used when performing source lookup and number of unique files requested during the same debugging session is likely to be small.
 	private static final HasherImpl HASHER = new HasherImpl(5000);
 
+	// digests persisted across sessions, shared by all hashers
+	private static final FileHashIndex INDEX = FileHashIndex.create();
+
 	/**
 	 * Returns default long-lived Hasher instance with bounded hash cache.
 	 */
@@ -54,6 +63,13 @@ public class FileHashing {
 		return new HasherImpl(HASHER);
 	}
 
+	/**
+	 * Writes digests computed since the last save to the persistent index.
+	 */
+	public static void saveIndex() {
+		INDEX.save();
+	}
+
 	private static class CacheKey {
 		public final Object file;
 
@@ -124,21 +140,125 @@ public class FileHashing {
 		private static final char[] hexDigits = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
 	}
 
+	/**
+	 * Hit and miss counters of a hasher.
+	 */
+	public static final class Statistics {
+		private final long hits;
+
+		private final long indexHits;
+
+		private final long computed;
+
+		Statistics(long hits, long indexHits, long computed) {
+			this.hits = hits;
+			this.indexHits = indexHits;
+			this.computed = computed;
+		}
+
+		/**
+		 * Returns the number of requests answered from the in-memory cache.
+		 */
+		public long getHitCount() {
+			return hits;
+		}
+
+		/**
+		 * Returns the number of requests answered from the persistent index.
+		 */
+		public long getIndexHitCount() {
+			return indexHits;
+		}
+
+		/**
+		 * Returns the number of requests that required reading and hashing the file, including requests that waited for another thread hashing
+		 * the same file.
+		 */
+		public long getMissCount() {
+			return computed;
+		}
+
+		/**
+		 * Returns the ratio of requests answered from the in-memory cache, or {@code 1.0} if there were no requests.
+		 */
+		public double getHitRate() {
+			long requests = hits + indexHits + computed;
+			return requests == 0 ? 1.0 : (double) hits / requests;
+		}
+
+		@Override
+		public String toString() {
+			return "hits=" + hits + ", indexHits=" + indexHits + ", misses=" + computed; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Returns hit and miss counters of the default long-lived hasher.
+	 */
+	public static Statistics statistics() {
+		return HASHER.statistics();
+	}
+
+	// files currently being hashed, shared by all hashers so the same file is never hashed by two threads at once
+	private static final ConcurrentMap<CacheKey, CompletableFuture<HashCode>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+	/**
+	 * Hasher with a segmented LRU cache. Keys are spread over independently locked segments, so concurrent lookups of different files rarely
+	 * contend.
+	 */
 	private static class HasherImpl implements Hasher {
 
-		private final Map<CacheKey, HashCode> cache;
+		private static final int SEGMENTS = 16;
+
+		private final Segment[] segments = new Segment[SEGMENTS];
+
+		private final LongAdder hits = new LongAdder();
+
+		private final LongAdder indexHits = new LongAdder();
+
+		private final LongAdder computed = new LongAdder();
+
+		private static class Segment extends LinkedHashMap<CacheKey, HashCode> {
+			private static final long serialVersionUID = 1L;
+
+			private final int capacity;
+
+			Segment(int capacity) {
+				super(16, 0.75f, true);
+				this.capacity = capacity;
+			}
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, HashCode> eldest) {
+				return size() > capacity;
+			}
+		}
 
 		public HasherImpl(int cacheSize) {
-			this.cache = new LinkedHashMap<>() {
-				@Override
-				protected boolean removeEldestEntry(Map.Entry<CacheKey, HashCode> eldest) {
-					return size() > cacheSize;
-				}
-			};
+			int capacity = Math.max(1, cacheSize / SEGMENTS);
+			for (int i = 0; i < SEGMENTS; i++) {
+				segments[i] = new Segment(capacity);
+			}
 		}
 
 		public HasherImpl(HasherImpl initial) {
-			this.cache = new LinkedHashMap<>(initial.cache);
+			this(Integer.MAX_VALUE);
+			for (int i = 0; i < SEGMENTS; i++) {
+				Segment segment = initial.segments[i];
+				synchronized (segment) {
+					segments[i].putAll(segment);
+				}
+			}
+		}
+
+		private Segment segment(CacheKey key) {
+			int hash = key.hashCode();
+			hash ^= (hash >>> 16);
+			return segments[hash & (SEGMENTS - 1)];
+		}
+
+		Statistics statistics() {
+			return new Statistics(hits.sum(), indexHits.sum(), computed.sum());
 		}
 
 		@Override
@@ -151,18 +271,28 @@ public class FileHashing {
 				if (!attributes.isRegularFile()) {
 					return null;
 				}
-				Object key= file.getAbsoluteFile().toPath().toAbsolutePath().normalize();
+				Path key= file.getAbsoluteFile().toPath().toAbsolutePath().normalize();
 				CacheKey cacheKey = new CacheKey(key, attributes);
-				synchronized (cache) {
-					HashCode hashCode = cache.get(cacheKey);
+				Segment segment = segment(cacheKey);
+				synchronized (segment) {
+					HashCode hashCode = segment.get(cacheKey);
 					if (hashCode != null) {
+						hits.increment();
 						return hashCode;
 					}
 				}
-				// don't hold cache lock while hashing file
-				HashCode hashCode = computeHash(file);
-				synchronized (cache) {
-					cache.put(cacheKey, hashCode);
+				// don't hold segment lock while hashing file
+				HashCode hashCode;
+				byte[] indexed = INDEX.get(key, attributes);
+				if (indexed != null) {
+					indexHits.increment();
+					hashCode = new HashCode(indexed);
+				} else {
+					computed.increment();
+					hashCode = computeHashOnce(file, key, cacheKey, attributes);
+				}
+				synchronized (segment) {
+					segment.put(cacheKey, hashCode);
 				}
 				return hashCode;
 			}
@@ -173,6 +303,38 @@ public class FileHashing {
 
 	}
 
+	/**
+	 * Hashes the given file, or waits for the result if another thread is already hashing it.
+	 */
+	private static HashCode computeHashOnce(File file, Path key, CacheKey cacheKey, BasicFileAttributes attributes) throws IOException {
+		CompletableFuture<HashCode> future = new CompletableFuture<>();
+		CompletableFuture<HashCode> existing = IN_FLIGHT.putIfAbsent(cacheKey, future);
+		if (existing != null) {
+			try {
+				return existing.join();
+			}
+			catch (CompletionException e) {
+				if (e.getCause() instanceof IOException) {
+					throw (IOException) e.getCause();
+				}
+				throw e;
+			}
+		}
+		try {
+			HashCode hashCode = computeHash(file);
+			INDEX.put(key, attributes, hashCode.bytes);
+			future.complete(hashCode);
+			return hashCode;
+		}
+		catch (IOException | RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			IN_FLIGHT.remove(cacheKey, future);
+		}
+	}
+
 	private static HashCode computeHash(File file) throws IOException {
 		MessageDigest digest;
 		try {
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.launching.sourcelookup.advanced;
 
 import static org.eclipse.jdt.core.IJavaElementDelta.F_ADDED_TO_CLASSPATH;
+import static org.eclipse.jdt.core.IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED;
 import static org.eclipse.jdt.core.IJavaElementDelta.F_CLASSPATH_CHANGED;
 import static org.eclipse.jdt.core.IJavaElementDelta.F_CLOSED;
 import static org.eclipse.jdt.core.IJavaElementDelta.F_OPENED;
@@ -22,13 +23,21 @@ import static org.eclipse.jdt.core.IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGE
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -65,6 +74,8 @@ import org.eclipse.jdt.launching.sourcelookup.containers.PackageFragmentRootSour
  * to be used from UI thread.
  */
 public class WorkspaceProjectSourceContainers {
+	private static final int HASHING_THREADS = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
 	private final IElementChangedListener changeListener = new IElementChangedListener() {
 		@Override
 		public void elementChanged(ElementChangedEvent event) {
@@ -114,7 +125,8 @@ public class WorkspaceProjectSourceContainers {
 					processChangedChildren(delta, remove, add);
 					break;
 				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
-					if ((delta.getFlags() & (F_ADDED_TO_CLASSPATH | F_REMOVED_FROM_CLASSPATH)) != 0) {
+					// archive content changes invalidate dependency hashes, only the changed archive is hashed again
+					if ((delta.getFlags() & (F_ADDED_TO_CLASSPATH | F_REMOVED_FROM_CLASSPATH | F_ARCHIVE_CONTENT_CHANGED)) != 0) {
 						remove.add(element.getJavaProject());
 						add.add(element.getJavaProject());
 					}
@@ -309,16 +321,75 @@ public class WorkspaceProjectSourceContainers {
 		final IJavaModel javaModel = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot());
 		final IJavaProject[] javaProjects = javaModel.getJavaProjects();
 
-		SubMonitor progress = SubMonitor.convert(monitor, javaProjects.length);
-
-		// TODO this can take significant time for large workspaces, consider running on multiple threads
-		// NB: can't persist state across restarts because java element change events are not delivered when this plugin isn't active
+		// NB: can't persist project state across restarts because java element change events are not delivered when this plugin isn't active,
+		// but file digests are persisted by FileHashing and only files that changed since the last session are hashed again
 
 		Hasher hasher = FileHashing.newHasher(); // short-lived hasher for bulk workspace indexing
 
+		addJavaProjects(Arrays.asList(javaProjects), hasher, monitor);
+	}
+
+	/**
+	 * Describes the given projects, hashes their locations and dependencies in parallel and registers the projects.
+	 */
+	private void addJavaProjects(Collection<IJavaProject> javaProjects, Hasher hasher, IProgressMonitor monitor) throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, 3 * javaProjects.size());
+
 		List<IWorkspaceProjectDescriber> describers = getJavaProjectDescribers();
+		Map<IJavaProject, JavaProjectDescriptionBuilder> builders = new LinkedHashMap<>();
+		Set<File> files = new LinkedHashSet<>();
 		for (IJavaProject project : javaProjects) {
-			addJavaProject(project, describers, hasher, progress.split(1));
+			JavaProjectDescriptionBuilder builder = describeJavaProject(project, describers);
+			builders.put(project, builder);
+			files.addAll(builder.locations);
+			files.addAll(builder.dependencyLocations.keySet());
+			progress.worked(1);
+		}
+
+		hashFiles(files, hasher, progress.split(javaProjects.size()));
+
+		for (Entry<IJavaProject, JavaProjectDescriptionBuilder> entry : builders.entrySet()) {
+			addJavaProject(entry.getKey(), entry.getValue(), hasher, progress.split(1));
+		}
+
+		FileHashing.saveIndex();
+	}
+
+	/**
+	 * Hashes the given files on a work stealing pool, so the hasher has them cached afterwards. Files that did not change since they were last
+	 * hashed are found in the persistent index and are cheap, the pool mostly helps with cold archives.
+	 */
+	private static void hashFiles(Collection<File> files, Hasher hasher, IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, files.size());
+		if (files.size() < 2) {
+			files.forEach(hasher::hash);
+			return;
+		}
+		ExecutorService pool = Executors.newWorkStealingPool(HASHING_THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>(files.size());
+			for (File file : files) {
+				futures.add(pool.submit(() -> {
+					if (!progress.isCanceled()) {
+						hasher.hash(file);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException e) {
+					// the file is hashed again on demand
+				}
+				progress.worked(1);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			pool.shutdownNow();
 		}
 	}
 
@@ -331,7 +402,7 @@ public class WorkspaceProjectSourceContainers {
 		}
 	}
 
-	private void addJavaProject(IJavaProject project, List<IWorkspaceProjectDescriber> describers, FileHashing.Hasher hasher, IProgressMonitor monitor) throws CoreException {
+	private JavaProjectDescriptionBuilder describeJavaProject(IJavaProject project, List<IWorkspaceProjectDescriber> describers) throws CoreException {
 		if (project == null) {
 			throw new IllegalArgumentException();
 		}
@@ -342,13 +413,17 @@ public class WorkspaceProjectSourceContainers {
 			describer.describeProject(project, builder);
 		}
 
+		// make binary project support little easier to implement
+		builder.locations.forEach(location -> builder.dependencyLocations.remove(location));
+
+		return builder;
+	}
+
+	private void addJavaProject(IJavaProject project, JavaProjectDescriptionBuilder builder, FileHashing.Hasher hasher, IProgressMonitor monitor) {
 		Set<File> locations = builder.locations;
 		List<Supplier<ISourceContainer>> factories = builder.factories;
 		Map<File, IPackageFragmentRoot> dependencies = builder.dependencyLocations;
 
-		// make binary project support little easier to implement
-		locations.forEach(location -> dependencies.remove(location));
-
 		Set<Object> hashes = new HashSet<>();
 		locations.forEach(location -> {
 			Object hash = hasher.hash(location);
@@ -426,17 +501,14 @@ public class WorkspaceProjectSourceContainers {
 	}
 
 	void updateProjects(final Set<IJavaProject> remove, final Set<IJavaProject> add, IProgressMonitor monitor) throws CoreException {
-		SubMonitor progress = SubMonitor.convert(monitor, 1 + add.size());
+		SubMonitor progress = SubMonitor.convert(monitor, 2);
 
 		progress.split(1);
 		for (IJavaProject project : remove) {
 			removeJavaProject(project);
 		}
-		List<IWorkspaceProjectDescriber> describers = getJavaProjectDescribers();
 		Hasher hasher = FileHashing.newHasher();
-		for (IJavaProject project : add) {
-			addJavaProject(project, describers, hasher, progress.split(1));
-		}
+		addJavaProjects(add, hasher, progress.split(1));
 	}
 
 }
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.launching;
 
 import static org.eclipse.jdt.internal.launching.sourcelookup.advanced.AdvancedSourceLookupSupport.createAdvancedLaunch;
+import static org.eclipse.jdt.internal.launching.sourcelookup.advanced.AdvancedSourceLookupSupport.JAVAAGENT_OPTION_SNAPSHOTS;
 import static org.eclipse.jdt.internal.launching.sourcelookup.advanced.AdvancedSourceLookupSupport.getJavaagentString;
 import static org.eclipse.jdt.internal.launching.sourcelookup.advanced.AdvancedSourceLookupSupport.isAdvancedSourcelookupEnabled;
 
@@ -623,6 +624,9 @@ public abstract class AbstractJavaLaunchConfigurationDelegate extends LaunchConf
 		if (!isJavaagentOptionSupported(configuration)) {
 			return ""; //$NON-NLS-1$
 		}
+		if (configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_OBJECT_GRAPH_SNAPSHOTS, false)) {
+			return getJavaagentString(JAVAAGENT_OPTION_SNAPSHOTS);
+		}
 		return getJavaagentString();
 	}
 
@@ -410,6 +410,24 @@ public interface IJavaLaunchConfigurationConstants {
 	 */
 	public static final String ATTR_USE_CLASSPATH_ONLY_JAR = LaunchingPlugin.getUniqueIdentifier() + ".ATTR_USE_CLASSPATH_ONLY_JAR"; //$NON-NLS-1$
 
+	/**
+	 * Launch configuration attribute key. The value is a boolean specifying whether the debugger may retrieve object graphs of the debuggee in bulk
+	 * through a helper class loaded by the advanced source lookup javaagent. Only effective in debug mode when advanced source lookup is enabled.
+	 * When not specified, the helper is not loaded and the debugger retrieves objects field by field.
+	 *
+	 * @since 3.25
+	 */
+	public static final String ATTR_OBJECT_GRAPH_SNAPSHOTS = LaunchingPlugin.getUniqueIdentifier() + ".ATTR_OBJECT_GRAPH_SNAPSHOTS"; //$NON-NLS-1$
+
+	/**
+	 * Launch configuration attribute key. The value is the path of a file the debugger writes the sampled stacks of the running threads of the
+	 * debuggee to when the debug session ends, one line per distinct stack in the collapsed stack format read by flame graph tools. When
+	 * specified, the stacks are sampled for the whole debug session. Only effective in debug mode.
+	 *
+	 * @since 3.25
+	 */
+	public static final String ATTR_STACK_SAMPLES_FILE = LaunchingPlugin.getUniqueIdentifier() + ".ATTR_STACK_SAMPLES_FILE"; //$NON-NLS-1$
+
 	/**
 	 * Status code indicating a launch configuration does not specify a project when a project is required.
 	 */
@@ -14,18 +14,38 @@
 
 package org.eclipse.jdt.launching.sourcelookup.containers;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.debug.core.sourcelookup.AbstractSourceLookupParticipant;
 import org.eclipse.debug.core.sourcelookup.ISourceContainer;
 import org.eclipse.debug.core.sourcelookup.ISourceLookupDirector;
 import org.eclipse.debug.core.sourcelookup.containers.ArchiveSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.ContainerSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.DirectorySourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.ExternalArchiveSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.ProjectSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.WorkspaceSourceContainer;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
@@ -49,6 +69,101 @@ public class JavaSourceLookupParticipant extends AbstractSourceLookupParticipant
 	 */
 	private Map<ISourceContainer, PackageFragmentRootSourceContainer> fDelegateContainers;
 
+	/**
+	 * Upper bound of the number of source names remembered in
+	 * {@link #fResolvedElements}.
+	 */
+	private static final int MAX_RESOLVED_ELEMENTS = 10000;
+
+	/**
+	 * Source elements found per source name, including names for which no
+	 * source element was found unless folders outside the workspace are
+	 * searched, as their changes are not notified. Since source containers
+	 * are searched by name only, the result for a name is the same for every
+	 * frame or type it is computed from. Cleared when the source containers
+	 * change or the workspace changes in a way that can affect source lookup.
+	 */
+	private final Map<String, Object[]> fResolvedElements = new ConcurrentHashMap<>();
+
+	/**
+	 * Incremented whenever {@link #fResolvedElements} is cleared, so that
+	 * lookups running concurrently with a change do not cache stale results.
+	 */
+	private final AtomicInteger fResolvedGeneration = new AtomicInteger();
+
+	/**
+	 * Full paths of the workspace resources searched by the source containers,
+	 * changes elsewhere in the workspace do not affect source lookup.
+	 */
+	private volatile IPath[] fSearchedPaths = new IPath[0];
+
+	/**
+	 * Whether the source containers search folders outside the workspace, in
+	 * which case names with no source element are not remembered.
+	 */
+	private volatile boolean fSearchesExternalFolders;
+
+	/**
+	 * Listens to the workspace and the Java model on behalf of all
+	 * participants, so that each change is notified once however many
+	 * debug sessions are running.
+	 */
+	private static final class ChangeListener implements IResourceChangeListener, IElementChangedListener {
+
+		private static ChangeListener fgDefault = null;
+
+		private final Set<JavaSourceLookupParticipant> fParticipants = new CopyOnWriteArraySet<>();
+
+		static synchronized void add(JavaSourceLookupParticipant participant) {
+			if (fgDefault == null) {
+				fgDefault = new ChangeListener();
+				ResourcesPlugin.getWorkspace().addResourceChangeListener(fgDefault, IResourceChangeEvent.POST_CHANGE);
+				JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE);
+			}
+			fgDefault.fParticipants.add(participant);
+		}
+
+		static synchronized void remove(JavaSourceLookupParticipant participant) {
+			if (fgDefault != null && fgDefault.fParticipants.remove(participant) && fgDefault.fParticipants.isEmpty()) {
+				ResourcesPlugin.getWorkspace().removeResourceChangeListener(fgDefault);
+				JavaCore.removeElementChangedListener(fgDefault);
+				fgDefault = null;
+			}
+		}
+
+		/**
+		 * Clears the resolved source elements of the participants searching
+		 * resources that were added or removed, which may add or hide source
+		 * elements.
+		 */
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			IResourceDelta delta = event.getDelta();
+			if (delta == null) {
+				return;
+			}
+			for (JavaSourceLookupParticipant participant : fParticipants) {
+				if (affectsSourceLookup(delta, participant.fSearchedPaths)) {
+					participant.clearResolvedElements();
+				}
+			}
+		}
+
+		/**
+		 * Clears resolved source elements when a classpath changes, which
+		 * changes the package fragment roots searched by Java source
+		 * containers.
+		 */
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			if (affectsClasspath(event.getDelta())) {
+				for (JavaSourceLookupParticipant participant : fParticipants) {
+					participant.clearResolvedElements();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Returns the source name associated with the given object, or <code>null</code>
 	 * if none.
@@ -64,6 +179,157 @@ public class JavaSourceLookupParticipant extends AbstractSourceLookupParticipant
 		return JavaDebugUtils.getSourceName(object);
 	}
 
+	/**
+	 * Returns the source elements for the source name of the given object,
+	 * searching the source containers only the first time a source name is
+	 * requested.
+	 */
+	@Override
+	public Object[] findSourceElements(Object object) throws CoreException {
+		String name = getSourceName(object);
+		if (name == null) {
+			return EMPTY;
+		}
+		String key = isFindDuplicates() ? "*" + name : name; //$NON-NLS-1$
+		Object[] elements = fResolvedElements.get(key);
+		if (elements == null) {
+			int generation = fResolvedGeneration.get();
+			elements = super.findSourceElements(name);
+			if (fResolvedElements.size() >= MAX_RESOLVED_ELEMENTS) {
+				fResolvedElements.clear();
+			}
+			if (generation == fResolvedGeneration.get() && (elements.length > 0 || !fSearchesExternalFolders)) {
+				fResolvedElements.put(key, elements);
+			}
+		}
+		return elements.length == 0 ? elements : elements.clone();
+	}
+
+	private void clearResolvedElements() {
+		fResolvedGeneration.incrementAndGet();
+		fResolvedElements.clear();
+	}
+
+	/**
+	 * Returns whether the given resource delta adds, removes, moves or closes
+	 * one of the given searched resources, or changes resources within them.
+	 */
+	private static boolean affectsSourceLookup(IResourceDelta delta, IPath[] searchedPaths) {
+		IPath path = delta.getFullPath();
+		boolean parent = false;
+		for (IPath searched : searchedPaths) {
+			if (searched.isPrefixOf(path)) {
+				return changesResources(delta);
+			}
+			parent |= path.isPrefixOf(searched);
+		}
+		if (!parent) {
+			return false;
+		}
+		int kind = delta.getKind();
+		if (kind == IResourceDelta.ADDED || kind == IResourceDelta.REMOVED) {
+			return true;
+		}
+		if ((delta.getFlags() & (IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO | IResourceDelta.OPEN)) != 0) {
+			return true;
+		}
+		for (IResourceDelta child : delta.getAffectedChildren()) {
+			if (affectsSourceLookup(child, searchedPaths)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the given resource delta adds or removes resources other
+	 * than markers, or changes the content of a classpath file.
+	 */
+	private static boolean changesResources(IResourceDelta delta) {
+		int kind = delta.getKind();
+		if (kind == IResourceDelta.ADDED || kind == IResourceDelta.REMOVED) {
+			return true;
+		}
+		if ((delta.getFlags() & (IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO | IResourceDelta.OPEN)) != 0) {
+			return true;
+		}
+		if ((delta.getFlags() & IResourceDelta.CONTENT) != 0 && ".classpath".equals(delta.getFullPath().lastSegment())) { //$NON-NLS-1$
+			return true;
+		}
+		for (IResourceDelta child : delta.getAffectedChildren()) {
+			if (changesResources(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the full paths of the workspace resources searched by the given
+	 * source containers to the given list, and returns whether any of them
+	 * searches a folder outside the workspace. Containers of unknown kinds
+	 * are assumed to search anywhere.
+	 */
+	private static boolean collectSearchedPaths(ISourceContainer[] containers, List<IPath> paths) {
+		boolean external = false;
+		for (ISourceContainer container : containers) {
+			if (container instanceof WorkspaceSourceContainer
+					|| (container instanceof ProjectSourceContainer && ((ProjectSourceContainer) container).isSearchReferencedProjects())) {
+				paths.add(Path.ROOT);
+			} else if (container instanceof ContainerSourceContainer) {
+				paths.add(((ContainerSourceContainer) container).getContainer().getFullPath());
+			} else if (container instanceof ArchiveSourceContainer) {
+				paths.add(((ArchiveSourceContainer) container).getFile().getFullPath());
+			} else if (container instanceof PackageFragmentRootSourceContainer) {
+				IPackageFragmentRoot root = ((PackageFragmentRootSourceContainer) container).getPackageFragmentRoot();
+				if (!root.isExternal()) {
+					paths.add(root.getPath());
+				} else if (!root.isArchive()) {
+					external = true;
+				}
+			} else if (container instanceof DirectorySourceContainer) {
+				external = true;
+			} else if (container instanceof ExternalArchiveSourceContainer) {
+				// archives outside the workspace are not expected to change
+			} else if (container.isComposite()) {
+				try {
+					external |= collectSearchedPaths(container.getSourceContainers(), paths);
+				} catch (CoreException e) {
+					paths.add(Path.ROOT);
+					external = true;
+				}
+			} else {
+				paths.add(Path.ROOT);
+				external = true;
+			}
+		}
+		return external;
+	}
+
+	/**
+	 * Returns whether the given Java element delta changes a classpath or adds
+	 * or removes package fragment roots.
+	 */
+	private static boolean affectsClasspath(IJavaElementDelta delta) {
+		int flags = delta.getFlags();
+		if ((flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+				| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+				| IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED
+				| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+			return true;
+		}
+		if (delta.getElement().getElementType() >= IJavaElement.PACKAGE_FRAGMENT) {
+			// changes within package fragment roots are covered by resource deltas
+			return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsClasspath(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.debug.internal.core.sourcelookup.ISourceLookupParticipant#dispose()
 	 */
@@ -75,6 +341,8 @@ public class JavaSourceLookupParticipant extends AbstractSourceLookupParticipant
 			container.dispose();
 		}
 		fDelegateContainers = null;
+		ChangeListener.remove(this);
+		clearResolvedElements();
 		super.dispose();
 
 	}
@@ -97,15 +365,20 @@ public class JavaSourceLookupParticipant extends AbstractSourceLookupParticipant
 	public void init(ISourceLookupDirector director) {
 		super.init(director);
 		fDelegateContainers = new HashMap<>();
+		ChangeListener.add(this);
 	}
 	/* (non-Javadoc)
 	 * @see org.eclipse.debug.internal.core.sourcelookup.ISourceLookupParticipant#sourceContainersChanged(org.eclipse.debug.internal.core.sourcelookup.ISourceLookupDirector)
 	 */
 	@Override
 	public void sourceContainersChanged(ISourceLookupDirector director) {
+		ISourceContainer[] containers = director.getSourceContainers();
+		List<IPath> searchedPaths = new ArrayList<>();
+		fSearchesExternalFolders = collectSearchedPaths(containers, searchedPaths);
+		fSearchedPaths = searchedPaths.toArray(new IPath[searchedPaths.size()]);
+		clearResolvedElements();
 		// use package fragment roots in place of local archives, where they exist
 		fDelegateContainers.clear();
-		ISourceContainer[] containers = director.getSourceContainers();
 		for (int i = 0; i < containers.length; i++) {
 			ISourceContainer container = containers[i];
 			if (container.getType().getId().equals(ArchiveSourceContainer.TYPE_ID)) {